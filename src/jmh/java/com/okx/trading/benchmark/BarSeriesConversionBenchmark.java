@@ -0,0 +1,61 @@
+package com.okx.trading.benchmark;
+
+import com.okx.trading.adapter.CandlestickBarSeriesConverter;
+import com.okx.trading.model.entity.CandlestickEntity;
+import com.okx.trading.util.BacktestDataGenerator;
+import com.okx.trading.util.Ta4jNumUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.NumFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * K线转换为BarSeries的基准测试，覆盖三种Bar存储方式和两种数值模式
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BarSeriesConversionBenchmark {
+
+    @Param({"1000", "10000"})
+    public int barCount;
+
+    @Param({CandlestickBarSeriesConverter.BAR_STORAGE_OBJECT, CandlestickBarSeriesConverter.BAR_STORAGE_COLUMNAR,
+            CandlestickBarSeriesConverter.BAR_STORAGE_OFFHEAP})
+    public String barStorage;
+
+    @Param({Ta4jNumUtil.NUM_MODE_DECIMAL, Ta4jNumUtil.NUM_MODE_DOUBLE})
+    public String numMode;
+
+    private CandlestickBarSeriesConverter converter;
+    private List<CandlestickEntity> candlesticks;
+    private NumFactory numFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        converter = new CandlestickBarSeriesConverter();
+        candlesticks = BenchmarkData.candlesticks(barCount, BacktestDataGenerator.TrendType.VOLATILE);
+        numFactory = Ta4jNumUtil.factoryOf(numMode);
+    }
+
+    @Benchmark
+    public BarSeries convert() {
+        return converter.convert(candlesticks, BenchmarkData.SYMBOL, barStorage, numFactory);
+    }
+}
@@ -0,0 +1,36 @@
+package com.okx.trading.benchmark;
+
+import com.okx.trading.model.entity.CandlestickEntity;
+import com.okx.trading.util.BacktestDataGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 基准测试数据
+ * 使用固定随机种子生成K线，保证每次运行、每个分支上的测试输入完全一致，结果可以直接对比。
+ */
+final class BenchmarkData {
+
+    static final String SYMBOL = "BTC-USDT";
+    static final String INTERVAL = "1H";
+    static final long SEED = 20240101L;
+    static final LocalDateTime START_TIME = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成指定根数的小时K线
+     *
+     * @param barCount K线数量
+     * @param trendType 趋势类型
+     * @return K线数据
+     */
+    static List<CandlestickEntity> candlesticks(int barCount, BacktestDataGenerator.TrendType trendType) {
+        LocalDateTime endTime = START_TIME.plusHours(barCount - 1L);
+        return BacktestDataGenerator.generateCandlestickData(SYMBOL, INTERVAL, START_TIME, endTime,
+                trendType, new BigDecimal("30000"), SEED);
+    }
+}
@@ -0,0 +1,79 @@
+package com.okx.trading.benchmark;
+
+import com.okx.trading.adapter.CandlestickBarSeriesConverter;
+import com.okx.trading.model.dto.BacktestResultDTO;
+import com.okx.trading.model.entity.CandlestickEntity;
+import com.okx.trading.strategy.BacktestMetricsCalculator;
+import com.okx.trading.strategy.BenchmarkSeries;
+import com.okx.trading.strategy.StrategyRegisterCenter;
+import com.okx.trading.util.BacktestDataGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.backtest.BarSeriesManager;
+import org.ta4j.core.backtest.TradeOnCurrentCloseModel;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 回测指标计算的基准测试
+ * 交易记录在准备阶段生成一次，只测量BacktestMetricsCalculator本身，分别对比double引擎和BigDecimal引擎。
+ * 不在Spring容器中运行，评分权重服务不可用，综合评分按无数据库权重计算。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsCalculatorBenchmark {
+
+    private static final BigDecimal INITIAL_AMOUNT = new BigDecimal("100000");
+    private static final BigDecimal FEE_RATIO = new BigDecimal("0.001");
+
+    @Param({BacktestMetricsCalculator.METRICS_ENGINE_PRIMITIVE, BacktestMetricsCalculator.METRICS_ENGINE_BIGDECIMAL})
+    public String metricsEngine;
+
+    @Param({"SMA", "RSI"})
+    public String strategyType;
+
+    @Param({"5000"})
+    public int barCount;
+
+    private BarSeries series;
+    private TradingRecord tradingRecord;
+    private BenchmarkSeries benchmark;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<CandlestickEntity> candlesticks = BenchmarkData.candlesticks(barCount, BacktestDataGenerator.TrendType.VOLATILE);
+        series = new CandlestickBarSeriesConverter().convert(candlesticks, BenchmarkData.SYMBOL);
+        tradingRecord = new BarSeriesManager(series, new ZeroCostModel(), new ZeroCostModel(), new TradeOnCurrentCloseModel())
+                .run(StrategyRegisterCenter.createStrategy(series, strategyType), Trade.TradeType.BUY);
+        // 基准使用同一时间段的另一条走势
+        List<CandlestickEntity> benchmarkCandlesticks = BenchmarkData.candlesticks(barCount, BacktestDataGenerator.TrendType.UPTREND);
+        benchmark = BenchmarkSeries.of(BenchmarkData.SYMBOL, BenchmarkData.INTERVAL, BenchmarkData.START_TIME,
+                BenchmarkData.START_TIME.plusHours(barCount - 1L), benchmarkCandlesticks);
+    }
+
+    @Benchmark
+    public BacktestResultDTO calculate() {
+        return new BacktestMetricsCalculator(series, tradingRecord, INITIAL_AMOUNT, strategyType, "",
+                FEE_RATIO, BenchmarkData.INTERVAL, benchmark, metricsEngine).getResult();
+    }
+}
@@ -0,0 +1,76 @@
+package com.okx.trading.benchmark;
+
+import com.okx.trading.adapter.CandlestickBarSeriesConverter;
+import com.okx.trading.strategy.StrategyRegisterCenter;
+import com.okx.trading.util.BacktestDataGenerator;
+import com.okx.trading.util.Ta4jNumUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.backtest.BarSeriesManager;
+import org.ta4j.core.backtest.TradeOnCurrentCloseModel;
+import org.ta4j.core.num.NumFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 策略回测的基准测试
+ * 每次调用都重新创建策略（与批量回测一致，指标缓存随策略一起新建），再用BarSeriesManager跑完整个序列。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrategyRunBenchmark {
+
+    @Param({"SMA", "EMA", "RSI", "MACD", "BOLLINGER_BANDS", "ATR", "ADAPTIVE_BOLLINGER"})
+    public String strategyType;
+
+    @Param({"5000"})
+    public int barCount;
+
+    @Param({Ta4jNumUtil.NUM_MODE_DECIMAL, Ta4jNumUtil.NUM_MODE_DOUBLE})
+    public String numMode;
+
+    private BarSeries series;
+    private BarSeriesManager seriesManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NumFactory numFactory = Ta4jNumUtil.factoryOf(numMode);
+        // 策略创建时通过Ta4jNumUtil构造常量，需要与序列使用同一种数值类型
+        Ta4jNumUtil.useNumFactory(numFactory);
+        series = new CandlestickBarSeriesConverter().convert(
+                BenchmarkData.candlesticks(barCount, BacktestDataGenerator.TrendType.VOLATILE),
+                BenchmarkData.SYMBOL, numFactory);
+        seriesManager = new BarSeriesManager(series, new ZeroCostModel(), new ZeroCostModel(), new TradeOnCurrentCloseModel());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Ta4jNumUtil.reset();
+    }
+
+    @Benchmark
+    public TradingRecord run() {
+        Strategy strategy = StrategyRegisterCenter.createStrategy(series, strategyType);
+        return seriesManager.run(strategy, Trade.TradeType.BUY);
+    }
+}
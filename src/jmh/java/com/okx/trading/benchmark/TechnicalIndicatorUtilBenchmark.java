@@ -0,0 +1,81 @@
+package com.okx.trading.benchmark;
+
+import com.okx.trading.model.entity.CandlestickEntity;
+import com.okx.trading.util.BacktestDataGenerator;
+import com.okx.trading.util.TechnicalIndicatorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TechnicalIndicatorUtil中BigDecimal指标计算的基准测试，使用各指标的常用默认参数
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TechnicalIndicatorUtilBenchmark {
+
+    private static final int SCALE = 8;
+    private static final BigDecimal KDJ_WEIGHT = new BigDecimal("0.666667");
+
+    @Param({"500", "5000"})
+    public int barCount;
+
+    private List<BigDecimal> closes;
+    private List<BigDecimal> highs;
+    private List<BigDecimal> lows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<CandlestickEntity> candlesticks = BenchmarkData.candlesticks(barCount, BacktestDataGenerator.TrendType.SIDEWAYS);
+        closes = candlesticks.stream().map(CandlestickEntity::getClose).toList();
+        highs = candlesticks.stream().map(CandlestickEntity::getHigh).toList();
+        lows = candlesticks.stream().map(CandlestickEntity::getLow).toList();
+    }
+
+    @Benchmark
+    public List<BigDecimal> rsi() {
+        return TechnicalIndicatorUtil.calculateRSI(closes, 14, SCALE);
+    }
+
+    @Benchmark
+    public List<BigDecimal> ema() {
+        return TechnicalIndicatorUtil.calculateEMA(closes, 20, SCALE);
+    }
+
+    @Benchmark
+    public TechnicalIndicatorUtil.MACD macd() {
+        return TechnicalIndicatorUtil.calculateMACD(closes, 12, 26, 9, SCALE);
+    }
+
+    @Benchmark
+    public TechnicalIndicatorUtil.BollingerBands bollingerBands() {
+        return TechnicalIndicatorUtil.calculateBollingerBands(closes, 20, 2.0, SCALE);
+    }
+
+    @Benchmark
+    public List<BigDecimal> atr() {
+        return TechnicalIndicatorUtil.calculateATR(highs, lows, closes, 14, SCALE);
+    }
+
+    @Benchmark
+    public TechnicalIndicatorUtil.KDJ kdj() {
+        return TechnicalIndicatorUtil.calculateKDJ(highs, lows, closes, 9, KDJ_WEIGHT, KDJ_WEIGHT, SCALE);
+    }
+}
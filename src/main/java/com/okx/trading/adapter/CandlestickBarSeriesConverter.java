@@ -12,7 +12,9 @@ import org.ta4j.core.BaseBar;
 import org.ta4j.core.BaseBarSeries;
 import org.ta4j.core.BaseBarSeriesBuilder;
 import org.ta4j.core.num.DecimalNum;
+import org.ta4j.core.num.DecimalNumFactory;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
 import org.ta4j.core.BarBuilder;
 import org.ta4j.core.BarBuilderFactory;
 
@@ -38,6 +40,19 @@ public class CandlestickBarSeriesConverter {
 
     private static final Logger log = LoggerFactory.getLogger(CandlestickBarSeriesConverter.class);
 
+    /**
+     * K线存储方式：每根K线一个BaseBar对象（默认）
+     */
+    public static final String BAR_STORAGE_OBJECT = "object";
+    /**
+     * K线存储方式：堆内列式存储，按需生成Bar
+     */
+    public static final String BAR_STORAGE_COLUMNAR = "columnar";
+    /**
+     * K线存储方式：堆外列式存储，按需生成Bar
+     */
+    public static final String BAR_STORAGE_OFFHEAP = "offheap";
+
     /**
      * 将蜡烛图数据列表转换为Ta4j的BarSeries
      *
@@ -46,11 +61,23 @@ public class CandlestickBarSeriesConverter {
      * @return Ta4j的BarSeries
      */
     public BarSeries convert(List<CandlestickEntity> candlesticks, String seriesName) {
+        return convert(candlesticks, seriesName, DecimalNumFactory.getInstance());
+    }
+
+    /**
+     * 使用指定数值类型将蜡烛图数据列表转换为Ta4j的BarSeries
+     *
+     * @param candlesticks 蜡烛图数据列表
+     * @param seriesName   数据系列名称
+     * @param numFactory   数值工厂，DecimalNum为高精度模式，DoubleNum为快速模式
+     * @return Ta4j的BarSeries
+     */
+    public BarSeries convert(List<CandlestickEntity> candlesticks, String seriesName, NumFactory numFactory) {
         if (candlesticks == null || candlesticks.isEmpty()) {
             log.warn("传入的蜡烛图数据为空，无法转换为BarSeries");
             // 创建空的BarSeries，适配Ta4j 0.18版本
             List<Bar> emptyBars = new ArrayList<>();
-            return new BaseBarSeriesBuilder().withName(seriesName).withBars(emptyBars).build();
+            return new BaseBarSeriesBuilder().withName(seriesName).withNumFactory(numFactory).withBars(emptyBars).build();
 
         }
 
@@ -66,7 +93,7 @@ public class CandlestickBarSeriesConverter {
         List<Bar> bars = new ArrayList<>();
         for (CandlestickEntity candle : sortedCandles) {
             try {
-                Bar bar = convertToBar(candle, barDuration);
+                Bar bar = convertToBar(candle, barDuration, numFactory);
                 bars.add(bar);
             } catch (Exception e) {
                 log.error("转换蜡烛图数据时发生错误: {}", e.getMessage(), e);
@@ -74,7 +101,107 @@ public class CandlestickBarSeriesConverter {
         }
 
         // 创建BarSeries，适配Ta4j 0.18版本
-        return new BaseBarSeriesBuilder().withName(seriesName).withBars(bars).build();
+        return new BaseBarSeriesBuilder().withName(seriesName).withNumFactory(numFactory).withBars(bars).build();
+    }
+
+    /**
+     * 按指定的存储方式将蜡烛图数据列表转换为Ta4j的BarSeries
+     *
+     * @param candlesticks 蜡烛图数据列表
+     * @param seriesName   数据系列名称
+     * @param barStorage   存储方式：object(每根K线一个BaseBar)、columnar(堆内列式)、offheap(堆外列式)
+     * @return Ta4j的BarSeries
+     */
+    public BarSeries convert(List<CandlestickEntity> candlesticks, String seriesName, String barStorage) {
+        return convert(candlesticks, seriesName, barStorage, DecimalNumFactory.getInstance());
+    }
+
+    /**
+     * 按指定的存储方式和数值类型将蜡烛图数据列表转换为Ta4j的BarSeries
+     *
+     * @param candlesticks 蜡烛图数据列表
+     * @param seriesName   数据系列名称
+     * @param barStorage   存储方式：object(每根K线一个BaseBar)、columnar(堆内列式)、offheap(堆外列式)
+     * @param numFactory   数值工厂，DecimalNum为高精度模式，DoubleNum为快速模式
+     * @return Ta4j的BarSeries
+     */
+    public BarSeries convert(List<CandlestickEntity> candlesticks, String seriesName, String barStorage, NumFactory numFactory) {
+        if (barStorage == null || BAR_STORAGE_OBJECT.equalsIgnoreCase(barStorage)) {
+            return convert(candlesticks, seriesName, numFactory);
+        }
+        if (BAR_STORAGE_COLUMNAR.equalsIgnoreCase(barStorage)) {
+            return convertColumnar(candlesticks, seriesName, false, numFactory);
+        }
+        if (BAR_STORAGE_OFFHEAP.equalsIgnoreCase(barStorage)) {
+            return convertColumnar(candlesticks, seriesName, true, numFactory);
+        }
+        throw new IllegalArgumentException("不支持的K线存储方式: " + barStorage);
+    }
+
+    /**
+     * 将蜡烛图数据列表转换为以列式存储为数据源的BarSeries
+     * K线以原始类型列保存，Bar对象在被访问时才生成，适合百万级K线的回测
+     *
+     * @param candlesticks 蜡烛图数据列表
+     * @param seriesName   数据系列名称
+     * @param offHeap      是否将列数据放在堆外内存
+     * @return Ta4j的BarSeries
+     */
+    public BarSeries convertColumnar(List<CandlestickEntity> candlesticks, String seriesName, boolean offHeap) {
+        return convertColumnar(candlesticks, seriesName, offHeap, DecimalNumFactory.getInstance());
+    }
+
+    /**
+     * 使用指定数值类型将蜡烛图数据列表转换为以列式存储为数据源的BarSeries
+     *
+     * @param candlesticks 蜡烛图数据列表
+     * @param seriesName   数据系列名称
+     * @param offHeap      是否将列数据放在堆外内存
+     * @param numFactory   数值工厂
+     * @return Ta4j的BarSeries
+     */
+    public BarSeries convertColumnar(List<CandlestickEntity> candlesticks, String seriesName, boolean offHeap, NumFactory numFactory) {
+        if (candlesticks == null || candlesticks.isEmpty()) {
+            log.warn("传入的蜡烛图数据为空，无法转换为BarSeries");
+            return new BaseBarSeriesBuilder().withName(seriesName).withNumFactory(numFactory).withBars(new ArrayList<>()).build();
+        }
+
+        // 按时间排序
+        List<CandlestickEntity> sortedCandles = candlesticks.stream().distinct()
+                .sorted(Comparator.comparing(CandlestickEntity::getOpenTime))
+                .collect(Collectors.toList());
+
+        ColumnarBarStore store = new ColumnarBarStore(sortedCandles.size(), determineBarDuration(sortedCandles), offHeap, numFactory);
+        for (CandlestickEntity candle : sortedCandles) {
+            try {
+                // 与convertToBar保持一致：优先使用收盘时间，缺失时使用开盘时间
+                LocalDateTime endTime = candle.getCloseTime() != null ? candle.getCloseTime() : candle.getOpenTime();
+                store.append(
+                        endTime.atZone(ZoneId.of("UTC+8")).toInstant().toEpochMilli(),
+                        toDouble(candle.getOpen()),
+                        toDouble(candle.getHigh()),
+                        toDouble(candle.getLow()),
+                        toDouble(candle.getClose()),
+                        toDouble(candle.getVolume()));
+            } catch (Exception e) {
+                log.error("转换蜡烛图数据时发生错误: {}", e.getMessage(), e);
+            }
+        }
+
+        log.info("列式BarSeries构建完成: {}, K线数: {}, 存储占用: {}KB, 堆外: {}",
+                seriesName, store.size(), store.getStorageBytes() / 1024, offHeap);
+        return new BaseBarSeriesBuilder().withName(seriesName).withNumFactory(numFactory).withBars(store.asBarList()).build();
+    }
+
+    /**
+     * 成交量缺失时按0处理
+     */
+    private static Num toNum(BigDecimal value, NumFactory numFactory) {
+        return numFactory.numOf(value != null ? value : BigDecimal.ZERO);
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0.0;
     }
 
     /**
@@ -106,20 +233,21 @@ public class CandlestickBarSeriesConverter {
     /**
      * 将单个蜡烛图数据转换为Ta4j的Bar对象
      *
-     * @param candle   蜡烛图数据
-     * @param duration 时间间隔
+     * @param candle     蜡烛图数据
+     * @param duration   时间间隔
+     * @param numFactory 数值工厂
      * @return Ta4j的Bar对象
      */
-    private Bar convertToBar(CandlestickEntity candle, Duration duration) {
+    private Bar convertToBar(CandlestickEntity candle, Duration duration, NumFactory numFactory) {
         if (candle.getCloseTime() == null) {
             log.warn("K线数据的关闭时间为null，使用开盘时间作为替代");
             ZonedDateTime endTime = candle.getOpenTime().atZone(ZoneId.of("UTC+8"));
 
             // 获取价格和成交量数据
-            Num openPrice = CandlestickAdapter.getOpen(candle);
-            Num highPrice = CandlestickAdapter.getHigh(candle);
-            Num lowPrice = CandlestickAdapter.getLow(candle);
-            Num closePrice = CandlestickAdapter.getClose(candle);
+            Num openPrice = numFactory.numOf(candle.getOpen());
+            Num highPrice = numFactory.numOf(candle.getHigh());
+            Num lowPrice = numFactory.numOf(candle.getLow());
+            Num closePrice = numFactory.numOf(candle.getClose());
             BigDecimal volume = candle.getVolume();
 
             return new BaseBar(
@@ -129,8 +257,8 @@ public class CandlestickBarSeriesConverter {
                     highPrice,
                     lowPrice,
                     closePrice,
-                    DecimalNum.valueOf(volume != null ? volume : BigDecimal.ZERO),
-                    DecimalNum.valueOf(BigDecimal.ZERO),
+                    toNum(volume, numFactory),
+                    numFactory.zero(),
                     0
             );
         }
@@ -139,10 +267,10 @@ public class CandlestickBarSeriesConverter {
         ZonedDateTime endTime = candle.getCloseTime().atZone(ZoneId.of("UTC+8"));
 
         // 获取价格和成交量数据
-        Num openPrice = CandlestickAdapter.getOpen(candle);
-        Num highPrice = CandlestickAdapter.getHigh(candle);
-        Num lowPrice = CandlestickAdapter.getLow(candle);
-        Num closePrice = CandlestickAdapter.getClose(candle);
+        Num openPrice = numFactory.numOf(candle.getOpen());
+        Num highPrice = numFactory.numOf(candle.getHigh());
+        Num lowPrice = numFactory.numOf(candle.getLow());
+        Num closePrice = numFactory.numOf(candle.getClose());
         BigDecimal volume = candle.getVolume();
 
         // 适配Ta4j 0.18版本，不再使用builder模式
@@ -153,8 +281,8 @@ public class CandlestickBarSeriesConverter {
                 highPrice,
                 lowPrice,
                 closePrice,
-                DecimalNum.valueOf(volume != null ? volume : BigDecimal.ZERO),
-                DecimalNum.valueOf(BigDecimal.ZERO),// 默认成交额为0,
+                toNum(volume, numFactory),
+                numFactory.zero(),// 默认成交额为0,
                 0
         );
     }
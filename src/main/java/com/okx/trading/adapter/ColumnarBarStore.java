@@ -0,0 +1,240 @@
+package com.okx.trading.adapter;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.num.DecimalNumFactory;
+import org.ta4j.core.num.NumFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 列式K线存储
+ * 以原始类型列（结束时间毫秒、开高低收、成交量）保存K线，每根K线只占用48字节，
+ * 避免为每根K线常驻一个BaseBar及6个DecimalNum对象。
+ * 列既可以放在堆内数组，也可以放在堆外的DirectByteBuffer中，减少大数据量回测时的GC压力。
+ * 通过 {@link #asBarList()} 得到按需生成Bar的只读列表，可直接作为BaseBarSeries的数据源。
+ */
+public class ColumnarBarStore {
+
+    /**
+     * 每根K线占用的字节数：1个long + 5个double
+     */
+    private static final int BYTES_PER_BAR = Long.BYTES + 5 * Double.BYTES;
+
+    /**
+     * 按需生成的Bar缓存槽数量（必须为2的幂），用于吸收指标计算时对同一根K线的重复访问
+     */
+    private static final int BAR_CACHE_SIZE = 4096;
+
+    private final Duration barDuration;
+    private final int capacity;
+    private final boolean offHeap;
+    private final NumFactory numFactory;
+
+    private final LongBuffer endTimes;
+    private final DoubleBuffer opens;
+    private final DoubleBuffer highs;
+    private final DoubleBuffer lows;
+    private final DoubleBuffer closes;
+    private final DoubleBuffer volumes;
+
+    private int size;
+
+    /**
+     * 创建列式存储
+     *
+     * @param capacity    最大K线数量
+     * @param barDuration K线周期
+     * @param offHeap     是否使用堆外内存
+     */
+    public ColumnarBarStore(int capacity, Duration barDuration, boolean offHeap) {
+        this(capacity, barDuration, offHeap, DecimalNumFactory.getInstance());
+    }
+
+    /**
+     * 创建列式存储
+     *
+     * @param capacity    最大K线数量
+     * @param barDuration K线周期
+     * @param offHeap     是否使用堆外内存
+     * @param numFactory  生成Bar时使用的数值工厂（DecimalNum或DoubleNum）
+     */
+    public ColumnarBarStore(int capacity, Duration barDuration, boolean offHeap, NumFactory numFactory) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("容量不能为负数: " + capacity);
+        }
+        this.capacity = capacity;
+        this.barDuration = barDuration;
+        this.offHeap = offHeap;
+        this.numFactory = numFactory;
+        this.endTimes = offHeap ? allocateDirect(capacity).asLongBuffer() : LongBuffer.allocate(capacity);
+        this.opens = newDoubleColumn(capacity, offHeap);
+        this.highs = newDoubleColumn(capacity, offHeap);
+        this.lows = newDoubleColumn(capacity, offHeap);
+        this.closes = newDoubleColumn(capacity, offHeap);
+        this.volumes = newDoubleColumn(capacity, offHeap);
+    }
+
+    /**
+     * 追加一根K线，调用方需保证按时间升序追加
+     *
+     * @param endTimeMillis K线结束时间（毫秒时间戳）
+     */
+    public void append(long endTimeMillis, double open, double high, double low, double close, double volume) {
+        if (size >= capacity) {
+            throw new IllegalStateException("列式K线存储已满，容量: " + capacity);
+        }
+        endTimes.put(size, endTimeMillis);
+        opens.put(size, open);
+        highs.put(size, high);
+        lows.put(size, low);
+        closes.put(size, close);
+        volumes.put(size, volume);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public NumFactory getNumFactory() {
+        return numFactory;
+    }
+
+    public Duration getBarDuration() {
+        return barDuration;
+    }
+
+    public long getEndTimeMillis(int index) {
+        checkIndex(index);
+        return endTimes.get(index);
+    }
+
+    public double getOpen(int index) {
+        checkIndex(index);
+        return opens.get(index);
+    }
+
+    public double getHigh(int index) {
+        checkIndex(index);
+        return highs.get(index);
+    }
+
+    public double getLow(int index) {
+        checkIndex(index);
+        return lows.get(index);
+    }
+
+    public double getClose(int index) {
+        checkIndex(index);
+        return closes.get(index);
+    }
+
+    public double getVolume(int index) {
+        checkIndex(index);
+        return volumes.get(index);
+    }
+
+    /**
+     * 存储本身占用的字节数（不含按需生成的Bar）
+     */
+    public long getStorageBytes() {
+        return (long) capacity * BYTES_PER_BAR;
+    }
+
+    /**
+     * 生成指定下标的Ta4j Bar对象
+     *
+     * @param index K线下标
+     * @return Ta4j的Bar对象
+     */
+    public Bar toBar(int index) {
+        checkIndex(index);
+        return new BaseBar(
+                barDuration,
+                Instant.ofEpochMilli(endTimes.get(index)),
+                numFactory.numOf(opens.get(index)),
+                numFactory.numOf(highs.get(index)),
+                numFactory.numOf(lows.get(index)),
+                numFactory.numOf(closes.get(index)),
+                numFactory.numOf(volumes.get(index)),
+                numFactory.zero(), // 默认成交额为0
+                0
+        );
+    }
+
+    /**
+     * 返回以本存储为数据源的只读Bar列表，Bar在首次访问时才生成
+     *
+     * @return 只读Bar列表
+     */
+    public List<Bar> asBarList() {
+        return new LazyBarList();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("K线下标越界: " + index + ", 数量: " + size);
+        }
+    }
+
+    private static ByteBuffer allocateDirect(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * 8).order(ByteOrder.nativeOrder());
+    }
+
+    private static DoubleBuffer newDoubleColumn(int capacity, boolean offHeap) {
+        return offHeap ? allocateDirect(capacity).asDoubleBuffer() : DoubleBuffer.allocate(capacity);
+    }
+
+    /**
+     * 缓存槽中的Bar及其下标，字段不可变以保证跨线程安全发布
+     */
+    private static final class CachedBar {
+        private final int index;
+        private final Bar bar;
+
+        private CachedBar(int index, Bar bar) {
+            this.index = index;
+            this.bar = bar;
+        }
+    }
+
+    /**
+     * 按需生成Bar的只读列表
+     * 使用直接映射的小缓存保存最近生成的Bar，内存占用有上限；
+     * 缓存槽的竞争写入只会导致重复生成，不影响正确性，因此可被多个回测线程共享。
+     */
+    private final class LazyBarList extends AbstractList<Bar> implements RandomAccess {
+
+        private final CachedBar[] cache = new CachedBar[BAR_CACHE_SIZE];
+
+        @Override
+        public Bar get(int index) {
+            int slot = index & (BAR_CACHE_SIZE - 1);
+            CachedBar cached = cache[slot];
+            if (cached != null && cached.index == index) {
+                return cached.bar;
+            }
+            Bar bar = toBar(index);
+            cache[slot] = new CachedBar(index, bar);
+            return bar;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.okx.trading.config;
 
+import com.okx.trading.util.PartitionedExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +26,15 @@ public class ThreadPoolConfig{
     @Value("${okx.price-update.max-threads:5}")
     private int maxPriceUpdateThreads;
 
+    @Value("${okx.realtime.dispatch-threads:4}")
+    private int klineDispatchThreads;
+
+    @Value("${okx.realtime.dispatch-queue-capacity:1024}")
+    private int klineDispatchQueueCapacity;
+
+    @Value("${okx.realtime.dispatch-max-pending-per-key:16}")
+    private int klineDispatchMaxPendingPerKey;
+
     /**
      * 创建带有命名前缀的线程工厂
      *
@@ -90,6 +100,37 @@ public class ThreadPoolConfig{
                 createThreadFactory("执行交易和数据库更新"));
     }
 
+    /**
+     * 实时K线分发执行器
+     * 按 交易对/周期 分区，同一K线流的推送串行处理，不同交易对之间互不阻塞；
+     * 同一根K线尚未处理的推送只保留最新一次
+     */
+    @Bean(name = "klineDispatchExecutor", destroyMethod = "shutdown")
+    public PartitionedExecutor klineDispatchExecutor(){
+        return new PartitionedExecutor(klineDispatchThreads, klineDispatchQueueCapacity,
+            klineDispatchMaxPendingPerKey, createThreadFactory("K线分发"));
+    }
+
+    /**
+     * 回测结果写入线程
+     * 单线程消费回测结果写入队列，批量写入数据库
+     */
+    @Bean(name = "backtestResultWriterExecutor")
+    public ExecutorService backtestResultWriterExecutor(){
+        return Executors.newSingleThreadExecutor(
+            createThreadFactory("回测结果写入"));
+    }
+
+    /**
+     * 交易后处理线程池
+     * 交易入库、订单审计、交易通知三个阶段各占一个消费线程
+     */
+    @Bean(name = "postTradeExecutor")
+    public ExecutorService postTradeExecutor(){
+        return Executors.newFixedThreadPool(3,
+            createThreadFactory("交易后处理"));
+    }
+
     /**
      * WebSocket心跳线程池
      * 用于定期发送WebSocket心跳消息
@@ -117,6 +158,16 @@ public class ThreadPoolConfig{
                 createThreadFactory("WebSocket初始化"));
     }
 
+    /**
+     * WebSocket消息接入线程池
+     * K线、行情/标记价格、订单/账户三个接入通道各占一个消费线程
+     */
+    @Bean(name = "websocketIngestExecutor")
+    public ExecutorService websocketIngestExecutor(){
+        return Executors.newFixedThreadPool(3,
+                createThreadFactory("WebSocket消息处理"));
+    }
+
     @Bean(name = "coinSubscribeScheduler")
     public ScheduledExecutorService coinSubscribeScheduler(){
         return Executors.newScheduledThreadPool(3,
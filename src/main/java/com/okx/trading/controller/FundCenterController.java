@@ -4,12 +4,16 @@ import com.okx.trading.model.common.ApiResponse;
 import com.okx.trading.model.dto.FundDataDTO;
 import com.okx.trading.model.entity.FundDataEntity;
 import com.okx.trading.service.FundCenterService;
+import com.okx.trading.service.impl.PortfolioAggregator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/fund-center")
@@ -17,6 +21,24 @@ import java.util.List;
 public class FundCenterController {
 
     private final FundCenterService fundCenterService;
+    private final PortfolioAggregator portfolioAggregator;
+
+    /**
+     * 获取运行中策略的组合收益汇总
+     * 总投资、已实现收益、预估收益以及每个交易对的持仓，成交和价格推送时增量更新
+     */
+    @GetMapping("/portfolio")
+    public ApiResponse<Map<String, Object>> getPortfolio() {
+        return ApiResponse.success(portfolioAggregator.getSnapshot());
+    }
+
+    /**
+     * 订阅组合收益汇总推送（SSE），汇总变化后按固定间隔推送 portfolio 事件
+     */
+    @GetMapping(value = "/portfolio/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPortfolio() {
+        return portfolioAggregator.subscribe();
+    }
 
     @GetMapping("/recordFundDataManually")
     public ApiResponse<FundDataEntity> recordFundDataManually() {
@@ -7,6 +7,7 @@ import com.okx.trading.model.entity.IndicatorDistributionEntity;
 import com.okx.trading.service.IndicatorDistributionService;
 import com.okx.trading.service.IndicatorWeightService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,10 +37,14 @@ public class IndicatorDistributionController {
      */
     @PostMapping("/update")
     @Operation(summary = "更新指标分布统计数据")
-    public ResponseEntity<ApiResponse<List<IndicatorDistributionEntity>>> updateIndicatorDistributions() {
+    public ResponseEntity<ApiResponse<List<IndicatorDistributionEntity>>> updateIndicatorDistributions(
+            @Parameter(description = "是否增量更新（只合并上个版本之后新增的回测记录）")
+            @RequestParam(defaultValue = "false") boolean incremental) {
         try {
-            log.info("开始更新指标分布数据...");
-            List<IndicatorDistributionEntity> distributions = indicatorDistributionService.updateIndicatorDistributions();
+            log.info("开始{}更新指标分布数据...", incremental ? "增量" : "全量");
+            List<IndicatorDistributionEntity> distributions = incremental
+                    ? indicatorDistributionService.updateIndicatorDistributionsIncrementally()
+                    : indicatorDistributionService.updateIndicatorDistributions();
 
             if (distributions.isEmpty()) {
                 return ResponseEntity.ok(ApiResponse.error("没有生成任何指标分布数据"));
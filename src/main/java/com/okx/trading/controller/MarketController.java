@@ -10,7 +10,12 @@ import com.okx.trading.service.HistoricalDataService;
 import com.okx.trading.service.OkxApiService;
 import com.okx.trading.service.RedisCacheService;
 import com.okx.trading.service.KlineCacheService;
+import com.okx.trading.service.impl.CandlestickBulkWriter;
+import com.okx.trading.service.impl.CandlestickCoverageIndex;
+import com.okx.trading.service.impl.HistoryKlineFetchScheduler;
+import com.okx.trading.service.impl.LivePriceCache;
 import com.okx.trading.util.TechnicalIndicatorUtil;
+import com.okx.trading.util.WebSocketUtil;
 
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
@@ -61,17 +66,32 @@ public class MarketController {
     private final RedisCacheService redisCacheService;
     private final KlineCacheService klineCacheService;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final CandlestickBulkWriter candlestickBulkWriter;
+    private final HistoryKlineFetchScheduler historyKlineFetchScheduler;
+    private final CandlestickCoverageIndex candlestickCoverageIndex;
+    private final WebSocketUtil webSocketUtil;
+    private final LivePriceCache livePriceCache;
 
     @Autowired
     public MarketController(OkxApiService okxApiService,
                             HistoricalDataService historicalDataService,
                             RedisCacheService redisCacheService,
-                            KlineCacheService klineCacheService, RedisTemplate<String, Object> redisTemplate) {
+                            KlineCacheService klineCacheService, RedisTemplate<String, Object> redisTemplate,
+                            CandlestickBulkWriter candlestickBulkWriter,
+                            HistoryKlineFetchScheduler historyKlineFetchScheduler,
+                            CandlestickCoverageIndex candlestickCoverageIndex,
+                            WebSocketUtil webSocketUtil,
+                            LivePriceCache livePriceCache) {
         this.okxApiService = okxApiService;
         this.historicalDataService = historicalDataService;
         this.redisCacheService = redisCacheService;
         this.klineCacheService = klineCacheService;
         this.redisTemplate = redisTemplate;
+        this.candlestickBulkWriter = candlestickBulkWriter;
+        this.historyKlineFetchScheduler = historyKlineFetchScheduler;
+        this.candlestickCoverageIndex = candlestickCoverageIndex;
+        this.webSocketUtil = webSocketUtil;
+        this.livePriceCache = livePriceCache;
     }
 
     // 判断是否为开发环境，用于控制日志详细程度
@@ -306,6 +326,56 @@ public class MarketController {
         return ApiResponse.success(subscriptions);
     }
 
+    /**
+     * 查看历史K线批量写入的吞吐统计
+     */
+    @Operation(summary = "K线写入统计", description = "查看历史K线批量写入的语句数、新增/忽略行数和每秒写入行数")
+    @GetMapping("/ingest_stats")
+    public ApiResponse<Map<String, Object>> getIngestStats() {
+        return ApiResponse.success(candlestickBulkWriter.getStats());
+    }
+
+    /**
+     * 查看WebSocket消息接入通道的队列状态
+     */
+    @Operation(summary = "WebSocket接入统计", description = "查看K线、行情、订单各接入通道的队列深度、丢弃/合并消息数、背压等待次数和排队延迟")
+    @GetMapping("/websocket_ingest_stats")
+    public ApiResponse<List<Map<String, Object>>> getWebSocketIngestStats() {
+        return ApiResponse.success(webSocketUtil.getIngestStats());
+    }
+
+    /**
+     * 查看最新价格缓存的状态
+     */
+    @Operation(summary = "最新价格缓存统计", description = "查看最新价格缓存的交易对数量、过期交易对数量、命中次数和回退到REST刷新的次数")
+    @GetMapping("/price_cache_stats")
+    public ApiResponse<Map<String, Object>> getPriceCacheStats() {
+        return ApiResponse.success(livePriceCache.getStats());
+    }
+
+    /**
+     * 查看历史K线抓取调度器状态和回补进度
+     */
+    @Operation(summary = "历史K线回补进度", description = "查看历史K线接口的限频、自适应并发度、限流/重试次数以及正在进行和最近完成的回补任务进度")
+    @GetMapping("/backfill_progress")
+    public ApiResponse<Map<String, Object>> getBackfillProgress() {
+        return ApiResponse.success(historyKlineFetchScheduler.getStats());
+    }
+
+    /**
+     * 查看历史K线覆盖区间
+     */
+    @Operation(summary = "历史K线覆盖区间", description = "查看数据库中某交易对/周期连续无缺口的K线开盘时间区间")
+    @Parameters({
+            @Parameter(name = "symbol", description = "交易对", required = true, example = "BTC-USDT"),
+            @Parameter(name = "interval", description = "K线间隔", required = true, example = "1H")
+    })
+    @GetMapping("/kline_coverage")
+    public ApiResponse<List<Map<String, Object>>> getKlineCoverage(@NotBlank(message = "交易对不能为空") @RequestParam String symbol,
+                                                                   @NotBlank(message = "K线间隔不能为空") @RequestParam String interval) {
+        return ApiResponse.success(candlestickCoverageIndex.getRanges(symbol, interval));
+    }
+
     /**
      * 获取所有订阅币种的最新行情数据
      *
@@ -225,6 +225,42 @@ public class RealTimeStrategyController {
         }
     }
 
+    /**
+     * 获取滚动K线序列的统计信息
+     */
+    @GetMapping("/live-series/stats")
+    @Operation(summary = "获取实时策略K线序列统计", description = "各交易对/周期滚动K线序列的推送次数、新K线数和策略规则判断耗时")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "获取成功"),
+            @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public com.okx.trading.util.ApiResponse<List<Map<String, Object>>> getLiveSeriesStats() {
+        try {
+            return com.okx.trading.util.ApiResponse.success(realTimeStrategyManager.getLiveSeriesStats());
+        } catch (Exception e) {
+            log.error("获取实时策略K线序列统计失败", e);
+            return com.okx.trading.util.ApiResponse.error(503, "获取实时策略K线序列统计失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取K线分发执行器的统计信息
+     */
+    @GetMapping("/live-series/dispatch-stats")
+    @Operation(summary = "获取实时K线分发统计", description = "各分发分区的队列长度，以及推送的合并、丢弃和拒绝次数")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "获取成功"),
+            @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public com.okx.trading.util.ApiResponse<Map<String, Object>> getDispatchStats() {
+        try {
+            return com.okx.trading.util.ApiResponse.success(realTimeStrategyManager.getDispatchStats());
+        } catch (Exception e) {
+            log.error("获取实时K线分发统计失败", e);
+            return com.okx.trading.util.ApiResponse.error(503, "获取实时K线分发统计失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 根据策略代码获取实时策略
      */
@@ -1,21 +1,28 @@
 package com.okx.trading.controller;
 
 import com.alibaba.fastjson.JSONObject;
+import com.okx.trading.indicator.IndicatorCache;
 import com.okx.trading.model.common.ApiResponse;
 import com.okx.trading.model.dto.BacktestResultDTO;
 import com.okx.trading.model.entity.*;
 import com.okx.trading.model.dto.StrategyUpdateRequestDTO;
 import com.okx.trading.repository.BacktestSummaryRepository;
 import com.okx.trading.service.*;
+import com.okx.trading.service.impl.BenchmarkService;
 import com.okx.trading.service.impl.DeepSeekApiService;
 import com.okx.trading.service.impl.DynamicStrategyService;
 import com.okx.trading.service.impl.JavaCompilerDynamicStrategyService;
 import com.okx.trading.service.impl.SmartDynamicStrategyService;
+import com.okx.trading.service.impl.StrategyOptimizerService;
+import com.okx.trading.strategy.BenchmarkSeries;
 import com.okx.trading.strategy.RealTimeStrategyManager;
+import com.okx.trading.strategy.StrategyParams;
+import com.okx.trading.strategy.StrategyRegisterCenter;
 import com.okx.trading.adapter.CandlestickAdapter;
 import com.okx.trading.adapter.CandlestickBarSeriesConverter;
 import com.okx.trading.service.impl.Ta4jBacktestService;
 import com.okx.trading.model.trade.Order;
+import com.okx.trading.util.Ta4jNumUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,6 +33,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.DecimalNumFactory;
+import org.ta4j.core.num.NumFactory;
 
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
@@ -66,6 +75,8 @@ public class Ta4jBacktestController {
     private final RealTimeStrategyManager realTimeStrategyManager;
     private final RealTimeStrategyService realTimeStrategyService;
     private final BacktestSummaryRepository backtestSummaryRepository;
+    private final StrategyOptimizerService strategyOptimizerService;
+    private final BenchmarkService benchmarkService;
 
     // 线程池
     private final ExecutorService scheduler;
@@ -92,6 +103,8 @@ public class Ta4jBacktestController {
                                   RealTimeStrategyManager realTimeStrategyManager,
                                   RealTimeStrategyService realTimeStrategyService,
                                   BacktestSummaryRepository backtestSummaryRepository,
+                                  StrategyOptimizerService strategyOptimizerService,
+                                  BenchmarkService benchmarkService,
                                   @Qualifier("tradeIndicatorCalculateScheduler") ExecutorService scheduler,
                                   @Qualifier("realTimeTradeIndicatorCalculateScheduler") ExecutorService realTimeTradeScheduler) {
         this.historicalDataService = historicalDataService;
@@ -112,6 +125,8 @@ public class Ta4jBacktestController {
         this.realTimeStrategyManager = realTimeStrategyManager;
         this.realTimeStrategyService = realTimeStrategyService;
         this.backtestSummaryRepository = backtestSummaryRepository;
+        this.strategyOptimizerService = strategyOptimizerService;
+        this.benchmarkService = benchmarkService;
         this.scheduler = scheduler;
         this.realTimeTradeScheduler = realTimeTradeScheduler;
     }
@@ -155,7 +170,19 @@ public class Ta4jBacktestController {
             @Parameter(name = "是否保存结果",
                     required = true,
                     example = "true")
-            @RequestParam(defaultValue = "true") boolean saveResult) {
+            @RequestParam(defaultValue = "true") boolean saveResult,
+            @Parameter(name = "K线存储方式 (object: 每根K线一个Bar对象, columnar: 堆内列式, offheap: 堆外列式)",
+                    required = false,
+                    example = "object")
+            @RequestParam(required = false, defaultValue = "object") String barStorage,
+            @Parameter(name = "数值模式 (decimal: 高精度DecimalNum, double: 快速DoubleNum)",
+                    required = false,
+                    example = "decimal")
+            @RequestParam(required = false, defaultValue = "decimal") String numMode,
+            @Parameter(name = "是否与DecimalNum结果对比 (仅在double模式下生效)",
+                    required = false,
+                    example = "false")
+            @RequestParam(required = false, defaultValue = "false") boolean compareWithDecimal) {
 
         log.info("开始执行Ta4j回测，交易对: {}, 间隔: {}, 时间范围: {} - {}, 策略: {}, 参数: {}, 初始资金: {}, 手续费率: {}",
                 symbol, interval, startTime, endTime, strategyType, strategyParams, initialAmount, feeRatio);
@@ -166,7 +193,7 @@ public class Ta4jBacktestController {
             List<CandlestickEntity> candlesticks = historicalDataService.fetchAndSaveHistoryWithIntegrityCheck(symbol, interval, startTime.format(dateFormat), endTime.format(dateFormat));
 
             // 获取基准数据
-            List<CandlestickEntity> benchmarkCandlesticks = historicalDataService.fetchAndSaveHistoryWithIntegrityCheck("BTC-USDT", interval, startTime.format(dateFormat), endTime.format(dateFormat));
+            BenchmarkSeries benchmark = benchmarkService.getBenchmark(interval, startTime, endTime, symbol, candlesticks);
 
             if (candlesticks == null || candlesticks.isEmpty()) {
                 return ApiResponse.error(404, "未找到指定条件的历史数据");
@@ -174,13 +201,27 @@ public class Ta4jBacktestController {
             // 生成唯一的系列名称
             String seriesName = CandlestickAdapter.getSymbol(candlesticks.get(0)) + "_" + CandlestickAdapter.getIntervalVal(candlesticks.get(0));
             // 使用转换器将蜡烛图实体转换为条形系列
-            BarSeries series = barSeriesConverter.convert(candlesticks, seriesName);
+            NumFactory numFactory = Ta4jNumUtil.factoryOf(numMode);
+            BarSeries series = barSeriesConverter.convert(candlesticks, seriesName, barStorage, numFactory);
+            boolean compareNumMode = compareWithDecimal && Ta4jNumUtil.NUM_MODE_DOUBLE.equalsIgnoreCase(numMode);
 
             StrategyInfoEntity strategy = strategyInfoService.getStrategyByCode(strategyType).get();
 
 
             // 执行回测
-            BacktestResultDTO result = ta4jBacktestService.backtest(series, benchmarkCandlesticks, strategyType, initialAmount, feeRatio, interval);
+            long backtestBegin = System.currentTimeMillis();
+            BacktestResultDTO result = ta4jBacktestService.backtest(series, benchmark, strategyType, initialAmount, feeRatio, interval);
+            long backtestMillis = System.currentTimeMillis() - backtestBegin;
+            result.setNumMode(numMode);
+
+            // 在相同数据上使用DecimalNum再回测一次，生成精度与耗时对比报告
+            if (compareNumMode) {
+                BarSeries decimalSeries = barSeriesConverter.convert(candlesticks, seriesName, barStorage, DecimalNumFactory.getInstance());
+                long decimalBegin = System.currentTimeMillis();
+                BacktestResultDTO decimalResult = ta4jBacktestService.backtest(decimalSeries, benchmark, strategyType, initialAmount, feeRatio, interval);
+                long decimalMillis = System.currentTimeMillis() - decimalBegin;
+                result.setNumModeComparison(ta4jBacktestService.compareNumModes(decimalResult, decimalMillis, result, backtestMillis));
+            }
 
             result.setStrategyName(strategy.getStrategyName());
             result.setStrategyCode(strategy.getStrategyCode());
@@ -256,7 +297,19 @@ public class Ta4jBacktestController {
             @Parameter(name = "并行线程数",
                     required = false,
                     example = "4")
-            @RequestParam(required = false, defaultValue = "4") int threadCount) {
+            @RequestParam(required = false, defaultValue = "4") int threadCount,
+            @Parameter(name = "K线存储方式 (object: 每根K线一个Bar对象, columnar: 堆内列式, offheap: 堆外列式)",
+                    required = false,
+                    example = "columnar")
+            @RequestParam(required = false, defaultValue = "object") String barStorage,
+            @Parameter(name = "数值模式 (decimal: 高精度DecimalNum, double: 快速DoubleNum)",
+                    required = false,
+                    example = "decimal")
+            @RequestParam(required = false, defaultValue = "decimal") String numMode,
+            @Parameter(name = "是否与DecimalNum结果对比 (仅在double模式下生效)",
+                    required = false,
+                    example = "false")
+            @RequestParam(required = false, defaultValue = "false") boolean compareWithDecimal) {
 
         log.info("开始执行所有策略的批量回测，交易对: {}, 间隔: {}, 时间范围: {} - {}, 初始资金: {}, 手续费率: {}, 并行线程数: {}",
                 symbol, interval, startTime, endTime, initialAmount, feeRatio, threadCount);
@@ -267,19 +320,32 @@ public class Ta4jBacktestController {
 
         // 存储所有回测结果
         List<Map<String, Object>> allResults = Collections.synchronizedList(new ArrayList<>());
+        // 数值模式对比报告（仅在double模式且要求对比时收集）
+        List<Map<String, Object>> numModeComparisons = Collections.synchronizedList(new ArrayList<>());
 
         try {
             // 获取历史数据
             List<CandlestickEntity> candlesticks = historicalDataService.fetchAndSaveHistoryWithIntegrityCheck(symbol, interval, startTime.format(dateFormat), endTime.format(dateFormat));
 
             // 获取基准数据
-            List<CandlestickEntity> benchmarkCandlesticks = historicalDataService.fetchAndSaveHistoryWithIntegrityCheck("BTC-USDT", interval, startTime.format(dateFormat), endTime.format(dateFormat));
+            BenchmarkSeries benchmark = benchmarkService.getBenchmark(interval, startTime, endTime, symbol, candlesticks);
 
             // 生成唯一的系列名称
             String seriesName = CandlestickAdapter.getSymbol(candlesticks.get(0)) + "_" + CandlestickAdapter.getIntervalVal(candlesticks.get(0));
 
             // 使用转换器将蜡烛图实体转换为条形系列
-            BarSeries series = barSeriesConverter.convert(candlesticks, seriesName);
+            NumFactory numFactory = Ta4jNumUtil.factoryOf(numMode);
+            BarSeries series = barSeriesConverter.convert(candlesticks, seriesName, barStorage, numFactory);
+
+            // double模式下如需对比，额外构建一份DecimalNum序列供所有策略共享
+            boolean compareNumMode = compareWithDecimal && Ta4jNumUtil.NUM_MODE_DOUBLE.equalsIgnoreCase(numMode);
+            BarSeries decimalSeries = compareNumMode
+                    ? barSeriesConverter.convert(candlesticks, seriesName, barStorage, DecimalNumFactory.getInstance())
+                    : null;
+
+            // 批量内所有策略共享的指标缓存，相同类型和参数的指标只计算一次
+            IndicatorCache indicatorCache = new IndicatorCache();
+            IndicatorCache decimalIndicatorCache = compareNumMode ? new IndicatorCache() : null;
 
             // 获取所有支持的策略
             Map<String, Map<String, Object>> strategiesInfo = strategyInfoService.getStrategiesInfo();
@@ -303,8 +369,19 @@ public class Ta4jBacktestController {
 
                         // 执行回测 - 添加额外的异常处理
                         BacktestResultDTO result = null;
+                        Map<String, Object> numModeComparison = null;
                         try {
-                            result = ta4jBacktestService.backtest(series, benchmarkCandlesticks, currentStrategyCode, initialAmount, feeRatio, interval);
+                            long backtestBegin = System.currentTimeMillis();
+                            result = ta4jBacktestService.backtest(series, benchmark, currentStrategyCode, initialAmount, feeRatio, interval, indicatorCache);
+                            long backtestMillis = System.currentTimeMillis() - backtestBegin;
+
+                            if (compareNumMode) {
+                                long decimalBegin = System.currentTimeMillis();
+                                BacktestResultDTO decimalResult = ta4jBacktestService.backtest(decimalSeries, benchmark, currentStrategyCode, initialAmount, feeRatio, interval, decimalIndicatorCache);
+                                long decimalMillis = System.currentTimeMillis() - decimalBegin;
+                                numModeComparison = ta4jBacktestService.compareNumModes(decimalResult, decimalMillis, result, backtestMillis);
+                                numModeComparisons.add(numModeComparison);
+                            }
                         } catch (Exception backtestException) {
                             log.error("策略 {} 回测执行失败: {}", currentStrategyCode, backtestException.getMessage());
                             // 创建一个失败的结果对象
@@ -325,21 +402,11 @@ public class Ta4jBacktestController {
                         // 如果需要保存结果到数据库
                         if (saveResult && result.isSuccess()) {
                             try {
-                                // 保存交易明细
-                                String backtestId = backtestTradeService.saveBacktestTrades(symbol, result, defaultParams);
+                                // 交易明细、资金曲线和汇总信息（包含批量回测ID）交给后台线程批量写入
+                                String backtestId = backtestTradeService.saveBacktestResultAsync(
+                                        symbol, result, defaultParams, interval, startTime, endTime, batchBacktestId);
                                 result.setBacktestId(backtestId);
 
-                                // 保存资金曲线数据
-                                if (result.getEquityCurve() != null && !result.getEquityCurve().isEmpty() &&
-                                        result.getEquityCurveTimestamps() != null && !result.getEquityCurveTimestamps().isEmpty()) {
-                                    backtestTradeService.saveBacktestEquityCurve(backtestId, result.getEquityCurve(), result.getEquityCurveTimestamps());
-                                    log.info("成功保存回测资金曲线数据，回测ID: {}, 数据点数: {}", backtestId, result.getEquityCurve().size());
-                                }
-
-                                // 保存汇总信息，包含批量回测ID
-                                backtestTradeService.saveBacktestSummary(
-                                        result, defaultParams, symbol, interval, startTime, endTime, backtestId, batchBacktestId);
-
                                 result.setParameterDescription(result.getParameterDescription() + " (BacktestID: " + backtestId + ", BatchID: " + batchBacktestId + ")");
                             } catch (Exception saveException) {
                                 log.error("策略 {} 保存结果失败: {}", currentStrategyCode, saveException.getMessage());
@@ -352,6 +419,9 @@ public class Ta4jBacktestController {
                         resultMap.put("strategy_code", currentStrategyCode);
                         resultMap.put("strategy_name", strategyDetails.get("name"));
                         resultMap.put("success", result.isSuccess());
+                        if (numModeComparison != null) {
+                            resultMap.put("num_mode_comparison", numModeComparison);
+                        }
 
                         if (result.isSuccess()) {
                             resultMap.put("total_return", result.getTotalReturn() != null ? result.getTotalReturn() : BigDecimal.ZERO);
@@ -466,6 +536,19 @@ public class Ta4jBacktestController {
             }
 
             response.put("avg_return", successCount > 0 ? totalReturn / successCount : 0.0);
+            response.put("num_mode", numMode);
+            response.put("indicator_cache", indicatorCache.getStats());
+            response.put("benchmark_cache", benchmarkService.getStats());
+            if (saveResult) {
+                response.put("persist_stats", backtestTradeService.getPersistStats());
+            }
+            indicatorCache.clear();
+            if (decimalIndicatorCache != null) {
+                decimalIndicatorCache.clear();
+            }
+            if (!numModeComparisons.isEmpty()) {
+                response.put("num_mode_comparison", ta4jBacktestService.summarizeNumModeComparisons(numModeComparisons));
+            }
             response.put("results", allResults);
 
             log.info("批量回测完成，批量ID: {}, 成功: {}, 失败: {}",
@@ -495,6 +578,153 @@ public class Ta4jBacktestController {
         }
     }
 
+    @GetMapping("/optimize")
+    @Operation(summary = "策略参数优化", description = "在策略声明的参数范围内执行网格/随机/逐次减半搜索，并保存最优的N组参数回测结果")
+    public ApiResponse<Map<String, Object>> optimizeStrategy(
+            @Parameter(name = "交易对", example = "BTC-USDT", required = true) @RequestParam String symbol,
+            @Parameter(name = "时间间隔", example = "1h", required = true) @RequestParam String interval,
+            @Parameter(name = "策略代码", example = "SMA", required = true) @RequestParam String strategyType,
+            @Parameter(name = "开始时间 (格式: yyyy-MM-dd HH:mm:ss)",
+                    example = "2023-01-01 00:00:00",
+                    required = true
+            )
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+            @Parameter(name = "结束时间 (格式: yyyy-MM-dd HH:mm:ss)",
+                    example = "2023-12-31 23:59:59",
+                    required = true
+            )
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime,
+            @Parameter(name = "初始资金", example = "100000", required = true) @RequestParam BigDecimal initialAmount,
+            @Parameter(name = "交易手续费率", example = "0.001", required = false)
+            @RequestParam(required = false, defaultValue = "0.001") BigDecimal feeRatio,
+            @Parameter(name = "搜索方式 (grid: 网格, random: 随机, halving: 逐次减半)", example = "grid", required = false)
+            @RequestParam(required = false, defaultValue = "grid") String searchMode,
+            @Parameter(name = "优化目标 (total_return, sharpe_ratio, calmar_ratio, profit_factor)", example = "total_return", required = false)
+            @RequestParam(required = false, defaultValue = "total_return") String objective,
+            @Parameter(name = "最多评估的参数组合数量", example = "200", required = false)
+            @RequestParam(required = false, defaultValue = "200") int maxCombinations,
+            @Parameter(name = "最大回撤上限，超过时提前淘汰该组参数 (0表示不限制)", example = "0.5", required = false)
+            @RequestParam(required = false, defaultValue = "0") BigDecimal maxDrawdownLimit,
+            @Parameter(name = "并行线程数", example = "4", required = false)
+            @RequestParam(required = false, defaultValue = "4") int threadCount,
+            @Parameter(name = "保存的最优参数组数", example = "5", required = false)
+            @RequestParam(required = false, defaultValue = "5") int topN,
+            @Parameter(name = "是否保存结果", required = false)
+            @RequestParam(required = false, defaultValue = "true") boolean saveResult,
+            @Parameter(name = "K线存储方式 (object, columnar, offheap)", example = "columnar", required = false)
+            @RequestParam(required = false, defaultValue = "object") String barStorage,
+            @Parameter(name = "数值模式 (decimal, double)", example = "double", required = false)
+            @RequestParam(required = false, defaultValue = "decimal") String numMode) {
+
+        log.info("开始策略参数优化，交易对: {}, 间隔: {}, 策略: {}, 时间范围: {} - {}, 搜索方式: {}",
+                symbol, interval, strategyType, startTime, endTime, searchMode);
+        try {
+            if (strategyOptimizerService.getParameterRanges(strategyType).isEmpty()) {
+                return ApiResponse.error(400, "策略未声明可优化的参数范围: " + strategyType);
+            }
+
+            List<CandlestickEntity> candlesticks = historicalDataService.fetchAndSaveHistoryWithIntegrityCheck(symbol, interval, startTime.format(dateFormat), endTime.format(dateFormat));
+            if (candlesticks == null || candlesticks.isEmpty()) {
+                return ApiResponse.error(404, "未找到指定条件的历史数据");
+            }
+            BenchmarkSeries benchmark = benchmarkService.getBenchmark(interval, startTime, endTime, symbol, candlesticks);
+
+            String seriesName = CandlestickAdapter.getSymbol(candlesticks.get(0)) + "_" + CandlestickAdapter.getIntervalVal(candlesticks.get(0));
+            BarSeries series = barSeriesConverter.convert(candlesticks, seriesName, barStorage, Ta4jNumUtil.factoryOf(numMode));
+
+            Map<String, Object> response = strategyOptimizerService.optimize(series, benchmark, strategyType,
+                    symbol, interval, startTime, endTime, initialAmount, feeRatio, searchMode, objective,
+                    maxCombinations, maxDrawdownLimit, threadCount, topN, saveResult);
+            response.put("num_mode", numMode);
+            return ApiResponse.success(response);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(400, e.getMessage());
+        } catch (Exception e) {
+            log.error("策略参数优化过程中发生错误: {}", e.getMessage(), e);
+            return ApiResponse.error(500, "策略参数优化过程中发生错误: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/metrics-engine/verify")
+    @Operation(summary = "回测指标引擎回归对比", description = "对指定策略分别使用原始double引擎和BigDecimal引擎计算回测指标，逐项对比是否在容差内一致")
+    public ApiResponse<Map<String, Object>> verifyMetricsEngine(
+            @Parameter(name = "交易对", example = "BTC-USDT", required = true) @RequestParam String symbol,
+            @Parameter(name = "时间间隔", example = "1h", required = true) @RequestParam String interval,
+            @Parameter(name = "开始时间 (格式: yyyy-MM-dd HH:mm:ss)", example = "2023-01-01 00:00:00", required = true)
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+            @Parameter(name = "结束时间 (格式: yyyy-MM-dd HH:mm:ss)", example = "2023-12-31 23:59:59", required = true)
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime,
+            @Parameter(name = "策略代码，多个用逗号分隔，为空时对比所有内置策略", required = false)
+            @RequestParam(required = false) String strategyTypes,
+            @Parameter(name = "初始资金", example = "100000", required = false)
+            @RequestParam(required = false, defaultValue = "100000") BigDecimal initialAmount,
+            @Parameter(name = "交易手续费率", example = "0.001", required = false)
+            @RequestParam(required = false, defaultValue = "0.001") BigDecimal feeRatio,
+            @Parameter(name = "相对容差", example = "0.0001", required = false)
+            @RequestParam(required = false, defaultValue = "0.0001") double tolerance) {
+        try {
+            List<CandlestickEntity> candlesticks = historicalDataService.fetchAndSaveHistoryWithIntegrityCheck(symbol, interval, startTime.format(dateFormat), endTime.format(dateFormat));
+            if (candlesticks == null || candlesticks.isEmpty()) {
+                return ApiResponse.error(404, "未找到指定条件的历史数据");
+            }
+            BenchmarkSeries benchmark = benchmarkService.getBenchmark(interval, startTime, endTime, symbol, candlesticks);
+            String seriesName = CandlestickAdapter.getSymbol(candlesticks.get(0)) + "_" + CandlestickAdapter.getIntervalVal(candlesticks.get(0));
+            BarSeries series = barSeriesConverter.convert(candlesticks, seriesName);
+
+            List<String> codes = StringUtils.isBlank(strategyTypes)
+                    ? new ArrayList<>(new TreeSet<>(StrategyRegisterCenter.strategyCreators.keySet()))
+                    : Arrays.stream(strategyTypes.split(",")).map(String::trim).filter(StringUtils::isNotBlank).collect(Collectors.toList());
+
+            List<Map<String, Object>> reports = new ArrayList<>();
+            List<String> failed = new ArrayList<>();
+            double primitiveMillis = 0;
+            double bigDecimalMillis = 0;
+            for (String code : codes) {
+                try {
+                    Map<String, Object> report = ta4jBacktestService.verifyMetricsEngine(series, benchmark, code,
+                            initialAmount, feeRatio, interval, tolerance);
+                    primitiveMillis += (double) report.get("primitive_millis");
+                    bigDecimalMillis += (double) report.get("bigdecimal_millis");
+                    if (!Boolean.TRUE.equals(report.get("passed"))) {
+                        failed.add(code);
+                    }
+                    reports.add(report);
+                } catch (Exception e) {
+                    log.warn("策略 {} 指标引擎对比失败: {}", code, e.getMessage());
+                    Map<String, Object> errorReport = new LinkedHashMap<>();
+                    errorReport.put("strategy_code", code);
+                    errorReport.put("passed", false);
+                    errorReport.put("error", e.getMessage());
+                    failed.add(code);
+                    reports.add(errorReport);
+                }
+            }
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("bar_count", series.getBarCount());
+            response.put("total_strategies", codes.size());
+            response.put("passed_strategies", codes.size() - failed.size());
+            response.put("failed_strategies", failed);
+            response.put("primitive_millis", primitiveMillis);
+            response.put("bigdecimal_millis", bigDecimalMillis);
+            response.put("speedup", primitiveMillis > 0 ? bigDecimalMillis / primitiveMillis : null);
+            response.put("results", reports);
+            return ApiResponse.success(response);
+        } catch (Exception e) {
+            log.error("指标引擎对比过程中发生错误: {}", e.getMessage(), e);
+            return ApiResponse.error(500, "指标引擎对比过程中发生错误: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/parameter-ranges")
+    @Operation(summary = "获取可优化策略的参数范围", description = "返回声明了参数范围、可用于参数优化的策略及其参数取值范围")
+    public ApiResponse<Map<String, List<Map<String, Object>>>> getParameterRanges() {
+        Map<String, List<Map<String, Object>>> ranges = new TreeMap<>();
+        StrategyRegisterCenter.strategyParameterRanges.forEach((code, list) ->
+                ranges.put(code, list.stream().map(StrategyParams.Range::toMap).collect(Collectors.toList())));
+        return ApiResponse.success(ranges);
+    }
+
     @GetMapping("/strategies")
     @Operation(summary = "获取支持的策略类型和参数说明", description = "返回系统支持的所有策略类型和对应的参数说明")
     public ApiResponse<Map<String, Map<String, Object>>> getStrategies() {
@@ -1051,11 +1281,13 @@ public class Ta4jBacktestController {
     }
 
     @GetMapping("/equity-curve/{backtestId}")
-    @Operation(summary = "获取回测资金曲线数据", description = "根据回测ID获取资金曲线数据")
+    @Operation(summary = "获取回测资金曲线数据", description = "根据回测ID获取资金曲线数据，传入maxPoints且数据点超过该值时用LTTB算法降采样")
     public ApiResponse<List<Map<String, Object>>> getBacktestEquityCurve(
-            @Parameter(name = "回测ID", required = true) @PathVariable String backtestId) {
+            @Parameter(name = "回测ID", required = true) @PathVariable String backtestId,
+            @Parameter(name = "最大数据点数，不传或小于等于0时返回全部数据点", example = "2000", required = false)
+            @RequestParam(required = false, defaultValue = "0") int maxPoints) {
         try {
-            List<BacktestEquityCurveEntity> equityCurveData = backtestTradeService.getEquityCurveByBacktestId(backtestId);
+            List<BacktestEquityCurveEntity> equityCurveData = backtestTradeService.getEquityCurveByBacktestId(backtestId, maxPoints);
 
             if (equityCurveData == null || equityCurveData.isEmpty()) {
                 return ApiResponse.error(404, "未找到指定回测ID的资金曲线数据");
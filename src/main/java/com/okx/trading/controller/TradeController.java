@@ -4,6 +4,8 @@ import com.okx.trading.model.common.ApiResponse;
 import com.okx.trading.model.trade.Order;
 import com.okx.trading.model.trade.OrderRequest;
 import com.okx.trading.service.OkxApiService;
+import com.okx.trading.service.impl.OrderAckTracker;
+import com.okx.trading.service.impl.PostTradePipeline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +19,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 交易控制器
@@ -29,10 +32,37 @@ import java.util.List;
 public class TradeController {
 
     private final OkxApiService okxApiService;
+    private final OrderAckTracker orderAckTracker;
+    private final PostTradePipeline postTradePipeline;
     
     @Autowired
-    public TradeController(OkxApiService okxApiService) {
+    public TradeController(OkxApiService okxApiService, OrderAckTracker orderAckTracker,
+                           PostTradePipeline postTradePipeline) {
         this.okxApiService = okxApiService;
+        this.orderAckTracker = orderAckTracker;
+        this.postTradePipeline = postTradePipeline;
+    }
+
+    /**
+     * 获取下单耗时统计
+     * 从发起下单到收到order响应、到收到最终订单推送的耗时分布（毫秒），以及等待推送超时回退到REST查询的次数
+     *
+     * @return 统计信息
+     */
+    @GetMapping("/order-latency")
+    public ApiResponse<Map<String, Object>> getOrderLatency() {
+        return ApiResponse.success(orderAckTracker.getStats());
+    }
+
+    /**
+     * 获取交易后处理流水线统计
+     * 交易入库、订单审计、交易通知各阶段的队列长度、处理/失败/丢弃/重试次数和排队耗时
+     *
+     * @return 各阶段统计信息
+     */
+    @GetMapping("/post-trade-stats")
+    public ApiResponse<List<Map<String, Object>>> getPostTradeStats() {
+        return ApiResponse.success(postTradePipeline.getStats());
     }
 
     /**
@@ -0,0 +1,29 @@
+package com.okx.trading.exception;
+
+/**
+ * OKX API传输层异常
+ * 请求未能拿到正常的响应：网络异常、超时、HTTP状态码非2xx或响应体为空。
+ * 与响应解析失败等业务异常区分开，调用方可以据此判断是否值得重试
+ */
+public class OkxApiTransportException extends OkxApiException {
+
+    /**
+     * 构造函数
+     *
+     * @param code 错误码，HTTP状态码非2xx时为HTTP状态码，其他情况为500
+     * @param message 错误消息
+     */
+    public OkxApiTransportException(int code, String message) {
+        super(code, message);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param message 错误消息
+     * @param cause 原始异常
+     */
+    public OkxApiTransportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,238 @@
+package com.okx.trading.indicator;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.ATRIndicator;
+import org.ta4j.core.indicators.MACDIndicator;
+import org.ta4j.core.indicators.ROCIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.averages.EMAIndicator;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.HighPriceIndicator;
+import org.ta4j.core.indicators.helpers.LowPriceIndicator;
+import org.ta4j.core.indicators.helpers.OpenPriceIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.num.Num;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 指标共享缓存
+ * 批量回测时同一个BarSeries会被几百个策略使用，而大部分策略都会创建相同参数的
+ * 收盘价、SMA、EMA、RSI、ATR等指标。本类按"线程 + 指标类型 + 参数（含序列/源指标的对象身份）"
+ * 缓存指标实例，使同一批次内的策略共享已经计算过的指标值。
+ * <p>
+ * 使用方式：批量回测开始时创建实例，回测线程在创建策略前调用 {@link #bind()}，结束后调用 {@link #unbind()}。
+ * 线程上没有绑定缓存时，各静态工厂方法等价于直接new指标，不影响单次回测和实盘策略。
+ * <p>
+ * Ta4j的CachedIndicator不保证多线程并发计算安全，因此缓存按线程分区：
+ * 同一工作线程上依次执行的策略共享指标，不同线程之间互不干扰。
+ */
+public class IndicatorCache {
+
+    /**
+     * 当前线程绑定的缓存
+     */
+    private static final ThreadLocal<IndicatorCache> CURRENT = new ThreadLocal<>();
+
+    private final Map<Key, Indicator<?>> indicators = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 将本缓存绑定到当前线程
+     */
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * 解除当前线程绑定的缓存
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 获取当前线程绑定的缓存
+     *
+     * @return 缓存，未绑定时返回null
+     */
+    public static IndicatorCache current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 释放缓存中的所有指标
+     */
+    public void clear() {
+        indicators.clear();
+    }
+
+    /**
+     * 获取缓存命中统计
+     *
+     * @return 命中次数、未命中次数、命中率和缓存的指标数量
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hit_rate", total > 0 ? (double) hitCount / total : 0.0);
+        stats.put("cached_indicators", indicators.size());
+        return stats;
+    }
+
+    /**
+     * 从当前线程绑定的缓存中获取指标，不存在时创建
+     *
+     * @param type    指标类型
+     * @param creator 指标创建函数
+     * @param params  决定指标结果的全部参数，序列和源指标按对象身份比较
+     * @return 指标实例
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Indicator<?>> T shared(Class<T> type, Supplier<T> creator, Object... params) {
+        IndicatorCache cache = CURRENT.get();
+        if (cache == null) {
+            return creator.get();
+        }
+        Key key = new Key(Thread.currentThread().threadId(), type, params);
+        Indicator<?> existing = cache.indicators.get(key);
+        if (existing != null) {
+            cache.hits.increment();
+            return (T) existing;
+        }
+        cache.misses.increment();
+        T created = creator.get();
+        cache.indicators.put(key, created);
+        return created;
+    }
+
+    public static ClosePriceIndicator closePrice(BarSeries series) {
+        return shared(ClosePriceIndicator.class, () -> new ClosePriceIndicator(series), series);
+    }
+
+    public static OpenPriceIndicator openPrice(BarSeries series) {
+        return shared(OpenPriceIndicator.class, () -> new OpenPriceIndicator(series), series);
+    }
+
+    public static HighPriceIndicator highPrice(BarSeries series) {
+        return shared(HighPriceIndicator.class, () -> new HighPriceIndicator(series), series);
+    }
+
+    public static LowPriceIndicator lowPrice(BarSeries series) {
+        return shared(LowPriceIndicator.class, () -> new LowPriceIndicator(series), series);
+    }
+
+    public static VolumeIndicator volume(BarSeries series) {
+        return shared(VolumeIndicator.class, () -> new VolumeIndicator(series), series);
+    }
+
+    public static SMAIndicator sma(Indicator<Num> indicator, int barCount) {
+        return shared(SMAIndicator.class, () -> new SMAIndicator(indicator, barCount), indicator, barCount);
+    }
+
+    public static EMAIndicator ema(Indicator<Num> indicator, int barCount) {
+        return shared(EMAIndicator.class, () -> new EMAIndicator(indicator, barCount), indicator, barCount);
+    }
+
+    public static RSIIndicator rsi(Indicator<Num> indicator, int barCount) {
+        return shared(RSIIndicator.class, () -> new RSIIndicator(indicator, barCount), indicator, barCount);
+    }
+
+    public static ROCIndicator roc(Indicator<Num> indicator, int barCount) {
+        return shared(ROCIndicator.class, () -> new ROCIndicator(indicator, barCount), indicator, barCount);
+    }
+
+    public static StandardDeviationIndicator standardDeviation(Indicator<Num> indicator, int barCount) {
+        return shared(StandardDeviationIndicator.class, () -> new StandardDeviationIndicator(indicator, barCount), indicator, barCount);
+    }
+
+    public static MACDIndicator macd(Indicator<Num> indicator, int shortBarCount, int longBarCount) {
+        return shared(MACDIndicator.class, () -> new MACDIndicator(indicator, shortBarCount, longBarCount),
+                indicator, shortBarCount, longBarCount);
+    }
+
+    public static ATRIndicator atr(BarSeries series, int barCount) {
+        return shared(ATRIndicator.class, () -> new ATRIndicator(series, barCount), series, barCount);
+    }
+
+    /**
+     * 缓存Key：参数中的序列和指标按对象身份比较，数值参数按值比较
+     */
+    private static final class Key {
+        private final long threadId;
+        private final Class<?> type;
+        private final Object[] params;
+        private final int hash;
+
+        private Key(long threadId, Class<?> type, Object[] params) {
+            this.threadId = threadId;
+            this.type = type;
+            this.params = params;
+            int h = Long.hashCode(threadId) * 31 + type.hashCode();
+            for (Object param : params) {
+                h = h * 31 + paramHash(param);
+            }
+            this.hash = h;
+        }
+
+        private static boolean isIdentityParam(Object param) {
+            return param instanceof BarSeries || param instanceof Indicator;
+        }
+
+        private static int paramHash(Object param) {
+            if (param == null) {
+                return 0;
+            }
+            return isIdentityParam(param) ? System.identityHashCode(param) : param.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            if (threadId != other.threadId || type != other.type || params.length != other.params.length) {
+                return false;
+            }
+            for (int i = 0; i < params.length; i++) {
+                Object a = params[i];
+                Object b = other.params[i];
+                if (isIdentityParam(a) || isIdentityParam(b)) {
+                    if (a != b) {
+                        return false;
+                    }
+                } else if (a == null ? b != null : !a.equals(b)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return type.getSimpleName() + Arrays.toString(params);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 回测结果数据传输对象
@@ -244,6 +245,16 @@ public class BacktestResultDTO {
      */
     private List<LocalDateTime> equityCurveTimestamps;
 
+    /**
+     * 回测使用的数值模式：decimal（高精度）或 double（快速）
+     */
+    private String numMode;
+
+    /**
+     * DoubleNum与DecimalNum模式的对比报告（仅在请求对比时生成）
+     */
+    private Map<String, Object> numModeComparison;
+
     public BacktestResultDTO() {
     }
 
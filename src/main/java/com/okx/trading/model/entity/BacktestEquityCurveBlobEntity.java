@@ -0,0 +1,65 @@
+package com.okx.trading.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 回测资金曲线压缩存储实体
+ * 每次回测的整条资金曲线编码为一个列式压缩块（见 {@link com.okx.trading.util.EquityCurveCodec}），
+ * 一次回测只占一行，读取时整体解码
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "backtest_equity_curve_blob", indexes = {
+        @Index(name = "uk_equity_curve_blob_backtest_id", columnList = "backtest_id", unique = true)
+})
+public class BacktestEquityCurveBlobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 回测ID，与回测汇总关联
+     */
+    @Column(name = "backtest_id", nullable = false)
+    private String backtestId;
+
+    /**
+     * 数据点数
+     */
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+
+    /**
+     * 第一个数据点的时间
+     */
+    @Column(name = "start_time")
+    private LocalDateTime startTime;
+
+    /**
+     * 最后一个数据点的时间
+     */
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
+    /**
+     * 压缩后的资金曲线
+     */
+    @Column(name = "data", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    /**
+     * 创建时间
+     */
+    @Column(name = "create_time")
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,53 @@
+package com.okx.trading.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * K线覆盖区间实体
+ * 记录某个交易对/周期在candlestick_history中连续无缺口的开盘时间区间 [range_start, range_end]，
+ * 用于快速判断查询范围内的数据是否完整以及计算缺失区间
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "candlestick_coverage", indexes = {
+        @Index(name = "idx_coverage_symbol_interval", columnList = "symbol, interval_val")
+})
+public class CandlestickCoverageEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 交易对
+     */
+    @Column(name = "symbol", nullable = false, length = 20)
+    private String symbol;
+
+    /**
+     * K线间隔
+     */
+    @Column(name = "interval_val", nullable = false, length = 10)
+    private String intervalVal;
+
+    /**
+     * 区间内第一根K线的开盘时间
+     */
+    @Column(name = "range_start", nullable = false)
+    private LocalDateTime rangeStart;
+
+    /**
+     * 区间内最后一根K线的开盘时间
+     */
+    @Column(name = "range_end", nullable = false)
+    private LocalDateTime rangeEnd;
+}
@@ -23,7 +23,9 @@ import java.util.Objects;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "candlestick_history")
+@Table(name = "candlestick_history", uniqueConstraints = {
+        @UniqueConstraint(name = "idx_symbol_interval_opentime", columnNames = {"symbol", "interval_val", "open_time"})
+})
 public class CandlestickEntity implements Comparable<CandlestickEntity> {
 
     /**
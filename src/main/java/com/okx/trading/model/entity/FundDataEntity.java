@@ -18,7 +18,9 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "fund_data")
+@Table(name = "fund_data", indexes = {
+        @Index(name = "idx_fund_data_record_time", columnList = "record_time")
+})
 public class FundDataEntity {
 
     @Id
@@ -1,5 +1,6 @@
 package com.okx.trading.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -142,6 +143,19 @@ public class IndicatorDistributionEntity {
     @Column(name = "is_current", nullable = false)
     private Boolean isCurrent;
 
+    /**
+     * 生成该版本时已统计到的最大回测汇总ID，增量更新只统计ID更大的回测记录
+     */
+    @Column(name = "last_summary_id")
+    private Long lastSummaryId;
+
+    /**
+     * 分位数草图（Base64），增量更新时在此基础上合并新样本
+     */
+    @JsonIgnore
+    @Column(name = "sketch", columnDefinition = "MEDIUMTEXT")
+    private String sketch;
+
     public enum IndicatorType {
         POSITIVE,  // 越大越好 (如年化收益率、胜率)
         NEGATIVE,  // 越小越好 (如最大回撤、波动率)
@@ -0,0 +1,457 @@
+package com.okx.trading.model.market;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * K线/标记价格推送的流式解析结果
+ * 直接在原始文本上按位置读取 arg.channel、arg.instId 和 data 中的字段，不构建JSON对象树，数值解析为原始类型。
+ * 字段存放在可复用的数组中，每个解析线程持有一个实例反复使用，频道、交易对与上一条推送相同时复用同一个字符串；
+ * 只有在需要时才通过 {@link #toCandlestick(int)} 生成 {@link Candlestick} 对象。
+ * <p>
+ * 支持的格式：
+ * <pre>
+ * {"arg":{"channel":"candle1m","instId":"BTC-USDT"},"data":[["ts","o","h","l","c","vol","volCcy","volCcyQuote","confirm"]]}
+ * {"arg":{"channel":"mark-price","instId":"BTC-USDT"},"data":[{"instType":"MARGIN","instId":"BTC-USDT","markPx":"...","ts":"..."}]}
+ * </pre>
+ * 其他格式或无法解析的数值时 {@link #parse(String)} 返回false，调用方回退到JSON解析。
+ * <p>
+ * 不是线程安全的。
+ */
+public final class CandleFrame {
+
+    private static final ZoneOffset UTC_PLUS_8 = ZoneOffset.ofHours(8);
+    private static final String CANDLE_PREFIX = "candle";
+    private static final String MARK_PRICE_CHANNEL = "mark-price";
+    private static final int CANDLE_FIELD_COUNT = 9;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private String channel;
+    private String instId;
+    private String interval;
+    private boolean markPrice;
+    private int size;
+
+    private long[] openTimes = new long[4];
+    private double[] opens = new double[4];
+    private double[] highs = new double[4];
+    private double[] lows = new double[4];
+    private double[] closes = new double[4];
+    private double[] volumes = new double[4];
+    private double[] volCcys = new double[4];
+    private double[] quoteVolumes = new double[4];
+    private int[] states = new int[4];
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getInstId() {
+        return instId;
+    }
+
+    /**
+     * K线周期，标记价格推送时为null
+     */
+    public String getInterval() {
+        return interval;
+    }
+
+    public boolean isMarkPrice() {
+        return markPrice;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getOpenTime(int index) {
+        return openTimes[index];
+    }
+
+    public double getOpen(int index) {
+        return opens[index];
+    }
+
+    public double getHigh(int index) {
+        return highs[index];
+    }
+
+    public double getLow(int index) {
+        return lows[index];
+    }
+
+    public double getClose(int index) {
+        return closes[index];
+    }
+
+    public double getVolume(int index) {
+        return volumes[index];
+    }
+
+    public int getState(int index) {
+        return states[index];
+    }
+
+    /**
+     * 收盘价（标记价格推送时为标记价格）
+     */
+    public BigDecimal closeDecimal(int index) {
+        return BigDecimal.valueOf(closes[index]);
+    }
+
+    /**
+     * 生成第index根K线的Candlestick对象
+     */
+    public Candlestick toCandlestick(int index) {
+        Candlestick candlestick = new Candlestick();
+        candlestick.setSymbol(instId);
+        candlestick.setChannel(channel);
+        candlestick.setIntervalVal(interval);
+        long millis = openTimes[index];
+        candlestick.setOpenTime(LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, UTC_PLUS_8));
+        candlestick.setOpen(BigDecimal.valueOf(opens[index]));
+        candlestick.setHigh(BigDecimal.valueOf(highs[index]));
+        candlestick.setLow(BigDecimal.valueOf(lows[index]));
+        candlestick.setClose(BigDecimal.valueOf(closes[index]));
+        candlestick.setVolume(BigDecimal.valueOf(volumes[index]));
+        candlestick.setVolCcy(BigDecimal.valueOf(volCcys[index]));
+        candlestick.setQuoteVolume(BigDecimal.valueOf(quoteVolumes[index]));
+        candlestick.setState(states[index]);
+        return candlestick;
+    }
+
+    /**
+     * 解析一条推送，覆盖上一次的结果
+     *
+     * @param frame 原始推送文本
+     * @return 是否为支持的格式且全部字段解析成功
+     */
+    public boolean parse(String frame) {
+        size = 0;
+        int channelStart = valueStart(frame, "\"channel\":\"", 0);
+        int channelEnd = channelStart < 0 ? -1 : frame.indexOf('"', channelStart);
+        if (channelEnd < 0) {
+            return false;
+        }
+        if (frame.startsWith(MARK_PRICE_CHANNEL, channelStart) && channelEnd - channelStart == MARK_PRICE_CHANNEL.length()) {
+            markPrice = true;
+        } else if (frame.startsWith(CANDLE_PREFIX, channelStart)) {
+            markPrice = false;
+        } else {
+            return false;
+        }
+        setChannel(frame, channelStart, channelEnd);
+
+        int instIdStart = valueStart(frame, "\"instId\":\"", 0);
+        int instIdEnd = instIdStart < 0 ? -1 : frame.indexOf('"', instIdStart);
+        if (instIdEnd < 0) {
+            return false;
+        }
+        setInstId(frame, instIdStart, instIdEnd);
+
+        int position = valueStart(frame, "\"data\":[", 0);
+        if (position < 0) {
+            return false;
+        }
+        while (true) {
+            position = skipSeparators(frame, position);
+            if (position >= frame.length()) {
+                return false;
+            }
+            char c = frame.charAt(position);
+            if (c == ']') {
+                return size > 0;
+            }
+            if (c == '[' && !markPrice) {
+                position = parseCandleRow(frame, position + 1);
+            } else if (c == '{' && markPrice) {
+                position = parseMarkPriceRow(frame, position + 1);
+            } else {
+                return false;
+            }
+            if (position < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 解析K线数组 ["ts","o","h","l","c","vol","volCcy","volCcyQuote","confirm"]，返回数组之后的位置，失败返回-1
+     */
+    private int parseCandleRow(String frame, int position) {
+        int row = addRow();
+        int field = 0;
+        while (true) {
+            position = skipSeparators(frame, position);
+            if (position >= frame.length()) {
+                return -1;
+            }
+            char c = frame.charAt(position);
+            if (c == ']') {
+                // 至少要有时间和开高低收
+                return field >= 5 ? position + 1 : -1;
+            }
+            if (c != '"') {
+                return -1;
+            }
+            int end = frame.indexOf('"', position + 1);
+            if (end < 0) {
+                return -1;
+            }
+            if (field == 0 || field == CANDLE_FIELD_COUNT - 1) {
+                long value = parseLong(frame, position + 1, end);
+                if (value == Long.MIN_VALUE) {
+                    return -1;
+                }
+                setField(row, field, value, 0.0);
+            } else if (field < CANDLE_FIELD_COUNT) {
+                double value = parseDouble(frame, position + 1, end);
+                if (Double.isNaN(value)) {
+                    return -1;
+                }
+                setField(row, field, 0L, value);
+            }
+            field++;
+            position = end + 1;
+        }
+    }
+
+    /**
+     * 解析标记价格对象，只读取markPx和ts，返回对象之后的位置，失败返回-1
+     */
+    private int parseMarkPriceRow(String frame, int position) {
+        int row = addRow();
+        long timestamp = Long.MIN_VALUE;
+        double price = Double.NaN;
+        while (true) {
+            position = skipSeparators(frame, position);
+            if (position >= frame.length()) {
+                return -1;
+            }
+            char c = frame.charAt(position);
+            if (c == '}') {
+                if (timestamp == Long.MIN_VALUE || Double.isNaN(price)) {
+                    return -1;
+                }
+                setMarkPrice(row, timestamp, price);
+                return position + 1;
+            }
+            if (c != '"') {
+                return -1;
+            }
+            int keyStart = position + 1;
+            int keyEnd = frame.indexOf('"', keyStart);
+            if (keyEnd < 0) {
+                return -1;
+            }
+            position = skipWhitespace(frame, keyEnd + 1);
+            if (position >= frame.length() || frame.charAt(position) != ':') {
+                return -1;
+            }
+            position = skipWhitespace(frame, position + 1);
+            // 标记价格推送的字段值都是字符串
+            if (position >= frame.length() || frame.charAt(position) != '"') {
+                return -1;
+            }
+            int valueEnd = frame.indexOf('"', position + 1);
+            if (valueEnd < 0) {
+                return -1;
+            }
+            if (isKey(frame, keyStart, keyEnd, "markPx")) {
+                price = parseDouble(frame, position + 1, valueEnd);
+            } else if (isKey(frame, keyStart, keyEnd, "ts")) {
+                timestamp = parseLong(frame, position + 1, valueEnd);
+            }
+            position = valueEnd + 1;
+        }
+    }
+
+    /**
+     * 频道与当前值相同时不分配新字符串
+     */
+    private void setChannel(String frame, int start, int end) {
+        if (!sameRegion(channel, frame, start, end)) {
+            channel = frame.substring(start, end);
+            interval = channel.startsWith(CANDLE_PREFIX) ? channel.substring(CANDLE_PREFIX.length()) : null;
+        }
+    }
+
+    private void setInstId(String frame, int start, int end) {
+        if (!sameRegion(instId, frame, start, end)) {
+            instId = frame.substring(start, end);
+        }
+    }
+
+    /**
+     * 追加一行，返回行下标
+     */
+    private int addRow() {
+        if (size == openTimes.length) {
+            int capacity = size * 2;
+            openTimes = Arrays.copyOf(openTimes, capacity);
+            opens = Arrays.copyOf(opens, capacity);
+            highs = Arrays.copyOf(highs, capacity);
+            lows = Arrays.copyOf(lows, capacity);
+            closes = Arrays.copyOf(closes, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+            volCcys = Arrays.copyOf(volCcys, capacity);
+            quoteVolumes = Arrays.copyOf(quoteVolumes, capacity);
+            states = Arrays.copyOf(states, capacity);
+        }
+        openTimes[size] = 0L;
+        opens[size] = 0.0;
+        highs[size] = 0.0;
+        lows[size] = 0.0;
+        closes[size] = 0.0;
+        volumes[size] = 0.0;
+        volCcys[size] = 0.0;
+        quoteVolumes[size] = 0.0;
+        states[size] = 0;
+        return size++;
+    }
+
+    /**
+     * 按OKX K线数组的字段顺序写入：ts, o, h, l, c, vol, volCcy, volCcyQuote, confirm
+     */
+    private void setField(int row, int field, long longValue, double doubleValue) {
+        switch (field) {
+            case 0 -> openTimes[row] = longValue;
+            case 1 -> opens[row] = doubleValue;
+            case 2 -> highs[row] = doubleValue;
+            case 3 -> lows[row] = doubleValue;
+            case 4 -> closes[row] = doubleValue;
+            case 5 -> volumes[row] = doubleValue;
+            case 6 -> volCcys[row] = doubleValue;
+            case 7 -> quoteVolumes[row] = doubleValue;
+            case 8 -> states[row] = (int) longValue;
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 标记价格推送：开高低收均为标记价格，没有成交量
+     */
+    private void setMarkPrice(int row, long timestamp, double price) {
+        openTimes[row] = timestamp;
+        opens[row] = price;
+        highs[row] = price;
+        lows[row] = price;
+        closes[row] = price;
+    }
+
+    private static boolean sameRegion(String value, String frame, int start, int end) {
+        return value != null && value.length() == end - start && frame.regionMatches(start, value, 0, value.length());
+    }
+
+    private static boolean isKey(String frame, int start, int end, String key) {
+        return end - start == key.length() && frame.startsWith(key, start);
+    }
+
+    private static int valueStart(String frame, String prefix, int from) {
+        int index = frame.indexOf(prefix, from);
+        return index < 0 ? -1 : index + prefix.length();
+    }
+
+    private static int skipSeparators(String frame, int position) {
+        while (position < frame.length()) {
+            char c = frame.charAt(position);
+            if (c != ',' && !Character.isWhitespace(c)) {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    private static int skipWhitespace(String frame, int position) {
+        while (position < frame.length() && Character.isWhitespace(frame.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * 解析十进制整数，格式不正确时返回Long.MIN_VALUE
+     */
+    private static long parseLong(String frame, int start, int end) {
+        if (start >= end || end - start > 18) {
+            return Long.MIN_VALUE;
+        }
+        boolean negative = frame.charAt(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = frame.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * 解析十进制小数，格式不正确时返回NaN
+     * 有效数字不超过2^53且小数位数不超过22时，整数尾数和10的幂都能精确表示为double，一次除法的结果即为正确舍入值；
+     * 其他情况（科学计数法、超长数字）回退到Double.parseDouble
+     */
+    private static double parseDouble(String frame, int start, int end) {
+        if (start >= end) {
+            return Double.NaN;
+        }
+        boolean negative = frame.charAt(start) == '-';
+        int i = negative ? start + 1 : start;
+        long mantissa = 0;
+        int significantDigits = 0;
+        int scale = 0;
+        boolean point = false;
+        boolean digits = false;
+        for (; i < end; i++) {
+            char c = frame.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    significantDigits++;
+                }
+                if (significantDigits > 18) {
+                    return parseDoubleSlow(frame, start, end);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (point) {
+                    scale++;
+                }
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return parseDoubleSlow(frame, start, end);
+            }
+        }
+        if (!digits) {
+            return Double.NaN;
+        }
+        if (mantissa >= (1L << 53) || scale >= POWERS_OF_TEN.length) {
+            return parseDoubleSlow(frame, start, end);
+        }
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static double parseDoubleSlow(String frame, int start, int end) {
+        try {
+            return Double.parseDouble(frame.substring(start, end));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
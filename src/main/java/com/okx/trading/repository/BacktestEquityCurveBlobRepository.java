@@ -0,0 +1,29 @@
+package com.okx.trading.repository;
+
+import com.okx.trading.model.entity.BacktestEquityCurveBlobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 回测资金曲线压缩存储数据访问接口
+ */
+@Repository
+public interface BacktestEquityCurveBlobRepository extends JpaRepository<BacktestEquityCurveBlobEntity, Long> {
+
+    /**
+     * 根据回测ID查询压缩的资金曲线
+     *
+     * @param backtestId 回测ID
+     * @return 压缩的资金曲线
+     */
+    Optional<BacktestEquityCurveBlobEntity> findByBacktestId(String backtestId);
+
+    /**
+     * 根据回测ID删除压缩的资金曲线
+     *
+     * @param backtestId 回测ID
+     */
+    void deleteByBacktestId(String backtestId);
+}
@@ -0,0 +1,28 @@
+package com.okx.trading.repository;
+
+import com.okx.trading.model.entity.CandlestickCoverageEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface CandlestickCoverageRepository extends JpaRepository<CandlestickCoverageEntity, Long> {
+
+    /**
+     * 查询交易对/周期的全部覆盖区间
+     */
+    List<CandlestickCoverageEntity> findBySymbolAndIntervalValOrderByRangeStartAsc(String symbol, String intervalVal);
+
+    /**
+     * 删除交易对/周期的全部覆盖区间
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CandlestickCoverageEntity c WHERE c.symbol = :symbol AND c.intervalVal = :interval_val")
+    int deleteBySymbolAndInterval(@Param("symbol") String symbol, @Param("interval_val") String intervalVal);
+}
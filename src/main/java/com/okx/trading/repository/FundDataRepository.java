@@ -3,6 +3,7 @@ package com.okx.trading.repository;
 import com.okx.trading.model.entity.FundDataEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -35,6 +36,25 @@ public interface FundDataRepository extends JpaRepository<FundDataEntity, Long>
             "WHERE record_time BETWEEN ?1 AND ?2 " +
             "ORDER BY record_time ASC", nativeQuery = true)
     List<FundDataEntity> findByTimeRangeWithInterval(LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 按时间桶降采样，每个桶只返回最后一条记录
+     * 从开始时间起每 bucketMinutes 分钟为一个桶，在数据库内分组后只传回每个桶的一行，
+     * 返回行数由时间范围和桶大小决定，与表中历史数据量无关
+     * @param startTime 开始时间，桶的起点
+     * @param endTime 结束时间
+     * @param bucketMinutes 桶大小（分钟）
+     * @return 按时间升序的资金数据列表
+     */
+    @Query(value = "SELECT f.* FROM fund_data f JOIN (" +
+            "SELECT MAX(id) AS id FROM fund_data " +
+            "WHERE record_time BETWEEN :startTime AND :endTime " +
+            "GROUP BY TIMESTAMPDIFF(MINUTE, :startTime, record_time) DIV :bucketMinutes" +
+            ") b ON f.id = b.id " +
+            "ORDER BY f.record_time ASC", nativeQuery = true)
+    List<FundDataEntity> findLastPerBucket(@Param("startTime") LocalDateTime startTime,
+                                           @Param("endTime") LocalDateTime endTime,
+                                           @Param("bucketMinutes") int bucketMinutes);
     
     /**
      * 查询当天的资金数据
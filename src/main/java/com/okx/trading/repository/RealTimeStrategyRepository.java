@@ -2,9 +2,11 @@ package com.okx.trading.repository;
 
 import com.okx.trading.model.entity.RealTimeStrategyEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -114,6 +116,23 @@ public interface RealTimeStrategyRepository extends JpaRepository<RealTimeStrate
     @Query("SELECT r FROM RealTimeStrategyEntity r WHERE r.isActive = true AND r.status = 'RUNNING' ORDER BY r.createTime DESC")
     List<RealTimeStrategyEntity> findStrategiesToAutoStart();
 
+    /**
+     * 只更新交易统计字段
+     * 不覆盖运行状态（停止、删除时由调用方单独保存），策略已被删除时更新0行而不会重新插入
+     *
+     * @param s 交易后的策略状态快照
+     * @return 更新行数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RealTimeStrategyEntity r SET r.lastTradeType = :#{#s.lastTradeType}, r.lastTradeAmount = :#{#s.lastTradeAmount}, " +
+            "r.lastTradeQuantity = :#{#s.lastTradeQuantity}, r.lastTradePrice = :#{#s.lastTradePrice}, r.lastTradeFee = :#{#s.lastTradeFee}, " +
+            "r.lastTradeTime = :#{#s.lastTradeTime}, r.lastSingalTime = :#{#s.lastSingalTime}, r.lastTradeProfit = :#{#s.lastTradeProfit}, " +
+            "r.totalProfit = :#{#s.totalProfit}, r.totalProfitRate = :#{#s.totalProfitRate}, r.totalFees = :#{#s.totalFees}, " +
+            "r.totalTrades = :#{#s.totalTrades}, r.successfulTrades = :#{#s.successfulTrades}, r.updateTime = :#{#s.updateTime} " +
+            "WHERE r.id = :#{#s.id}")
+    int updateTradeInfo(@Param("s") RealTimeStrategyEntity s);
+
 
     /**
      * 根据策略信息代码删除相关的实时策略
@@ -77,6 +77,34 @@ public interface BacktestTradeService {
      */
     void saveBacktestEquityCurve(String backtestId, List<java.math.BigDecimal> equityCurveData, List<LocalDateTime> timestamps);
 
+    /**
+     * 异步保存一次回测的交易明细、资金曲线和汇总信息
+     * 结果放入写入队列后立即返回回测ID，由后台线程与其他回测结果合并批量写入
+     *
+     * @param symbol 交易对
+     * @param backtestResult 回测结果
+     * @param strategyParams 策略参数
+     * @param interval 时间间隔
+     * @param startTime 开始时间
+     * @param endTime 结束时间
+     * @param batchBacktestId 批量回测ID，可以为null
+     * @return 回测ID，结果无效时返回null
+     */
+    String saveBacktestResultAsync(String symbol,
+                                   BacktestResultDTO backtestResult,
+                                   String strategyParams,
+                                   String interval,
+                                   LocalDateTime startTime,
+                                   LocalDateTime endTime,
+                                   String batchBacktestId);
+
+    /**
+     * 获取回测结果写入统计
+     *
+     * @return 队列长度、已写入结果数、各表写入行数等
+     */
+    Map<String, Object> getPersistStats();
+
     /**
      * 根据回测ID获取资金曲线数据
      *
@@ -85,6 +113,15 @@ public interface BacktestTradeService {
      */
     List<BacktestEquityCurveEntity> getEquityCurveByBacktestId(String backtestId);
 
+    /**
+     * 根据回测ID获取资金曲线数据，数据点超过上限时用LTTB算法降采样
+     *
+     * @param backtestId 回测ID
+     * @param maxPoints  返回的最大数据点数，小于3时返回全部数据点
+     * @return 资金曲线数据列表，indexPosition为数据点在完整曲线中的位置
+     */
+    List<BacktestEquityCurveEntity> getEquityCurveByBacktestId(String backtestId, int maxPoints);
+
     /**
      * 根据回测ID查询交易记录列表
      *
@@ -4,6 +4,7 @@ import com.okx.trading.model.common.ApiResponse;
 import com.okx.trading.model.dto.FundDataDTO;
 import com.okx.trading.model.entity.FundDataEntity;
 import com.okx.trading.repository.FundDataRepository;
+import com.okx.trading.service.impl.PortfolioAggregator;
 import com.okx.trading.strategy.RealTimeStrategyManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -13,7 +14,6 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,7 +25,7 @@ public class FundCenterService {
     private final FundDataRepository fundDataRepository;
 
     private final RealTimeStrategyManager realTimeStrategyManager;
-    private final RealTimeStrategyService realTimeStrategyService;
+    private final PortfolioAggregator portfolioAggregator;
 
     /**
      * 每10分钟记录一次资金数据
@@ -33,9 +33,8 @@ public class FundCenterService {
     @Scheduled(fixedRate = 600000) // 10分钟 = 600000毫秒
     public ApiResponse<FundDataEntity> recordFundData() {
         try {
-            // 获取当前总投资金额和总收益
-            Map<String, Object> realTimeStrategiesState = realTimeStrategyService.realTimeStrategiesState();
-            Map<String, Object> statistics = (Map<String, Object>) realTimeStrategiesState.get("statistics");
+            // 获取当前总投资金额和总收益，直接读取增量维护的组合汇总
+            Map<String, Object> statistics = portfolioAggregator.getSnapshot();
             BigDecimal totalInvestment = (BigDecimal) statistics.get("totalInvestmentAmount");
             BigDecimal totalProfit = (BigDecimal) statistics.get("totalProfit");
 
@@ -107,35 +106,13 @@ public class FundCenterService {
 
     /**
      * 根据时间范围获取资金数据，并进行采样以减少数据量
+     * 在数据库内按 sampleMinutes 分钟的时间桶分组，每个桶取最后一条记录，
+     * 最后一个桶的最后一条就是最新数据；没有记录的桶不返回
      */
     private List<FundDataDTO> getFundDataWithSampling(LocalDateTime startTime, LocalDateTime endTime, int sampleMinutes) {
-        List<FundDataEntity> allData = fundDataRepository.findByRecordTimeBetweenOrderByRecordTimeAsc(startTime, endTime);
-
-        // 如果数据少于100条，直接返回所有数据
-        if (allData.size() < 100) {
-            return allData.stream().map(this::convertToDTO).collect(Collectors.toList());
-        }
-
-        // 对数据进行采样
-        LocalDateTime currentSampleTime = startTime;
-        List<FundDataDTO> sampledData = allData.stream()
-                .filter(data -> {
-                    if (ChronoUnit.MINUTES.between(currentSampleTime, data.getRecordTime()) >= sampleMinutes) {
-                        currentSampleTime.plus(sampleMinutes, ChronoUnit.MINUTES);
-                        return true;
-                    }
-                    return false;
-                })
+        return fundDataRepository.findLastPerBucket(startTime, endTime, sampleMinutes).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-
-        // 确保包含最新的一条数据
-        if (!allData.isEmpty()) {
-            FundDataEntity latestData = allData.get(allData.size() - 1);
-            sampledData.add(convertToDTO(latestData));
-        }
-
-        return sampledData;
     }
 
     /**
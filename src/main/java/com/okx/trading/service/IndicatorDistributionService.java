@@ -20,6 +20,15 @@ public interface IndicatorDistributionService {
      */
     List<IndicatorDistributionEntity> updateIndicatorDistributions();
 
+    /**
+     * 增量更新指标分布数据
+     * 在当前版本的分位数草图上合并其后新增的回测记录，生成新版本的分布数据；
+     * 当前版本不支持增量（没有草图）时执行全量更新
+     *
+     * @return 更新后的指标分布列表，没有新增回测记录时返回当前版本
+     */
+    List<IndicatorDistributionEntity> updateIndicatorDistributionsIncrementally();
+
     /**
      * 获取当前版本的所有指标分布
      * 
@@ -213,19 +213,6 @@ public interface RealTimeStrategyService {
      */
     RealTimeStrategyEntity createRealTimeStrategy(RealTimeStrategyEntity realTimeStrategy);
 
-    /**
-     * 更新策略交易信息
-     *
-     * @param strategyCode  策略代码
-     * @param tradeType     交易类型（BUY/SELL）
-     * @param tradePrice    交易价格
-     * @param tradeQuantity 交易数量
-     * @param profit        本次交易利润
-     * @param fees          本次交易手续费
-     * @return 是否更新成功
-     */
-    RealTimeStrategyEntity updateTradeInfo(RealTimeStrategyEntity state);
-
     /**
      * 复制实时策略
      * @param strategyId 原策略ID
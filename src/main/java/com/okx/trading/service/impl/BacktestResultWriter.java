@@ -0,0 +1,540 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.model.entity.BacktestEquityCurveBlobEntity;
+import com.okx.trading.model.entity.BacktestEquityCurveEntity;
+import com.okx.trading.model.entity.BacktestSummaryEntity;
+import com.okx.trading.model.entity.BacktestTradeEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 回测结果批量写入器
+ * 回测线程把交易明细、资金曲线和汇总信息放入有界队列后立即返回，由单独的写入线程攒批后
+ * 用多行 INSERT 语句写入 backtest_trade、backtest_equity_curve（或压缩存储的 backtest_equity_curve_blob）
+ * 和 backtest_summary，多个策略的结果合并在同一批语句中，不再逐行执行JPA save。
+ * <p>
+ * 每批在一个事务中写入，查询到汇总信息时对应的交易明细和资金曲线已经可见。
+ * 队列满时回测线程阻塞等待（背压）；应用关闭时写完队列中剩余的结果。
+ */
+@Slf4j
+@Service
+public class BacktestResultWriter {
+
+    /**
+     * MySQL单条语句的占位符上限
+     */
+    private static final int MAX_PLACEHOLDERS = 65535;
+
+    private static final TableSpec<BacktestTradeEntity> TRADE_TABLE = new TableSpec<BacktestTradeEntity>("backtest_trade")
+            .column("backtest_id", BacktestTradeEntity::getBacktestId)
+            .column("strategy_name", BacktestTradeEntity::getStrategyName)
+            .column("strategy_code", BacktestTradeEntity::getStrategyCode)
+            .column("strategy_params", BacktestTradeEntity::getStrategyParams)
+            .column("trade_index", BacktestTradeEntity::getIndex)
+            .column("trade_type", BacktestTradeEntity::getType)
+            .column("symbol", BacktestTradeEntity::getSymbol)
+            .column("entry_time", BacktestTradeEntity::getEntryTime)
+            .column("entry_price", BacktestTradeEntity::getEntryPrice)
+            .column("entry_amount", BacktestTradeEntity::getEntryAmount)
+            .column("entry_position_percentage", BacktestTradeEntity::getEntryPositionPercentage)
+            .column("exit_time", BacktestTradeEntity::getExitTime)
+            .column("exit_price", BacktestTradeEntity::getExitPrice)
+            .column("exit_amount", BacktestTradeEntity::getExitAmount)
+            .column("profit", BacktestTradeEntity::getProfit)
+            .column("profit_percentage", BacktestTradeEntity::getProfitPercentage)
+            .column("periods", BacktestTradeEntity::getPeriods)
+            .column("profit_percentage_per_period", BacktestTradeEntity::getProfitPercentagePerPeriod)
+            .column("total_assets", BacktestTradeEntity::getTotalAssets)
+            .column("max_drawdown", BacktestTradeEntity::getMaxDrawdown)
+            .column("max_loss", BacktestTradeEntity::getMaxLoss)
+            .column("max_drawdown_period", BacktestTradeEntity::getMaxDrawdownPeriod)
+            .column("max_loss_period", BacktestTradeEntity::getMaxLossPeriod)
+            .column("closed", BacktestTradeEntity::getClosed)
+            .column("volume", BacktestTradeEntity::getVolume)
+            .column("fee", BacktestTradeEntity::getFee)
+            .column("remark", BacktestTradeEntity::getRemark)
+            .column("create_time", BacktestTradeEntity::getCreateTime);
+
+    private static final TableSpec<BacktestEquityCurveEntity> EQUITY_CURVE_TABLE = new TableSpec<BacktestEquityCurveEntity>("backtest_equity_curve")
+            .column("backtest_id", BacktestEquityCurveEntity::getBacktestId)
+            .column("timestamp", BacktestEquityCurveEntity::getTimestamp)
+            .column("equity_value", BacktestEquityCurveEntity::getEquityValue)
+            .column("index_position", BacktestEquityCurveEntity::getIndexPosition);
+
+    /**
+     * 压缩块可能有数MB，每条语句只写一行，避免超过max_allowed_packet
+     */
+    private static final TableSpec<BacktestEquityCurveBlobEntity> EQUITY_CURVE_BLOB_TABLE = new TableSpec<BacktestEquityCurveBlobEntity>("backtest_equity_curve_blob")
+            .maxRowsPerStatement(1)
+            .column("backtest_id", BacktestEquityCurveBlobEntity::getBacktestId)
+            .column("point_count", BacktestEquityCurveBlobEntity::getPointCount)
+            .column("start_time", BacktestEquityCurveBlobEntity::getStartTime)
+            .column("end_time", BacktestEquityCurveBlobEntity::getEndTime)
+            .column("data", BacktestEquityCurveBlobEntity::getData)
+            .column("create_time", BacktestEquityCurveBlobEntity::getCreateTime);
+
+    private static final TableSpec<BacktestSummaryEntity> SUMMARY_TABLE = new TableSpec<BacktestSummaryEntity>("backtest_summary")
+            .column("backtest_id", BacktestSummaryEntity::getBacktestId)
+            .column("batch_backtest_id", BacktestSummaryEntity::getBatchBacktestId)
+            .column("strategy_name", BacktestSummaryEntity::getStrategyName)
+            .column("strategy_code", BacktestSummaryEntity::getStrategyCode)
+            .column("strategy_params", BacktestSummaryEntity::getStrategyParams)
+            .column("symbol", BacktestSummaryEntity::getSymbol)
+            .column("interval_val", BacktestSummaryEntity::getIntervalVal)
+            .column("start_time", BacktestSummaryEntity::getStartTime)
+            .column("end_time", BacktestSummaryEntity::getEndTime)
+            .column("initial_amount", BacktestSummaryEntity::getInitialAmount)
+            .column("final_amount", BacktestSummaryEntity::getFinalAmount)
+            .column("total_profit", BacktestSummaryEntity::getTotalProfit)
+            .column("total_return", BacktestSummaryEntity::getTotalReturn)
+            .column("annualized_return", BacktestSummaryEntity::getAnnualizedReturn)
+            .column("number_of_trades", BacktestSummaryEntity::getNumberOfTrades)
+            .column("profitable_trades", BacktestSummaryEntity::getProfitableTrades)
+            .column("unprofitable_trades", BacktestSummaryEntity::getUnprofitableTrades)
+            .column("win_rate", BacktestSummaryEntity::getWinRate)
+            .column("average_profit", BacktestSummaryEntity::getAverageProfit)
+            .column("max_drawdown", BacktestSummaryEntity::getMaxDrawdown)
+            .column("max_drawdown_period", BacktestSummaryEntity::getMaxDrawdownPeriod)
+            .column("sharpe_ratio", BacktestSummaryEntity::getSharpeRatio)
+            .column("sortino_ratio", BacktestSummaryEntity::getSortinoRatio)
+            .column("calmar_ratio", BacktestSummaryEntity::getCalmarRatio)
+            .column("maximum_loss", BacktestSummaryEntity::getMaximumLoss)
+            .column("maximum_loss_period", BacktestSummaryEntity::getMaximumLossPeriod)
+            .column("volatility", BacktestSummaryEntity::getVolatility)
+            .column("total_fee", BacktestSummaryEntity::getTotalFee)
+            .column("omega", BacktestSummaryEntity::getOmega)
+            .column("alpha", BacktestSummaryEntity::getAlpha)
+            .column("beta", BacktestSummaryEntity::getBeta)
+            .column("treynor_ratio", BacktestSummaryEntity::getTreynorRatio)
+            .column("ulcer_index", BacktestSummaryEntity::getUlcerIndex)
+            .column("skewness", BacktestSummaryEntity::getSkewness)
+            .column("profit_factor", BacktestSummaryEntity::getProfitFactor)
+            .column("comprehensive_score", BacktestSummaryEntity::getComprehensiveScore)
+            .column("kurtosis", BacktestSummaryEntity::getKurtosis)
+            .column("cvar", BacktestSummaryEntity::getCvar)
+            .column("var95", BacktestSummaryEntity::getVar95)
+            .column("var99", BacktestSummaryEntity::getVar99)
+            .column("information_ratio", BacktestSummaryEntity::getInformationRatio)
+            .column("tracking_error", BacktestSummaryEntity::getTrackingError)
+            .column("sterling_ratio", BacktestSummaryEntity::getSterlingRatio)
+            .column("burke_ratio", BacktestSummaryEntity::getBurkeRatio)
+            .column("modified_sharpe_ratio", BacktestSummaryEntity::getModifiedSharpeRatio)
+            .column("downside_deviation", BacktestSummaryEntity::getDownsideDeviation)
+            .column("uptrend_capture", BacktestSummaryEntity::getUptrendCapture)
+            .column("downtrend_capture", BacktestSummaryEntity::getDowntrendCapture)
+            .column("max_drawdown_duration", BacktestSummaryEntity::getMaxDrawdownDuration)
+            .column("pain_index", BacktestSummaryEntity::getPainIndex)
+            .column("risk_adjusted_return", BacktestSummaryEntity::getRiskAdjustedReturn)
+            .column("is_real", BacktestSummaryEntity::getIs_real)
+            .column("create_time", BacktestSummaryEntity::getCreateTime);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService writerExecutor;
+
+    /**
+     * 等待写入的回测结果数上限
+     */
+    @Value("${okx.backtest.persist.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+
+    /**
+     * 每批最多合并的回测结果数
+     */
+    @Value("${okx.backtest.persist.batch-results:100}")
+    private int batchResults = 100;
+
+    /**
+     * 攒批等待时间：取到第一个结果后最多再等待多久合并后续结果
+     */
+    @Value("${okx.backtest.persist.linger-ms:200}")
+    private long lingerMillis = 200;
+
+    /**
+     * 每条多行INSERT语句包含的行数（不超过占位符上限）
+     */
+    @Value("${okx.backtest.persist.rows-per-statement:500}")
+    private int rowsPerStatement = 500;
+
+    private BlockingQueue<PendingResult> queue;
+    private volatile boolean running;
+
+    private final LongAdder resultsQueued = new LongAdder();
+    private final LongAdder resultsWritten = new LongAdder();
+    private final LongAdder resultsFailed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder tradeRows = new LongAdder();
+    private final LongAdder equityCurveRows = new LongAdder();
+    private final LongAdder equityCurveBlobs = new LongAdder();
+    private final LongAdder equityCurveBlobBytes = new LongAdder();
+    private final LongAdder summaryRows = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder producerWaitNanos = new LongAdder();
+
+    @Autowired
+    public BacktestResultWriter(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("backtestResultWriterExecutor") ExecutorService writerExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writerExecutor = writerExecutor;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        running = true;
+        writerExecutor.submit(this::drainLoop);
+        log.info("回测结果写入线程已启动，队列容量: {}, 每批最多 {} 个回测结果", queueCapacity, batchResults);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writerExecutor.shutdown();
+        try {
+            if (!writerExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("回测结果写入线程未能在30秒内结束，剩余 {} 个回测结果未写入", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 提交一次回测的结果，放入队列后立即返回；队列已满时等待写入线程腾出空间
+     *
+     * @param trades          交易明细，可以为空
+     * @param equityCurve     逐行存储的资金曲线，可以为空
+     * @param equityCurveBlob 压缩存储的资金曲线，可以为null
+     * @param summary         汇总信息，可以为null
+     */
+    public void submit(List<BacktestTradeEntity> trades, List<BacktestEquityCurveEntity> equityCurve,
+                       BacktestEquityCurveBlobEntity equityCurveBlob, BacktestSummaryEntity summary) {
+        PendingResult pending = new PendingResult(
+                trades != null ? trades : new ArrayList<>(),
+                equityCurve != null ? equityCurve : new ArrayList<>(),
+                equityCurveBlob,
+                summary);
+        if (!running) {
+            // 写入线程已停止，直接在调用线程写入
+            writeBatch(List.of(pending));
+            return;
+        }
+        long begin = System.nanoTime();
+        try {
+            queue.put(pending);
+            resultsQueued.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("等待回测结果写入队列时被中断，改为同步写入");
+            writeBatch(List.of(pending));
+        } finally {
+            producerWaitNanos.add(System.nanoTime() - begin);
+        }
+    }
+
+    /**
+     * 同步批量写入交易明细
+     *
+     * @return 写入行数
+     */
+    public int insertTrades(List<BacktestTradeEntity> trades) {
+        int rows = executeInsert(TRADE_TABLE, trades);
+        tradeRows.add(rows);
+        return rows;
+    }
+
+    /**
+     * 同步批量写入资金曲线
+     *
+     * @return 写入行数
+     */
+    public int insertEquityCurve(List<BacktestEquityCurveEntity> points) {
+        int rows = executeInsert(EQUITY_CURVE_TABLE, points);
+        equityCurveRows.add(rows);
+        return rows;
+    }
+
+    /**
+     * 同步写入压缩的资金曲线
+     *
+     * @return 写入行数
+     */
+    public int insertEquityCurveBlobs(List<BacktestEquityCurveBlobEntity> blobs) {
+        int rows = executeInsert(EQUITY_CURVE_BLOB_TABLE, blobs);
+        equityCurveBlobs.add(rows);
+        for (BacktestEquityCurveBlobEntity blob : blobs) {
+            equityCurveBlobBytes.add(blob.getData() != null ? blob.getData().length : 0);
+        }
+        return rows;
+    }
+
+    /**
+     * 获取写入统计
+     */
+    public Map<String, Object> getStats() {
+        long nanos = writeNanos.sum();
+        long rows = tradeRows.sum() + equityCurveRows.sum() + equityCurveBlobs.sum() + summaryRows.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queue_size", queue != null ? queue.size() : 0);
+        stats.put("queue_capacity", queueCapacity);
+        stats.put("results_queued", resultsQueued.sum());
+        stats.put("results_written", resultsWritten.sum());
+        stats.put("results_failed", resultsFailed.sum());
+        stats.put("batches", batches.sum());
+        stats.put("statements", statements.sum());
+        stats.put("trade_rows", tradeRows.sum());
+        stats.put("equity_curve_rows", equityCurveRows.sum());
+        stats.put("equity_curve_blobs", equityCurveBlobs.sum());
+        stats.put("equity_curve_blob_bytes", equityCurveBlobBytes.sum());
+        stats.put("summary_rows", summaryRows.sum());
+        stats.put("write_millis", nanos / 1_000_000);
+        stats.put("rows_per_second", nanos > 0 ? rows * 1_000_000_000.0 / nanos : 0.0);
+        stats.put("producer_wait_millis", producerWaitNanos.sum() / 1_000_000);
+        return stats;
+    }
+
+    /**
+     * 写入线程：取到第一个结果后在攒批等待时间内继续收集，达到批大小或超时后写入；
+     * 停止后写完队列中剩余的结果再退出
+     */
+    private void drainLoop() {
+        List<PendingResult> batch = new ArrayList<>(batchResults);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingResult first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < batchResults) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingResult next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                log.warn("回测结果写入线程被中断");
+                running = false;
+                writeBatch(batch);
+                batch.clear();
+                List<PendingResult> rest = new ArrayList<>();
+                queue.drainTo(rest);
+                writeBatch(rest);
+                return;
+            } catch (Exception e) {
+                log.error("回测结果写入线程异常: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+        log.info("回测结果写入线程已退出");
+    }
+
+    /**
+     * 在一个事务中合并写入一批回测结果，失败时整批回滚后逐个重试，避免一个结果的数据问题影响同批其他结果
+     */
+    private void writeBatch(List<PendingResult> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long begin = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeMerged(batch));
+            resultsWritten.add(batch.size());
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                resultsFailed.increment();
+                log.error("保存回测结果失败，回测ID: {}, 错误: {}", batch.get(0).backtestId(), e.getMessage());
+            } else {
+                log.warn("批量保存 {} 个回测结果失败，逐个重试: {}", batch.size(), e.getMessage());
+                for (PendingResult pending : batch) {
+                    writeBatch(List.of(pending));
+                }
+                return;
+            }
+        } finally {
+            writeNanos.add(System.nanoTime() - begin);
+        }
+        batches.increment();
+    }
+
+    private void writeMerged(List<PendingResult> batch) {
+        List<BacktestTradeEntity> trades = new ArrayList<>();
+        List<BacktestEquityCurveEntity> equityCurve = new ArrayList<>();
+        List<BacktestEquityCurveBlobEntity> blobs = new ArrayList<>();
+        List<BacktestSummaryEntity> summaries = new ArrayList<>(batch.size());
+        for (PendingResult pending : batch) {
+            trades.addAll(pending.trades);
+            equityCurve.addAll(pending.equityCurve);
+            if (pending.equityCurveBlob != null) {
+                blobs.add(pending.equityCurveBlob);
+            }
+            if (pending.summary != null) {
+                summaries.add(pending.summary);
+            }
+        }
+        insertTrades(trades);
+        insertEquityCurve(equityCurve);
+        insertEquityCurveBlobs(blobs);
+        summaryRows.add(executeInsert(SUMMARY_TABLE, summaries));
+    }
+
+    /**
+     * 满一条语句行数的部分作为一个JDBC批次提交，剩余不足一条语句的行单独执行
+     */
+    private <T> int executeInsert(TableSpec<T> table, List<T> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        int perStatement = Math.max(1, Math.min(Math.min(rowsPerStatement, table.maxRowsPerStatement),
+                MAX_PLACEHOLDERS / table.columns.size()));
+        int fullStatements = rows.size() / perStatement;
+        int inserted = 0;
+
+        if (fullStatements > 0) {
+            int[] counts = jdbcTemplate.batchUpdate(table.insertSql(perStatement), new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    table.bind(ps, rows, i * perStatement, perStatement);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return fullStatements;
+                }
+            });
+            for (int count : counts) {
+                inserted += Math.max(count, 0);
+            }
+            statements.add(fullStatements);
+        }
+
+        int from = fullStatements * perStatement;
+        int remaining = rows.size() - from;
+        if (remaining > 0) {
+            inserted += jdbcTemplate.update(table.insertSql(remaining), ps -> table.bind(ps, rows, from, remaining));
+            statements.increment();
+        }
+        return inserted;
+    }
+
+    /**
+     * 一次回测等待写入的数据
+     */
+    private static final class PendingResult {
+        private final List<BacktestTradeEntity> trades;
+        private final List<BacktestEquityCurveEntity> equityCurve;
+        private final BacktestEquityCurveBlobEntity equityCurveBlob;
+        private final BacktestSummaryEntity summary;
+
+        private PendingResult(List<BacktestTradeEntity> trades, List<BacktestEquityCurveEntity> equityCurve,
+                              BacktestEquityCurveBlobEntity equityCurveBlob, BacktestSummaryEntity summary) {
+            this.trades = trades;
+            this.equityCurve = equityCurve;
+            this.equityCurveBlob = equityCurveBlob;
+            this.summary = summary;
+        }
+
+        private String backtestId() {
+            if (summary != null) {
+                return summary.getBacktestId();
+            }
+            if (!trades.isEmpty()) {
+                return trades.get(0).getBacktestId();
+            }
+            if (equityCurveBlob != null) {
+                return equityCurveBlob.getBacktestId();
+            }
+            return !equityCurve.isEmpty() ? equityCurve.get(0).getBacktestId() : null;
+        }
+    }
+
+    /**
+     * 表名及列名与实体取值函数的对应关系
+     */
+    private static final class TableSpec<T> {
+        private final String table;
+        private final List<String> columns = new ArrayList<>();
+        private final List<Function<T, Object>> getters = new ArrayList<>();
+        private int maxRowsPerStatement = Integer.MAX_VALUE;
+
+        private TableSpec(String table) {
+            this.table = table;
+        }
+
+        private TableSpec<T> maxRowsPerStatement(int maxRows) {
+            this.maxRowsPerStatement = maxRows;
+            return this;
+        }
+
+        private TableSpec<T> column(String column, Function<T, Object> getter) {
+            columns.add(column);
+            getters.add(getter);
+            return this;
+        }
+
+        private String insertSql(int rowCount) {
+            String placeholders = "(" + String.join(",", Collections.nCopies(columns.size(), "?")) + ")";
+            StringBuilder sql = new StringBuilder(64 + rowCount * (placeholders.length() + 1));
+            sql.append("INSERT INTO ").append(table).append(" (").append(String.join(", ", columns)).append(") VALUES ");
+            for (int i = 0; i < rowCount; i++) {
+                if (i > 0) {
+                    sql.append(',');
+                }
+                sql.append(placeholders);
+            }
+            return sql.toString();
+        }
+
+        private void bind(PreparedStatement ps, List<T> rows, int from, int count) throws SQLException {
+            int index = 1;
+            for (int i = from; i < from + count; i++) {
+                T row = rows.get(i);
+                for (Function<T, Object> getter : getters) {
+                    Object value = getter.apply(row);
+                    if (value == null) {
+                        ps.setNull(index, Types.NULL);
+                    } else if (value instanceof LocalDateTime) {
+                        ps.setTimestamp(index, Timestamp.valueOf((LocalDateTime) value));
+                    } else {
+                        ps.setObject(index, value);
+                    }
+                    index++;
+                }
+            }
+        }
+    }
+}
@@ -2,21 +2,28 @@ package com.okx.trading.service.impl;
 
 import com.okx.trading.model.dto.BacktestResultDTO;
 import com.okx.trading.model.dto.TradeRecordDTO;
+import com.okx.trading.model.entity.BacktestEquityCurveBlobEntity;
 import com.okx.trading.model.entity.BacktestEquityCurveEntity;
 import com.okx.trading.model.entity.BacktestSummaryEntity;
 import com.okx.trading.model.entity.BacktestTradeEntity;
+import com.okx.trading.repository.BacktestEquityCurveBlobRepository;
 import com.okx.trading.repository.BacktestEquityCurveRepository;
 import com.okx.trading.repository.BacktestSummaryRepository;
 import com.okx.trading.repository.BacktestTradeRepository;
 import com.okx.trading.service.BacktestTradeService;
+import com.okx.trading.util.EquityCurveCodec;
+import com.okx.trading.util.LttbDownsampler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -29,18 +36,40 @@ public class BacktestTradeServiceImpl implements BacktestTradeService {
 
     private static final Logger logger = LoggerFactory.getLogger(BacktestTradeServiceImpl.class);
 
+    /**
+     * 资金曲线存储格式：每个数据点一行
+     */
+    public static final String EQUITY_CURVE_STORAGE_ROWS = "rows";
+
+    /**
+     * 资金曲线存储格式：每次回测一个列式压缩块
+     */
+    public static final String EQUITY_CURVE_STORAGE_COMPACT = "compact";
+
     private final BacktestTradeRepository backtestTradeRepository;
     private final BacktestSummaryRepository backtestSummaryRepository;
     private final BacktestEquityCurveRepository backtestEquityCurveRepository;
+    private final BacktestEquityCurveBlobRepository backtestEquityCurveBlobRepository;
+    private final BacktestResultWriter backtestResultWriter;
     private Ta4jBacktestService ta4jBacktestService;
 
+    /**
+     * 新保存的资金曲线使用的存储格式，读取时两种格式都支持
+     */
+    @Value("${okx.backtest.equity-curve.storage:compact}")
+    private String equityCurveStorage = EQUITY_CURVE_STORAGE_COMPACT;
+
     @Autowired
     public BacktestTradeServiceImpl(BacktestTradeRepository backtestTradeRepository,
                                     BacktestSummaryRepository backtestSummaryRepository,
-                                    BacktestEquityCurveRepository backtestEquityCurveRepository) {
+                                    BacktestEquityCurveRepository backtestEquityCurveRepository,
+                                    BacktestEquityCurveBlobRepository backtestEquityCurveBlobRepository,
+                                    BacktestResultWriter backtestResultWriter) {
         this.backtestTradeRepository = backtestTradeRepository;
         this.backtestSummaryRepository = backtestSummaryRepository;
         this.backtestEquityCurveRepository = backtestEquityCurveRepository;
+        this.backtestEquityCurveBlobRepository = backtestEquityCurveBlobRepository;
+        this.backtestResultWriter = backtestResultWriter;
     }
 
     @Override
@@ -60,37 +89,7 @@ public class BacktestTradeServiceImpl implements BacktestTradeService {
             return backtestId;
         }
 
-        for (TradeRecordDTO trade : trades) {
-
-            BacktestTradeEntity entity = BacktestTradeEntity.builder()
-                    .backtestId(backtestId)
-                    .strategyName(backtestResult.getStrategyName())
-                    .strategyCode(backtestResult.getStrategyCode())
-                    .strategyParams(strategyParams)
-                    .index(trade.getIndex())
-                    .type(trade.getType())
-                    .symbol(symbol)
-                    .entryTime(trade.getEntryTime())
-                    .entryPrice(trade.getEntryPrice())
-                    .entryAmount(trade.getEntryAmount())
-                    .exitTime(trade.getExitTime())
-                    .exitPrice(trade.getExitPrice())
-                    .exitAmount(trade.getExitAmount())
-                    .profit(trade.getProfit())
-                    .profitPercentage(trade.getProfitPercentage())
-                    .periods(trade.getPeriods())
-                    .profitPercentagePerPeriod(trade.getProfitPercentagePerPeriod())
-                    .totalAssets(trade.getExitAmount())
-                    .maxDrawdown(trade.getMaxDrawdown())
-                    .maxDrawdownPeriod(trade.getMaxDrawdownPeriod())
-                    .maxLossPeriod(trade.getMaxLossPeriod())
-                    .maxLoss(trade.getMaxLoss())
-                    .closed(trade.isClosed())
-                    .fee(trade.getFee())
-                    .build();
-
-            backtestTradeRepository.save(entity);
-        }
+        backtestResultWriter.insertTrades(buildTradeEntities(symbol, backtestResult, strategyParams, backtestId));
 
         logger.info("成功保存回测交易记录，回测ID: {}, 交易数量: {}", backtestId, trades.size());
         return backtestId;
@@ -129,61 +128,8 @@ public class BacktestTradeServiceImpl implements BacktestTradeService {
         }
 
         // 创建汇总实体
-        BacktestSummaryEntity summaryEntity = BacktestSummaryEntity.builder()
-                .backtestId(backtestId)
-                .batchBacktestId(batchBacktestId)
-                .strategyName(backtestResult.getStrategyName())
-                .strategyCode(backtestResult.getStrategyCode())
-                .strategyParams(strategyParams)
-                .symbol(symbol)
-                .intervalVal(interval)
-                .startTime(startTime)
-                .endTime(endTime)
-                .initialAmount(backtestResult.getInitialAmount())
-                .finalAmount(backtestResult.getFinalAmount())
-                .totalProfit(backtestResult.getTotalProfit())
-                .totalReturn(backtestResult.getTotalReturn())
-                .annualizedReturn(backtestResult.getAnnualizedReturn())
-                .numberOfTrades(backtestResult.getNumberOfTrades())
-                .profitableTrades(backtestResult.getProfitableTrades())
-                .unprofitableTrades(backtestResult.getUnprofitableTrades())
-                .winRate(backtestResult.getWinRate())
-                .averageProfit(backtestResult.getAverageProfit())
-                .maxDrawdown(backtestResult.getMaxDrawdown())
-                .maxDrawdownPeriod(backtestResult.getMaxDrawdownPeriod())
-                .sharpeRatio(backtestResult.getSharpeRatio())
-                .sortinoRatio(backtestResult.getSortinoRatio())
-                .calmarRatio(backtestResult.getCalmarRatio())
-                .maximumLoss(backtestResult.getMaximumLoss())
-                .maximumLossPeriod(backtestResult.getMaximumLossPeriod())
-                .volatility(backtestResult.getVolatility())
-                .totalFee(backtestResult.getTotalFee())
-                // 新增指标字段
-                .omega(backtestResult.getOmega())
-                .alpha(backtestResult.getAlpha())
-                .beta(backtestResult.getBeta())
-                .treynorRatio(backtestResult.getTreynorRatio())
-                .ulcerIndex(backtestResult.getUlcerIndex())
-                .skewness(backtestResult.getSkewness())
-                .profitFactor(backtestResult.getProfitFactor())
-                .comprehensiveScore(backtestResult.getComprehensiveScore())
-                // 新增高级风险指标
-                .kurtosis(backtestResult.getKurtosis())
-                .cvar(backtestResult.getCvar())
-                .var95(backtestResult.getVar95())
-                .var99(backtestResult.getVar99())
-                .informationRatio(backtestResult.getInformationRatio())
-                .trackingError(backtestResult.getTrackingError())
-                .sterlingRatio(backtestResult.getSterlingRatio())
-                .burkeRatio(backtestResult.getBurkeRatio())
-                .modifiedSharpeRatio(backtestResult.getModifiedSharpeRatio())
-                .downsideDeviation(backtestResult.getDownsideDeviation())
-                .uptrendCapture(backtestResult.getUptrendCapture())
-                .downtrendCapture(backtestResult.getDowntrendCapture())
-                .maxDrawdownDuration(backtestResult.getMaxDrawdownDuration())
-                .painIndex(backtestResult.getPainIndex())
-                .riskAdjustedReturn(backtestResult.getRiskAdjustedReturn())
-                .build();
+        BacktestSummaryEntity summaryEntity = buildSummaryEntity(backtestResult, strategyParams, symbol, interval,
+                startTime, endTime, backtestId, batchBacktestId);
 
         // 保存汇总信息
         BacktestSummaryEntity savedEntity = backtestSummaryRepository.save(summaryEntity);
@@ -218,9 +164,11 @@ public class BacktestTradeServiceImpl implements BacktestTradeService {
     @Override
     @Transactional
     public void deleteBacktestRecords(String backtestId) {
-        // 同时删除交易明细和汇总信息
+        // 同时删除交易明细、汇总信息和资金曲线
         backtestTradeRepository.deleteByBacktestId(backtestId);
         backtestSummaryRepository.deleteByBacktestId(backtestId);
+        backtestEquityCurveRepository.deleteByBacktestId(backtestId);
+        backtestEquityCurveBlobRepository.deleteByBacktestId(backtestId);
         logger.info("已删除回测ID为 {} 的所有记录", backtestId);
     }
 
@@ -265,9 +213,180 @@ public class BacktestTradeServiceImpl implements BacktestTradeService {
 
         // 先删除已有数据
         backtestEquityCurveRepository.deleteByBacktestId(backtestId);
+        backtestEquityCurveBlobRepository.deleteByBacktestId(backtestId);
 
         // 批量保存数据
-        List<BacktestEquityCurveEntity> entities = IntStream.range(0, equityCurveData.size())
+        if (isCompactEquityCurveStorage()) {
+            backtestResultWriter.insertEquityCurveBlobs(List.of(buildEquityCurveBlob(backtestId, equityCurveData, timestamps)));
+        } else {
+            backtestResultWriter.insertEquityCurve(buildEquityCurveEntities(backtestId, equityCurveData, timestamps));
+        }
+        logger.info("成功保存回测资金曲线数据，回测ID: {}, 数据点数: {}", backtestId, equityCurveData.size());
+    }
+
+    @Override
+    public String saveBacktestResultAsync(String symbol,
+                                          BacktestResultDTO backtestResult,
+                                          String strategyParams,
+                                          String interval,
+                                          LocalDateTime startTime,
+                                          LocalDateTime endTime,
+                                          String batchBacktestId) {
+        if (backtestResult == null || !backtestResult.isSuccess()) {
+            logger.warn("尝试保存无效的回测结果");
+            return null;
+        }
+
+        // 生成唯一回测ID
+        String backtestId = UUID.randomUUID().toString();
+
+        List<BacktestTradeEntity> trades = backtestResult.getTrades() != null && !backtestResult.getTrades().isEmpty()
+                ? buildTradeEntities(symbol, backtestResult, strategyParams, backtestId)
+                : Collections.emptyList();
+
+        List<BigDecimal> equityCurveData = backtestResult.getEquityCurve();
+        List<LocalDateTime> timestamps = backtestResult.getEquityCurveTimestamps();
+        boolean hasEquityCurve = equityCurveData != null && !equityCurveData.isEmpty()
+                && timestamps != null && equityCurveData.size() == timestamps.size();
+        List<BacktestEquityCurveEntity> equityCurve = hasEquityCurve && !isCompactEquityCurveStorage()
+                ? buildEquityCurveEntities(backtestId, equityCurveData, timestamps)
+                : Collections.emptyList();
+        BacktestEquityCurveBlobEntity equityCurveBlob = hasEquityCurve && isCompactEquityCurveStorage()
+                ? buildEquityCurveBlob(backtestId, equityCurveData, timestamps)
+                : null;
+
+        BacktestSummaryEntity summary = buildSummaryEntity(backtestResult, strategyParams, symbol, interval,
+                startTime, endTime, backtestId, batchBacktestId);
+
+        backtestResultWriter.submit(trades, equityCurve, equityCurveBlob, summary);
+        logger.debug("回测结果已提交写入队列，回测ID: {}, 交易数量: {}, 资金曲线点数: {}", backtestId, trades.size(),
+                hasEquityCurve ? equityCurveData.size() : 0);
+        return backtestId;
+    }
+
+    @Override
+    public Map<String, Object> getPersistStats() {
+        return backtestResultWriter.getStats();
+    }
+
+    /**
+     * 由回测结果构建交易明细实体
+     */
+    private List<BacktestTradeEntity> buildTradeEntities(String symbol, BacktestResultDTO backtestResult,
+                                                         String strategyParams, String backtestId) {
+        // 批量写入不经过@PrePersist，创建时间在这里设置
+        LocalDateTime now = LocalDateTime.now();
+        List<BacktestTradeEntity> entities = new ArrayList<>(backtestResult.getTrades().size());
+        for (TradeRecordDTO trade : backtestResult.getTrades()) {
+
+            BacktestTradeEntity entity = BacktestTradeEntity.builder()
+                    .backtestId(backtestId)
+                    .strategyName(backtestResult.getStrategyName())
+                    .strategyCode(backtestResult.getStrategyCode())
+                    .strategyParams(strategyParams)
+                    .index(trade.getIndex())
+                    .type(trade.getType())
+                    .symbol(symbol)
+                    .entryTime(trade.getEntryTime())
+                    .entryPrice(trade.getEntryPrice())
+                    .entryAmount(trade.getEntryAmount())
+                    .exitTime(trade.getExitTime())
+                    .exitPrice(trade.getExitPrice())
+                    .exitAmount(trade.getExitAmount())
+                    .profit(trade.getProfit())
+                    .profitPercentage(trade.getProfitPercentage())
+                    .periods(trade.getPeriods())
+                    .profitPercentagePerPeriod(trade.getProfitPercentagePerPeriod())
+                    .totalAssets(trade.getExitAmount())
+                    .maxDrawdown(trade.getMaxDrawdown())
+                    .maxDrawdownPeriod(trade.getMaxDrawdownPeriod())
+                    .maxLossPeriod(trade.getMaxLossPeriod())
+                    .maxLoss(trade.getMaxLoss())
+                    .closed(trade.isClosed())
+                    .fee(trade.getFee())
+                    .createTime(now)
+                    .build();
+
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    /**
+     * 由回测结果构建汇总实体
+     */
+    private BacktestSummaryEntity buildSummaryEntity(BacktestResultDTO backtestResult,
+                                                     String strategyParams,
+                                                     String symbol,
+                                                     String interval,
+                                                     LocalDateTime startTime,
+                                                     LocalDateTime endTime,
+                                                     String backtestId,
+                                                     String batchBacktestId) {
+        return BacktestSummaryEntity.builder()
+                .backtestId(backtestId)
+                .batchBacktestId(batchBacktestId)
+                .strategyName(backtestResult.getStrategyName())
+                .strategyCode(backtestResult.getStrategyCode())
+                .strategyParams(strategyParams)
+                .symbol(symbol)
+                .intervalVal(interval)
+                .startTime(startTime)
+                .endTime(endTime)
+                .initialAmount(backtestResult.getInitialAmount())
+                .finalAmount(backtestResult.getFinalAmount())
+                .totalProfit(backtestResult.getTotalProfit())
+                .totalReturn(backtestResult.getTotalReturn())
+                .annualizedReturn(backtestResult.getAnnualizedReturn())
+                .numberOfTrades(backtestResult.getNumberOfTrades())
+                .profitableTrades(backtestResult.getProfitableTrades())
+                .unprofitableTrades(backtestResult.getUnprofitableTrades())
+                .winRate(backtestResult.getWinRate())
+                .averageProfit(backtestResult.getAverageProfit())
+                .maxDrawdown(backtestResult.getMaxDrawdown())
+                .maxDrawdownPeriod(backtestResult.getMaxDrawdownPeriod())
+                .sharpeRatio(backtestResult.getSharpeRatio())
+                .sortinoRatio(backtestResult.getSortinoRatio())
+                .calmarRatio(backtestResult.getCalmarRatio())
+                .maximumLoss(backtestResult.getMaximumLoss())
+                .maximumLossPeriod(backtestResult.getMaximumLossPeriod())
+                .volatility(backtestResult.getVolatility())
+                .totalFee(backtestResult.getTotalFee())
+                // 新增指标字段
+                .omega(backtestResult.getOmega())
+                .alpha(backtestResult.getAlpha())
+                .beta(backtestResult.getBeta())
+                .treynorRatio(backtestResult.getTreynorRatio())
+                .ulcerIndex(backtestResult.getUlcerIndex())
+                .skewness(backtestResult.getSkewness())
+                .profitFactor(backtestResult.getProfitFactor())
+                .comprehensiveScore(backtestResult.getComprehensiveScore())
+                // 新增高级风险指标
+                .kurtosis(backtestResult.getKurtosis())
+                .cvar(backtestResult.getCvar())
+                .var95(backtestResult.getVar95())
+                .var99(backtestResult.getVar99())
+                .informationRatio(backtestResult.getInformationRatio())
+                .trackingError(backtestResult.getTrackingError())
+                .sterlingRatio(backtestResult.getSterlingRatio())
+                .burkeRatio(backtestResult.getBurkeRatio())
+                .modifiedSharpeRatio(backtestResult.getModifiedSharpeRatio())
+                .downsideDeviation(backtestResult.getDownsideDeviation())
+                .uptrendCapture(backtestResult.getUptrendCapture())
+                .downtrendCapture(backtestResult.getDowntrendCapture())
+                .maxDrawdownDuration(backtestResult.getMaxDrawdownDuration())
+                .painIndex(backtestResult.getPainIndex())
+                .riskAdjustedReturn(backtestResult.getRiskAdjustedReturn())
+                .createTime(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 构建资金曲线实体
+     */
+    private List<BacktestEquityCurveEntity> buildEquityCurveEntities(String backtestId, List<BigDecimal> equityCurveData,
+                                                                     List<LocalDateTime> timestamps) {
+        return IntStream.range(0, equityCurveData.size())
                 .mapToObj(i -> BacktestEquityCurveEntity.builder()
                         .backtestId(backtestId)
                         .equityValue(equityCurveData.get(i))
@@ -275,13 +394,66 @@ public class BacktestTradeServiceImpl implements BacktestTradeService {
                         .indexPosition(i)
                         .build())
                 .collect(Collectors.toList());
+    }
 
-        backtestEquityCurveRepository.saveAll(entities);
-        logger.info("成功保存回测资金曲线数据，回测ID: {}, 数据点数: {}", backtestId, equityCurveData.size());
+    /**
+     * 构建压缩存储的资金曲线
+     */
+    private BacktestEquityCurveBlobEntity buildEquityCurveBlob(String backtestId, List<BigDecimal> equityCurveData,
+                                                              List<LocalDateTime> timestamps) {
+        return BacktestEquityCurveBlobEntity.builder()
+                .backtestId(backtestId)
+                .pointCount(equityCurveData.size())
+                .startTime(timestamps.get(0))
+                .endTime(timestamps.get(timestamps.size() - 1))
+                .data(EquityCurveCodec.encode(timestamps, equityCurveData))
+                .createTime(LocalDateTime.now())
+                .build();
+    }
+
+    private boolean isCompactEquityCurveStorage() {
+        return !EQUITY_CURVE_STORAGE_ROWS.equalsIgnoreCase(equityCurveStorage);
     }
 
     @Override
     public List<BacktestEquityCurveEntity> getEquityCurveByBacktestId(String backtestId) {
-        return backtestEquityCurveRepository.findByBacktestIdOrderByTimestampAsc(backtestId);
+        return getEquityCurveByBacktestId(backtestId, 0);
+    }
+
+    @Override
+    public List<BacktestEquityCurveEntity> getEquityCurveByBacktestId(String backtestId, int maxPoints) {
+        Optional<BacktestEquityCurveBlobEntity> blob = backtestEquityCurveBlobRepository.findByBacktestId(backtestId);
+        if (blob.isPresent()) {
+            EquityCurveCodec.Series series = EquityCurveCodec.decode(blob.get().getData());
+            int[] selected = LttbDownsampler.select(series.getTimestamps(), series.getValues(), maxPoints);
+            List<BacktestEquityCurveEntity> result = new ArrayList<>(selected.length);
+            for (int index : selected) {
+                result.add(BacktestEquityCurveEntity.builder()
+                        .backtestId(backtestId)
+                        .timestamp(series.timestampAt(index))
+                        .equityValue(BigDecimal.valueOf(series.getValues()[index]).setScale(8, RoundingMode.HALF_UP))
+                        .indexPosition(index)
+                        .build());
+            }
+            return result;
+        }
+
+        // 压缩存储之前保存的回测按行读取
+        List<BacktestEquityCurveEntity> rows = backtestEquityCurveRepository.findByBacktestIdOrderByTimestampAsc(backtestId);
+        if (maxPoints < 3 || rows.size() <= maxPoints) {
+            return rows;
+        }
+        long[] timestamps = new long[rows.size()];
+        double[] values = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            timestamps[i] = rows.get(i).getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+            values[i] = rows.get(i).getEquityValue().doubleValue();
+        }
+        int[] selected = LttbDownsampler.select(timestamps, values, maxPoints);
+        List<BacktestEquityCurveEntity> result = new ArrayList<>(selected.length);
+        for (int index : selected) {
+            result.add(rows.get(index));
+        }
+        return result;
     }
 }
@@ -0,0 +1,141 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.model.entity.CandlestickEntity;
+import com.okx.trading.service.HistoricalDataService;
+import com.okx.trading.strategy.BenchmarkSeries;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 回测基准服务
+ * 按 基准交易对/周期 缓存基准收盘价序列（{@link BenchmarkSeries}），请求范围已被缓存覆盖时不再查询K线，
+ * 同一批回测的所有策略共用同一个基准序列及其对齐结果。
+ * <p>
+ * 缓存只在请求的结束时间早于加载时间时命中，包含加载之后才收盘的K线的请求会重新加载。
+ */
+@Slf4j
+@Service
+public class BenchmarkService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final HistoricalDataService historicalDataService;
+
+    /**
+     * 基准交易对
+     */
+    @Value("${okx.backtest.benchmark.symbol:BTC-USDT}")
+    private String benchmarkSymbol = "BTC-USDT";
+
+    /**
+     * 交易对|周期 -> 基准序列
+     */
+    private final Map<String, CachedBenchmark> cache = new ConcurrentHashMap<>();
+    private final Map<String, Object> loadLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    @Autowired
+    public BenchmarkService(HistoricalDataService historicalDataService) {
+        this.historicalDataService = historicalDataService;
+    }
+
+    /**
+     * 获取时间范围内的基准序列
+     *
+     * @param interval  K线周期
+     * @param startTime 开始时间
+     * @param endTime   结束时间
+     * @return 基准序列，加载失败时返回空序列
+     */
+    public BenchmarkSeries getBenchmark(String interval, LocalDateTime startTime, LocalDateTime endTime) {
+        return getBenchmark(interval, startTime, endTime, null, null);
+    }
+
+    /**
+     * 获取时间范围内的基准序列，回测交易对就是基准交易对时直接使用已加载的K线
+     *
+     * @param interval     K线周期
+     * @param startTime    开始时间
+     * @param endTime      结束时间
+     * @param symbol       回测交易对，可以为null
+     * @param candlesticks 回测交易对在该时间范围内的K线，可以为null
+     * @return 基准序列，加载失败时返回空序列
+     */
+    public BenchmarkSeries getBenchmark(String interval, LocalDateTime startTime, LocalDateTime endTime,
+                                        String symbol, List<CandlestickEntity> candlesticks) {
+        String key = benchmarkSymbol + "|" + interval;
+        BenchmarkSeries cached = lookup(key, startTime, endTime);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (loadLocks.computeIfAbsent(key, k -> new Object())) {
+            // 等待锁期间可能已被其他请求加载
+            cached = lookup(key, startTime, endTime);
+            if (cached != null) {
+                return cached;
+            }
+            LocalDateTime loadTime = LocalDateTime.now();
+            List<CandlestickEntity> benchmarkCandlesticks;
+            if (benchmarkSymbol.equals(symbol) && candlesticks != null) {
+                benchmarkCandlesticks = candlesticks;
+            } else {
+                try {
+                    benchmarkCandlesticks = historicalDataService.fetchAndSaveHistoryWithIntegrityCheck(benchmarkSymbol, interval,
+                            startTime.format(DATE_FORMAT), endTime.format(DATE_FORMAT));
+                } catch (Exception e) {
+                    log.warn("加载回测基准K线失败，按无基准数据处理: symbol={}, interval={}, {}", benchmarkSymbol, interval, e.getMessage());
+                    return BenchmarkSeries.empty(benchmarkSymbol, interval);
+                }
+            }
+            BenchmarkSeries loaded = BenchmarkSeries.of(benchmarkSymbol, interval, startTime, endTime, benchmarkCandlesticks);
+            cache.put(key, new CachedBenchmark(loaded, loadTime));
+            loads.increment();
+            log.debug("已加载回测基准序列: symbol={}, interval={}, 范围: {} - {}, K线数: {}",
+                    benchmarkSymbol, interval, startTime, endTime, loaded.size());
+            return loaded;
+        }
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("benchmark_symbol", benchmarkSymbol);
+        stats.put("cached_intervals", cache.size());
+        stats.put("hits", hits.sum());
+        stats.put("loads", loads.sum());
+        return stats;
+    }
+
+    private BenchmarkSeries lookup(String key, LocalDateTime startTime, LocalDateTime endTime) {
+        CachedBenchmark cached = cache.get(key);
+        if (cached != null && cached.series.covers(startTime, endTime) && endTime.isBefore(cached.loadTime)) {
+            hits.increment();
+            return cached.series;
+        }
+        return null;
+    }
+
+    private static final class CachedBenchmark {
+        private final BenchmarkSeries series;
+        private final LocalDateTime loadTime;
+
+        private CachedBenchmark(BenchmarkSeries series, LocalDateTime loadTime) {
+            this.series = series;
+            this.loadTime = loadTime;
+        }
+    }
+}
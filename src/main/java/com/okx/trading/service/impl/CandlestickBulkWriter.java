@@ -0,0 +1,295 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.model.entity.CandlestickEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * K线批量写入器
+ * 先按 交易对+周期 用唯一索引范围扫描取出已存在的开盘时间，只把缺失的K线用多行
+ * INSERT ... ON DUPLICATE KEY UPDATE 语句 + JDBC批处理写入candlestick_history。
+ * 不需要全局锁，不同交易对的抓取线程可以并行写入；并发写入同一根K线时由 (symbol, interval_val, open_time)
+ * 唯一索引在数据库端去重。与 INSERT IGNORE 不同，截断、非空约束等数据错误会正常抛出，不会被静默丢弃。
+ * <p>
+ * 如果首次写入时检测到唯一索引不存在（旧库尚未执行迁移脚本），同一交易对+周期的查询和插入改为加锁串行，
+ * 避免产生重复数据。
+ */
+@Slf4j
+@Service
+public class CandlestickBulkWriter {
+
+    private static final String INSERT_PREFIX = "INSERT INTO candlestick_history "
+            + "(symbol, interval_val, open_time, close_time, open, high, low, close, volume, quote_volume, trades, fetch_time) VALUES ";
+    private static final String INSERT_SUFFIX = " ON DUPLICATE KEY UPDATE id = id";
+    private static final String ROW_PLACEHOLDER = "(?,?,?,?,?,?,?,?,?,?,?,?)";
+    private static final int COLUMN_COUNT = 12;
+
+    private static final String UNIQUE_KEY_QUERY = "SELECT index_name FROM information_schema.statistics "
+            + "WHERE table_schema = DATABASE() AND table_name = 'candlestick_history' AND non_unique = 0 "
+            + "GROUP BY index_name HAVING SUM(column_name IN ('symbol', 'interval_val', 'open_time')) = 3 AND COUNT(*) = 3";
+
+    private static final String EXISTING_OPEN_TIME_QUERY = "SELECT open_time FROM candlestick_history "
+            + "WHERE symbol = ? AND interval_val = ? AND open_time BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 每条INSERT语句包含的行数
+     */
+    @Value("${okx.historical-data.bulk-insert-rows:500}")
+    private int rowsPerStatement = 500;
+
+    /**
+     * 唯一索引是否存在，null表示尚未检测
+     */
+    private volatile Boolean uniqueKeyPresent;
+
+    /**
+     * 无唯一索引时按 交易对|周期 加锁
+     */
+    private final Map<String, Object> fallbackLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rowsSubmitted = new LongAdder();
+    private final LongAdder rowsInserted = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    /**
+     * 按交易对统计的新增行数（一次调用按首行的交易对计入，K线抓取时每次调用只包含一个交易对），并发写入同一根K线时可能多计
+     */
+    private final Map<String, LongAdder> rowsInsertedBySymbol = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CandlestickBulkWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 批量写入K线，已存在的 (symbol, interval_val, open_time) 会被跳过
+     * 正常返回时所有提交的K线都已在库中，写入失败时抛出异常
+     *
+     * @param entities K线数据，可以包含多个交易对
+     * @return 新增的行数，与其他线程并发写入同一根K线时可能多计
+     */
+    public int insertMissing(List<CandlestickEntity> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return 0;
+        }
+        long begin = System.nanoTime();
+        List<CandlestickEntity> rows = sortedDistinct(entities);
+
+        boolean lock = !isUniqueKeyPresent();
+        Map<String, List<CandlestickEntity>> groups = new LinkedHashMap<>();
+        for (CandlestickEntity row : rows) {
+            groups.computeIfAbsent(row.getSymbol() + "|" + row.getIntervalVal(), k -> new ArrayList<>()).add(row);
+        }
+        int inserted = 0;
+        for (Map.Entry<String, List<CandlestickEntity>> group : groups.entrySet()) {
+            if (lock) {
+                synchronized (fallbackLocks.computeIfAbsent(group.getKey(), k -> new Object())) {
+                    inserted += insertGroup(group.getValue());
+                }
+            } else {
+                inserted += insertGroup(group.getValue());
+            }
+        }
+
+        calls.increment();
+        rowsSubmitted.add(rows.size());
+        rowsInserted.add(inserted);
+        writeNanos.add(System.nanoTime() - begin);
+        if (inserted > 0) {
+            rowsInsertedBySymbol.computeIfAbsent(rows.get(0).getSymbol(), k -> new LongAdder()).add(inserted);
+        }
+        return inserted;
+    }
+
+    /**
+     * 获取写入吞吐统计
+     *
+     * @return 调用次数、语句数、提交行数、新增行数、忽略行数、累计耗时和每秒写入行数。
+     * 新增行数按预扫描时缺失的行统计，多个线程并发写入同一根缺失K线时会重复计入，是上限而非精确值
+     */
+    public Map<String, Object> getStats() {
+        long submitted = rowsSubmitted.sum();
+        long inserted = rowsInserted.sum();
+        long nanos = writeNanos.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("unique_key_present", uniqueKeyPresent);
+        stats.put("rows_per_statement", rowsPerStatement);
+        stats.put("calls", calls.sum());
+        stats.put("statements", statements.sum());
+        stats.put("rows_submitted", submitted);
+        stats.put("rows_inserted", inserted);
+        stats.put("rows_ignored", submitted - inserted);
+        stats.put("write_millis", nanos / 1_000_000);
+        stats.put("rows_per_second", nanos > 0 ? submitted * 1_000_000_000.0 / nanos : 0.0);
+        Map<String, Long> bySymbol = new TreeMap<>();
+        rowsInsertedBySymbol.forEach((symbol, count) -> bySymbol.put(symbol, count.sum()));
+        stats.put("rows_inserted_by_symbol", bySymbol);
+        return stats;
+    }
+
+    /**
+     * 按 交易对、周期、开盘时间 排序并去重。
+     * 固定的插入顺序让并发写入同一交易对时按相同顺序获取索引锁，减少死锁。
+     */
+    private List<CandlestickEntity> sortedDistinct(List<CandlestickEntity> entities) {
+        List<CandlestickEntity> sorted = new ArrayList<>(entities);
+        sorted.sort(Comparator.comparing(CandlestickEntity::getSymbol)
+                .thenComparing(CandlestickEntity::getIntervalVal)
+                .thenComparing(CandlestickEntity::getOpenTime));
+        List<CandlestickEntity> rows = new ArrayList<>(sorted.size());
+        CandlestickEntity previous = null;
+        for (CandlestickEntity entity : sorted) {
+            if (previous == null
+                    || !previous.getOpenTime().equals(entity.getOpenTime())
+                    || !previous.getIntervalVal().equals(entity.getIntervalVal())
+                    || !previous.getSymbol().equals(entity.getSymbol())) {
+                rows.add(entity);
+            }
+            previous = entity;
+        }
+        return rows;
+    }
+
+    /**
+     * 写入同一交易对+周期的K线，过滤掉已存在的开盘时间后插入
+     *
+     * @return 预扫描时缺失并提交插入的行数，其他线程在预扫描之后写入同一根K线时该行由唯一索引去重，但仍会计入
+     */
+    private int insertGroup(List<CandlestickEntity> groupRows) {
+        CandlestickEntity first = groupRows.get(0);
+        Set<LocalDateTime> existing = new HashSet<>();
+        for (Timestamp openTime : jdbcTemplate.queryForList(EXISTING_OPEN_TIME_QUERY, Timestamp.class,
+                first.getSymbol(), first.getIntervalVal(), Timestamp.valueOf(first.getOpenTime()),
+                Timestamp.valueOf(groupRows.get(groupRows.size() - 1).getOpenTime()))) {
+            existing.add(openTime.toLocalDateTime());
+        }
+        List<CandlestickEntity> newRows = new ArrayList<>(groupRows.size());
+        for (CandlestickEntity row : groupRows) {
+            if (!existing.contains(row.getOpenTime())) {
+                newRows.add(row);
+            }
+        }
+        if (!newRows.isEmpty()) {
+            executeInsert(newRows);
+        }
+        return newRows.size();
+    }
+
+    /**
+     * 满 rowsPerStatement 行的部分作为一个JDBC批次提交，剩余不足一条语句的行单独执行
+     * 驱动开启批处理重写时返回的影响行数可能是SUCCESS_NO_INFO，因此不使用影响行数统计新增行数
+     */
+    private void executeInsert(List<CandlestickEntity> rows) {
+        int fullStatements = rows.size() / rowsPerStatement;
+
+        if (fullStatements > 0) {
+            String sql = buildInsertSql(rowsPerStatement);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bindRows(ps, rows, i * rowsPerStatement, rowsPerStatement);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return fullStatements;
+                }
+            });
+            statements.add(fullStatements);
+        }
+
+        int from = fullStatements * rowsPerStatement;
+        int remaining = rows.size() - from;
+        if (remaining > 0) {
+            jdbcTemplate.update(buildInsertSql(remaining), ps -> bindRows(ps, rows, from, remaining));
+            statements.increment();
+        }
+    }
+
+    private boolean isUniqueKeyPresent() {
+        Boolean present = uniqueKeyPresent;
+        if (present == null) {
+            try {
+                present = !jdbcTemplate.queryForList(UNIQUE_KEY_QUERY, String.class).isEmpty();
+            } catch (Exception e) {
+                log.warn("检测candlestick_history唯一索引失败，按无唯一索引处理: {}", e.getMessage());
+                present = false;
+            }
+            if (!present) {
+                log.warn("candlestick_history缺少(symbol, interval_val, open_time)唯一索引，K线写入退化为按交易对加锁串行，"
+                        + "请执行 migration_candlestick_unique_key.sql");
+            }
+            uniqueKeyPresent = present;
+        }
+        return present;
+    }
+
+    private static String buildInsertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rowCount * (ROW_PLACEHOLDER.length() + 1)
+                + INSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        sql.append(INSERT_SUFFIX);
+        return sql.toString();
+    }
+
+    private static void bindRows(PreparedStatement ps, List<CandlestickEntity> rows, int from, int count) throws SQLException {
+        int index = 1;
+        for (int i = from; i < from + count; i++) {
+            CandlestickEntity row = rows.get(i);
+            ps.setString(index, row.getSymbol());
+            ps.setString(index + 1, row.getIntervalVal());
+            ps.setTimestamp(index + 2, Timestamp.valueOf(row.getOpenTime()));
+            setTimestamp(ps, index + 3, row.getCloseTime());
+            ps.setBigDecimal(index + 4, row.getOpen());
+            ps.setBigDecimal(index + 5, row.getHigh());
+            ps.setBigDecimal(index + 6, row.getLow());
+            ps.setBigDecimal(index + 7, row.getClose());
+            ps.setBigDecimal(index + 8, row.getVolume());
+            ps.setBigDecimal(index + 9, row.getQuoteVolume());
+            if (row.getTrades() != null) {
+                ps.setLong(index + 10, row.getTrades());
+            } else {
+                ps.setNull(index + 10, Types.BIGINT);
+            }
+            setTimestamp(ps, index + 11, row.getFetchTime());
+            index += COLUMN_COUNT;
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime time) throws SQLException {
+        if (time != null) {
+            ps.setTimestamp(index, Timestamp.valueOf(time));
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.model.entity.CandlestickCoverageEntity;
+import com.okx.trading.model.entity.CandlestickEntity;
+import com.okx.trading.repository.CandlestickCoverageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * K线覆盖区间索引
+ * 按 交易对/周期 维护candlestick_history中连续无缺口的开盘时间区间，写入K线时合并区间并持久化到candlestick_coverage表。
+ * 完整性判断和缺失区间计算只遍历区间（复杂度与缺口数量相关），不再需要按K线逐个生成时间点并与数据库数据比对。
+ * <p>
+ * 索引只记录确认已在库中的K线（{@link CandlestickBulkWriter#insertMissing} 正常返回后提交的K线要么原本已存在，
+ * 要么由没有报错的插入语句写入），写入失败时不记录；
+ * 区间丢失（例如持久化失败）只会导致多走一次原有的数据库比对流程，不会误判为完整。
+ */
+@Slf4j
+@Service
+public class CandlestickCoverageIndex {
+
+    private final CandlestickCoverageRepository coverageRepository;
+
+    /**
+     * 交易对|周期 -> 覆盖区间
+     */
+    private final Map<String, Coverage> coverages = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CandlestickCoverageIndex(CandlestickCoverageRepository coverageRepository) {
+        this.coverageRepository = coverageRepository;
+    }
+
+    /**
+     * 记录已写入数据库的K线，合并到覆盖区间
+     * 调用方必须保证传入的K线都已在库中，否则完整性判断会把缺失的K线当作已覆盖
+     *
+     * @param entities 已确认在库中的K线，可以包含多个交易对/周期
+     */
+    public void record(List<CandlestickEntity> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+        Map<String, TreeSet<LocalDateTime>> openTimesByKey = new LinkedHashMap<>();
+        for (CandlestickEntity entity : entities) {
+            if (entity == null || entity.getOpenTime() == null || entity.getSymbol() == null || entity.getIntervalVal() == null) {
+                continue;
+            }
+            openTimesByKey.computeIfAbsent(key(entity.getSymbol(), entity.getIntervalVal()), k -> new TreeSet<>())
+                    .add(entity.getOpenTime());
+        }
+
+        for (Map.Entry<String, TreeSet<LocalDateTime>> entry : openTimesByKey.entrySet()) {
+            String[] parts = entry.getKey().split("\\|", 2);
+            merge(parts[0], parts[1], entry.getValue());
+        }
+    }
+
+    /**
+     * 记录已确认在库中的开盘时间，合并到覆盖区间
+     * 调用方必须保证这些开盘时间的K线都已在库中
+     *
+     * @param symbol    交易对
+     * @param interval  K线间隔
+     * @param openTimes 已确认在库中的开盘时间
+     */
+    public void record(String symbol, String interval, Collection<LocalDateTime> openTimes) {
+        if (openTimes == null || openTimes.isEmpty()) {
+            return;
+        }
+        merge(symbol, interval, new TreeSet<>(openTimes));
+    }
+
+    /**
+     * 把有序的开盘时间按连续段合并到覆盖区间，有变化时持久化
+     */
+    private void merge(String symbol, String interval, TreeSet<LocalDateTime> openTimes) {
+        Coverage coverage = coverage(symbol, interval);
+        synchronized (coverage) {
+            boolean changed = false;
+            LocalDateTime runStart = null;
+            LocalDateTime runEnd = null;
+            for (LocalDateTime openTime : openTimes) {
+                if (runEnd != null && openTime.equals(coverage.next(runEnd))) {
+                    runEnd = openTime;
+                    continue;
+                }
+                if (runStart != null) {
+                    changed |= coverage.merge(runStart, runEnd);
+                }
+                runStart = openTime;
+                runEnd = openTime;
+            }
+            changed |= coverage.merge(runStart, runEnd);
+            if (changed) {
+                persist(coverage);
+            }
+        }
+    }
+
+    /**
+     * 判断时间范围内的K线是否完整
+     *
+     * @param symbol    交易对
+     * @param interval  K线间隔
+     * @param startTime 开始时间（包含）
+     * @param endTime   结束时间（包含）
+     * @return 时间范围内所有K线都已入库时返回true
+     */
+    public boolean covers(String symbol, String interval, LocalDateTime startTime, LocalDateTime endTime) {
+        return missingRanges(symbol, interval, startTime, endTime).isEmpty();
+    }
+
+    /**
+     * 计算时间范围内缺失K线的区间
+     *
+     * @param symbol    交易对
+     * @param interval  K线间隔
+     * @param startTime 开始时间（包含）
+     * @param endTime   结束时间（包含）
+     * @return 缺失区间列表，每项为 [缺失区间第一根K线的开盘时间, 缺失区间结束时间]
+     */
+    public List<LocalDateTime[]> missingRanges(String symbol, String interval, LocalDateTime startTime, LocalDateTime endTime) {
+        List<LocalDateTime[]> gaps = new ArrayList<>();
+        if (startTime.isAfter(endTime)) {
+            return gaps;
+        }
+        Coverage coverage = coverage(symbol, interval);
+        synchronized (coverage) {
+            LocalDateTime cursor = startTime;
+            LocalDateTime from = coverage.ranges.floorKey(startTime);
+            NavigableMap<LocalDateTime, LocalDateTime> candidates = from != null
+                    ? coverage.ranges.subMap(from, true, endTime, true)
+                    : coverage.ranges.headMap(endTime, true);
+            for (Map.Entry<LocalDateTime, LocalDateTime> range : candidates.entrySet()) {
+                LocalDateTime rangeStart = range.getKey();
+                LocalDateTime afterRange = coverage.next(range.getValue());
+                if (!afterRange.isAfter(cursor)) {
+                    continue;
+                }
+                // 区间前一根K线仍不早于游标，说明 [cursor, 区间前一根] 缺失
+                LocalDateTime beforeRange = coverage.previous(rangeStart);
+                if (!beforeRange.isBefore(cursor)) {
+                    gaps.add(new LocalDateTime[]{cursor, beforeRange});
+                }
+                cursor = afterRange;
+                if (cursor.isAfter(endTime)) {
+                    break;
+                }
+            }
+            if (!cursor.isAfter(endTime)) {
+                gaps.add(new LocalDateTime[]{cursor, endTime});
+            }
+        }
+        return gaps;
+    }
+
+    /**
+     * 获取交易对/周期的全部覆盖区间
+     *
+     * @return 每项为 range_start、range_end
+     */
+    public List<Map<String, Object>> getRanges(String symbol, String interval) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        Coverage coverage = coverage(symbol, interval);
+        synchronized (coverage) {
+            coverage.ranges.forEach((start, end) -> {
+                Map<String, Object> range = new LinkedHashMap<>();
+                range.put("range_start", start);
+                range.put("range_end", end);
+                result.add(range);
+            });
+        }
+        return result;
+    }
+
+    private Coverage coverage(String symbol, String interval) {
+        return coverages.computeIfAbsent(key(symbol, interval), k -> load(symbol, interval));
+    }
+
+    private Coverage load(String symbol, String interval) {
+        Coverage coverage = new Coverage(symbol, interval);
+        try {
+            for (CandlestickCoverageEntity entity : coverageRepository.findBySymbolAndIntervalValOrderByRangeStartAsc(symbol, interval)) {
+                coverage.merge(entity.getRangeStart(), entity.getRangeEnd());
+            }
+        } catch (Exception e) {
+            log.warn("加载K线覆盖区间失败，按无覆盖处理: symbol={}, interval={}, {}", symbol, interval, e.getMessage());
+        }
+        return coverage;
+    }
+
+    /**
+     * 覆盖区间数量与缺口数量同级，整体替换即可
+     */
+    private void persist(Coverage coverage) {
+        try {
+            List<CandlestickCoverageEntity> entities = new ArrayList<>(coverage.ranges.size());
+            coverage.ranges.forEach((start, end) -> entities.add(CandlestickCoverageEntity.builder()
+                    .symbol(coverage.symbol)
+                    .intervalVal(coverage.interval)
+                    .rangeStart(start)
+                    .rangeEnd(end)
+                    .build()));
+            coverageRepository.deleteBySymbolAndInterval(coverage.symbol, coverage.interval);
+            coverageRepository.saveAll(entities);
+        } catch (Exception e) {
+            log.warn("保存K线覆盖区间失败: symbol={}, interval={}, {}", coverage.symbol, coverage.interval, e.getMessage());
+        }
+    }
+
+    private static String key(String symbol, String interval) {
+        return symbol + "|" + interval;
+    }
+
+    /**
+     * 单个交易对/周期的覆盖区间：开盘时间区间起点 -> 区间内最后一根K线的开盘时间
+     */
+    private static final class Coverage {
+        private final String symbol;
+        private final String interval;
+        private final char unit;
+        private final int amount;
+        private final TreeMap<LocalDateTime, LocalDateTime> ranges = new TreeMap<>();
+
+        private Coverage(String symbol, String interval) {
+            this.symbol = symbol;
+            this.interval = interval;
+            this.unit = interval.charAt(interval.length() - 1);
+            this.amount = Integer.parseInt(interval.substring(0, interval.length() - 1));
+        }
+
+        /**
+         * 下一根K线的开盘时间，月线按自然月计算
+         */
+        private LocalDateTime next(LocalDateTime openTime) {
+            switch (unit) {
+                case 'm':
+                    return openTime.plusMinutes(amount);
+                case 'H':
+                    return openTime.plusHours(amount);
+                case 'D':
+                    return openTime.plusDays(amount);
+                case 'W':
+                    return openTime.plusWeeks(amount);
+                case 'M':
+                    return openTime.plusMonths(amount);
+                default:
+                    return openTime.plusMinutes(1);
+            }
+        }
+
+        /**
+         * 上一根K线的开盘时间
+         */
+        private LocalDateTime previous(LocalDateTime openTime) {
+            switch (unit) {
+                case 'm':
+                    return openTime.minusMinutes(amount);
+                case 'H':
+                    return openTime.minusHours(amount);
+                case 'D':
+                    return openTime.minusDays(amount);
+                case 'W':
+                    return openTime.minusWeeks(amount);
+                case 'M':
+                    return openTime.minusMonths(amount);
+                default:
+                    return openTime.minusMinutes(1);
+            }
+        }
+
+        /**
+         * 合并一个连续区间，与已有区间重叠或首尾相接时合并为一个区间
+         *
+         * @return 覆盖区间是否发生变化
+         */
+        private boolean merge(LocalDateTime start, LocalDateTime end) {
+            if (start == null || end == null) {
+                return false;
+            }
+            Map.Entry<LocalDateTime, LocalDateTime> lower = ranges.floorEntry(start);
+            if (lower != null && !next(lower.getValue()).isBefore(start)) {
+                if (!lower.getValue().isBefore(end)) {
+                    return false;
+                }
+                start = lower.getKey();
+            }
+            LocalDateTime mergedEnd = end;
+            LocalDateTime afterEnd = next(end);
+            Map.Entry<LocalDateTime, LocalDateTime> higher = ranges.ceilingEntry(start);
+            while (higher != null && !higher.getKey().isAfter(afterEnd)) {
+                if (higher.getValue().isAfter(mergedEnd)) {
+                    mergedEnd = higher.getValue();
+                    afterEnd = next(mergedEnd);
+                }
+                ranges.remove(higher.getKey());
+                higher = ranges.ceilingEntry(start);
+            }
+            ranges.put(start, mergedEnd);
+            return true;
+        }
+    }
+}
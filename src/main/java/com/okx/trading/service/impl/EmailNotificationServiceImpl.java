@@ -29,7 +29,9 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -68,6 +70,9 @@ public class EmailNotificationServiceImpl implements NotificationService {
     @Autowired
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Autowired
+    private LivePriceCache livePriceCache;
+
     private static final String SYMBOL = "BTC-USDT";
     private static final int MAX_UNCHANGED_COUNT = 3;
     private final Queue<String> priceQueue = new LinkedList<>();
@@ -77,10 +82,6 @@ public class EmailNotificationServiceImpl implements NotificationService {
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    // 用于跟踪每个符号最后接收价格的时间和价格
-    private final Map<String, LocalDateTime> lastPriceUpdateTimeMap = new ConcurrentHashMap<>();
-    private final Map<String, String> latestPriceMap = new ConcurrentHashMap<>();
-
     // 用于记录WebSocket频道重启次数
     private final Map<ReconnectType, Integer> channelRestartCountMap = new EnumMap<>(ReconnectType.class);
 
@@ -232,22 +233,14 @@ public class EmailNotificationServiceImpl implements NotificationService {
 
     /**
      * 更新最新价格
-     * 由WebSocket服务在收到K线数据时调用
+     * 最新价格统一保存在最新价格缓存中
      *
      * @param symbol 交易对
      * @param price  最新价格
      */
     @Override
     public void updateLatestPrice(String symbol, BigDecimal price) {
-        if (price == null || symbol == null) {
-            return;
-        }
-
-        String priceStr = price.toString();
-        latestPriceMap.put(symbol, priceStr);
-        lastPriceUpdateTimeMap.put(symbol, LocalDateTime.now());
-
-        log.debug("从WebSocket更新{}的最新价格: {}", symbol, priceStr);
+        livePriceCache.update(symbol, price);
     }
 
     @Override
@@ -369,19 +362,20 @@ public class EmailNotificationServiceImpl implements NotificationService {
     @Scheduled(fixedRate = 30000)
     public void monitorPrice() {
         try {
-            // 从本地缓存获取价格
-            String currentPrice = latestPriceMap.get(SYMBOL);
+            // 从最新价格缓存获取WebSocket推送的价格，REST刷新的价格不能说明推送正常
+            LivePriceCache.PriceSnapshot snapshot = livePriceCache.getWebSocketSnapshot(SYMBOL);
 
-            if (currentPrice == null) {
+            if (snapshot == null) {
                 log.warn("无法获取{}的最新价格", SYMBOL);
                 return;
             }
+            String currentPrice = snapshot.getPrice().toString();
 
             // 获取当前时间
             LocalDateTime now = LocalDateTime.now();
 
             // 记录上次更新时间
-            LocalDateTime lastUpdateTime = lastPriceUpdateTimeMap.getOrDefault(SYMBOL, now);
+            LocalDateTime lastUpdateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(snapshot.getUpdateTimeMillis()), ZoneId.systemDefault());
 
             // 计算上次价格更新到现在的时间间隔（秒）
             long secondsSinceLastUpdate = java.time.Duration.between(lastUpdateTime, now).getSeconds();
@@ -12,7 +12,6 @@ import com.okx.trading.service.RedisCacheService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,7 +20,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.ta4j.core.BarSeries;
 
 import java.time.*;
@@ -62,6 +60,9 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
     private RedisCacheService redisCacheService;
 
     private final CandlestickBarSeriesConverter barSeriesConverter;
+    private final CandlestickBulkWriter candlestickBulkWriter;
+    private final HistoryKlineFetchScheduler historyKlineFetchScheduler;
+    private final CandlestickCoverageIndex candlestickCoverageIndex;
     private DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     /**
@@ -85,13 +86,19 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
                                      @Qualifier("historicalDataExecutorService") ExecutorService executorService,
                                      @Qualifier("batchHistoricalDataExecutorService") ExecutorService batchExecutorService,
                                      @Qualifier("historicalDataExecutorService")
-                                     ExecutorService historicalDataExecutorService, CandlestickBarSeriesConverter barSeriesConverter) {
+                                     ExecutorService historicalDataExecutorService, CandlestickBarSeriesConverter barSeriesConverter,
+                                     CandlestickBulkWriter candlestickBulkWriter,
+                                     HistoryKlineFetchScheduler historyKlineFetchScheduler,
+                                     CandlestickCoverageIndex candlestickCoverageIndex) {
         this.okxApiService = okxApiService;
         this.candlestickRepository = candlestickRepository;
         this.executorService = executorService;
         this.batchExecutorService = batchExecutorService;
         this.historicalDataExecutorService = historicalDataExecutorService;
         this.barSeriesConverter = barSeriesConverter;
+        this.candlestickBulkWriter = candlestickBulkWriter;
+        this.historyKlineFetchScheduler = historyKlineFetchScheduler;
+        this.candlestickCoverageIndex = candlestickCoverageIndex;
     }
 
     @Override
@@ -109,6 +116,8 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
         }
 
         log.info("需要获取的天数: {}", daysToFetch.size());
+        HistoryKlineFetchScheduler.BackfillProgress progress =
+                historyKlineFetchScheduler.startBackfill(symbol, interval, startTime, endTime);
 
         // 按不完整的天数创建任务列表
         List<CompletableFuture<Integer>> dayFutures = new ArrayList<>();
@@ -131,6 +140,7 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
 
                     // 创建当天的时间分片
                     List<TimeSlice> timeSlices = createTimeSlices(interval, dayStart, dayEnd, requiredBatches);
+                    progress.addPlanned(timeSlices.size());
 
                     // 创建多线程任务列表
                     List<CompletableFuture<List<CandlestickEntity>>> batchFutures = new ArrayList<>();
@@ -139,17 +149,19 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
                         CompletableFuture<List<CandlestickEntity>> future = CompletableFuture.supplyAsync(() -> {
                             try {
                                 log.debug("获取时间片段数据,左右都不包括,故意开始时间减一秒,结束时间也减一秒: {}", slice);
-                                List<Candlestick> candlesticks = okxApiService.getHistoryKlineData(
+                                List<Candlestick> candlesticks = historyKlineFetchScheduler.fetchHistoryKlineData(
                                         symbol, interval, toEpochMilli(slice.getStart().minusSeconds(1)), toEpochMilli(slice.getEnd().minusSeconds(1)), batchSize);
 
                                 // 转换为实体类
                                 List<CandlestickEntity> entities = convertToEntities(candlesticks, symbol, interval);
                                 log.debug("时间片段{}获取到{}条数据", slice, entities.size());
+                                progress.completed(entities.size());
 
                                 // 保存数据
                                 return saveBatch(entities);
                             } catch (Exception e) {
                                 log.error("获取时间片段{}数据失败: {}", slice, e.getMessage(), e);
+                                progress.failed(slice.getStart(), slice.getEnd(), e.getMessage());
                                 return Collections.emptyList();
                             }
                         }, executorService);
@@ -211,7 +223,8 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
 
                     log.info("完成所有不完整天数的历史数据获取, 共保存{}条数据", totalSaved);
                     return totalSaved;
-                }, executorService);
+                }, executorService)
+                .whenComplete((saved, e) -> historyKlineFetchScheduler.finishBackfill(progress));
     }
 
     /**
@@ -269,6 +282,11 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
      * @return 数据是否完整
      */
     private boolean isDayDataComplete(String symbol, String interval, LocalDateTime dayStart, LocalDateTime dayEnd) {
+        // 覆盖区间索引判定完整时无需查询数据库
+        if (candlestickCoverageIndex.covers(symbol, interval, dayStart, dayEnd)) {
+            return true;
+        }
+
         // 获取预期的所有时间点
         List<LocalDateTime> expectedTimes = generateExpectedTimePoints(interval, dayStart, dayEnd);
 
@@ -288,6 +306,8 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
 
             if (isComplete) {
                 log.debug("{} 的数据已完整，共{}个数据点", dayStart.toLocalDate(), expectedTimes.size());
+                // 数据库已确认完整，记入覆盖区间索引，下次判断无需再查询数据库
+                candlestickCoverageIndex.record(symbol, interval, expectedTimes);
                 return true;
             }
         }
@@ -329,8 +349,8 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
         // 计算需要获取的K线数量（基于时间范围和间隔）
         long intervalMinutes = getIntervalMinutes(interval);
 //        long totalExpectedCount = ChronoUnit.MINUTES.between(startTime, endTime) / intervalMinutes;
-        List<String> rangePoints = calculateTimeRangePoints(startTime, endTime, interval);
-        log.info("📊 查询时间范围{}-{}根据时间范围计算，预期需要获取的K线数量: {}", dateFormat.format(startTime), dateFormat.format(endTime), rangePoints.size());
+        long expectedCount = countTimeRangePoints(startTime, endTime, interval);
+        log.info("📊 查询时间范围{}-{}根据时间范围计算，预期需要获取的K线数量: {}", dateFormat.format(startTime), dateFormat.format(endTime), expectedCount);
 
         TreeSet<CandlestickEntity> cachedData = new TreeSet<>();
         long startTimestamp = startTime.atZone(java.time.ZoneId.of("UTC+8")).toInstant().toEpochMilli();
@@ -351,7 +371,7 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
                     }
                 }
 
-                if (!cachedData.isEmpty() && rangePoints.size() == cachedData.size()) {
+                if (!cachedData.isEmpty() && expectedCount == cachedData.size()) {
                     log.info("📦 从Redis Sorted Set获取历史K线数据, symbol: {}, interval: {}, 数量: {}, 时间范围: {} ~ {}",
                             symbol, interval, cachedData.size(), startTimeStr, endTime.toString());
                     return cachedData.stream().collect(Collectors.toList());
@@ -363,45 +383,37 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
 
 //        log.info("🚀 智能获取历史K线数据开始, symbol: {}, interval: {}, startTime: {}, endTime: {}", symbol, interval, startTimeStr, endTimeStr);
 
+        // 覆盖区间索引显示范围内数据完整时，直接读取MySQL，不再逐点比对
+        if (candlestickCoverageIndex.covers(symbol, interval, startTime, endTime)) {
+            List<CandlestickEntity> coveredData = getHistoricalData(symbol, interval, startTime, endTime);
+            log.info("✅ 覆盖区间索引显示数据完整，直接返回MySQL中的 {} 条数据", coveredData.size());
+            cacheHistoricalKlines(symbol, interval, coveredData, cachedData);
+            return coveredData;
+        }
 
         // 2. 从MySQL获取已经有的K线数量
         List<CandlestickEntity> existingData = getHistoricalData(symbol, interval, startTime, endTime);
         long existingCount = existingData.size();
         log.info("💾 MySQL中已存在的K线数量: {}", existingCount);
+        // 用已有数据补全覆盖区间索引（索引建立之前入库的数据），之后的完整性判断只依赖索引
+        candlestickCoverageIndex.record(existingData);
 
         // 3. 计算需要新获取的数量
-        long neededCount = rangePoints.size() - existingCount;
+        long neededCount = expectedCount - existingCount;
         log.info("🔢 需要新获取的K线数量: {}", neededCount);
 
         // 如果MySQL的数据已经足够，直接返回
         if (neededCount <= 0) {
             log.info("✅ 数据已完整，无需获取新数据，直接返回MySQL中的 {} 条数据", existingCount);
-            // 将结果存入Redis Sorted Set（24小时过期）
-            try {
-                List<CandlestickEntity> cacheData = existingData.stream().filter(entity -> !cachedData.contains(entity)).collect(Collectors.toList());
-                if (!cacheData.isEmpty()) {
-                    redisCacheService.batchAddKlineToSortedSet(symbol, interval, cacheData, 15 * 24 * 60);
-                }
-                log.info("💾 历史K线数据已存入Redis Sorted Set，key: coin_nrt_kline:{}{}, 条数: {}, 过期时间: 15天",
-                        symbol, interval, existingData.size());
-            } catch (Exception e) {
-                log.warn("⚠️ 存储历史K线数据到Redis Sorted Set失败: {}", e.getMessage());
-            }
-
+            cacheHistoricalKlines(symbol, interval, existingData, cachedData);
             return existingData;
         }
 
-        // 4. 检查数据完整性，找出缺失的时间范围
-        if (existingData.isEmpty()) {
-            CandlestickEntity candlestick = new CandlestickEntity();
-            candlestick.setSymbol(symbol);
-            candlestick.setIntervalVal(interval);
-            existingData.add(candlestick);
-        }
-        List<LocalDateTime> missingTimePoints = checkDataIntegrity(existingData, startTime, endTime);
-        log.info("🔍 发现 {} 个缺失的时间点需要获取", missingTimePoints.size());
+        // 4. 根据覆盖区间索引找出缺失的时间范围
+        List<LocalDateTime[]> timeRanges = candlestickCoverageIndex.missingRanges(symbol, interval, startTime, endTime);
+        log.info("🔍 缺失数据被分为 {} 个连续时间范围", timeRanges.size());
 
-        if (missingTimePoints.isEmpty()) {
+        if (timeRanges.isEmpty()) {
             log.info("✅ 数据完整性检查通过，直接返回MySQL中的 {} 条数据", existingCount);
             return existingData;
         }
@@ -410,23 +422,17 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
         List<CandlestickEntity> newlyFetchedData = Collections.synchronizedList(new ArrayList<>());
         int batchSize = 300;
 
-        // 将缺失时间点按连续范围分组，便于批量处理
-        List<List<LocalDateTime>> timeRanges = groupConsecutiveTimePoints(missingTimePoints, intervalMinutes);
-        log.info("📦 缺失数据被分为 {} 个连续时间范围", timeRanges.size());
-
         // 创建并行任务列表
         List<CompletableFuture<List<CandlestickEntity>>> futures = new ArrayList<>();
+        HistoryKlineFetchScheduler.BackfillProgress progress =
+                historyKlineFetchScheduler.startBackfill(symbol, interval, startTime, endTime);
 
         for (int i = 0; i < timeRanges.size(); i++) {
-            List<LocalDateTime> range = timeRanges.get(i);
-            if (range.isEmpty()) continue;
-
-            LocalDateTime rangeStart = range.get(0);
-            LocalDateTime rangeEnd = range.get(range.size() - 1);
+            LocalDateTime rangeStart = timeRanges.get(i)[0];
+            LocalDateTime rangeEnd = timeRanges.get(i)[1];
             final int rangeIndex = i + 1;
 
-            log.info("🔄 准备并行处理第 {} 个时间范围: {} 到 {} ({} 个数据点)",
-                    rangeIndex, rangeStart, rangeEnd, range.size());
+            log.info("🔄 准备并行处理第 {} 个时间范围: {} 到 {}", rangeIndex, rangeStart, rangeEnd);
 
             // 创建异步任务
             CompletableFuture<List<CandlestickEntity>> future = CompletableFuture
@@ -437,7 +443,7 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
 
                             // 按批次获取这个范围的数据
                             List<CandlestickEntity> rangeData = fetchRangeDataInBatches(
-                                    symbol, interval, rangeStart, rangeEnd, batchSize, intervalMinutes);
+                                    symbol, interval, rangeStart, rangeEnd, batchSize, intervalMinutes, progress);
 
                             log.info("✅ 线程 {} 完成第 {} 个时间范围，获取了 {} 条数据",
                                     Thread.currentThread().getName(), rangeIndex, rangeData.size());
@@ -471,6 +477,8 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
         } catch (Exception e) {
             log.error("❌ 等待并行任务完成时发生错误: {}", e.getMessage(), e);
             throw new RuntimeException("并行获取数据失败", e);
+        } finally {
+            historyKlineFetchScheduler.finishBackfill(progress);
         }
 
         // 6. 合并所有数据并按时间排序
@@ -495,7 +503,7 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
         }
 
         log.info("✨ 智能获取历史K线数据完成，最终返回 {} 条数据 (原有: {}, 新获取: {})，预期返回{} 条数据，还差{}条",
-                allData.size(), existingCount, newlyFetchedData.size(), rangePoints.size(), rangePoints.size() - allData.size());
+                allData.size(), existingCount, newlyFetchedData.size(), expectedCount, expectedCount - allData.size());
 
         // 将结果存入Codis的Sorted Set（24小时过期）
         try {
@@ -517,6 +525,34 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
 
     }
 
+    /**
+     * 将历史K线中尚未缓存的部分存入Redis Sorted Set（15天过期）
+     */
+    private void cacheHistoricalKlines(String symbol, String interval, List<CandlestickEntity> data, Set<CandlestickEntity> cachedData) {
+        try {
+            List<CandlestickEntity> cacheData = data.stream().filter(entity -> !cachedData.contains(entity)).collect(Collectors.toList());
+            if (!cacheData.isEmpty()) {
+                redisCacheService.batchAddKlineToSortedSet(symbol, interval, cacheData, 15 * 24 * 60);
+            }
+            log.info("💾 历史K线数据已存入Redis Sorted Set，key: coin_nrt_kline:{}{}, 条数: {}, 过期时间: 15天",
+                    symbol, interval, data.size());
+        } catch (Exception e) {
+            log.warn("⚠️ 存储历史K线数据到Redis Sorted Set失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 计算 {@link #calculateTimeRangePoints} 返回的时间点数量，不生成时间点列表
+     */
+    private long countTimeRangePoints(LocalDateTime startTime, LocalDateTime endTime, String interval) {
+        long seconds = Duration.between(startTime, endTime).getSeconds();
+        if (seconds < 0) {
+            return 0;
+        }
+        long stepSeconds = getIntervalMinutes(interval) * 60;
+        return (seconds + stepSeconds - 1) / stepSeconds + (seconds % stepSeconds == 0 ? 1 : 0);
+    }
+
     public BarSeries fetchLastestedBars(String symbol, String interval, int kLineNum) {
 
         // 2. 获取历史100根K线数据作为基础数据
@@ -610,7 +646,7 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
             // 获取时间范围内的所有数据
             CompletableFuture<List<CandlestickEntity>> future = CompletableFuture.supplyAsync(() -> {
                 try {
-                    List<Candlestick> candlesticks = okxApiService.getHistoryKlineData(
+                    List<Candlestick> candlesticks = historyKlineFetchScheduler.fetchHistoryKlineData(
                             symbol, interval, toEpochMilli(batchStart), toEpochMilli(batchEnd), batchSize);
 
                     // 过滤出缺失的时间点对应的数据
@@ -683,7 +719,7 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
             // 获取时间范围内的所有数据
             CompletableFuture<List<CandlestickEntity>> future = CompletableFuture.supplyAsync(() -> {
                 try {
-                    List<Candlestick> candlesticks = okxApiService.getHistoryKlineData(
+                    List<Candlestick> candlesticks = historyKlineFetchScheduler.fetchHistoryKlineData(
                             symbol, interval, toEpochMilli(batchStart), toEpochMilli(batchEnd), batchSize);
 
                     if (candlesticks.isEmpty()) {
@@ -856,63 +892,23 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
 
     /**
      * 批量保存实体，避免重复
-     * 如果数据已存在则跳过，不删除已有数据
+     * 过滤掉已存在的K线后通过多行INSERT写入，并发写入的重复数据由唯一索引跳过，不删除已有数据。
+     * 不再加全局锁，不同交易对的抓取线程可以并行写入。
+     *
+     * @return 写入后已在库中的实体（包括本次新增和原本已存在的）
      */
-    @Transactional
-    public synchronized List<CandlestickEntity> saveBatch(List<CandlestickEntity> entities) {
+    public List<CandlestickEntity> saveBatch(List<CandlestickEntity> entities) {
         if (entities.isEmpty()) {
             return Collections.emptyList();
         }
 
         try {
-            // 获取第一个和最后一个实体的时间范围
-            String symbol = entities.get(0).getSymbol();
-            String interval = entities.get(0).getIntervalVal();
-
-            LocalDateTime minTime = entities.stream()
-                    .map(CandlestickEntity::getOpenTime)
-                    .min(LocalDateTime::compareTo)
-                    .orElse(null);
-
-            LocalDateTime maxTime = entities.stream()
-                    .map(CandlestickEntity::getOpenTime)
-                    .max(LocalDateTime::compareTo)
-                    .orElse(null);
-
-            if (minTime != null && maxTime != null) {
-                // 查询已存在的数据
-                List<CandlestickEntity> existingEntities = candlestickRepository
-                        .findBySymbolAndIntervalAndOpenTimeBetweenOrderByOpenTimeAsc(symbol, interval, minTime, maxTime);
-
-                // 创建已存在数据的时间点集合，用于过滤
-                Set<String> existingTimePoints = existingEntities.stream()
-                        .map(CandlestickEntity::getOpenTime).map(time -> time.format(dateFormat))
-                        .collect(Collectors.toSet());
-
-                // 过滤出不存在的数据
-                List<CandlestickEntity> newEntities = entities.stream()
-                        .filter(entity -> !existingTimePoints.contains(entity.getOpenTime().format(dateFormat)))
-                        .collect(Collectors.toList());
-
-                log.info("时间范围 {} ~ {} 内已有 {} 条数据, 查询获取 {} 条数据，新增 {} 条数据",
-                        minTime.format(dateFormat), maxTime.format(dateFormat), existingEntities.size(), entities.size(), newEntities.size());
-
-                List<Candlestick> candlestickEntities = newEntities.stream().map(x -> {
-                    Candlestick candlestick = new Candlestick();
-                    BeanUtils.copyProperties(x, candlestick);
-                    return candlestick;
-                }).collect(Collectors.toList());
-
-                // 只保存新数据
-                if (!newEntities.isEmpty()) {
-                    return candlestickRepository.saveAll(newEntities);
-                } else {
-                    return Collections.emptyList();
-                }
-            }
-
-            // 如果没有时间范围信息，直接保存所有数据
-            return candlestickRepository.saveAll(entities);
+            int inserted = candlestickBulkWriter.insertMissing(entities);
+            // insertMissing正常返回时提交的K线都已在库中（原本存在或本次插入），写入报错时抛出异常，不记录覆盖区间
+            candlestickCoverageIndex.record(entities);
+            log.info("{} {} 提交 {} 条K线数据，新增 {} 条，已存在 {} 条",
+                    entities.get(0).getSymbol(), entities.get(0).getIntervalVal(), entities.size(), inserted, entities.size() - inserted);
+            return entities;
         } catch (Exception e) {
             log.error("保存批量数据时出错: {}", e.getMessage(), e);
             throw e;
@@ -971,6 +967,8 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
         }
 
         log.info("需要获取的天数: {}", daysToFetch.size());
+        HistoryKlineFetchScheduler.BackfillProgress progress =
+                historyKlineFetchScheduler.startBackfill(symbol, interval, startTime, endTime);
 
         // 按不完整的天数创建任务列表
         List<CompletableFuture<Integer>> dayFutures = new ArrayList<>();
@@ -993,6 +991,7 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
 
                     // 创建当天的时间分片
                     List<TimeSlice> timeSlices = createTimeSlices(interval, dayStart, dayEnd, requiredBatches);
+                    progress.addPlanned(timeSlices.size());
 
                     // 创建多线程任务列表
                     List<CompletableFuture<List<CandlestickEntity>>> batchFutures = new ArrayList<>();
@@ -1001,17 +1000,19 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
                         CompletableFuture<List<CandlestickEntity>> future = CompletableFuture.supplyAsync(() -> {
                             try {
                                 log.debug("获取时间片段数据,左右都不包括,故意开始时间减一秒,结束时间也减一秒: {}", slice);
-                                List<Candlestick> candlesticks = okxApiService.getHistoryKlineData(
+                                List<Candlestick> candlesticks = historyKlineFetchScheduler.fetchHistoryKlineData(
                                         symbol, interval, toEpochMilli(slice.getStart().minusSeconds(1)), toEpochMilli(slice.getEnd().minusSeconds(1)), batchSize);
 
                                 // 转换为实体类
                                 List<CandlestickEntity> entities = convertToEntities(candlesticks, symbol, interval);
                                 log.debug("时间片段{}获取到{}条数据", slice, entities.size());
+                                progress.completed(entities.size());
 
                                 // 保存数据
                                 return saveBatch(entities);
                             } catch (Exception e) {
                                 log.error("获取时间片段{}数据失败: {}", slice, e.getMessage(), e);
+                                progress.failed(slice.getStart(), slice.getEnd(), e.getMessage());
                                 // 记录失败的请求
                                 String requestKey = String.format("%s_%s_%s_%s", symbol, interval,
                                         slice.getStart().toString(), slice.getEnd().toString());
@@ -1093,7 +1094,8 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
 
                     log.info("完成所有不完整天数的历史数据获取, 共保存{}条数据, 失败请求数量: {}", totalSaved, failedRequests.size());
                     return totalSaved;
-                }, executorService);
+                }, executorService)
+                .whenComplete((saved, e) -> historyKlineFetchScheduler.finishBackfill(progress));
     }
 
     @Override
@@ -1106,7 +1108,7 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 // 获取原始数据
-                List<Candlestick> candlesticks = okxApiService.getHistoryKlineData(
+                List<Candlestick> candlesticks = historyKlineFetchScheduler.fetchHistoryKlineData(
                         symbol, interval, toEpochMilli(startTime.minusSeconds(1)), toEpochMilli(endTime.minusSeconds(1)), batchSize);
 
                 if (candlesticks.isEmpty()) {
@@ -1192,45 +1194,11 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
     }
 
     /**
-     * 将缺失时间点按连续范围分组
-     */
-    private List<List<LocalDateTime>> groupConsecutiveTimePoints(List<LocalDateTime> timePoints, long intervalMinutes) {
-        List<List<LocalDateTime>> groups = new ArrayList<>();
-        if (timePoints.isEmpty()) {
-            return groups;
-        }
-
-        List<LocalDateTime> currentGroup = new ArrayList<>();
-        currentGroup.add(timePoints.get(0));
-
-        for (int i = 1; i < timePoints.size(); i++) {
-            LocalDateTime current = timePoints.get(i);
-            LocalDateTime previous = timePoints.get(i - 1);
-
-            // 如果当前时间点与前一个时间点相差正好一个间隔，则属于同一组
-            if (ChronoUnit.MINUTES.between(previous, current) == intervalMinutes) {
-                currentGroup.add(current);
-            } else {
-                // 否则开始新的一组
-                groups.add(new ArrayList<>(currentGroup));
-                currentGroup.clear();
-                currentGroup.add(current);
-            }
-        }
-
-        // 添加最后一组
-        if (!currentGroup.isEmpty()) {
-            groups.add(currentGroup);
-        }
-
-        return groups;
-    }
-
-    /**
-     * 按每批100条分批获取指定时间范围的数据（使用多线程并行处理）
+     * 按批次获取指定时间范围的数据，请求节奏由历史K线抓取调度器控制
      */
     private List<CandlestickEntity> fetchRangeDataInBatches(String symbol, String interval,
-                                                            LocalDateTime startTime, LocalDateTime endTime, int batchSize, long intervalMinutes) {
+                                                            LocalDateTime startTime, LocalDateTime endTime, int batchSize, long intervalMinutes,
+                                                            HistoryKlineFetchScheduler.BackfillProgress progress) {
         List<CandlestickEntity> result = Collections.synchronizedList(new ArrayList<>());
         List<CompletableFuture<List<CandlestickEntity>>> batchFutures = new ArrayList<>();
 
@@ -1244,30 +1212,43 @@ public class HistoricalDataServiceImpl implements HistoricalDataService {
         long endTimestamp = endTime.atZone(zoneId).toInstant().toEpochMilli();
         LocalDateTime lastStart = LocalDateTime.now();
         if (startTimestamp == endTimestamp) {
-            List<Candlestick> apiData = okxApiService.getHistoryKlineData(symbol, interval, startTimestamp, endTimestamp, batchSize);
-            // 转换并保存数据到MySQL
-            if (apiData != null && !apiData.isEmpty()) {
+            progress.addPlanned(1);
+            try {
+                List<Candlestick> apiData = historyKlineFetchScheduler.fetchHistoryKlineData(symbol, interval, startTimestamp, endTimestamp, batchSize);
                 // 转换并保存数据到MySQL
-                List<CandlestickEntity> entities = convertAndSaveCandlesticks(apiData, symbol, interval);
+                if (apiData != null && !apiData.isEmpty()) {
+                    // 转换并保存数据到MySQL
+                    List<CandlestickEntity> entities = convertAndSaveCandlesticks(apiData, symbol, interval);
 
-                result.addAll(entities);
+                    result.addAll(entities);
+                }
+                progress.completed(apiData != null ? apiData.size() : 0);
+            } catch (Exception e) {
+                progress.failed(startTime, endTime, e.getMessage());
+                throw e;
             }
         } else {
+            long batchMinutes = intervalMinutes * batchSize;
+            progress.addPlanned((int) Math.max(1, (ChronoUnit.MINUTES.between(startTime, endTime) + batchMinutes - 1) / batchMinutes));
             while (currentStart.isBefore(endTime) && !lastStart.format(dateFormat).equals(currentStart.format(dateFormat))) {
+                LocalDateTime currentEnd = currentStart.plusMinutes(batchMinutes);
                 try {
-                    List<Candlestick> apiData = okxApiService.getHistoryKlineData(symbol, interval,
+                    List<Candlestick> apiData = historyKlineFetchScheduler.fetchHistoryKlineData(symbol, interval,
                             currentStart.atZone(zoneId).toEpochSecond() * 1000,
-                            currentStart.plusMinutes(intervalMinutes * batchSize).atZone(zoneId).toEpochSecond() * 1000, batchSize);
+                            currentEnd.atZone(zoneId).toEpochSecond() * 1000, batchSize);
                     if (apiData != null && !apiData.isEmpty()) {
                         // 转换并保存数据到MySQL
                         List<CandlestickEntity> entities = convertAndSaveCandlesticks(apiData, symbol, interval);
                         result.addAll(entities);
                     }
-                    lastStart = currentStart;
-                    currentStart = currentStart.plusMinutes(intervalMinutes * batchSize);
+                    progress.completed(apiData != null ? apiData.size() : 0);
                 } catch (Exception e) {
-                    log.error("  数据获取失败: {}", e.getMessage());
+                    // 调度器已经按退避策略重试过，这里记录失败的时间段后继续下一批，避免对同一批次无限重试
+                    log.error("  数据获取失败: {} ~ {}, {}", currentStart, currentEnd, e.getMessage());
+                    progress.failed(currentStart, currentEnd, e.getMessage());
                 }
+                lastStart = currentStart;
+                currentStart = currentEnd;
             }
         }
 
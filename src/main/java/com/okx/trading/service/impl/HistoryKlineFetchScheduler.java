@@ -0,0 +1,461 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.exception.OkxApiException;
+import com.okx.trading.exception.OkxApiTransportException;
+import com.okx.trading.model.market.Candlestick;
+import com.okx.trading.service.OkxApiService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 历史K线抓取调度器
+ * 所有历史K线接口请求都经过本调度器：
+ * <ul>
+ *     <li>令牌桶按OKX接口限频（history-candles 默认 20次/2秒）匀速放行请求；</li>
+ *     <li>并发度按AIMD自适应：被限流时减半，延迟正常时缓慢增加，延迟过高时小幅下调；</li>
+ *     <li>限流、网络异常和服务端错误按指数退避+随机抖动重试，参数错误等直接抛出；</li>
+ *     <li>长时间回补任务按请求数记录进度，失败的时间段会被记录下来而不是静默丢弃。</li>
+ * </ul>
+ * 抓取线程池仍由调用方决定，本类只负责控制真正发往OKX的请求节奏。
+ */
+@Slf4j
+@Service
+public class HistoryKlineFetchScheduler {
+
+    /**
+     * OKX限流错误码：HTTP 429 和业务码 50011（Too Many Requests）
+     */
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int OKX_TOO_MANY_REQUESTS = 50011;
+    /**
+     * OKX系统繁忙/服务暂不可用等可重试的业务码
+     */
+    private static final int OKX_SYSTEM_BUSY = 50001;
+    private static final int OKX_SERVICE_UNAVAILABLE = 50013;
+
+    private static final String HISTORY_CANDLES_ENDPOINT = "history-candles";
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final int MAX_FINISHED_BACKFILLS = 20;
+    private static final int MAX_FAILED_RANGES = 50;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final OkxApiService okxApiService;
+
+    @Value("${okx.history-kline.rate-limit:20}")
+    private int rateLimit = 20;
+
+    @Value("${okx.history-kline.rate-window-ms:2000}")
+    private long rateWindowMillis = 2000;
+
+    @Value("${okx.history-kline.max-concurrency:8}")
+    private int maxConcurrency = 8;
+
+    @Value("${okx.history-kline.max-retries:5}")
+    private int maxRetries = 5;
+
+    @Value("${okx.history-kline.base-backoff-ms:500}")
+    private long baseBackoffMillis = 500;
+
+    @Value("${okx.history-kline.target-latency-ms:1500}")
+    private long targetLatencyMillis = 1500;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private volatile AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder latencyMillis = new LongAdder();
+
+    private final Map<String, BackfillProgress> runningBackfills = new ConcurrentHashMap<>();
+    private final Deque<BackfillProgress> finishedBackfills = new ArrayDeque<>();
+
+    @Autowired
+    public HistoryKlineFetchScheduler(@Lazy OkxApiService okxApiService) {
+        this.okxApiService = okxApiService;
+    }
+
+    /**
+     * 按限频和自适应并发度获取历史K线，失败时按退避策略重试
+     *
+     * @param symbol    交易对
+     * @param interval  K线间隔
+     * @param startTime 开始时间戳（毫秒）
+     * @param endTime   结束时间戳（毫秒）
+     * @param limit     数量限制
+     * @return K线数据
+     * @throws OkxApiException 不可重试的错误，或重试次数用尽
+     */
+    public List<Candlestick> fetchHistoryKlineData(String symbol, String interval, Long startTime, Long endTime, Integer limit) {
+        TokenBucket bucket = bucket(HISTORY_CANDLES_ENDPOINT);
+        AdaptiveConcurrencyLimit limiter = limiter();
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.increment();
+                throw new OkxApiException("获取历史K线被中断", e);
+            }
+
+            OkxApiException error;
+            try {
+                bucket.acquire();
+                long begin = System.nanoTime();
+                requests.increment();
+                List<Candlestick> result = okxApiService.getHistoryKlineData(symbol, interval, startTime, endTime, limit);
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+                successes.increment();
+                latencyMillis.add(elapsedMillis);
+                limiter.onSuccess(elapsedMillis, targetLatencyMillis);
+                return result;
+            } catch (OkxApiException e) {
+                error = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.increment();
+                throw new OkxApiException("获取历史K线被中断", e);
+            } finally {
+                limiter.release();
+            }
+
+            // 退避等待时不占用并发名额
+            boolean wasThrottled = isThrottled(error);
+            long backoff = backoffMillis(attempt);
+            if (wasThrottled) {
+                throttled.increment();
+                limiter.onThrottled();
+                bucket.pause(backoff);
+            }
+            if (!(wasThrottled || isRetryable(error)) || attempt >= maxRetries) {
+                failures.increment();
+                throw error;
+            }
+            retries.increment();
+            log.warn("获取历史K线失败，{}ms后第{}次重试: symbol={}, interval={}, code={}, msg={}",
+                    backoff, attempt + 1, symbol, interval, error.getCode(), error.getMessage());
+            sleep(backoff);
+        }
+    }
+
+    /**
+     * 登记一个回补任务，返回的进度对象由调用方在每个请求完成或失败时更新
+     *
+     * @param symbol    交易对
+     * @param interval  K线间隔
+     * @param startTime 回补开始时间
+     * @param endTime   回补结束时间
+     * @return 回补进度
+     */
+    public BackfillProgress startBackfill(String symbol, String interval, LocalDateTime startTime, LocalDateTime endTime) {
+        BackfillProgress progress = new BackfillProgress(UUID.randomUUID().toString().substring(0, 8),
+                symbol, interval, startTime, endTime);
+        runningBackfills.put(progress.id, progress);
+        return progress;
+    }
+
+    /**
+     * 结束回补任务，移入最近完成列表
+     */
+    public void finishBackfill(BackfillProgress progress) {
+        if (runningBackfills.remove(progress.id) == null) {
+            return;
+        }
+        progress.finishedAt = System.currentTimeMillis();
+        log.info("历史K线回补完成: {}", progress.toMap());
+        synchronized (finishedBackfills) {
+            finishedBackfills.addFirst(progress);
+            while (finishedBackfills.size() > MAX_FINISHED_BACKFILLS) {
+                finishedBackfills.removeLast();
+            }
+        }
+    }
+
+    /**
+     * 获取调度器统计和回补进度
+     */
+    public Map<String, Object> getStats() {
+        long successCount = successes.sum();
+        AdaptiveConcurrencyLimit limiter = limiter();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rate_limit", rateLimit + "/" + rateWindowMillis + "ms");
+        stats.put("concurrency_limit", limiter.currentLimit());
+        stats.put("in_flight", limiter.inFlight());
+        stats.put("requests", requests.sum());
+        stats.put("successes", successCount);
+        stats.put("throttled", throttled.sum());
+        stats.put("retries", retries.sum());
+        stats.put("failures", failures.sum());
+        stats.put("avg_latency_ms", successCount > 0 ? latencyMillis.sum() / successCount : 0);
+
+        List<Map<String, Object>> running = new ArrayList<>();
+        runningBackfills.values().forEach(progress -> running.add(progress.toMap()));
+        stats.put("running_backfills", running);
+        List<Map<String, Object>> finished = new ArrayList<>();
+        synchronized (finishedBackfills) {
+            finishedBackfills.forEach(progress -> finished.add(progress.toMap()));
+        }
+        stats.put("finished_backfills", finished);
+        return stats;
+    }
+
+    private TokenBucket bucket(String endpoint) {
+        return buckets.computeIfAbsent(endpoint, k -> new TokenBucket(rateLimit, rateWindowMillis));
+    }
+
+    private AdaptiveConcurrencyLimit limiter() {
+        AdaptiveConcurrencyLimit limiter = concurrencyLimit;
+        if (limiter == null) {
+            synchronized (this) {
+                if (concurrencyLimit == null) {
+                    concurrencyLimit = new AdaptiveConcurrencyLimit(1, Math.max(1, maxConcurrency));
+                }
+                limiter = concurrencyLimit;
+            }
+        }
+        return limiter;
+    }
+
+    private static boolean isThrottled(OkxApiException e) {
+        return e.getCode() == HTTP_TOO_MANY_REQUESTS || e.getCode() == OKX_TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * 传输层的网络异常、HTTP 5xx 和OKX系统繁忙类错误可以重试；
+     * 响应解析失败等其他异常同样是500，但重试不会成功，不重试
+     */
+    private static boolean isRetryable(OkxApiException e) {
+        int code = e.getCode();
+        return (e instanceof OkxApiTransportException && code >= 500 && code < 600)
+                || code == OKX_SYSTEM_BUSY || code == OKX_SERVICE_UNAVAILABLE;
+    }
+
+    /**
+     * 指数退避 + 全抖动
+     */
+    private long backoffMillis(int attempt) {
+        long cap = Math.min(MAX_BACKOFF_MILLIS, baseBackoffMillis << Math.min(attempt, 16));
+        return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OkxApiException("获取历史K线被中断", e);
+        }
+    }
+
+    /**
+     * 令牌桶：容量为一个限频窗口内允许的请求数，按窗口匀速补充。
+     * 令牌不足时预占未来的令牌并返回需要等待的时间，等待在锁外进行。
+     */
+    static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+        private long pausedUntilNanos;
+
+        TokenBucket(int permitsPerWindow, long windowMillis) {
+            this.capacity = Math.max(1, permitsPerWindow);
+            this.tokensPerNano = capacity / TimeUnit.MILLISECONDS.toNanos(Math.max(1, windowMillis));
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        void acquire() throws InterruptedException {
+            long waitNanos = reserve();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+
+        private synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+            tokens -= 1;
+            long waitNanos = tokens >= 0 ? 0 : (long) (-tokens / tokensPerNano);
+            return Math.max(waitNanos, pausedUntilNanos - now);
+        }
+
+        /**
+         * 被限流后清空令牌并暂停放行
+         */
+        synchronized void pause(long millis) {
+            long now = System.nanoTime();
+            tokens = Math.min(tokens, 0);
+            lastRefillNanos = now;
+            pausedUntilNanos = Math.max(pausedUntilNanos, now + TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    /**
+     * AIMD自适应并发度：成功且延迟正常时每轮增加1，被限流时减半，延迟超过目标两倍时下调10%
+     */
+    static final class AdaptiveConcurrencyLimit {
+        private final int minLimit;
+        private final int maxLimit;
+        private double limit;
+        private int inFlight;
+
+        AdaptiveConcurrencyLimit(int minLimit, int maxLimit) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.limit = maxLimit;
+        }
+
+        synchronized void acquire() throws InterruptedException {
+            while (inFlight >= (int) limit) {
+                wait();
+            }
+            inFlight++;
+        }
+
+        synchronized void release() {
+            inFlight--;
+            notifyAll();
+        }
+
+        synchronized void onSuccess(long latencyMillis, long targetLatencyMillis) {
+            if (latencyMillis > targetLatencyMillis * 2) {
+                limit = Math.max(minLimit, limit * 0.9);
+            } else if (latencyMillis <= targetLatencyMillis) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+
+        synchronized void onThrottled() {
+            limit = Math.max(minLimit, limit / 2);
+        }
+
+        synchronized int currentLimit() {
+            return (int) limit;
+        }
+
+        synchronized int inFlight() {
+            return inFlight;
+        }
+    }
+
+    /**
+     * 回补任务进度
+     */
+    public static final class BackfillProgress {
+        private final String id;
+        private final String symbol;
+        private final String interval;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final long startedAt = System.currentTimeMillis();
+        private volatile long finishedAt;
+        private final AtomicInteger plannedRequests = new AtomicInteger();
+        private final AtomicInteger completedRequests = new AtomicInteger();
+        private final AtomicInteger failedRequests = new AtomicInteger();
+        private final AtomicLong candles = new AtomicLong();
+        private final AtomicInteger lastLoggedPercent = new AtomicInteger();
+        private final List<String> failedRanges = new ArrayList<>();
+
+        private BackfillProgress(String id, String symbol, String interval, LocalDateTime startTime, LocalDateTime endTime) {
+            this.id = id;
+            this.symbol = symbol;
+            this.interval = interval;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        /**
+         * 增加计划请求数，回补过程中可以多次追加
+         */
+        public void addPlanned(int count) {
+            plannedRequests.addAndGet(count);
+        }
+
+        /**
+         * 记录一个请求成功
+         *
+         * @param candleCount 本次获取的K线数量
+         */
+        public void completed(int candleCount) {
+            completedRequests.incrementAndGet();
+            candles.addAndGet(candleCount);
+            logProgress();
+        }
+
+        /**
+         * 记录一个请求最终失败（重试用尽），保留失败的时间段便于后续补齐
+         */
+        public void failed(LocalDateTime rangeStart, LocalDateTime rangeEnd, String reason) {
+            failedRequests.incrementAndGet();
+            synchronized (failedRanges) {
+                if (failedRanges.size() < MAX_FAILED_RANGES) {
+                    failedRanges.add(rangeStart.format(TIME_FORMAT) + " ~ " + rangeEnd.format(TIME_FORMAT) + ": " + reason);
+                }
+            }
+            logProgress();
+        }
+
+        /**
+         * 每完成10%打印一次进度
+         */
+        private void logProgress() {
+            int planned = plannedRequests.get();
+            if (planned <= 0) {
+                return;
+            }
+            int percent = (completedRequests.get() + failedRequests.get()) * 100 / planned / 10 * 10;
+            int last = lastLoggedPercent.get();
+            if (percent > last && lastLoggedPercent.compareAndSet(last, percent)) {
+                log.info("历史K线回补进度 {} {} {}: {}%，完成 {}/{} 个请求，失败 {} 个，已获取 {} 条K线",
+                        id, symbol, interval, percent, completedRequests.get(), planned, failedRequests.get(), candles.get());
+            }
+        }
+
+        public Map<String, Object> toMap() {
+            int planned = plannedRequests.get();
+            int done = completedRequests.get() + failedRequests.get();
+            long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", id);
+            map.put("symbol", symbol);
+            map.put("interval", interval);
+            map.put("start_time", startTime.format(TIME_FORMAT));
+            map.put("end_time", endTime.format(TIME_FORMAT));
+            map.put("planned_requests", planned);
+            map.put("completed_requests", completedRequests.get());
+            map.put("failed_requests", failedRequests.get());
+            map.put("progress", planned > 0 ? Math.min(1.0, (double) done / planned) : 0.0);
+            map.put("candles", candles.get());
+            map.put("elapsed_ms", end - startedAt);
+            map.put("finished", finishedAt > 0);
+            synchronized (failedRanges) {
+                map.put("failed_ranges", new ArrayList<>(failedRanges));
+            }
+            return map;
+        }
+    }
+}
@@ -1,19 +1,26 @@
 package com.okx.trading.service.impl;
 
 
-import com.okx.trading.model.entity.BacktestSummaryEntity;
 import com.okx.trading.model.entity.IndicatorDistributionEntity;
-import com.okx.trading.repository.BacktestSummaryRepository;
 import com.okx.trading.repository.IndicatorDistributionRepository;
 import com.okx.trading.service.IndicatorDistributionService;
 import com.okx.trading.util.MapUtils;
+import com.okx.trading.util.QuantileSketch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -21,14 +28,20 @@ import java.util.stream.Collectors;
 /**
  * 指标分布服务实现类
  * 基于历史回测数据动态计算指标分布，提供数据驱动的评分机制
+ * 分布通过流式读取回测汇总的指标列并写入分位数草图计算，支持只合并新增回测记录的增量更新
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class IndicatorDistributionServiceImpl implements IndicatorDistributionService {
 
-    private final BacktestSummaryRepository backtestSummaryRepository;
     private final IndicatorDistributionRepository indicatorDistributionRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 当前版本分布的内存评分表，首次评分时从数据库加载，发布新版本后整体替换
+     */
+    private volatile IndicatorScoreTable scoreTable;
 
     /**
      * 指标配置：指标名称 -> 指标类型
@@ -119,24 +132,161 @@ public class IndicatorDistributionServiceImpl implements IndicatorDistributionSe
             "kurtosis", "峰度"
     );
 
+    /**
+     * 参与分布计算的指标，顺序与 INDICATOR_VALUES_QUERY 的列顺序一致
+     */
+    private static final String[] INDICATOR_NAMES = INDICATOR_CONFIGS.keySet().stream().sorted().toArray(String[]::new);
+
+    /**
+     * 按ID顺序查询回测汇总的指标列：第1-3列为id、create_time、number_of_trades，之后依次为 INDICATOR_NAMES 对应的列。
+     * 没有交易记录的回测也要读出来，用于判断ID是否连续，但不参与分布计算
+     */
+    private static final String INDICATOR_VALUES_QUERY = "SELECT id, create_time, number_of_trades, "
+            + Arrays.stream(INDICATOR_NAMES).map(IndicatorDistributionServiceImpl::toColumnName).collect(Collectors.joining(", "))
+            + " FROM backtest_summary WHERE id > ? ORDER BY id";
+
+    /**
+     * 自增ID先分配、事务后提交，读取时ID较小的记录可能还未提交。
+     * 遇到ID缺口时，缺口后的记录创建不超过该时间（分钟）就停止合并，水位停在缺口之前，下次从缺口处重新读取；
+     * 超过该时间仍未出现的ID视为永久缺口（事务回滚、记录被删除或自增跳号）
+     */
+    private static final long GAP_GRACE_MINUTES = 10;
+
     @Override
     @Transactional
     public List<IndicatorDistributionEntity> updateIndicatorDistributions() {
-        log.info("开始更新指标分布数据...");
+        log.info("开始全量更新指标分布数据...");
 
-        // 1. 查询所有有交易记录的回测数据
-        List<BacktestSummaryEntity> allBacktests = backtestSummaryRepository.findAll();
-        List<BacktestSummaryEntity> validBacktests = allBacktests.stream()
-                .filter(bt -> bt.getNumberOfTrades() != null && bt.getNumberOfTrades() > 0)
-                .collect(Collectors.toList());
+        // 1. 流式读取所有有交易记录的回测数据，逐行写入各指标的分位数草图
+        QuantileSketch[] sketches = new QuantileSketch[INDICATOR_NAMES.length];
+        for (int i = 0; i < sketches.length; i++) {
+            sketches[i] = new QuantileSketch();
+        }
+        long[] lastSummaryId = new long[1];
+        long rows = streamIndicatorValues(0L, sketches, lastSummaryId);
 
-        if (validBacktests.isEmpty()) {
+        if (rows == 0) {
             log.warn("没有找到有效的回测数据，无法计算指标分布");
             return Collections.emptyList();
         }
 
-        log.info("找到 {} 条有效回测记录", validBacktests.size());
+        log.info("找到 {} 条有效回测记录", rows);
+        return saveNewVersion(sketches, lastSummaryId[0]);
+    }
 
+    @Override
+    @Transactional
+    public List<IndicatorDistributionEntity> updateIndicatorDistributionsIncrementally() {
+        List<IndicatorDistributionEntity> currentDistributions = indicatorDistributionRepository.findByIsCurrentTrue();
+
+        // 1. 从当前版本恢复各指标的草图，缺少草图或统计水位不一致时退化为全量更新
+        QuantileSketch[] sketches = restoreSketches(currentDistributions);
+        if (sketches == null) {
+            log.info("当前版本的指标分布不支持增量更新，执行全量更新");
+            return updateIndicatorDistributions();
+        }
+        long watermark = currentDistributions.get(0).getLastSummaryId();
+
+        // 2. 只读取上个版本之后新增的回测记录
+        long[] lastSummaryId = new long[1];
+        long rows = streamIndicatorValues(watermark, sketches, lastSummaryId);
+        if (rows == 0) {
+            log.info("回测汇总ID {} 之后没有新的有效回测记录，指标分布保持不变", watermark);
+            return currentDistributions;
+        }
+
+        log.info("增量合并 {} 条新回测记录（回测汇总ID > {}）", rows, watermark);
+        return saveNewVersion(sketches, lastSummaryId[0]);
+    }
+
+    /**
+     * 按ID顺序流式读取回测汇总中各指标列，只投影需要的列，内存占用与记录数无关
+     * 遇到可能尚未提交的ID缺口时停止合并，保证水位之前的记录都已合并且只合并一次
+     *
+     * @param afterId       只读取ID大于该值的记录
+     * @param sketches      与 INDICATOR_NAMES 一一对应的分位数草图
+     * @param lastSummaryId 输出：已处理的最大连续ID，作为新的水位
+     * @return 合并到草图的记录数
+     */
+    private long streamIndicatorValues(long afterId, QuantileSketch[] sketches, long[] lastSummaryId) {
+        LocalDateTime gapCutoff = LocalDateTime.now().minusMinutes(GAP_GRACE_MINUTES);
+        long[] rows = {0L};
+        boolean[] blocked = {false};
+        lastSummaryId[0] = afterId;
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INDICATOR_VALUES_QUERY,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL驱动下按行流式返回结果
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setLong(1, afterId);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            if (blocked[0]) {
+                return;
+            }
+            long id = rs.getLong(1);
+            if (id != lastSummaryId[0] + 1) {
+                Timestamp createTime = rs.getTimestamp(2);
+                if (createTime != null && createTime.toLocalDateTime().isAfter(gapCutoff)) {
+                    blocked[0] = true;
+                    log.info("回测汇总ID {} 到 {} 之间的记录可能尚未提交，ID {} 及之后的记录留到下次合并",
+                            lastSummaryId[0] + 1, id - 1, id);
+                    return;
+                }
+            }
+            lastSummaryId[0] = id;
+            int trades = rs.getInt(3);
+            if (rs.wasNull() || trades <= 0) {
+                return;
+            }
+            for (int i = 0; i < sketches.length; i++) {
+                double value = rs.getDouble(i + 4);
+                if (!rs.wasNull()) {
+                    sketches[i].update(value);
+                }
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    /**
+     * 从当前版本的分布恢复草图
+     *
+     * @return 与 INDICATOR_NAMES 一一对应的草图；当前版本为空、缺少草图或水位不一致时返回null
+     */
+    private QuantileSketch[] restoreSketches(List<IndicatorDistributionEntity> currentDistributions) {
+        if (currentDistributions.isEmpty()) {
+            return null;
+        }
+        Long watermark = currentDistributions.get(0).getLastSummaryId();
+        Map<String, IndicatorDistributionEntity> byName = new HashMap<>();
+        for (IndicatorDistributionEntity distribution : currentDistributions) {
+            if (distribution.getSketch() == null || distribution.getLastSummaryId() == null
+                    || !distribution.getLastSummaryId().equals(watermark)) {
+                return null;
+            }
+            byName.put(distribution.getIndicatorName(), distribution);
+        }
+
+        QuantileSketch[] sketches = new QuantileSketch[INDICATOR_NAMES.length];
+        for (int i = 0; i < INDICATOR_NAMES.length; i++) {
+            IndicatorDistributionEntity distribution = byName.get(INDICATOR_NAMES[i]);
+            try {
+                // 上个版本没有该指标的数据时，说明水位之前的记录该指标都为空
+                sketches[i] = distribution != null ? QuantileSketch.fromBase64(distribution.getSketch()) : new QuantileSketch();
+            } catch (Exception e) {
+                log.warn("指标 {} 的分位数草图无法解析: {}", INDICATOR_NAMES[i], e.getMessage());
+                return null;
+            }
+        }
+        return sketches;
+    }
+
+    /**
+     * 由草图生成新版本的分布数据并保存，保存后切换内存评分表
+     */
+    private List<IndicatorDistributionEntity> saveNewVersion(QuantileSketch[] sketches, long lastSummaryId) {
         // 2. 生成新版本号
         Long maxVersion = indicatorDistributionRepository.findMaxVersion();
         Long newVersion = (maxVersion == null) ? 1L : maxVersion + 1;
@@ -144,13 +294,11 @@ public class IndicatorDistributionServiceImpl implements IndicatorDistributionSe
         // 3. 计算每个指标的分布
         List<IndicatorDistributionEntity> newDistributions = new ArrayList<>();
 
-        for (Map.Entry<String, IndicatorDistributionEntity.IndicatorType> entry : INDICATOR_CONFIGS.entrySet()) {
-            String indicatorName = entry.getKey();
-            IndicatorDistributionEntity.IndicatorType indicatorType = entry.getValue();
-
+        for (int i = 0; i < INDICATOR_NAMES.length; i++) {
+            String indicatorName = INDICATOR_NAMES[i];
             try {
                 IndicatorDistributionEntity distribution = calculateIndicatorDistribution(
-                        indicatorName, indicatorType, validBacktests, newVersion);
+                        indicatorName, INDICATOR_CONFIGS.get(indicatorName), sketches[i], newVersion, lastSummaryId);
                 if (distribution != null) {
                     newDistributions.add(distribution);
                 }
@@ -167,7 +315,11 @@ public class IndicatorDistributionServiceImpl implements IndicatorDistributionSe
             // 保存新的分布数据
             List<IndicatorDistributionEntity> savedDistributions = indicatorDistributionRepository.saveAll(newDistributions);
 
-            log.info("成功更新 {} 个指标的分布数据，新版本号: {}", savedDistributions.size(), newVersion);
+            log.info("成功更新 {} 个指标的分布数据，新版本号: {}, 统计至回测汇总ID: {}",
+                    savedDistributions.size(), newVersion, lastSummaryId);
+
+            // 事务提交后切换内存评分表
+            publishScoreTable(IndicatorScoreTable.of(savedDistributions));
 
             // 5. 清理历史版本（保留最近5个版本）
             cleanOldVersions(5);
@@ -180,146 +332,74 @@ public class IndicatorDistributionServiceImpl implements IndicatorDistributionSe
     }
 
     /**
-     * 计算单个指标的分布
+     * 由分位数草图计算单个指标的分布
      */
     private IndicatorDistributionEntity calculateIndicatorDistribution(
             String indicatorName,
             IndicatorDistributionEntity.IndicatorType indicatorType,
-            List<BacktestSummaryEntity> backtests,
-            Long version) {
+            QuantileSketch sketch,
+            Long version,
+            long lastSummaryId) {
 
-        // 提取指标值
-        List<BigDecimal> values = extractIndicatorValues(indicatorName, backtests);
-        if (values.isEmpty()) {
+        if (sketch.getCount() == 0) {
             log.warn("指标 {} 没有有效数据", indicatorName);
             return null;
         }
 
-        // 计算统计信息
-        Collections.sort(values);
-        int size = values.size();
-
         IndicatorDistributionEntity distribution = new IndicatorDistributionEntity();
         distribution.setIndicatorName(indicatorName);
         distribution.setIndicatorDisplayName(INDICATOR_DISPLAY_NAMES.get(indicatorName));
         distribution.setIndicatorType(indicatorType);
-        distribution.setSampleCount(size);
+        distribution.setSampleCount((int) sketch.getCount());
         distribution.setVersion(version);
         distribution.setIsCurrent(true);
+        distribution.setLastSummaryId(lastSummaryId);
+        distribution.setSketch(sketch.toBase64());
 
         // 基本统计
-        distribution.setMinValue(values.get(0));
-        distribution.setMaxValue(values.get(size - 1));
-        distribution.setAvgValue(calculateAverage(values));
+        distribution.setMinValue(toDecimal(sketch.getMin()));
+        distribution.setMaxValue(toDecimal(sketch.getMax()));
+        distribution.setAvgValue(BigDecimal.valueOf(sketch.getSum())
+                .divide(BigDecimal.valueOf(sketch.getCount()), 8, RoundingMode.HALF_UP));
 
         // 计算分位数（8个区间）
-        distribution.setP10(calculatePercentile(values, 0.10));
-        distribution.setP20(calculatePercentile(values, 0.20));
-        distribution.setP30(calculatePercentile(values, 0.30));
-        distribution.setP40(calculatePercentile(values, 0.40));
-        distribution.setP50(calculatePercentile(values, 0.50));
-        distribution.setP60(calculatePercentile(values, 0.60));
-        distribution.setP70(calculatePercentile(values, 0.70));
-        distribution.setP80(calculatePercentile(values, 0.80));
-        distribution.setP90(calculatePercentile(values, 0.90));
-
-        log.debug("指标 {} 分布计算完成: 样本数={}, 范围=[{}, {}], 中位数={}",
-                indicatorName, size, distribution.getMinValue(), distribution.getMaxValue(), distribution.getP50());
+        double[] percentiles = sketch.quantiles(0.10, 0.20, 0.30, 0.40, 0.50, 0.60, 0.70, 0.80, 0.90);
+        distribution.setP10(toDecimal(percentiles[0]));
+        distribution.setP20(toDecimal(percentiles[1]));
+        distribution.setP30(toDecimal(percentiles[2]));
+        distribution.setP40(toDecimal(percentiles[3]));
+        distribution.setP50(toDecimal(percentiles[4]));
+        distribution.setP60(toDecimal(percentiles[5]));
+        distribution.setP70(toDecimal(percentiles[6]));
+        distribution.setP80(toDecimal(percentiles[7]));
+        distribution.setP90(toDecimal(percentiles[8]));
+
+        log.debug("指标 {} 分布计算完成: 样本数={}, 精确={}, 范围=[{}, {}], 中位数={}", indicatorName, sketch.getCount(),
+                sketch.isExact(), distribution.getMinValue(), distribution.getMaxValue(), distribution.getP50());
 
         return distribution;
     }
 
     /**
-     * 从回测数据中提取指标值
+     * 转换为与indicator_distribution列精度一致的BigDecimal
      */
-    private List<BigDecimal> extractIndicatorValues(String indicatorName, List<BacktestSummaryEntity> backtests) {
-        List<BigDecimal> values = new ArrayList<>();
-
-        for (BacktestSummaryEntity backtest : backtests) {
-            BigDecimal value = getIndicatorValue(backtest, indicatorName);
-            if (value != null) {
-                values.add(value);
-            }
-        }
-
-        return values;
-    }
-
-    /**
-     * 根据指标名称获取回测实体中的对应字段值
-     */
-    private BigDecimal getIndicatorValue(BacktestSummaryEntity backtest, String indicatorName) {
-        switch (indicatorName) {
-            case "totalReturn": return backtest.getTotalReturn();
-            case "annualizedReturn": return backtest.getAnnualizedReturn();
-            case "averageProfit": return backtest.getAverageProfit();
-            case "riskAdjustedReturn": return backtest.getRiskAdjustedReturn();
-            case "sharpeRatio": return backtest.getSharpeRatio();
-            case "sortinoRatio": return backtest.getSortinoRatio();
-            case "calmarRatio": return backtest.getCalmarRatio();
-            case "treynorRatio": return backtest.getTreynorRatio();
-            case "informationRatio": return backtest.getInformationRatio();
-            case "sterlingRatio": return backtest.getSterlingRatio();
-            case "burkeRatio": return backtest.getBurkeRatio();
-            case "modifiedSharpeRatio": return backtest.getModifiedSharpeRatio();
-            case "omega": return backtest.getOmega();
-            case "maxDrawdown": return backtest.getMaxDrawdown();
-            case "maximumLoss": return backtest.getMaximumLoss();
-            case "volatility": return backtest.getVolatility();
-            case "ulcerIndex": return backtest.getUlcerIndex();
-            case "painIndex": return backtest.getPainIndex();
-            case "downsideDeviation": return backtest.getDownsideDeviation();
-            case "cvar": return backtest.getCvar();
-            case "var95": return backtest.getVar95();
-            case "var99": return backtest.getVar99();
-            case "trackingError": return backtest.getTrackingError();
-            case "maxDrawdownDuration": return backtest.getMaxDrawdownDuration();
-            case "downtrendCapture": return backtest.getDowntrendCapture();
-            case "winRate": return backtest.getWinRate();
-            case "numberOfTrades": return backtest.getNumberOfTrades() != null ?
-                    BigDecimal.valueOf(backtest.getNumberOfTrades()) : null;
-            case "profitFactor": return backtest.getProfitFactor();
-            case "alpha": return backtest.getAlpha();
-            case "beta": return backtest.getBeta();
-            case "uptrendCapture": return backtest.getUptrendCapture();
-            case "skewness": return backtest.getSkewness();
-            case "kurtosis": return backtest.getKurtosis();
-            default:
-                log.warn("未知的指标名称: {}", indicatorName);
-                return null;
-        }
+    private static BigDecimal toDecimal(double value) {
+        return BigDecimal.valueOf(value).setScale(8, RoundingMode.HALF_UP);
     }
 
     /**
-     * 计算分位数
+     * 指标名称转换为backtest_summary的列名，如 maxDrawdownDuration -> max_drawdown_duration
      */
-    private BigDecimal calculatePercentile(List<BigDecimal> sortedValues, double percentile) {
-        if (sortedValues.isEmpty()) return null;
-
-        int size = sortedValues.size();
-        double index = percentile * (size - 1);
-        int lowerIndex = (int) Math.floor(index);
-        int upperIndex = (int) Math.ceil(index);
-
-        if (lowerIndex == upperIndex) {
-            return sortedValues.get(lowerIndex);
-        } else {
-            BigDecimal lower = sortedValues.get(lowerIndex);
-            BigDecimal upper = sortedValues.get(upperIndex);
-            double weight = index - lowerIndex;
-
-            return lower.add(upper.subtract(lower).multiply(BigDecimal.valueOf(weight)));
+    private static String toColumnName(String indicatorName) {
+        StringBuilder column = new StringBuilder(indicatorName.length() + 4);
+        for (char c : indicatorName.toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                column.append('_').append(Character.toLowerCase(c));
+            } else {
+                column.append(c);
+            }
         }
-    }
-
-    /**
-     * 计算平均值
-     */
-    private BigDecimal calculateAverage(List<BigDecimal> values) {
-        if (values.isEmpty()) return null;
-
-        BigDecimal sum = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
-        return sum.divide(BigDecimal.valueOf(values.size()), 8, BigDecimal.ROUND_HALF_UP);
+        return column.toString();
     }
 
     @Override
@@ -334,31 +414,76 @@ public class IndicatorDistributionServiceImpl implements IndicatorDistributionSe
 
     @Override
     public double calculateIndicatorScore(String indicatorName, BigDecimal value) {
-        Optional<IndicatorDistributionEntity> distributionOpt =
-                indicatorDistributionRepository.findByIndicatorNameAndIsCurrentTrue(indicatorName);
-
-        if (distributionOpt.isPresent()) {
-            return distributionOpt.get().calculateScore(value);
-        } else {
-            log.warn("未找到指标 {} 的分布数据，返回默认评分", indicatorName);
-            return 4.0; // 默认中等分
-        }
+        return score(getScoreTable(), indicatorName, value);
     }
 
     @Override
     public Map<String, Double> calculateIndicatorScores(Map<String, BigDecimal> indicatorValues) {
         Map<String, Double> scores = new HashMap<>();
 
+        // 同一批指标使用同一版本的评分表
+        IndicatorScoreTable table = getScoreTable();
         for (Map.Entry<String, BigDecimal> entry : indicatorValues.entrySet()) {
             String indicatorName = entry.getKey();
             BigDecimal value = entry.getValue();
-            double score = calculateIndicatorScore(indicatorName, value);
+            double score = score(table, indicatorName, value);
             scores.put(indicatorName, score);
         }
 
         return scores;
     }
 
+    private double score(IndicatorScoreTable table, String indicatorName, BigDecimal value) {
+        if (!table.contains(indicatorName)) {
+            log.warn("未找到指标 {} 的分布数据，返回默认评分", indicatorName);
+        }
+        return table.score(indicatorName, value);
+    }
+
+    /**
+     * 获取当前版本的内存评分表，首次调用时从数据库加载
+     */
+    private IndicatorScoreTable getScoreTable() {
+        IndicatorScoreTable table = scoreTable;
+        if (table == null) {
+            synchronized (this) {
+                table = scoreTable;
+                if (table == null) {
+                    table = IndicatorScoreTable.of(indicatorDistributionRepository.findByIsCurrentTrue());
+                    scoreTable = table;
+                    log.info("加载指标评分表: 版本号={}, 指标数={}", table.getVersion(), table.size());
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 切换内存评分表。在事务中调用时等事务提交后再切换，回滚则保留原评分表
+     */
+    private void publishScoreTable(IndicatorScoreTable table) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    switchScoreTable(table);
+                }
+            });
+        } else {
+            switchScoreTable(table);
+        }
+    }
+
+    /**
+     * 与首次加载持有同一把锁，首次加载只在评分表仍为空时写入，不会覆盖已切换的新版本
+     */
+    private void switchScoreTable(IndicatorScoreTable table) {
+        synchronized (this) {
+            scoreTable = table;
+        }
+        log.info("指标评分表已切换: 版本号={}, 指标数={}", table.getVersion(), table.size());
+    }
+
     @Override
     public Map<String, Object> getDistributionStatistics() {
         List<IndicatorDistributionEntity> currentDistributions = indicatorDistributionRepository.findByIsCurrentTrue();
@@ -366,6 +491,8 @@ public class IndicatorDistributionServiceImpl implements IndicatorDistributionSe
 
         Map<String, Object> statistics = new HashMap<>();
         statistics.put("currentVersion", currentVersion);
+        IndicatorScoreTable table = scoreTable;
+        statistics.put("scoreTableVersion", table != null ? table.getVersion() : null);
         statistics.put("indicatorCount", currentDistributions.size());
         statistics.put("lastUpdateTime",
                 currentDistributions.stream()
@@ -0,0 +1,159 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.model.entity.IndicatorDistributionEntity;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 指标评分表
+ * 当前版本指标分布的不可变内存快照，每个指标的分位数断点保存为double数组，
+ * 评分只做数组比较，不访问数据库。评分规则与 {@link IndicatorDistributionEntity#calculateScore(BigDecimal)} 一致。
+ */
+public final class IndicatorScoreTable {
+
+    /**
+     * 没有分布数据或指标值为空时的默认评分
+     */
+    static final double DEFAULT_SCORE = 4.0;
+
+    /**
+     * 断点下标：p10 ~ p90 依次为 0 ~ 8，缺失的分位数为NaN
+     */
+    private static final int P20 = 1;
+    private static final int P30 = 2;
+    private static final int P50 = 4;
+    private static final int P70 = 6;
+    private static final int P90 = 8;
+
+    /**
+     * 依次命中的断点对应的评分：越大越好的指标从p90到p20比较 value >= 断点，
+     * 越小越好的指标从p20到p90比较 value <= 断点，都未命中为1分
+     */
+    private static final double[] BREAKPOINT_SCORES = {8.0, 7.0, 6.0, 5.0, 4.0, 3.0, 2.0, 1.5};
+
+    private static final IndicatorScoreTable EMPTY = new IndicatorScoreTable(null, new HashMap<>());
+
+    private final Long version;
+    private final Map<String, Scale> scales;
+
+    private IndicatorScoreTable(Long version, Map<String, Scale> scales) {
+        this.version = version;
+        this.scales = scales;
+    }
+
+    /**
+     * 由当前版本的指标分布构建评分表
+     */
+    public static IndicatorScoreTable of(Collection<IndicatorDistributionEntity> distributions) {
+        if (distributions == null || distributions.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Scale> scales = new HashMap<>(distributions.size() * 2);
+        Long version = null;
+        for (IndicatorDistributionEntity distribution : distributions) {
+            if (distribution.getIndicatorName() == null) {
+                continue;
+            }
+            double[] breakpoints = {
+                    toDouble(distribution.getP10()), toDouble(distribution.getP20()), toDouble(distribution.getP30()),
+                    toDouble(distribution.getP40()), toDouble(distribution.getP50()), toDouble(distribution.getP60()),
+                    toDouble(distribution.getP70()), toDouble(distribution.getP80()), toDouble(distribution.getP90())
+            };
+            scales.put(distribution.getIndicatorName(), new Scale(distribution.getIndicatorType(), breakpoints));
+            if (distribution.getVersion() != null && (version == null || distribution.getVersion() > version)) {
+                version = distribution.getVersion();
+            }
+        }
+        return new IndicatorScoreTable(version, scales);
+    }
+
+    /**
+     * 分布数据版本号，空表为null
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * 包含的指标数量
+     */
+    public int size() {
+        return scales.size();
+    }
+
+    public boolean contains(String indicatorName) {
+        return scales.containsKey(indicatorName);
+    }
+
+    /**
+     * 计算指标评分
+     *
+     * @param indicatorName 指标名称
+     * @param value         指标值
+     * @return 1-8分的评分，没有该指标的分布数据时返回默认评分
+     */
+    public double score(String indicatorName, BigDecimal value) {
+        Scale scale = scales.get(indicatorName);
+        if (scale == null || value == null) {
+            return DEFAULT_SCORE;
+        }
+        return scale.score(value.doubleValue());
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * 单个指标的评分断点
+     */
+    private static final class Scale {
+        private final IndicatorDistributionEntity.IndicatorType type;
+        private final double[] breakpoints;
+
+        private Scale(IndicatorDistributionEntity.IndicatorType type, double[] breakpoints) {
+            this.type = type;
+            this.breakpoints = breakpoints;
+        }
+
+        /**
+         * 与NaN比较恒为false，缺失的分位数自然被跳过
+         */
+        private double score(double value) {
+            if (type == IndicatorDistributionEntity.IndicatorType.POSITIVE) {
+                for (int i = P90, s = 0; i >= P20; i--, s++) {
+                    if (value >= breakpoints[i]) {
+                        return BREAKPOINT_SCORES[s];
+                    }
+                }
+                return 1.0;
+            }
+            if (type == IndicatorDistributionEntity.IndicatorType.NEGATIVE) {
+                for (int i = P20, s = 0; i <= P90; i++, s++) {
+                    if (value <= breakpoints[i]) {
+                        return BREAKPOINT_SCORES[s];
+                    }
+                }
+                return 1.0;
+            }
+            // 中性指标，靠近中位数最好
+            double median = breakpoints[P50];
+            if (Double.isNaN(median)) {
+                return DEFAULT_SCORE;
+            }
+            double p30 = breakpoints[P30];
+            double p70 = breakpoints[P70];
+            if (!Double.isNaN(p30) && !Double.isNaN(p70)) {
+                double range = Math.abs(p70 - p30);
+                if (range > 0) {
+                    double normalizedDistance = Math.abs(value - median) / range;
+                    return Math.max(1.0, 8.0 - normalizedDistance * 7.0);
+                }
+            }
+            return DEFAULT_SCORE;
+        }
+    }
+}
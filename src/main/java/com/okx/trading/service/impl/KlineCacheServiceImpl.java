@@ -10,9 +10,12 @@ import com.okx.trading.service.OkxApiService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -27,14 +30,23 @@ import java.util.stream.Collectors;
 /**
  * K线缓存服务实现类
  * 负责K线数据的缓存管理，订阅与取消订阅功能。
- * 使用Redis存储K线数据，并通过内存维护当前订阅状态。
+ * 使用Redis有序集合按开盘时间存储K线数据（同一开盘时间替换、超出上限裁剪最旧数据），
+ * 并通过内存维护当前订阅状态。
  */
 @Service
 public class KlineCacheServiceImpl implements KlineCacheService {
 
     private static final Logger log = LoggerFactory.getLogger(KlineCacheServiceImpl.class);
 
-    private static final String KLINE_CACHE_KEY_PREFIX = "kline:data:";
+    /**
+     * K线有序集合Key前缀，score为开盘时间毫秒数，member为K线JSON
+     */
+    private static final String KLINE_CACHE_KEY_PREFIX = "kline:zset:";
+    /**
+     * 旧版本整块JSON列表的Key前缀，仅用于清理
+     */
+    private static final String LEGACY_KLINE_CACHE_KEY_PREFIX = "kline:data:";
+    private static final ZoneId KLINE_ZONE = ZoneId.of("UTC+8");
     private static final String KLINE_SUBSCRIPTION_KEY = "kline:subscriptions";
     private static final Duration KLINE_CACHE_DURATION = Duration.ofHours(24);
 
@@ -48,6 +60,12 @@ public class KlineCacheServiceImpl implements KlineCacheService {
     private final ObjectMapper objectMapper;
     private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * 每个交易对/周期最多保留的K线条数
+     */
+    @Value("${okx.kline.cache.max-size:1000}")
+    private int maxCacheSize = 1000;
+
     // 内存中维护的当前订阅状态，避免频繁读取Redis
     private final Set<String> subscriptions = new HashSet<>();
 
@@ -186,64 +204,31 @@ public class KlineCacheServiceImpl implements KlineCacheService {
             String symbol = candlestick.getSymbol();
             String interval = candlestick.getIntervalVal();
 
-            if (symbol == null || interval == null) {
-                log.warn("缓存K线数据失败: 交易对或时间间隔为空");
+            if (symbol == null || interval == null || candlestick.getOpenTime() == null) {
+                log.warn("缓存K线数据失败: 交易对、时间间隔或开盘时间为空");
                 return false;
             }
 
             String cacheKey = generateCacheKey(symbol, interval);
-
-            // 获取当前缓存的K线数据
-            String cachedDataJson = redisTemplate.opsForValue().get(cacheKey);
-            List<Candlestick> cachedKlineData = new ArrayList<>();
-
-            if (cachedDataJson != null && !cachedDataJson.isEmpty()) {
-                cachedKlineData = objectMapper.readValue(cachedDataJson,
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, Candlestick.class));
-
-                // 查找是否存在相同时间的K线数据
-                boolean updated = false;
-                LocalDateTime candlestickOpenTime = candlestick.getOpenTime();
-
-                for (int i = 0; i < cachedKlineData.size(); i++) {
-                    Candlestick existingCandle = cachedKlineData.get(i);
-                    LocalDateTime existingOpenTime = existingCandle.getOpenTime();
-                    if (existingOpenTime != null && candlestickOpenTime != null &&
-                            existingOpenTime.equals(candlestickOpenTime)) {
-                        // 替换已存在的K线数据
-                        cachedKlineData.set(i, candlestick);
-                        updated = true;
-                        break;
-                    }
-                }
-
-                // 如果不存在相同时间的K线数据，则添加到列表中
-                if (!updated) {
-                    cachedKlineData.add(candlestick);
-
-                    // 按时间排序
-                    cachedKlineData.sort((c1, c2) -> {
-                        LocalDateTime time1 = c1.getOpenTime();
-                        LocalDateTime time2 = c2.getOpenTime();
-                        if (time1 == null && time2 == null) return 0;
-                        if (time1 == null) return -1;
-                        if (time2 == null) return 1;
-                        return time1.compareTo(time2);
-                    });
+            String member = objectMapper.writeValueAsString(candlestick);
+            double score = toScore(candlestick.getOpenTime());
+
+            // 单根K线只涉及同一开盘时间的替换 + 追加 + 裁剪，均为O(log n)，不再读取整段历史
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    upsertCandle(ops, cacheKey, member, score);
+                    trimAndExpire(ops, cacheKey);
+                    return null;
                 }
-            } else {
-                // 如果缓存中没有数据，则直接添加
-                cachedKlineData.add(candlestick);
-            }
-
-            // 将更新后的K线数据列表转为JSON字符串并保存到缓存
-            String updatedKlineDataJson = objectMapper.writeValueAsString(cachedKlineData);
-            redisTemplate.opsForValue().set(cacheKey, updatedKlineDataJson, KLINE_CACHE_DURATION);
+            });
 
-            log.info("已缓存单条K线数据: {} {}, 时间: {}", symbol, interval, candlestick.getOpenTime());
+            log.debug("已缓存单条K线数据: {} {}, 时间: {}", symbol, interval, candlestick.getOpenTime());
             return true;
         } catch (JsonProcessingException e) {
-            log.error("缓存K线数据失败 - JSON序列化/反序列化错误: {}, 错误: {}",
+            log.error("缓存K线数据失败 - JSON序列化错误: {}, 错误: {}",
                     candlestick.getSymbol(), e.getMessage(), e);
             return false;
         } catch (Exception e) {
@@ -261,11 +246,11 @@ public class KlineCacheServiceImpl implements KlineCacheService {
 
         int successCount = 0;
 
-        // 按照交易对和时间间隔分组
-        Map<String, Map<String, List<Candlestick>>> groupedData = new HashMap<>();
+        // 按照缓存Key分组，保证同一交易对/周期的写入在一个管道内完成
+        Map<String, List<Candlestick>> groupedData = new HashMap<>();
 
         for (Candlestick candlestick : candlesticks) {
-            if (candlestick == null) continue;
+            if (candlestick == null || candlestick.getOpenTime() == null) continue;
 
             String symbol = candlestick.getSymbol();
             String interval = candlestick.getIntervalVal();
@@ -273,77 +258,41 @@ public class KlineCacheServiceImpl implements KlineCacheService {
             if (symbol == null || interval == null) continue;
 
             groupedData
-                    .computeIfAbsent(symbol, k -> new HashMap<>())
-                    .computeIfAbsent(interval, k -> new ArrayList<>())
+                    .computeIfAbsent(generateCacheKey(symbol, interval), k -> new ArrayList<>())
                     .add(candlestick);
         }
 
         // 分组缓存
-        for (Map.Entry<String, Map<String, List<Candlestick>>> symbolEntry : groupedData.entrySet()) {
-            String symbol = symbolEntry.getKey();
-            Map<String, List<Candlestick>> intervalMap = symbolEntry.getValue();
-
-            for (Map.Entry<String, List<Candlestick>> intervalEntry : intervalMap.entrySet()) {
-                String interval = intervalEntry.getKey();
-                List<Candlestick> data = intervalEntry.getValue();
-
-                try {
-                    String cacheKey = generateCacheKey(symbol, interval);
-
-                    // 获取当前缓存的K线数据
-                    String cachedDataJson = redisTemplate.opsForValue().get(cacheKey);
-                    List<Candlestick> cachedKlineData = new ArrayList<>();
-
-                    if (cachedDataJson != null && !cachedDataJson.isEmpty()) {
-                        cachedKlineData = objectMapper.readValue(cachedDataJson,
-                                objectMapper.getTypeFactory().constructCollectionType(List.class, Candlestick.class));
-                    }
-
-                    // 创建一个Map用于快速查找已有的K线数据（按开盘时间索引）
-                    Map<LocalDateTime, Integer> existingDataMap = new HashMap<>();
-                    for (int i = 0; i < cachedKlineData.size(); i++) {
-                        LocalDateTime openTime = cachedKlineData.get(i).getOpenTime();
-                        if (openTime != null) {
-                            existingDataMap.put(openTime, i);
-                        }
-                    }
-
-                    // 处理新的K线数据
-                    for (Candlestick kline : data) {
-                        LocalDateTime openTime = kline.getOpenTime();
-                        if (openTime == null) continue;
-
-                        Integer existingIndex = existingDataMap.get(openTime);
+        for (Map.Entry<String, List<Candlestick>> entry : groupedData.entrySet()) {
+            String cacheKey = entry.getKey();
+            List<Candlestick> data = entry.getValue();
+
+            try {
+                // 先完成序列化，避免在管道中抛出异常导致部分写入
+                List<String> members = new ArrayList<>(data.size());
+                double[] scores = new double[data.size()];
+                for (int i = 0; i < data.size(); i++) {
+                    members.add(objectMapper.writeValueAsString(data.get(i)));
+                    scores[i] = toScore(data.get(i).getOpenTime());
+                }
 
-                        if (existingIndex != null) {
-                            // 更新已存在的K线数据
-                            cachedKlineData.set(existingIndex, kline);
-                        } else {
-                            // 添加新的K线数据
-                            cachedKlineData.add(kline);
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                        for (int i = 0; i < members.size(); i++) {
+                            upsertCandle(ops, cacheKey, members.get(i), scores[i]);
                         }
-
-                        successCount++;
+                        trimAndExpire(ops, cacheKey);
+                        return null;
                     }
+                });
 
-                    // 按时间排序
-                    cachedKlineData.sort((c1, c2) -> {
-                        LocalDateTime time1 = c1.getOpenTime();
-                        LocalDateTime time2 = c2.getOpenTime();
-                        if (time1 == null && time2 == null) return 0;
-                        if (time1 == null) return -1;
-                        if (time2 == null) return 1;
-                        return time1.compareTo(time2);
-                    });
-
-                    // 将更新后的K线数据列表转为JSON字符串并保存到缓存
-                    String updatedKlineDataJson = objectMapper.writeValueAsString(cachedKlineData);
-                    redisTemplate.opsForValue().set(cacheKey, updatedKlineDataJson, KLINE_CACHE_DURATION);
-
-                    log.debug("已批量缓存K线数据: {} {}, 数据条数: {}", symbol, interval, data.size());
-                } catch (Exception e) {
-                    log.error("批量缓存K线数据失败: {} {}, 错误: {}", symbol, interval, e.getMessage(), e);
-                }
+                successCount += data.size();
+                log.debug("已批量缓存K线数据: {}, 数据条数: {}", cacheKey, data.size());
+            } catch (Exception e) {
+                log.error("批量缓存K线数据失败: {}, 错误: {}", cacheKey, e.getMessage(), e);
             }
         }
 
@@ -352,65 +301,44 @@ public class KlineCacheServiceImpl implements KlineCacheService {
 
     @Override
     public List<CandlestickEntity> getLatestKlineData(String symbol, String interval, int limit) {
-        List<CandlestickEntity> allData = getKlineData(symbol, interval, limit);
-
-        if (CollectionUtils.isEmpty(allData)) {
+        if (symbol == null || interval == null || limit <= 0) {
             return Collections.emptyList();
         }
 
-        // 按时间倒序排序
-        allData.sort((c1, c2) -> {
-            LocalDateTime time1 = c1.getOpenTime();
-            LocalDateTime time2 = c2.getOpenTime();
-            if (time1 == null && time2 == null) return 0;
-            if (time1 == null) return 1; // null 放在后面
-            if (time2 == null) return -1;
-            return time2.compareTo(time1); // 降序
-        });
-
-        // 返回指定数量的最新数据
-        return allData.stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+        try {
+            // 有序集合按开盘时间倒序取前limit条，无需读取全部历史
+            Set<String> members = redisTemplate.opsForZSet()
+                    .reverseRange(generateCacheKey(symbol, interval), 0, limit - 1);
+            return parseMembers(members);
+        } catch (Exception e) {
+            log.error("获取最新K线数据失败: {} {}, 错误: {}", symbol, interval, e.getMessage(), e);
+            return Collections.emptyList();
+        }
     }
 
     @Override
     public List<CandlestickEntity> getHistoricalKlineData(String symbol, String interval, Long startTime, Long endTime, Integer limit) {
-        List<CandlestickEntity> allData = getKlineData(symbol, interval, limit);
-
-        if (CollectionUtils.isEmpty(allData)) {
+        if (symbol == null || interval == null) {
             return Collections.emptyList();
         }
 
-        // 筛选时间范围内的数据
-        List<CandlestickEntity> filteredData = allData.stream()
-                .filter(kline -> {
-                    LocalDateTime openTime = kline.getOpenTime();
-                    if (openTime == null) return false;
-
-                    // 将LocalDateTime转换为long进行比较
-                    long openTimeMillis = openTime.atZone(ZoneId.of("UTC+8")).toInstant().toEpochMilli();
-                    return (startTime == null || openTimeMillis >= startTime) &&
-                            (endTime == null || openTimeMillis <= endTime);
-                })
-                .collect(Collectors.toList());
-
-        // 按时间升序排序
-        filteredData.sort((c1, c2) -> {
-            LocalDateTime time1 = c1.getOpenTime();
-            LocalDateTime time2 = c2.getOpenTime();
-            if (time1 == null && time2 == null) return 0;
-            if (time1 == null) return -1;
-            if (time2 == null) return 1;
-            return time1.compareTo(time2);
-        });
-
-        // 如果指定了limit，则返回指定数量的数据
-        if (limit != null && limit > 0 && filteredData.size() > limit) {
-            return filteredData.subList(0, limit);
-        }
+        try {
+            String cacheKey = generateCacheKey(symbol, interval);
+            double min = startTime == null ? Double.NEGATIVE_INFINITY : startTime;
+            double max = endTime == null ? Double.POSITIVE_INFINITY : endTime;
 
-        return filteredData;
+            // 按开盘时间(score)范围读取，结果天然按时间升序
+            Set<String> members;
+            if (limit != null && limit > 0) {
+                members = redisTemplate.opsForZSet().rangeByScore(cacheKey, min, max, 0, limit);
+            } else {
+                members = redisTemplate.opsForZSet().rangeByScore(cacheKey, min, max);
+            }
+            return parseMembers(members);
+        } catch (Exception e) {
+            log.error("获取历史K线数据失败: {} {}, 错误: {}", symbol, interval, e.getMessage(), e);
+            return Collections.emptyList();
+        }
     }
 
     @Override
@@ -484,6 +412,8 @@ public class KlineCacheServiceImpl implements KlineCacheService {
 
             String cacheKey = generateCacheKey(symbol, interval);
             Boolean deleted = redisTemplate.delete(cacheKey);
+            // 顺带清理旧版本的JSON整块缓存
+            redisTemplate.delete(LEGACY_KLINE_CACHE_KEY_PREFIX + symbol + ":" + interval);
 
             if (Boolean.TRUE.equals(deleted)) {
                 log.info("已清除K线缓存: {} {}", symbol, interval);
@@ -510,29 +440,60 @@ public class KlineCacheServiceImpl implements KlineCacheService {
 
             String cacheKey = generateCacheKey(symbol, interval);
 
-            // 从Redis缓存获取K线数据
-            String cachedDataJson = redisTemplate.opsForValue().get(cacheKey);
-
-            if (cachedDataJson == null || cachedDataJson.isEmpty()) {
+            // 从Redis有序集合获取全部K线数据（按开盘时间升序）
+            Set<String> members = redisTemplate.opsForZSet().range(cacheKey, 0, -1);
+            if (CollectionUtils.isEmpty(members)) {
                 return Collections.emptyList();
             }
 
-            // 将JSON字符串转为K线数据列表
-            List<CandlestickEntity> candlesticks = objectMapper.readValue(cachedDataJson,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, CandlestickEntity.class));
+            List<CandlestickEntity> candlesticks = parseMembers(members);
             if (candlesticks.size() < klineLimit) {
                 throw new IllegalStateException("k线数量不足阈值 " + klineLimit);
             }
             return candlesticks;
-        } catch (JsonProcessingException e) {
-            log.error("获取K线数据失败 - JSON反序列化错误: {} {}, 错误: {}", symbol, interval, e.getMessage(), e);
-            return Collections.emptyList();
         } catch (Exception e) {
             log.error("获取K线数据失败: {} {}, 错误: {}", symbol, interval, e.getMessage(), e);
             return Collections.emptyList();
         }
     }
 
+    /**
+     * 替换同一开盘时间的K线（未完结K线会被反复推送），不存在则追加
+     */
+    private void upsertCandle(RedisOperations<String, String> ops, String cacheKey, String member, double score) {
+        ops.opsForZSet().removeRangeByScore(cacheKey, score, score);
+        ops.opsForZSet().add(cacheKey, member, score);
+    }
+
+    /**
+     * 裁剪到最大缓存条数（保留最新的K线）并刷新过期时间
+     */
+    private void trimAndExpire(RedisOperations<String, String> ops, String cacheKey) {
+        ops.opsForZSet().removeRange(cacheKey, 0, -(maxCacheSize + 1L));
+        ops.expire(cacheKey, KLINE_CACHE_DURATION);
+    }
+
+    /**
+     * 将有序集合成员反序列化为K线实体，保持集合原有顺序
+     */
+    private List<CandlestickEntity> parseMembers(Set<String> members) throws JsonProcessingException {
+        if (CollectionUtils.isEmpty(members)) {
+            return Collections.emptyList();
+        }
+        List<CandlestickEntity> result = new ArrayList<>(members.size());
+        for (String member : members) {
+            result.add(objectMapper.readValue(member, CandlestickEntity.class));
+        }
+        return result;
+    }
+
+    /**
+     * 开盘时间转换为有序集合score（毫秒时间戳）
+     */
+    private double toScore(LocalDateTime openTime) {
+        return openTime.atZone(KLINE_ZONE).toInstant().toEpochMilli();
+    }
+
     /**
      * 从Redis获取所有订阅信息
      */
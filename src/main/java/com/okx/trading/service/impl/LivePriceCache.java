@@ -0,0 +1,259 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.model.market.Ticker;
+import com.okx.trading.service.OkxApiService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * 最新价格缓存
+ * 由WebSocket的K线和标记价格推送持续写入每个交易对的最新价格和更新时间，
+ * 策略持仓收益、资金记录、策略状态邮件等汇总直接按交易对读取，不再逐个策略调用REST行情接口。
+ * <p>
+ * 每个交易对一个槽位，槽位中保存不可变的价格快照，写入只替换快照引用，读写都不加锁。
+ * 槽位另外保存最近一次WebSocket推送的快照，REST刷新不会改变它，用于判断推送是否中断。
+ * 批量读取时超过有效期未更新的交易对统一用一次全量行情查询刷新，全量行情中没有的交易对才单独查询。
+ */
+@Slf4j
+@Service
+public class LivePriceCache {
+
+    public static final String SOURCE_WEBSOCKET = "websocket";
+    public static final String SOURCE_REST = "rest";
+
+    /**
+     * 价格有效期，超过该时间未收到推送的价格视为过期
+     */
+    @Value("${okx.price-cache.max-age-ms:10000}")
+    private long maxAgeMillis = 10000;
+
+    @Autowired
+    @Lazy
+    private OkxApiService okxApiService;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, BigDecimal>> listeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleMisses = new LongAdder();
+    private final LongAdder batchRefreshes = new LongAdder();
+    private final LongAdder singleRefreshes = new LongAdder();
+
+    /**
+     * 写入推送的最新价格
+     */
+    public void update(String symbol, BigDecimal price) {
+        update(symbol, price, SOURCE_WEBSOCKET);
+    }
+
+    private void update(String symbol, BigDecimal price, String source) {
+        if (symbol == null || price == null) {
+            return;
+        }
+        Slot slot = slots.get(symbol);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(symbol, k -> new Slot());
+        }
+        PriceSnapshot snapshot = new PriceSnapshot(price, System.currentTimeMillis(), source);
+        slot.snapshot = snapshot;
+        if (SOURCE_WEBSOCKET.equals(source)) {
+            slot.websocketSnapshot = snapshot;
+        }
+        updates.increment();
+        for (BiConsumer<String, BigDecimal> listener : listeners) {
+            try {
+                listener.accept(symbol, price);
+            } catch (Exception e) {
+                log.error("处理{}最新价格失败: {}", symbol, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 注册价格监听器，在写入价格的线程上同步调用，监听器需要足够快
+     */
+    public void registerListener(BiConsumer<String, BigDecimal> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 获取交易对的最新价格快照，不判断是否过期
+     *
+     * @return 没有收到过价格时返回null
+     */
+    public PriceSnapshot get(String symbol) {
+        Slot slot = slots.get(symbol);
+        return slot != null ? slot.snapshot : null;
+    }
+
+    /**
+     * 获取交易对最近一次WebSocket推送的价格快照，不受REST刷新影响
+     *
+     * @return 没有收到过推送时返回null
+     */
+    public PriceSnapshot getWebSocketSnapshot(String symbol) {
+        Slot slot = slots.get(symbol);
+        return slot != null ? slot.websocketSnapshot : null;
+    }
+
+    /**
+     * 获取交易对未过期的最新价格
+     *
+     * @return 没有价格或已过期时返回null
+     */
+    public BigDecimal getFreshPrice(String symbol) {
+        PriceSnapshot snapshot = get(symbol);
+        return snapshot != null && !snapshot.isStale(System.currentTimeMillis(), maxAgeMillis) ? snapshot.getPrice() : null;
+    }
+
+    /**
+     * 批量获取最新价格
+     * 未过期的价格直接从缓存读取；过期或缺失的交易对统一通过一次全量行情查询刷新，
+     * 全量行情中不包含的交易对再单独查询
+     *
+     * @param symbols 交易对
+     * @return 交易对 -> 最新价格，获取失败的交易对不在结果中
+     */
+    public Map<String, BigDecimal> getPrices(Collection<String> symbols) {
+        Map<String, BigDecimal> prices = new HashMap<>();
+        List<String> stale = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (String symbol : symbols) {
+            if (prices.containsKey(symbol) || stale.contains(symbol)) {
+                continue;
+            }
+            PriceSnapshot snapshot = get(symbol);
+            if (snapshot != null && !snapshot.isStale(now, maxAgeMillis)) {
+                prices.put(symbol, snapshot.getPrice());
+                hits.increment();
+            } else {
+                stale.add(symbol);
+                staleMisses.increment();
+            }
+        }
+        if (stale.isEmpty()) {
+            return prices;
+        }
+
+        refreshAll();
+        for (String symbol : stale) {
+            BigDecimal price = getFreshPrice(symbol);
+            if (price == null) {
+                price = refreshOne(symbol);
+            }
+            if (price != null) {
+                prices.put(symbol, price);
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        long now = System.currentTimeMillis();
+        int staleSymbols = 0;
+        long oldestAgeMillis = 0;
+        for (Slot slot : slots.values()) {
+            PriceSnapshot snapshot = slot.snapshot;
+            if (snapshot == null) {
+                continue;
+            }
+            long age = now - snapshot.getUpdateTimeMillis();
+            oldestAgeMillis = Math.max(oldestAgeMillis, age);
+            if (age > maxAgeMillis) {
+                staleSymbols++;
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("symbols", slots.size());
+        stats.put("stale_symbols", staleSymbols);
+        stats.put("oldest_age_ms", oldestAgeMillis);
+        stats.put("max_age_ms", maxAgeMillis);
+        stats.put("updates", updates.sum());
+        stats.put("hits", hits.sum());
+        stats.put("stale_misses", staleMisses.sum());
+        stats.put("batch_refreshes", batchRefreshes.sum());
+        stats.put("single_refreshes", singleRefreshes.sum());
+        return stats;
+    }
+
+    private void refreshAll() {
+        batchRefreshes.increment();
+        try {
+            List<Ticker> tickers = okxApiService.getAllTickers();
+            for (Ticker ticker : tickers) {
+                update(ticker.getSymbol(), ticker.getLastPrice(), SOURCE_REST);
+            }
+        } catch (Exception e) {
+            log.error("批量刷新最新价格失败: {}", e.getMessage());
+        }
+    }
+
+    private BigDecimal refreshOne(String symbol) {
+        singleRefreshes.increment();
+        try {
+            Ticker ticker = okxApiService.getTicker(symbol);
+            if (ticker != null && ticker.getLastPrice() != null) {
+                update(symbol, ticker.getLastPrice(), SOURCE_REST);
+                return ticker.getLastPrice();
+            }
+        } catch (Exception e) {
+            log.error("获取{}最新价格失败: {}", symbol, e.getMessage());
+        }
+        return null;
+    }
+
+    private static final class Slot {
+        private volatile PriceSnapshot snapshot;
+        private volatile PriceSnapshot websocketSnapshot;
+    }
+
+    /**
+     * 某一时刻的价格
+     */
+    public static final class PriceSnapshot {
+        private final BigDecimal price;
+        private final long updateTimeMillis;
+        private final String source;
+
+        private PriceSnapshot(BigDecimal price, long updateTimeMillis, String source) {
+            this.price = price;
+            this.updateTimeMillis = updateTimeMillis;
+            this.source = source;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public long getUpdateTimeMillis() {
+            return updateTimeMillis;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public boolean isStale(long nowMillis, long maxAgeMillis) {
+            return nowMillis - updateTimeMillis > maxAgeMillis;
+        }
+    }
+}
@@ -9,12 +9,12 @@ import com.okx.trading.exception.OkxApiException;
 import com.okx.trading.model.account.AccountBalance;
 import com.okx.trading.model.account.AccountBalance.AssetBalance;
 import com.okx.trading.model.entity.RealTimeStrategyEntity;
+import com.okx.trading.model.market.CandleFrame;
 import com.okx.trading.model.market.Candlestick;
 import com.okx.trading.model.market.Ticker;
 import com.okx.trading.model.trade.Order;
 import com.okx.trading.model.trade.OrderRequest;
 import com.okx.trading.service.KlineCacheService;
-import com.okx.trading.service.NotificationService;
 import com.okx.trading.service.OkxApiService;
 import com.okx.trading.service.RedisCacheService;
 import com.okx.trading.strategy.RealTimeStrategyManager;
@@ -51,14 +51,6 @@ import static com.okx.trading.constant.IndicatorInfo.BALANCE;
 import static com.okx.trading.constant.IndicatorInfo.RUNNING;
 import static com.okx.trading.service.impl.OkxApiRestServiceImpl.MARKET_PATH;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
 
 /**
  * OKX API WebSocket服务实现类
@@ -89,14 +81,19 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
     private RealTimeStrategyManager realTimeStrategyManager;
 
     @Autowired
-    private NotificationService emailNotificationService;
+    private LivePriceCache livePriceCache;
+
+    @Autowired
+    private OrderAckTracker orderAckTracker;
+
+    @Autowired
+    private PostTradePipeline postTradePipeline;
 
     // 缓存和回调
     private final Map<String, CompletableFuture<Ticker>> tickerFutures = new ConcurrentHashMap<>();
     private final Map<String, CompletableFuture<List<Candlestick>>> klineFutures = new ConcurrentHashMap<>();
     private final Map<String, CompletableFuture<AccountBalance>> balanceFutures = new ConcurrentHashMap<>();
     private final Map<String, CompletableFuture<List<Order>>> ordersFutures = new ConcurrentHashMap<>();
-    private final Map<String, CompletableFuture<Order>> orderFutures = new ConcurrentHashMap<>();
     private final Map<String, CompletableFuture<Boolean>> cancelOrderFutures = new ConcurrentHashMap<>();
 
     // 跟踪当前已订阅的币种+周期
@@ -104,6 +101,11 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
 
     // 消息ID生成
     private final AtomicLong messageIdGenerator = new AtomicLong(1);
+
+    private static final ZoneId ZONE = ZoneId.of("UTC+8");
+
+    // K线/标记价格推送的解析容器，每个接入通道消费线程复用一个
+    private final ThreadLocal<CandleFrame> candleFrames = ThreadLocal.withInitial(CandleFrame::new);
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
@@ -130,6 +132,12 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
         // 注册标记价格K线处理器
         webSocketUtil.registerHandler("mark-price", this::handleTickerMessage);
 
+        // K线和标记价格推送直接解析原始文本，不构建JSONObject
+        for (String interval : new String[]{"1m", "5m", "15m", "30m", "1H", "2H", "4H", "6H", "12H", "1D", "1W", "1M", "3M"}) {
+            webSocketUtil.registerRawHandler("candle" + interval, this::handleKlineFrame);
+        }
+        webSocketUtil.registerRawHandler("mark-price", this::handleMarkPriceFrame);
+
         webSocketUtil.registerHandler("account", this::handleAccountMessage);
         webSocketUtil.registerHandler("orders", this::handleOrdersMessage);
         webSocketUtil.registerHandler("order", this::handleOrderMessage);
@@ -153,8 +161,8 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
                 BigDecimal lastPrice = ticker.getLastPrice();
                 if (lastPrice != null) {
 //                    redisCacheService.updateCoinPrice(symbol, lastPrice);
-                    // 更新邮件通知服务的最新价格
-                    emailNotificationService.updateLatestPrice(symbol, lastPrice);
+                    // 更新最新价格缓存
+                    livePriceCache.update(symbol, lastPrice);
                 }
 
 
@@ -168,6 +176,55 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
         }
     }
 
+    /**
+     * 处理K线推送原始文本
+     * 流式解析为原始类型，只在有实时策略使用该K线流时才生成Candlestick对象；格式不支持时回退到JSON解析
+     */
+    private void handleKlineFrame(String frame) {
+        CandleFrame candles = candleFrames.get();
+        if (!candles.parse(frame)) {
+            handleKlineMessage(JSON.parseObject(frame));
+            return;
+        }
+        String symbol = candles.getInstId();
+        String interval = candles.getInterval();
+        boolean liveSeries = realTimeStrategyManager != null && realTimeStrategyManager.hasLiveSeries(symbol, interval);
+        if (candles.size() > 0) {
+            // 更新最新价格缓存，只需要最后一根K线的收盘价
+            livePriceCache.update(symbol, candles.closeDecimal(candles.size() - 1));
+        }
+        if (liveSeries) {
+            for (int i = 0; i < candles.size(); i++) {
+                realTimeStrategyManager.handleNewKlineData(symbol, interval, candles.toCandlestick(i));
+            }
+        }
+    }
+
+    /**
+     * 处理标记价格推送原始文本，格式不支持时回退到JSON解析
+     */
+    private void handleMarkPriceFrame(String frame) {
+        CandleFrame prices = candleFrames.get();
+        if (!prices.parse(frame) || !prices.isMarkPrice()) {
+            handleTickerMessage(JSON.parseObject(frame));
+            return;
+        }
+        String symbol = prices.getInstId();
+        int last = prices.size() - 1;
+        BigDecimal markPrice = prices.closeDecimal(last);
+        livePriceCache.update(symbol, markPrice);
+
+        CompletableFuture<Ticker> future = tickerFutures.get(prices.getChannel() + "_" + symbol);
+        if (future != null && !future.isDone()) {
+            Ticker ticker = new Ticker();
+            ticker.setSymbol(symbol);
+            ticker.setChannel(prices.getChannel());
+            ticker.setLastPrice(markPrice);
+            ticker.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(prices.getOpenTime(last)), ZONE));
+            future.complete(ticker);
+        }
+    }
+
     /**
      * 处理K线消息,实时行情消息,都是标记价格
      */
@@ -183,7 +240,7 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
             String channel = arg.getString("channel");
 
             // 从bar参数获取interval
-            String interval = channel.replaceAll("candle", "");
+            String interval = channel.substring("candle".length());
             // 构建缓存键 - 确保与getKlineData和unsubscribeKlineData方法使用相同的键格式
             String key = channel + "_" + symbol + "_" + interval;
 
@@ -209,8 +266,8 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
 //                    redisCacheService.updateCandlestick(candlestick);
 //                    redisCacheService.updateCoinPrice(symbol, candlestick.getClose());
 
-                    // 更新邮件通知服务的最新价格
-                    emailNotificationService.updateLatestPrice(symbol, candlestick.getClose());
+                    // 更新最新价格缓存
+                    livePriceCache.update(symbol, candlestick.getClose());
 
                     log.debug("获取实时标记价格k线数据: {}", candlestick);
 //                    candlesticks.add(candlestick);
@@ -247,7 +304,7 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
             // 解析时间戳
             if (candleObj.containsKey("ts")) {
                 long timestamp = candleObj.getLongValue("ts");
-                LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.of("UTC+8"));
+                LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZONE);
                 candlestick.setOpenTime(time);
             }
 
@@ -330,8 +387,19 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
                 List<Order> orders = new ArrayList<>();
                 for (int i = 0; i < data.size(); i++) {
                     JSONObject orderData = data.getJSONObject(i);
-                    Order order = parseOrder(orderData);
+                    Order order;
+                    try {
+                        order = parseOrder(orderData);
+                    } catch (Exception e) {
+                        // 未成交状态的推送没有成交价和手续费，部分字段无法计算
+                        log.debug("解析订单推送失败: clOrdId={}, state={}, {}", orderData.getString("clOrdId"), orderData.getString("state"), e.getMessage());
+                        continue;
+                    }
                     orders.add(order);
+                    // 正在等待结果的下单由推送直接结束
+                    if (orderAckTracker.onUpdate(order)) {
+                        appendOrderDataToCsv(orderData);
+                    }
                 }
 
                 String key = symbol + "_orders";
@@ -375,16 +443,13 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
                             realTimeStrategy.setStatus("ERROR");
                             realTimeStrategy.setIsActive(false);
                             realTimeStrategyService.saveRealTimeStrategy(realTimeStrategy);
-                            realTimeStrategyManager.getRunningStrategies().remove(realTimeStrategy.getId());
+                            realTimeStrategyManager.removeRunningStrategy(realTimeStrategy.getId());
                         }
                     }
 //                    throw new BusinessException(order.getSCode(), order.getClientOrderId() + ": " + order.getSMsg());
                 }
 
-                CompletableFuture<Order> future = orderFutures.get(clientOrderId);
-                if (future != null && !future.isDone()) {
-                    future.complete(order);
-                }
+                orderAckTracker.onAck(order);
 
                 // 处理取消订单的响应
                 if ("canceled".equals(orderData.getString("state"))) {
@@ -689,11 +754,13 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
         String clientOrderId = orderRequest.getClientOrderId() != null ?
                 orderRequest.getClientOrderId() : System.currentTimeMillis() + orderId.substring(0, 8);
 
+        // 市价单等到成交/撤销推送才返回，限价单收到第一条订单推送即返回
+        boolean limitOrder = "LIMIT".equals(orderRequest.getType());
+        OrderAckTracker.PendingOrder pending = null;
         try {
             realTimeStrategyManager.getClientOrderId2StrategyIdMap().put(clientOrderId, orderRequest.getStrategyId());
-            CompletableFuture<Order> future = new CompletableFuture<>();
-            // 将future与clientOrderId关联，而不是orderId
-            orderFutures.put(clientOrderId, future);
+            // 按clientOrderId登记，由order响应和orders推送结束等待
+            pending = orderAckTracker.register(clientOrderId, !limitOrder);
 
             log.info("准备创建订单, symbol: {}, type: {}, side: {}, clientOrderId: {}",
                     orderRequest.getSymbol(), orderRequest.getType(), orderRequest.getSide(), clientOrderId);
@@ -760,11 +827,39 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
             }
             // 发送请求
             webSocketUtil.sendPrivateRequest(requestMessage.toJSONString());
-            Thread.sleep(1000);
         } catch (Exception e) {
             log.error("创建订单失败: {}", e.getMessage(), e);
+            orderAckTracker.remove(clientOrderId);
+            pending = null;
         }
-        // 增加订单超时处理
+
+        try {
+            if (pending != null) {
+                Order order = orderAckTracker.awaitResult(pending);
+                if (order != null) {
+                    if (order.getSCode() != 0) {
+                        log.error("订单被拒绝: clientOrderId={}, sCode={}, sMsg={}", clientOrderId, order.getSCode(), order.getSMsg());
+                        return null;
+                    }
+                    log.info("通过订单推送获取到订单结果: clientOrderId={}, orderId={}, status={}",
+                            clientOrderId, order.getOrderId(), order.getStatus());
+                    return order;
+                }
+            }
+            // 发送失败或等待推送超时，按clientOrderId查询
+            return queryOrderByClientOrderId(orderRequest, clientOrderId, isSimulated);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OkxApiException("等待订单结果被中断: " + clientOrderId, e);
+        } finally {
+            orderAckTracker.remove(clientOrderId);
+        }
+    }
+
+    /**
+     * 通过REST接口按clientOrderId查询单个订单
+     */
+    private Order queryOrderByClientOrderId(OrderRequest orderRequest, String clientOrderId, boolean isSimulated) {
         Order order = null;
         // 使用正确的API接口：直接使用order接口按clientOrderId查询单个订单
         // 构建API请求路径
@@ -807,7 +902,7 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
                 log.info("REST API查询订单响应: {}", responseBody);
 
                 // 将响应数据写入CSV文件
-                appendOrderResponseToCsv(responseBody, orderRequest.getSymbol(), clientOrderId);
+                appendOrderResponseToCsv(responseBody);
 
                 JSONObject responseJson = JSONObject.parseObject(responseBody);
                 if ("0".equals(responseJson.getString("code"))) {
@@ -826,9 +921,6 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
                     orderRequest.getSymbol(), orderRequest.getType(), orderRequest.getSide(),
                     clientOrderId, e.getMessage(), e);
             throw new OkxApiException("订单请求异常: " + e.getMessage(), e);
-        } finally {
-            // 清理资源
-            orderFutures.remove(clientOrderId);
         }
         return order;
     }
@@ -836,23 +928,9 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
     /**
      * 将订单响应数据追加到CSV文件
      * @param responseBody 响应数据JSON字符串
-     * @param symbol 交易对
-     * @param clientOrderId 客户端订单ID
      */
-    private void appendOrderResponseToCsv(String responseBody, String symbol, String clientOrderId) {
+    private void appendOrderResponseToCsv(String responseBody) {
         try {
-            // 确保日志目录存在
-            String logDir = "logs/orders";
-            Files.createDirectories(Paths.get(logDir));
-
-            // 创建CSV文件名，使用当前日期
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-            String fileName = logDir + "/orders_" + dateFormat.format(new Date()) + ".csv";
-            File file = new File(fileName);
-
-            // 如果文件不存在，创建文件并写入表头
-            boolean newFile = !file.exists();
-
             // 解析JSON响应数据
             JSONObject responseJson = JSONObject.parseObject(responseBody);
             if (!"0".equals(responseJson.getString("code"))) {
@@ -866,54 +944,21 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
                 return;
             }
 
-            JSONObject orderData = data.getJSONObject(0);
-
-            // 获取所有字段作为schema
-            Set<String> fields = orderData.keySet();
-            List<String> fieldNames = new ArrayList<>(fields);
-            // 排序字段，确保schema顺序一致
-            Collections.sort(fieldNames);
-
-            try (FileWriter writer = new FileWriter(file, true)) {
-                // 如果是新文件，写入schema
-                if (newFile) {
-                    writer.write(String.join(",", fieldNames) + "\n");
-                }
-
-                // 按照schema顺序写入数据
-                StringBuilder line = new StringBuilder();
-                for (int i = 0; i < fieldNames.size(); i++) {
-                    String fieldName = fieldNames.get(i);
-                    String value = orderData.getString(fieldName);
-
-                    // 处理值中可能包含的逗号和引号
-                    if (value != null) {
-                        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-                            value = "\"" + value.replace("\"", "\"\"") + "\"";
-                        }
-                    } else {
-                        value = "";
-                    }
-
-                    line.append(value);
-                    if (i < fieldNames.size() - 1) {
-                        line.append(",");
-                    }
-                }
-                line.append("\n");
-
-                // 写入数据
-                writer.write(line.toString());
-
-                log.info("订单响应数据已按schema追加到CSV文件: {}", fileName);
-            }
-        } catch (IOException e) {
-            log.error("写入订单响应数据到CSV文件失败: {}", e.getMessage(), e);
+            appendOrderDataToCsv(data.getJSONObject(0));
         } catch (Exception e) {
             log.error("解析订单响应数据失败: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * 将一条订单数据（REST查询结果或orders频道推送，字段相同）追加到CSV文件
+     * 由交易后处理流水线的审计阶段异步写入
+     * @param orderData 订单数据
+     */
+    private void appendOrderDataToCsv(JSONObject orderData) {
+        postTradePipeline.submitAudit(orderData);
+    }
+
     @Override
     public boolean cancelOrder(String symbol, String orderId) {
         try {
@@ -964,7 +1009,7 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
 
         // 解析时间戳
         long timestamp = tickerData.getLongValue("ts");
-        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.of("UTC+8"));
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZONE);
         ticker.setTimestamp(time);
 
         // 计算24小时涨跌幅
@@ -990,7 +1035,7 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
 
         // 解析时间戳
         long timestamp = Long.parseLong(candleData.getString(0));
-        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.of("UTC+8"));
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZONE);
         candlestick.setOpenTime(time);
 
         candlestick.setOpen(BigDecimalUtil.safeGen(candleData.getString(1)));
@@ -1076,13 +1121,18 @@ public class OkxApiWebSocketServiceImpl implements OkxApiService {
             if (orderData.containsKey("side") && orderData.getString("side").equals("buy")) {
                 order.setExecutedQty(BigDecimalUtil.safeGen(orderData.getString("accFillSz")).subtract(BigDecimalUtil.safeGen(orderData.getString("fee")).abs()));
             } else {
-                BigDecimal accFillFeeSz = order.getFee().divide(BigDecimal.valueOf(Double.valueOf(orderData.getString("fillPx"))), 12, BigDecimal.ROUND_DOWN);
-                order.setExecutedQty(BigDecimalUtil.safeGen(orderData.getString("accFillSz")).subtract(accFillFeeSz));
+                // 挂单、撤单等还没有成交的推送中fillPx和fee为空，此时没有手续费可扣除
+                BigDecimal fillPx = BigDecimalUtil.safeGen(orderData.getString("fillPx"));
+                BigDecimal executedQty = BigDecimalUtil.safeGen(orderData.getString("accFillSz"));
+                if (order.getFee() != null && fillPx.signum() > 0) {
+                    executedQty = executedQty.subtract(order.getFee().divide(fillPx, 12, BigDecimal.ROUND_DOWN));
+                }
+                order.setExecutedQty(executedQty);
             }
         }
 
         // 成交金额，扣除手续费  avgPx  fillPx  都是成交价，一般一样
-        if (orderData.containsKey("fillPx") && !orderData.getString("fillPx").isEmpty()) {
+        if (orderData.containsKey("fillPx") && !orderData.getString("fillPx").isEmpty() && order.getExecutedQty() != null) {
             BigDecimal fillPrice = BigDecimalUtil.safeGen(orderData.getString("fillPx"));
             order.setCummulativeQuoteQty(order.getExecutedQty().multiply(fillPrice));
         }
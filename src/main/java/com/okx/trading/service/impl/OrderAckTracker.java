@@ -0,0 +1,191 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.model.trade.Order;
+import com.okx.trading.util.QuantileSketch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebSocket下单结果跟踪
+ * 按clOrdId关联私有频道的两类消息：order操作的响应（受理/拒绝）和orders频道的订单推送（成交/撤销），
+ * 下单线程等待推送完成而不是固定休眠后再用REST查询，只有超时未收到推送时才回退到REST查询。
+ * <p>
+ * 记录从发起下单到受理、到最终结果的耗时分布。
+ */
+@Slf4j
+@Service
+public class OrderAckTracker {
+
+    private static final String FILLED = "FILLED";
+    private static final String NEW = "NEW";
+
+    /**
+     * 等待订单推送的超时时间，超时后回退到REST查询
+     */
+    @Value("${okx.trade.order-result-timeout-ms:3000}")
+    private long resultTimeoutMillis = 3000;
+
+    private final Map<String, PendingOrder> pendingOrders = new ConcurrentHashMap<>();
+
+    private final QuantileSketch ackLatency = new QuantileSketch();
+    private final QuantileSketch resultLatency = new QuantileSketch();
+    private final QuantileSketch ackToResultLatency = new QuantileSketch();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder acked = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder filled = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * 登记即将发送的订单
+     *
+     * @param clientOrderId 客户端订单ID
+     * @param waitForFill   是否等到终态（成交/撤销）才返回；限价单收到第一条订单推送即返回
+     */
+    public PendingOrder register(String clientOrderId, boolean waitForFill) {
+        PendingOrder pending = new PendingOrder(clientOrderId, waitForFill);
+        pendingOrders.put(clientOrderId, pending);
+        submitted.increment();
+        return pending;
+    }
+
+    /**
+     * 取消登记，下单流程结束后调用
+     */
+    public void remove(String clientOrderId) {
+        pendingOrders.remove(clientOrderId);
+    }
+
+    /**
+     * 处理order操作的响应
+     * sCode不为0表示下单被拒绝，不会再有订单推送，直接以响应结束等待
+     */
+    public void onAck(Order ack) {
+        PendingOrder pending = ack.getClientOrderId() != null ? pendingOrders.get(ack.getClientOrderId()) : null;
+        if (pending == null || pending.ackNanos != 0) {
+            return;
+        }
+        pending.ackNanos = System.nanoTime();
+        acked.increment();
+        record(ackLatency, pending.ackNanos - pending.submitNanos);
+        if (ack.getSCode() != 0) {
+            rejected.increment();
+            complete(pending, ack);
+        }
+    }
+
+    /**
+     * 处理orders频道的订单推送
+     *
+     * @return 推送是否结束了一个正在等待的下单
+     */
+    public boolean onUpdate(Order order) {
+        PendingOrder pending = order.getClientOrderId() != null ? pendingOrders.get(order.getClientOrderId()) : null;
+        if (pending == null || pending.result.isDone()) {
+            return false;
+        }
+        String status = order.getStatus();
+        boolean terminal = status != null && !NEW.equals(status) && !status.startsWith("PARTIALLY");
+        if (!terminal && pending.waitForFill) {
+            return false;
+        }
+        if (FILLED.equals(status)) {
+            filled.increment();
+        }
+        complete(pending, order);
+        return true;
+    }
+
+    /**
+     * 等待下单结果
+     *
+     * @return 订单推送或拒绝响应，超时返回null，调用方此时应回退到REST查询
+     */
+    public Order awaitResult(PendingOrder pending) throws InterruptedException {
+        try {
+            return pending.result.get(resultTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("等待订单推送超时，回退到REST查询: clientOrderId={}, 已受理={}", pending.clientOrderId, pending.ackNanos != 0);
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取统计信息，耗时单位为毫秒
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("submitted", submitted.sum());
+        stats.put("acked", acked.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("filled", filled.sum());
+        stats.put("rest_fallbacks", timeouts.sum());
+        stats.put("pending", pendingOrders.size());
+        stats.put("result_timeout_ms", resultTimeoutMillis);
+        stats.put("submit_to_ack_ms", summarize(ackLatency));
+        stats.put("submit_to_result_ms", summarize(resultLatency));
+        stats.put("ack_to_result_ms", summarize(ackToResultLatency));
+        return stats;
+    }
+
+    private void complete(PendingOrder pending, Order order) {
+        long now = System.nanoTime();
+        if (pending.result.complete(order)) {
+            record(resultLatency, now - pending.submitNanos);
+            if (pending.ackNanos != 0) {
+                record(ackToResultLatency, now - pending.ackNanos);
+            }
+        }
+    }
+
+    private static void record(QuantileSketch sketch, long nanos) {
+        synchronized (sketch) {
+            sketch.update(nanos / 1_000_000.0);
+        }
+    }
+
+    private static Map<String, Object> summarize(QuantileSketch sketch) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        synchronized (sketch) {
+            summary.put("count", sketch.getCount());
+            if (sketch.getCount() > 0) {
+                double[] quantiles = sketch.quantiles(0.5, 0.9, 0.99);
+                summary.put("p50", quantiles[0]);
+                summary.put("p90", quantiles[1]);
+                summary.put("p99", quantiles[2]);
+                summary.put("max", sketch.getMax());
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * 一个等待结果的下单
+     */
+    public static final class PendingOrder {
+        private final String clientOrderId;
+        private final boolean waitForFill;
+        private final long submitNanos = System.nanoTime();
+        private volatile long ackNanos;
+        private final CompletableFuture<Order> result = new CompletableFuture<>();
+
+        private PendingOrder(String clientOrderId, boolean waitForFill) {
+            this.clientOrderId = clientOrderId;
+            this.waitForFill = waitForFill;
+        }
+    }
+}
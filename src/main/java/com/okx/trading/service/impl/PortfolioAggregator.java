@@ -0,0 +1,375 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.model.entity.RealTimeStrategyEntity;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.okx.trading.constant.IndicatorInfo.BUY;
+
+/**
+ * 运行中策略的组合收益汇总
+ * 按策略成交和价格推送增量维护：总投资、已实现收益、持仓中策略的预估收益，以及每个交易对的持仓数量和预估收益。
+ * 每次成交只撤销该策略上一次的贡献再加上新的贡献，每次价格推送只按价格变化量乘以该交易对的持仓数量调整，
+ * 都与运行中策略数量无关；没有持仓的交易对的价格推送直接返回，不加锁。
+ * <p>
+ * 统计口径与 {@link RealTimeStrategyServiceImpl#realTimeStrategiesState()} 的 statistics 一致：
+ * 还没有价格的交易对的持仓不计入预估收益和持仓投资金额。
+ * 增量累加的浮点误差每隔一定次数的成交按全部策略的贡献重新计算一次。
+ * <p>
+ * 读取时只在数据变化后重新生成结果，资金记录和看板读取不再遍历策略；订阅推送的客户端按固定间隔收到变化后的结果。
+ */
+@Slf4j
+@Service
+public class PortfolioAggregator {
+
+    private static final int REBASE_INTERVAL = 1000;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private LivePriceCache livePriceCache;
+
+    /**
+     * 推送连接的超时时间
+     */
+    @Value("${okx.portfolio.stream-timeout-ms:1800000}")
+    private long streamTimeoutMillis = 1800000;
+
+    private final Map<Long, Contribution> contributions = new ConcurrentHashMap<>();
+    private final Map<String, SymbolBook> books = new ConcurrentHashMap<>();
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    // 以下汇总只在持有本对象锁时修改
+    private double totalInvestment;
+    private double totalRealizedProfit;
+    private double totalUnrealizedProfit;
+    private double totalHoldingInvestment;
+    private int holdingCount;
+    private long version;
+    private int mutationsSinceRebase;
+
+    private Map<String, Object> cachedSnapshot;
+    private long cachedVersion = -1;
+    private long pushedVersion = -1;
+
+    @PostConstruct
+    public void init() {
+        livePriceCache.registerListener(this::onPrice);
+    }
+
+    /**
+     * 策略加入运行或成交后更新该策略的贡献
+     * 在修改策略状态的线程上调用
+     */
+    public void onStrategyUpdated(RealTimeStrategyEntity strategy) {
+        if (strategy.getId() == null) {
+            return;
+        }
+        Contribution next = Contribution.of(strategy);
+        synchronized (this) {
+            Contribution previous = contributions.put(strategy.getId(), next);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            apply(next, 1);
+            afterMutation();
+        }
+    }
+
+    /**
+     * 策略成交后更新该策略的贡献
+     * 只更新仍在汇总中的策略，与移除在同一把锁下判断，已停止运行的策略不会被重新计入
+     */
+    public void onStrategyTraded(RealTimeStrategyEntity strategy) {
+        if (strategy.getId() == null) {
+            return;
+        }
+        Contribution next = Contribution.of(strategy);
+        synchronized (this) {
+            Contribution previous = contributions.get(strategy.getId());
+            if (previous == null) {
+                return;
+            }
+            contributions.put(strategy.getId(), next);
+            apply(previous, -1);
+            apply(next, 1);
+            afterMutation();
+        }
+    }
+
+    /**
+     * 策略停止运行后移除该策略的贡献
+     */
+    public void onStrategyRemoved(Long strategyId) {
+        if (strategyId == null) {
+            return;
+        }
+        synchronized (this) {
+            Contribution previous = contributions.remove(strategyId);
+            if (previous != null) {
+                apply(previous, -1);
+                afterMutation();
+            }
+        }
+    }
+
+    /**
+     * 价格推送，只有存在持仓的交易对需要调整预估收益
+     */
+    public void onPrice(String symbol, BigDecimal price) {
+        SymbolBook book = books.get(symbol);
+        if (book == null || book.holdingCount == 0) {
+            return;
+        }
+        double newPrice = price.doubleValue();
+        synchronized (this) {
+            if (book.holdingCount == 0 || book.lastPrice == newPrice) {
+                return;
+            }
+            unprice(book);
+            book.lastPrice = newPrice;
+            reprice(book);
+            version++;
+        }
+    }
+
+    /**
+     * 获取组合汇总，字段与 realTimeStrategiesState 的 statistics 相同，另外包含每个交易对的持仓明细
+     * 数据没有变化时直接返回上一次生成的结果
+     */
+    public synchronized Map<String, Object> getSnapshot() {
+        if (cachedVersion != version) {
+            cachedSnapshot = buildSnapshot();
+            cachedVersion = version;
+        }
+        return cachedSnapshot;
+    }
+
+    /**
+     * 订阅组合汇总推送，连接建立时先推送一次当前结果
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        try {
+            emitter.send(SseEmitter.event().name("portfolio").data(getSnapshot()));
+        } catch (IOException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * 按固定间隔向订阅的客户端推送变化后的组合汇总
+     */
+    @Scheduled(fixedDelayString = "${okx.portfolio.stream-interval-ms:1000}")
+    public void pushUpdates() {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        Map<String, Object> snapshot;
+        synchronized (this) {
+            if (pushedVersion == version) {
+                return;
+            }
+            snapshot = getSnapshot();
+            pushedVersion = cachedVersion;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("portfolio").data(snapshot));
+            } catch (Exception e) {
+                log.debug("推送组合汇总失败，移除连接: {}", e.getMessage());
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void apply(Contribution c, int sign) {
+        totalInvestment += sign * c.tradeAmount;
+        totalRealizedProfit += sign * c.totalProfit;
+        if (!c.holding) {
+            return;
+        }
+        SymbolBook book = books.computeIfAbsent(c.symbol, k -> new SymbolBook());
+        unprice(book);
+        if (Double.isNaN(book.lastPrice)) {
+            LivePriceCache.PriceSnapshot price = livePriceCache.get(c.symbol);
+            if (price != null) {
+                book.lastPrice = price.getPrice().doubleValue();
+            }
+        }
+        book.holdingCount += sign;
+        book.quantity += sign * c.quantity;
+        book.entryValue += sign * c.entryValue;
+        book.holdingInvestment += sign * c.tradeAmount;
+        holdingCount += sign;
+        reprice(book);
+    }
+
+    /**
+     * 从总计中撤销该交易对按当前价格计算的预估收益
+     */
+    private void unprice(SymbolBook book) {
+        if (book.holdingCount > 0 && !Double.isNaN(book.lastPrice)) {
+            totalUnrealizedProfit -= book.unrealizedProfit();
+            totalHoldingInvestment -= book.holdingInvestment;
+        }
+    }
+
+    /**
+     * 把该交易对按当前价格计算的预估收益加回总计
+     */
+    private void reprice(SymbolBook book) {
+        if (book.holdingCount > 0 && !Double.isNaN(book.lastPrice)) {
+            totalUnrealizedProfit += book.unrealizedProfit();
+            totalHoldingInvestment += book.holdingInvestment;
+        }
+    }
+
+    private void afterMutation() {
+        version++;
+        if (++mutationsSinceRebase >= REBASE_INTERVAL) {
+            rebase();
+        }
+    }
+
+    /**
+     * 按全部策略的贡献重新计算汇总，消除增量累加的浮点误差
+     */
+    private void rebase() {
+        totalInvestment = 0;
+        totalRealizedProfit = 0;
+        totalUnrealizedProfit = 0;
+        totalHoldingInvestment = 0;
+        holdingCount = 0;
+        for (SymbolBook book : books.values()) {
+            book.holdingCount = 0;
+            book.quantity = 0;
+            book.entryValue = 0;
+            book.holdingInvestment = 0;
+        }
+        for (Contribution c : contributions.values()) {
+            apply(c, 1);
+        }
+        books.values().removeIf(book -> book.holdingCount == 0);
+        mutationsSinceRebase = 0;
+    }
+
+    private Map<String, Object> buildSnapshot() {
+        List<Map<String, Object>> symbols = new ArrayList<>();
+        for (Map.Entry<String, SymbolBook> entry : books.entrySet()) {
+            SymbolBook book = entry.getValue();
+            if (book.holdingCount == 0) {
+                continue;
+            }
+            boolean priced = !Double.isNaN(book.lastPrice);
+            Map<String, Object> symbol = new LinkedHashMap<>();
+            symbol.put("symbol", entry.getKey());
+            symbol.put("holdingCount", book.holdingCount);
+            symbol.put("quantity", scale(book.quantity));
+            symbol.put("entryValue", scale(book.entryValue));
+            symbol.put("currentPrice", priced ? BigDecimal.valueOf(book.lastPrice) : "未知");
+            symbol.put("estimatedProfit", priced ? scale(book.unrealizedProfit()) : "未知");
+            symbols.add(symbol);
+        }
+
+        BigDecimal totalEstimatedProfit = scale(totalUnrealizedProfit);
+        BigDecimal totalRealized = scale(totalRealizedProfit);
+        BigDecimal investment = scale(totalInvestment);
+        BigDecimal totalProfit = totalRealized.add(totalEstimatedProfit);
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("totalEstimatedProfit", totalEstimatedProfit);
+        snapshot.put("totalRealizedProfit", totalRealized);
+        snapshot.put("totalInvestmentAmount", investment);
+        snapshot.put("totalHlodingInvestmentAmount", scale(totalHoldingInvestment));
+        snapshot.put("holdingStrategiesCount", holdingCount);
+        snapshot.put("runningStrategiesCount", contributions.size());
+        snapshot.put("totalProfit", totalProfit);
+        if (investment.compareTo(BigDecimal.ZERO) > 0) {
+            snapshot.put("totalProfitRate", totalProfit.multiply(new BigDecimal("100")).divide(investment, 4, RoundingMode.HALF_UP) + "%");
+        } else {
+            snapshot.put("totalProfitRate", "0.00%");
+        }
+        snapshot.put("symbols", symbols);
+        snapshot.put("version", version);
+        snapshot.put("updateTime", LocalDateTime.now().format(DATE_FORMAT));
+        return snapshot;
+    }
+
+    private static BigDecimal scale(double value) {
+        return BigDecimal.valueOf(value).setScale(8, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 一个交易对上所有持仓策略的合计
+     */
+    private static final class SymbolBook {
+        private int holdingCount;
+        private double quantity;
+        private double entryValue;
+        private double holdingInvestment;
+        private double lastPrice = Double.NaN;
+
+        private double unrealizedProfit() {
+            return lastPrice * quantity - entryValue;
+        }
+    }
+
+    /**
+     * 一个策略计入汇总的数值，成交后整体替换
+     */
+    private static final class Contribution {
+        private final String symbol;
+        private final double tradeAmount;
+        private final double totalProfit;
+        private final boolean holding;
+        private final double quantity;
+        private final double entryValue;
+
+        private Contribution(String symbol, double tradeAmount, double totalProfit, boolean holding,
+                             double quantity, double entryValue) {
+            this.symbol = symbol;
+            this.tradeAmount = tradeAmount;
+            this.totalProfit = totalProfit;
+            this.holding = holding;
+            this.quantity = quantity;
+            this.entryValue = entryValue;
+        }
+
+        private static Contribution of(RealTimeStrategyEntity strategy) {
+            double quantity = strategy.getLastTradeQuantity() != null ? strategy.getLastTradeQuantity() : 0;
+            double entryPrice = strategy.getLastTradePrice() != null ? strategy.getLastTradePrice() : 0;
+            boolean holding = BUY.equals(strategy.getLastTradeType()) && strategy.getLastTradePrice() != null;
+            return new Contribution(
+                    strategy.getSymbol(),
+                    strategy.getTradeAmount() != null ? strategy.getTradeAmount() : 0,
+                    strategy.getTotalProfit() != null ? strategy.getTotalProfit() : 0,
+                    holding,
+                    holding ? quantity : 0,
+                    holding ? entryPrice * quantity : 0);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.okx.trading.service.impl;
+
+import com.alibaba.fastjson.JSONObject;
+import com.okx.trading.model.entity.RealTimeOrderEntity;
+import com.okx.trading.model.entity.RealTimeStrategyEntity;
+import com.okx.trading.model.trade.Order;
+import com.okx.trading.repository.RealTimeOrderRepository;
+import com.okx.trading.repository.RealTimeStrategyRepository;
+import com.okx.trading.service.NotificationService;
+import com.okx.trading.util.BatchingStage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 交易后处理流水线
+ * 实时策略下单成功后，只有下单本身留在策略判断线程上，其余工作交给三个有界异步阶段：
+ * <ul>
+ *     <li>入库：策略交易统计和订单记录，攒批后在一个事务中写入，同一策略在一批内只写最后一次的统计</li>
+ *     <li>审计：订单数据追加到按日期滚动的CSV文件，文件保持打开、表头只确定一次，每批刷盘一次</li>
+ *     <li>通知：交易和策略异常邮件，队列满时丢弃，SMTP缓慢或失败不会延迟下一次行情处理</li>
+ * </ul>
+ * 每个阶段失败时按 {@link BatchingStage} 的规则逐条重试。
+ * 入库和通知使用提交时的策略状态快照，后续交易修改策略状态不影响已提交的记录。
+ */
+@Slf4j
+@Service
+public class PostTradePipeline {
+
+    private static final String AUDIT_DIR = "logs/orders";
+    private static final DateTimeFormatter AUDIT_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final RealTimeStrategyRepository realTimeStrategyRepository;
+    private final RealTimeOrderRepository realTimeOrderRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService postTradeExecutor;
+
+    /**
+     * 每个阶段的队列容量
+     */
+    @Value("${okx.trade.post.queue-capacity:1024}")
+    private int queueCapacity = 1024;
+
+    /**
+     * 入库和审计阶段每批最多处理的记录数
+     */
+    @Value("${okx.trade.post.batch-size:64}")
+    private int batchSize = 64;
+
+    /**
+     * 单条记录最多尝试次数
+     */
+    @Value("${okx.trade.post.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    /**
+     * 第一次重试前的等待时间（毫秒），之后每次翻倍
+     */
+    @Value("${okx.trade.post.retry-backoff-ms:500}")
+    private long retryBackoffMillis = 500;
+
+    private BatchingStage<TradeRecord> persistStage;
+    private BatchingStage<JSONObject> auditStage;
+    private BatchingStage<Runnable> notifyStage;
+
+    /**
+     * 审计文件只在审计阶段的消费线程上访问
+     */
+    private String auditFileName;
+    private BufferedWriter auditWriter;
+    private List<String> auditHeader;
+
+    @Autowired
+    public PostTradePipeline(RealTimeStrategyRepository realTimeStrategyRepository,
+                             RealTimeOrderRepository realTimeOrderRepository,
+                             NotificationService notificationService,
+                             PlatformTransactionManager transactionManager,
+                             @Qualifier("postTradeExecutor") ExecutorService postTradeExecutor) {
+        this.realTimeStrategyRepository = realTimeStrategyRepository;
+        this.realTimeOrderRepository = realTimeOrderRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postTradeExecutor = postTradeExecutor;
+    }
+
+    @PostConstruct
+    public void start() {
+        persistStage = new BatchingStage<>("交易入库", queueCapacity, batchSize, false,
+                maxAttempts, retryBackoffMillis, this::persistBatch);
+        auditStage = new BatchingStage<>("订单审计", queueCapacity, batchSize, false,
+                maxAttempts, retryBackoffMillis, this::writeAuditBatch);
+        // 邮件逐封发送，整批失败后逐条重试会重复发送已成功的邮件
+        notifyStage = new BatchingStage<>("交易通知", queueCapacity, 1, true,
+                maxAttempts, retryBackoffMillis, batch -> batch.forEach(Runnable::run));
+        postTradeExecutor.submit(persistStage);
+        postTradeExecutor.submit(auditStage);
+        postTradeExecutor.submit(notifyStage);
+        log.info("交易后处理流水线已启动，队列容量: {}, 每批最多 {} 条记录", queueCapacity, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        persistStage.stop();
+        auditStage.stop();
+        notifyStage.stop();
+        postTradeExecutor.shutdown();
+        try {
+            if (!postTradeExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("交易后处理流水线未能在30秒内处理完剩余记录");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeAuditWriter();
+    }
+
+    /**
+     * 提交一笔已成交交易的入库和通知
+     * 在策略状态更新完成后调用，调用时对策略状态做快照
+     *
+     * @param state       交易后的策略状态
+     * @param orderEntity 订单记录
+     * @param order       订单
+     * @param side        交易方向
+     * @param signalPrice 信号价格
+     */
+    public void submitTrade(RealTimeStrategyEntity state, RealTimeOrderEntity orderEntity, Order order,
+                            String side, String signalPrice) {
+        RealTimeStrategyEntity snapshot = snapshotOf(state);
+        orderEntity.setStrategyId(state.getId());
+        persistStage.submit(new TradeRecord(snapshot, orderEntity));
+        notifyStage.submit(() -> notificationService.sendTradeNotification(snapshot, order, side, signalPrice));
+    }
+
+    /**
+     * 提交策略异常通知
+     */
+    public void submitStrategyError(RealTimeStrategyEntity state) {
+        RealTimeStrategyEntity snapshot = snapshotOf(state);
+        notifyStage.submit(() -> notificationService.sendStrategyErrorNotification(snapshot, snapshot.getMessage()));
+    }
+
+    /**
+     * 提交一条订单数据（REST查询结果或orders频道推送）写入审计CSV
+     */
+    public void submitAudit(JSONObject orderData) {
+        auditStage.submit(orderData);
+    }
+
+    /**
+     * 获取各阶段统计信息
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>(3);
+        stats.add(persistStage.getStats());
+        stats.add(auditStage.getStats());
+        stats.add(notifyStage.getStats());
+        return stats;
+    }
+
+    /**
+     * 在一个事务中写入一批交易：同一策略只写最后一次的统计，订单记录全部写入
+     */
+    private void persistBatch(List<TradeRecord> batch) {
+        Map<Long, RealTimeStrategyEntity> latest = new LinkedHashMap<>();
+        List<RealTimeOrderEntity> orders = new ArrayList<>(batch.size());
+        for (TradeRecord record : batch) {
+            latest.put(record.strategy.getId(), record.strategy);
+            orders.add(record.order);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (RealTimeStrategyEntity strategy : latest.values()) {
+                if (realTimeStrategyRepository.updateTradeInfo(strategy) == 0) {
+                    log.warn("策略已不存在，跳过交易统计更新: strategyId={}", strategy.getId());
+                }
+            }
+            realTimeOrderRepository.saveAll(orders);
+        });
+        for (RealTimeStrategyEntity strategy : latest.values()) {
+            log.info("更新策略交易信息成功: strategyCode={}, tradeType={}, price={}, quantity={}, profit={}, fees={}",
+                    strategy.getStrategyCode(), strategy.getLastTradeType(), strategy.getLastTradePrice(),
+                    strategy.getLastTradeQuantity(), strategy.getTotalProfit(), strategy.getTotalFees());
+        }
+    }
+
+    /**
+     * 按表头顺序写入一批订单数据，每批刷盘一次
+     * 表头在文件创建时按第一条数据的字段排序确定，已有文件沿用文件中的表头，表头中没有的字段不写入
+     */
+    private void writeAuditBatch(List<JSONObject> batch) {
+        try {
+            for (JSONObject orderData : batch) {
+                openAuditWriter(orderData);
+                auditWriter.write(toCsvLine(orderData));
+            }
+            auditWriter.flush();
+        } catch (IOException e) {
+            closeAuditWriter();
+            throw new UncheckedIOException("写入订单数据到CSV文件失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 打开当天的审计文件，日期变化时切换到新文件
+     */
+    private void openAuditWriter(JSONObject orderData) throws IOException {
+        String fileName = AUDIT_DIR + "/orders_" + LocalDate.now().format(AUDIT_DATE_FORMAT) + ".csv";
+        if (auditWriter != null && fileName.equals(auditFileName)) {
+            return;
+        }
+        closeAuditWriter();
+        Files.createDirectories(Paths.get(AUDIT_DIR));
+        Path path = Paths.get(fileName);
+
+        List<String> header = null;
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String firstLine = reader.readLine();
+                if (firstLine != null && !firstLine.isEmpty()) {
+                    header = Arrays.asList(firstLine.split(","));
+                }
+            }
+        }
+        auditWriter = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (header == null) {
+            header = new ArrayList<>(orderData.keySet());
+            // 排序字段，确保schema顺序一致
+            Collections.sort(header);
+            auditWriter.write(String.join(",", header) + "\n");
+        }
+        auditHeader = header;
+        auditFileName = fileName;
+        log.info("订单审计数据写入文件: {}", fileName);
+    }
+
+    private String toCsvLine(JSONObject orderData) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < auditHeader.size(); i++) {
+            String value = orderData.getString(auditHeader.get(i));
+            // 处理值中可能包含的逗号和引号
+            if (value != null) {
+                if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+                    value = "\"" + value.replace("\"", "\"\"") + "\"";
+                }
+                line.append(value);
+            }
+            if (i < auditHeader.size() - 1) {
+                line.append(",");
+            }
+        }
+        return line.append("\n").toString();
+    }
+
+    private void closeAuditWriter() {
+        if (auditWriter != null) {
+            try {
+                auditWriter.close();
+            } catch (IOException e) {
+                log.warn("关闭订单审计文件失败: {}", e.getMessage());
+            }
+            auditWriter = null;
+            auditFileName = null;
+        }
+    }
+
+    /**
+     * 复制入库和通知需要的策略字段
+     */
+    private static RealTimeStrategyEntity snapshotOf(RealTimeStrategyEntity state) {
+        RealTimeStrategyEntity snapshot = new RealTimeStrategyEntity();
+        snapshot.setId(state.getId());
+        snapshot.setStrategyCode(state.getStrategyCode());
+        snapshot.setStrategyName(state.getStrategyName());
+        snapshot.setSymbol(state.getSymbol());
+        snapshot.setInterval(state.getInterval());
+        snapshot.setTradeAmount(state.getTradeAmount());
+        snapshot.setLastTradeType(state.getLastTradeType());
+        snapshot.setLastTradeAmount(state.getLastTradeAmount());
+        snapshot.setLastTradeQuantity(state.getLastTradeQuantity());
+        snapshot.setLastTradePrice(state.getLastTradePrice());
+        snapshot.setLastTradeFee(state.getLastTradeFee());
+        snapshot.setLastTradeTime(state.getLastTradeTime());
+        snapshot.setLastSingalTime(state.getLastSingalTime());
+        snapshot.setLastTradeProfit(state.getLastTradeProfit());
+        snapshot.setTotalProfit(state.getTotalProfit());
+        snapshot.setTotalProfitRate(state.getTotalProfitRate());
+        snapshot.setTotalFees(state.getTotalFees());
+        snapshot.setTotalTrades(state.getTotalTrades());
+        snapshot.setSuccessfulTrades(state.getSuccessfulTrades());
+        snapshot.setMessage(state.getMessage());
+        snapshot.setUpdateTime(LocalDateTime.now());
+        return snapshot;
+    }
+
+    /**
+     * 一笔待入库的交易
+     */
+    private static final class TradeRecord {
+        private final RealTimeStrategyEntity strategy;
+        private final RealTimeOrderEntity order;
+
+        private TradeRecord(RealTimeStrategyEntity strategy, RealTimeOrderEntity order) {
+            this.strategy = strategy;
+            this.order = order;
+        }
+    }
+}
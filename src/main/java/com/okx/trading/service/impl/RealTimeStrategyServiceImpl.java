@@ -3,10 +3,8 @@ package com.okx.trading.service.impl;
 import com.okx.trading.model.entity.RealTimeOrderEntity;
 import com.okx.trading.model.entity.RealTimeStrategyEntity;
 import com.okx.trading.model.market.Candlestick;
-import com.okx.trading.model.market.Ticker;
 import com.okx.trading.repository.RealTimeOrderRepository;
 import com.okx.trading.repository.RealTimeStrategyRepository;
-import com.okx.trading.service.OkxApiService;
 import com.okx.trading.service.RealTimeStrategyService;
 import com.okx.trading.strategy.RealTimeStrategyManager;
 import com.okx.trading.strategy.StrategyRegisterCenter;
@@ -15,7 +13,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.ta4j.core.Strategy;
@@ -47,15 +44,15 @@ public class RealTimeStrategyServiceImpl implements RealTimeStrategyService {
     private final RealTimeOrderRepository realTimeOrderRepository;
     private final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    private final OkxApiService okxApiService;
+    private final LivePriceCache livePriceCache;
 
     public RealTimeStrategyServiceImpl(RealTimeStrategyRepository realTimeStrategyRepository,
                                        RealTimeStrategyManager realTimeStrategyManager, RealTimeOrderRepository realTimeOrderRepository,
-                                       @Lazy OkxApiService okxApiService) {
+                                       LivePriceCache livePriceCache) {
         this.realTimeStrategyRepository = realTimeStrategyRepository;
         this.realTimeStrategyManager = realTimeStrategyManager;
         this.realTimeOrderRepository = realTimeOrderRepository;
-        this.okxApiService = okxApiService;
+        this.livePriceCache = livePriceCache;
     }
 
     @Override
@@ -182,7 +179,7 @@ public class RealTimeStrategyServiceImpl implements RealTimeStrategyService {
             if (StringUtils.isNotBlank(strategy.getLastTradeType()) && strategy.getLastTradeType().equals(BUY)) {
                 realTimeStrategyManager.executeTradeSignal(strategy, new Candlestick(BigDecimal.ZERO), SELL);
             }
-            realTimeStrategyManager.getRunningStrategies().remove(Long.parseLong(id));
+            realTimeStrategyManager.removeRunningStrategy(Long.parseLong(id));
             log.info("停止实时策略成功: {}", id);
             return true;
         }
@@ -282,7 +279,7 @@ public class RealTimeStrategyServiceImpl implements RealTimeStrategyService {
             if (strategy != null && strategy.getLastTradeType().equals(BUY)) {
                 realTimeStrategyManager.executeTradeSignal(strategy, new Candlestick(BigDecimal.ZERO), SELL);
             }
-            realTimeStrategyManager.getRunningStrategies().remove(Long.parseLong(id));
+            realTimeStrategyManager.removeRunningStrategy(Long.parseLong(id));
             log.info("删除实时策略成功: {}", id);
             return true;
         } catch (Exception e) {
@@ -355,15 +352,6 @@ public class RealTimeStrategyServiceImpl implements RealTimeStrategyService {
         return String.format("%s_%s_%s_%s", strategyCode, symbol.replace("-", ""), interval, timestamp);
     }
 
-    @Override
-    @Transactional
-    public RealTimeStrategyEntity updateTradeInfo(RealTimeStrategyEntity state) {
-        RealTimeStrategyEntity entity = realTimeStrategyRepository.save(state);
-        log.info("更新策略交易信息成功: strategyCode={}, tradeType={}, price={}, quantity={}, profit={}, fees={}",
-                state.getStrategyCode(), state.getLastTradeType(), state.getLastTradePrice(), state.getLastTradeQuantity(), state.getTotalProfit(), state.getTotalFees());
-        return entity;
-    }
-
     @Override
     @Transactional
     public RealTimeStrategyEntity copyRealTimeStrategy(Long strategyId, String interval, String symbol, Double tradeAmount) {
@@ -412,6 +400,15 @@ public class RealTimeStrategyServiceImpl implements RealTimeStrategyService {
         int holdingStrategiesCount = 0;
         int runningStrategiesCount = 0;
 
+        // 一次取出所有持仓交易对的最新价格，过期的交易对统一刷新
+        Set<String> holdingSymbols = new HashSet<>();
+        for (RealTimeStrategyEntity strategy : allRunningStrategies.values()) {
+            if ("BUY".equals(strategy.getLastTradeType())) {
+                holdingSymbols.add(strategy.getSymbol());
+            }
+        }
+        Map<String, BigDecimal> latestPrices = livePriceCache.getPrices(holdingSymbols);
+
         // 筛选出最后交易类型为买入(BUY)的策略
         for (RealTimeStrategyEntity strategy : allRunningStrategies.values()) {
             // 统计运行中策略总数
@@ -446,8 +443,7 @@ public class RealTimeStrategyServiceImpl implements RealTimeStrategyService {
                     strategyProfit.put("entryTime", strategy.getLastTradeTime().format(dateFormat));
 
                     // 获取最新价格
-                    Ticker latestTicker = okxApiService.getTicker(strategy.getSymbol());
-                    BigDecimal currentPrice = latestTicker != null ? latestTicker.getLastPrice() : null;
+                    BigDecimal currentPrice = latestPrices.get(strategy.getSymbol());
 
                     if (currentPrice != null && strategy.getLastTradePrice() != null) {
                         // 计算当前持仓价值
@@ -0,0 +1,560 @@
+package com.okx.trading.service.impl;
+
+import com.okx.trading.indicator.IndicatorCache;
+import com.okx.trading.model.dto.BacktestResultDTO;
+import com.okx.trading.service.BacktestTradeService;
+import com.okx.trading.strategy.BenchmarkSeries;
+import com.okx.trading.strategy.StrategyParams;
+import com.okx.trading.strategy.StrategyRegisterCenter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.ta4j.core.BarSeries;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 策略参数优化服务
+ * 基于 {@link StrategyRegisterCenter#strategyParameterRanges} 中声明的参数范围，
+ * 在同一个BarSeries上并行回测多组参数，支持网格搜索、随机搜索和逐次减半搜索。
+ * 不满足 {@link StrategyRegisterCenter#strategyParameterConstraints} 中约束的参数组合不参与评估。
+ * <p>
+ * 参数通过 {@link StrategyParams} 在回测线程上临时覆盖，策略工厂无需改变签名；
+ * 同一优化任务内的所有参数组合共享一个 {@link IndicatorCache}，未变化参数对应的指标只计算一次。
+ */
+@Slf4j
+@Service
+public class StrategyOptimizerService {
+
+    public static final String SEARCH_GRID = "grid";
+    public static final String SEARCH_RANDOM = "random";
+    public static final String SEARCH_HALVING = "halving";
+
+    public static final String OBJECTIVE_TOTAL_RETURN = "total_return";
+    public static final String OBJECTIVE_SHARPE_RATIO = "sharpe_ratio";
+    public static final String OBJECTIVE_CALMAR_RATIO = "calmar_ratio";
+    public static final String OBJECTIVE_PROFIT_FACTOR = "profit_factor";
+
+    /**
+     * 提前淘汰检查使用的前缀K线比例
+     */
+    private static final double PROBE_RATIO = 0.25;
+
+    /**
+     * 逐次减半每轮保留的比例（1/ETA）
+     */
+    private static final int HALVING_ETA = 2;
+
+    /**
+     * 逐次减半第一轮使用的最少K线数量，过短的序列上大部分策略还没有产生交易
+     */
+    private static final int HALVING_MIN_BARS = 200;
+
+    /**
+     * 等待队列容量，超出时由提交线程自己执行，形成背压
+     */
+    private static final int QUEUE_CAPACITY = 64;
+
+    /**
+     * 随机搜索每个目标组合最多尝试的抽样次数，约束过滤掉大部分空间时避免无限抽样
+     */
+    private static final int RANDOM_ATTEMPTS_PER_COMBINATION = 20;
+
+    /**
+     * 并行线程数上限，回测是CPU密集型任务，超过CPU核数只会增加切换开销
+     */
+    private static final int MAX_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private final Ta4jBacktestService ta4jBacktestService;
+    private final BacktestTradeService backtestTradeService;
+
+    public StrategyOptimizerService(Ta4jBacktestService ta4jBacktestService,
+                                    BacktestTradeService backtestTradeService) {
+        this.ta4jBacktestService = ta4jBacktestService;
+        this.backtestTradeService = backtestTradeService;
+    }
+
+    /**
+     * 获取策略声明的参数范围
+     *
+     * @param strategyCode 策略代码
+     * @return 参数范围，未声明时返回空列表
+     */
+    public List<StrategyParams.Range> getParameterRanges(String strategyCode) {
+        return StrategyRegisterCenter.strategyParameterRanges.getOrDefault(strategyCode, Collections.emptyList());
+    }
+
+    /**
+     * 获取策略声明的参数约束
+     *
+     * @param strategyCode 策略代码
+     * @return 参数约束，未声明时所有组合都满足
+     */
+    public Predicate<Map<String, Number>> getParameterConstraint(String strategyCode) {
+        return StrategyRegisterCenter.strategyParameterConstraints.getOrDefault(strategyCode, params -> true);
+    }
+
+    /**
+     * 执行参数优化
+     *
+     * @param series                K线序列
+     * @param benchmark             基准序列
+     * @param strategyCode          策略代码
+     * @param searchMode            搜索方式：grid/random/halving
+     * @param objective             目标函数：total_return/sharpe_ratio/calmar_ratio/profit_factor
+     * @param maxCombinations       最多评估的参数组合数量
+     * @param maxDrawdownLimit      最大回撤上限，前缀回测超过该值的参数组合被提前淘汰，小于等于0表示不淘汰
+     * @param threadCount           并行线程数，超过CPU核数时按CPU核数执行
+     * @param topN                  保存和返回的最优组合数量
+     * @param saveResult            是否保存最优组合的回测结果
+     * @return 优化结果
+     */
+    public Map<String, Object> optimize(BarSeries series, BenchmarkSeries benchmark,
+                                        String strategyCode, String symbol, String interval,
+                                        LocalDateTime startTime, LocalDateTime endTime,
+                                        BigDecimal initialAmount, BigDecimal feeRatio,
+                                        String searchMode, String objective, int maxCombinations,
+                                        BigDecimal maxDrawdownLimit, int threadCount, int topN, boolean saveResult) {
+        List<StrategyParams.Range> ranges = getParameterRanges(strategyCode);
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("策略未声明可优化的参数范围: " + strategyCode);
+        }
+        if (maxCombinations <= 0 || threadCount <= 0 || topN <= 0) {
+            throw new IllegalArgumentException("组合数量、线程数和保存数量必须大于0");
+        }
+
+        long begin = System.currentTimeMillis();
+        String batchBacktestId = UUID.randomUUID().toString();
+        int threads = Math.min(threadCount, MAX_THREADS);
+        log.info("开始参数优化，策略: {}, 搜索方式: {}, 目标: {}, 最大组合数: {}, 线程数: {}, 批量回测ID: {}",
+                strategyCode, searchMode, objective, maxCombinations, threads, batchBacktestId);
+
+        Predicate<Map<String, Number>> constraint = getParameterConstraint(strategyCode);
+        OptimizationContext context = new OptimizationContext(series, benchmark, strategyCode,
+                initialAmount, feeRatio, interval, objective, maxDrawdownLimit);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), new ThreadPoolExecutor.CallerRunsPolicy());
+        List<Map<String, Number>> combinations;
+        List<Candidate> ranked;
+        try {
+            if (SEARCH_HALVING.equalsIgnoreCase(searchMode)) {
+                combinations = sampleCombinations(ranges, constraint, maxCombinations, true);
+                ranked = successiveHalving(context, combinations, executor);
+            } else if (SEARCH_RANDOM.equalsIgnoreCase(searchMode)) {
+                combinations = sampleCombinations(ranges, constraint, maxCombinations, true);
+                ranked = evaluateAll(context, combinations, executor);
+            } else if (SEARCH_GRID.equalsIgnoreCase(searchMode)) {
+                combinations = sampleCombinations(ranges, constraint, maxCombinations, false);
+                ranked = evaluateAll(context, combinations, executor);
+            } else {
+                throw new IllegalArgumentException("不支持的搜索方式: " + searchMode);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Candidate> top = ranked.subList(0, Math.min(topN, ranked.size()));
+        List<Map<String, Object>> topResults = new ArrayList<>();
+        for (Candidate candidate : top) {
+            if (saveResult) {
+                saveCandidate(candidate, strategyCode, symbol, interval, startTime, endTime, batchBacktestId);
+            }
+            topResults.add(candidate.toMap());
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("batch_backtest_id", batchBacktestId);
+        response.put("strategy_code", strategyCode);
+        response.put("search_mode", searchMode);
+        response.put("objective", objective);
+        response.put("thread_count", threads);
+        response.put("sampled_combinations", combinations.size());
+        response.put("evaluated_combinations", context.evaluated.get());
+        response.put("abandoned_combinations", context.abandoned.get());
+        response.put("failed_combinations", context.failed.get());
+        response.put("elapsed_millis", System.currentTimeMillis() - begin);
+        response.put("indicator_cache", context.indicatorCache.getStats());
+        response.put("results", topResults);
+        context.indicatorCache.clear();
+
+        log.info("参数优化完成，策略: {}, 评估组合: {}, 提前淘汰: {}, 批量回测ID: {}",
+                strategyCode, context.evaluated.get(), context.abandoned.get(), batchBacktestId);
+        return response;
+    }
+
+    /**
+     * 生成满足约束的参数组合
+     * 网格搜索在参数空间超过maxCombinations时按比例降低每个参数的取值密度，各参数都在完整范围内等间距取值；
+     * 随机搜索在笛卡尔积空间中不重复地均匀抽样，组合总数不超过空间大小。
+     */
+    private List<Map<String, Number>> sampleCombinations(List<StrategyParams.Range> ranges,
+                                                         Predicate<Map<String, Number>> constraint,
+                                                         int maxCombinations, boolean random) {
+        List<List<Number>> axes = new ArrayList<>();
+        long spaceSize = 1;
+        for (StrategyParams.Range range : ranges) {
+            List<Number> values = range.values();
+            axes.add(values);
+            spaceSize = values.isEmpty() || spaceSize > Long.MAX_VALUE / values.size()
+                    ? (values.isEmpty() ? 0 : Long.MAX_VALUE)
+                    : spaceSize * values.size();
+        }
+
+        List<Map<String, Number>> combinations = new ArrayList<>();
+        if (spaceSize <= maxCombinations) {
+            for (long ordinal = 0; ordinal < spaceSize; ordinal++) {
+                Map<String, Number> params = decode(ranges, axes, ordinal);
+                if (constraint.test(params)) {
+                    combinations.add(params);
+                }
+            }
+            if (random) {
+                Collections.shuffle(combinations);
+            }
+            return combinations;
+        }
+        if (!random) {
+            return coarseGrid(ranges, axes, constraint, maxCombinations);
+        }
+
+        Random rnd = new Random();
+        Set<Long> picked = new HashSet<>();
+        long attempts = (long) maxCombinations * RANDOM_ATTEMPTS_PER_COMBINATION;
+        while (combinations.size() < maxCombinations && attempts-- > 0) {
+            long ordinal = Math.floorMod(rnd.nextLong(), spaceSize);
+            if (picked.add(ordinal)) {
+                Map<String, Number> params = decode(ranges, axes, ordinal);
+                if (constraint.test(params)) {
+                    combinations.add(params);
+                }
+            }
+        }
+        return combinations;
+    }
+
+    /**
+     * 降低取值密度的网格
+     * 从每个参数只取一个值开始，每次给相对密度最低的参数多取一个值，直到满足约束的组合数即将超过maxCombinations
+     */
+    private List<Map<String, Number>> coarseGrid(List<StrategyParams.Range> ranges, List<List<Number>> axes,
+                                                 Predicate<Map<String, Number>> constraint, int maxCombinations) {
+        int[] counts = new int[axes.size()];
+        Arrays.fill(counts, 1);
+        List<Map<String, Number>> grid = gridCombinations(ranges, axes, counts, constraint);
+        while (true) {
+            int refine = -1;
+            double coarsest = 1.0;
+            for (int i = 0; i < axes.size(); i++) {
+                double ratio = (double) axes.get(i).size() / counts[i];
+                if (counts[i] < axes.get(i).size() && ratio > coarsest) {
+                    coarsest = ratio;
+                    refine = i;
+                }
+            }
+            if (refine < 0) {
+                return grid;
+            }
+            counts[refine]++;
+            List<Map<String, Number>> finer = gridCombinations(ranges, axes, counts, constraint);
+            if (finer.size() > maxCombinations) {
+                return grid;
+            }
+            grid = finer;
+        }
+    }
+
+    /**
+     * 每个参数在完整范围内等间距取counts[i]个值（包含两端，只取一个值时取中间值），返回满足约束的组合
+     */
+    private List<Map<String, Number>> gridCombinations(List<StrategyParams.Range> ranges, List<List<Number>> axes,
+                                                       int[] counts, Predicate<Map<String, Number>> constraint) {
+        List<List<Number>> picked = new ArrayList<>();
+        long size = 1;
+        for (int i = 0; i < axes.size(); i++) {
+            List<Number> axis = axes.get(i);
+            List<Number> values = new ArrayList<>();
+            if (counts[i] == 1) {
+                values.add(axis.get((axis.size() - 1) / 2));
+            } else {
+                for (int j = 0; j < counts[i]; j++) {
+                    values.add(axis.get((int) Math.round((double) j * (axis.size() - 1) / (counts[i] - 1))));
+                }
+            }
+            picked.add(values);
+            size *= values.size();
+        }
+        List<Map<String, Number>> combinations = new ArrayList<>();
+        for (long ordinal = 0; ordinal < size; ordinal++) {
+            Map<String, Number> params = decode(ranges, picked, ordinal);
+            if (constraint.test(params)) {
+                combinations.add(params);
+            }
+        }
+        return combinations;
+    }
+
+    /**
+     * 将笛卡尔积中的序号解码为一组参数（最后一个参数变化最快）
+     */
+    private Map<String, Number> decode(List<StrategyParams.Range> ranges, List<List<Number>> axes, long ordinal) {
+        Map<String, Number> params = new LinkedHashMap<>();
+        Number[] values = new Number[ranges.size()];
+        for (int i = ranges.size() - 1; i >= 0; i--) {
+            List<Number> axis = axes.get(i);
+            values[i] = axis.get((int) (ordinal % axis.size()));
+            ordinal /= axis.size();
+        }
+        for (int i = 0; i < ranges.size(); i++) {
+            params.put(ranges.get(i).getName(), values[i]);
+        }
+        return params;
+    }
+
+    /**
+     * 在完整序列上评估所有组合，评估前先在前缀序列上做回撤检查以提前淘汰
+     */
+    private List<Candidate> evaluateAll(OptimizationContext context, List<Map<String, Number>> combinations,
+                                        ThreadPoolExecutor executor) {
+        int probeBars = context.maxDrawdownLimit != null && context.maxDrawdownLimit.signum() > 0
+                ? (int) (context.series.getBarCount() * PROBE_RATIO) : 0;
+        List<Future<Candidate>> futures = new ArrayList<>();
+        for (Map<String, Number> params : combinations) {
+            futures.add(executor.submit(() -> {
+                if (probeBars > 0) {
+                    Candidate probe = context.evaluate(params, probeBars);
+                    if (probe == null || context.isHopeless(probe)) {
+                        context.abandoned.incrementAndGet();
+                        return null;
+                    }
+                }
+                return context.evaluate(params, context.series.getBarCount());
+            }));
+        }
+        return collectRanked(futures);
+    }
+
+    /**
+     * 逐次减半搜索：先在较短的前缀序列上评估全部组合，每轮保留前1/ETA并把K线数量扩大ETA倍，
+     * 最后一轮在完整序列上评估
+     */
+    private List<Candidate> successiveHalving(OptimizationContext context, List<Map<String, Number>> combinations,
+                                              ThreadPoolExecutor executor) {
+        int totalBars = context.series.getBarCount();
+        int rounds = 0;
+        for (int n = combinations.size(); n > 1; n = (n + HALVING_ETA - 1) / HALVING_ETA) {
+            rounds++;
+        }
+        int barCount = Math.max(HALVING_MIN_BARS, (int) (totalBars / Math.pow(HALVING_ETA, rounds)));
+
+        List<Map<String, Number>> survivors = combinations;
+        while (true) {
+            int rungBars = Math.min(barCount, totalBars);
+            List<Future<Candidate>> futures = new ArrayList<>();
+            for (Map<String, Number> params : survivors) {
+                futures.add(executor.submit(() -> {
+                    Candidate candidate = context.evaluate(params, rungBars);
+                    if (candidate != null && context.isHopeless(candidate)) {
+                        context.abandoned.incrementAndGet();
+                        return null;
+                    }
+                    return candidate;
+                }));
+            }
+            List<Candidate> ranked = collectRanked(futures);
+            if (rungBars >= totalBars || ranked.size() <= 1) {
+                if (rungBars < totalBars) {
+                    // 只剩一个组合时直接在完整序列上补一次评估
+                    List<Candidate> finals = new ArrayList<>();
+                    for (Candidate candidate : ranked) {
+                        Candidate full = context.evaluate(candidate.params, totalBars);
+                        if (full != null) {
+                            finals.add(full);
+                        }
+                    }
+                    return finals;
+                }
+                return ranked;
+            }
+            int keep = Math.max(1, (ranked.size() + HALVING_ETA - 1) / HALVING_ETA);
+            survivors = new ArrayList<>();
+            for (Candidate candidate : ranked.subList(0, keep)) {
+                survivors.add(candidate.params);
+            }
+            barCount = barCount * HALVING_ETA;
+        }
+    }
+
+    /**
+     * 收集任务结果并按目标值降序排列
+     */
+    private List<Candidate> collectRanked(List<Future<Candidate>> futures) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (Future<Candidate> future : futures) {
+            try {
+                Candidate candidate = future.get();
+                if (candidate != null) {
+                    candidates.add(candidate);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("参数优化被中断", e);
+            } catch (ExecutionException e) {
+                log.error("参数组合评估异常: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        }
+        candidates.sort(Comparator.comparing((Candidate c) -> c.score).reversed());
+        return candidates;
+    }
+
+    /**
+     * 保存一组参数的回测结果，所有组合共用同一个批量回测ID
+     */
+    private void saveCandidate(Candidate candidate, String strategyCode, String symbol, String interval,
+                               LocalDateTime startTime, LocalDateTime endTime, String batchBacktestId) {
+        BacktestResultDTO result = candidate.result;
+        String strategyParams = StrategyParams.describe(candidate.params);
+        try {
+            result.setStrategyCode(strategyCode);
+            result.setParameterDescription(strategyParams);
+            String backtestId = backtestTradeService.saveBacktestResultAsync(symbol, result, strategyParams, interval,
+                    startTime, endTime, batchBacktestId);
+            result.setBacktestId(backtestId);
+        } catch (Exception e) {
+            log.error("保存参数优化结果失败，策略: {}, 参数: {}, 错误: {}", strategyCode, strategyParams, e.getMessage());
+        }
+    }
+
+    /**
+     * 单次优化任务的共享状态
+     */
+    private final class OptimizationContext {
+        private final BarSeries series;
+        private final BenchmarkSeries benchmark;
+        private final String strategyCode;
+        private final BigDecimal initialAmount;
+        private final BigDecimal feeRatio;
+        private final String interval;
+        private final String objective;
+        private final BigDecimal maxDrawdownLimit;
+        private final IndicatorCache indicatorCache = new IndicatorCache();
+        private final Map<Integer, BarSeries> prefixSeries = new ConcurrentHashMap<>();
+        private final AtomicInteger evaluated = new AtomicInteger();
+        private final AtomicInteger abandoned = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private OptimizationContext(BarSeries series, BenchmarkSeries benchmark, String strategyCode,
+                                    BigDecimal initialAmount, BigDecimal feeRatio, String interval,
+                                    String objective, BigDecimal maxDrawdownLimit) {
+            this.series = series;
+            this.benchmark = benchmark;
+            this.strategyCode = strategyCode;
+            this.initialAmount = initialAmount;
+            this.feeRatio = feeRatio;
+            this.interval = interval;
+            this.objective = objective;
+            this.maxDrawdownLimit = maxDrawdownLimit;
+            // 先对齐完整序列，之后各前缀序列直接按下标截取对齐结果
+            if (benchmark != null) {
+                benchmark.alignedLogReturns(series);
+            }
+        }
+
+        /**
+         * 在前barCount根K线上回测一组参数
+         * 同一长度的前缀序列只创建一次，使共享指标缓存能够按序列身份命中
+         *
+         * @return 评估结果，回测失败时返回null
+         */
+        private Candidate evaluate(Map<String, Number> params, int barCount) {
+            BarSeries target = barCount >= series.getBarCount()
+                    ? series
+                    : prefixSeries.computeIfAbsent(barCount, n -> series.getSubSeries(series.getBeginIndex(), series.getBeginIndex() + n));
+            BacktestResultDTO result;
+            try {
+                StrategyParams.apply(params);
+                result = ta4jBacktestService.backtest(target, benchmark, strategyCode, initialAmount, feeRatio, interval, indicatorCache);
+            } finally {
+                StrategyParams.clear();
+            }
+            evaluated.incrementAndGet();
+            if (result == null || !result.isSuccess()) {
+                failed.incrementAndGet();
+                return null;
+            }
+            return new Candidate(params, result, score(result), barCount);
+        }
+
+        /**
+         * 回撤超过上限的参数组合视为没有希望，直接淘汰
+         */
+        private boolean isHopeless(Candidate candidate) {
+            return maxDrawdownLimit != null && maxDrawdownLimit.signum() > 0
+                    && candidate.result.getMaxDrawdown() != null
+                    && candidate.result.getMaxDrawdown().abs().compareTo(maxDrawdownLimit) > 0;
+        }
+
+        private double score(BacktestResultDTO result) {
+            BigDecimal value;
+            if (OBJECTIVE_SHARPE_RATIO.equalsIgnoreCase(objective)) {
+                value = result.getSharpeRatio();
+            } else if (OBJECTIVE_CALMAR_RATIO.equalsIgnoreCase(objective)) {
+                value = result.getCalmarRatio();
+            } else if (OBJECTIVE_PROFIT_FACTOR.equalsIgnoreCase(objective)) {
+                value = result.getProfitFactor();
+            } else {
+                value = result.getTotalReturn();
+            }
+            return value != null ? value.doubleValue() : Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    /**
+     * 一组参数的评估结果
+     */
+    private static final class Candidate {
+        private final Map<String, Number> params;
+        private final BacktestResultDTO result;
+        private final double score;
+        private final int barCount;
+
+        private Candidate(Map<String, Number> params, BacktestResultDTO result, double score, int barCount) {
+            this.params = params;
+            this.result = result;
+            this.score = score;
+            this.barCount = barCount;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("params", params);
+            map.put("score", score);
+            map.put("bar_count", barCount);
+            map.put("total_return", result.getTotalReturn());
+            map.put("sharpe_ratio", result.getSharpeRatio());
+            map.put("max_drawdown", result.getMaxDrawdown());
+            map.put("number_of_trades", result.getNumberOfTrades());
+            map.put("win_rate", result.getWinRate());
+            map.put("backtest_id", result.getBacktestId());
+            return map;
+        }
+    }
+}
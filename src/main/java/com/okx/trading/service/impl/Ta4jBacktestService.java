@@ -16,10 +16,13 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.joran.JoranConfigurator;
 import ch.qos.logback.core.joran.spi.JoranException;
 import com.okx.trading.model.entity.BacktestSummaryEntity;
-import com.okx.trading.model.entity.CandlestickEntity;
+import com.okx.trading.indicator.IndicatorCache;
 import com.okx.trading.strategy.BacktestMetricsCalculator;
+import com.okx.trading.strategy.BacktestMetricsRegression;
+import com.okx.trading.strategy.BenchmarkSeries;
 import com.okx.trading.strategy.StrategyRegisterCenter;
 import com.okx.trading.adapter.CandlestickBarSeriesConverter;
+import com.okx.trading.util.Ta4jNumUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,10 +62,32 @@ public class Ta4jBacktestService {
      * @param feeRatio      交易手续费率（例如0.001表示0.1%）
      * @return 回测结果
      */
-    public BacktestResultDTO backtest(BarSeries series, List<CandlestickEntity> benchmarkCandlesticks, String strategyType,
+    public BacktestResultDTO backtest(BarSeries series, BenchmarkSeries benchmark, String strategyType,
                                       BigDecimal initialAmount, BigDecimal feeRatio, String interval) {
+        return backtest(series, benchmark, strategyType, initialAmount, feeRatio, interval, null);
+    }
+
+    /**
+     * 执行回测，并在创建策略时使用批量回测共享的指标缓存
+     *
+     * @param series         K线序列
+     * @param benchmark      基准序列，批量回测的所有策略共用，为null时按无基准数据处理
+     * @param strategyType   策略类型
+     * @param initialAmount  初始资金
+     * @param feeRatio       交易手续费率（例如0.001表示0.1%）
+     * @param indicatorCache 指标共享缓存，为null时不共享
+     * @return 回测结果
+     */
+    public BacktestResultDTO backtest(BarSeries series, BenchmarkSeries benchmark, String strategyType,
+                                      BigDecimal initialAmount, BigDecimal feeRatio, String interval, IndicatorCache indicatorCache) {
         // loadLoggerConfiguration();
         try {
+            // 策略中的常量与BarSeries使用同一数值类型（DecimalNum或DoubleNum），避免混用导致类型转换异常
+            Ta4jNumUtil.useNumFactory(series.numFactory());
+            if (indicatorCache != null) {
+                indicatorCache.bind();
+            }
+
             // 使用策略工厂创建策略
             Strategy strategy = StrategyRegisterCenter.createStrategy(series, strategyType);
 
@@ -72,14 +97,145 @@ public class Ta4jBacktestService {
 
             // unloadLoggerConfiguration();
             // 计算回测指标
-            return calculateBacktestMetrics(series, tradingRecord, initialAmount, strategyType.toString(), "", feeRatio, interval, benchmarkCandlesticks);
+            return calculateBacktestMetrics(series, tradingRecord, initialAmount, strategyType.toString(), "", feeRatio, interval, benchmark);
         } catch (Exception e) {
             log.error("回测过程中发生错误: {}", e.getMessage(), e);
             BacktestResultDTO result = new BacktestResultDTO();
             result.setSuccess(false);
             result.setErrorMessage("回测过程中发生错误: " + e.getMessage());
             return result;
+        } finally {
+            Ta4jNumUtil.reset();
+            IndicatorCache.unbind();
+        }
+    }
+
+    /**
+     * 指标引擎回归对比：执行一次策略回测，分别用原始double引擎和BigDecimal引擎计算指标并逐项比较
+     *
+     * @param series        K线序列
+     * @param strategyType  策略类型
+     * @param initialAmount 初始资金
+     * @param feeRatio      交易手续费率
+     * @param tolerance     相对容差
+     * @return 对比报告，包含两种引擎的耗时、加速比和各指标差值
+     */
+    public Map<String, Object> verifyMetricsEngine(BarSeries series, BenchmarkSeries benchmark, String strategyType,
+                                                   BigDecimal initialAmount, BigDecimal feeRatio, String interval, double tolerance) {
+        try {
+            Ta4jNumUtil.useNumFactory(series.numFactory());
+            Strategy strategy = StrategyRegisterCenter.createStrategy(series, strategyType);
+            BarSeriesManager seriesManager = new BarSeriesManager(series, new ZeroCostModel(), new ZeroCostModel(), new TradeOnCurrentCloseModel());
+            TradingRecord tradingRecord = seriesManager.run(strategy, Trade.TradeType.BUY);
+
+            long primitiveBegin = System.nanoTime();
+            BacktestResultDTO primitive = new BacktestMetricsCalculator(series, tradingRecord, initialAmount, strategyType, "",
+                    feeRatio, interval, benchmark, BacktestMetricsCalculator.METRICS_ENGINE_PRIMITIVE).getResult();
+            long primitiveNanos = System.nanoTime() - primitiveBegin;
+
+            long bigDecimalBegin = System.nanoTime();
+            BacktestResultDTO reference = new BacktestMetricsCalculator(series, tradingRecord, initialAmount, strategyType, "",
+                    feeRatio, interval, benchmark, BacktestMetricsCalculator.METRICS_ENGINE_BIGDECIMAL).getResult();
+            long bigDecimalNanos = System.nanoTime() - bigDecimalBegin;
+
+            Map<String, Object> report = BacktestMetricsRegression.compare(primitive, reference, tolerance);
+            report.put("strategy_code", strategyType);
+            report.put("number_of_trades", tradingRecord.getPositionCount());
+            report.put("primitive_millis", primitiveNanos / 1_000_000.0);
+            report.put("bigdecimal_millis", bigDecimalNanos / 1_000_000.0);
+            report.put("speedup", primitiveNanos > 0 ? (double) bigDecimalNanos / primitiveNanos : null);
+            return report;
+        } finally {
+            Ta4jNumUtil.reset();
+        }
+    }
+
+    /**
+     * 对比DoubleNum快速模式与DecimalNum高精度模式的回测结果
+     *
+     * @param decimalResult DecimalNum模式回测结果
+     * @param decimalMillis DecimalNum模式耗时（毫秒）
+     * @param doubleResult  DoubleNum模式回测结果
+     * @param doubleMillis  DoubleNum模式耗时（毫秒）
+     * @return 对比报告，包含耗时、加速比、交易次数是否一致以及主要指标的绝对误差
+     */
+    public Map<String, Object> compareNumModes(BacktestResultDTO decimalResult, long decimalMillis,
+                                               BacktestResultDTO doubleResult, long doubleMillis) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("decimal_millis", decimalMillis);
+        report.put("double_millis", doubleMillis);
+        report.put("speedup", doubleMillis > 0
+                ? BigDecimal.valueOf(decimalMillis).divide(BigDecimal.valueOf(doubleMillis), 2, RoundingMode.HALF_UP)
+                : null);
+
+        if (decimalResult == null || doubleResult == null || !decimalResult.isSuccess() || !doubleResult.isSuccess()) {
+            report.put("comparable", false);
+            return report;
+        }
+
+        report.put("comparable", true);
+        report.put("same_trade_count", decimalResult.getNumberOfTrades() == doubleResult.getNumberOfTrades());
+        report.put("decimal_trades", decimalResult.getNumberOfTrades());
+        report.put("double_trades", doubleResult.getNumberOfTrades());
+
+        Map<String, BigDecimal> diffs = new LinkedHashMap<>();
+        diffs.put("total_return", absDiff(decimalResult.getTotalReturn(), doubleResult.getTotalReturn()));
+        diffs.put("final_amount", absDiff(decimalResult.getFinalAmount(), doubleResult.getFinalAmount()));
+        diffs.put("win_rate", absDiff(decimalResult.getWinRate(), doubleResult.getWinRate()));
+        diffs.put("max_drawdown", absDiff(decimalResult.getMaxDrawdown(), doubleResult.getMaxDrawdown()));
+        diffs.put("sharpe_ratio", absDiff(decimalResult.getSharpeRatio(), doubleResult.getSharpeRatio()));
+        diffs.put("profit_factor", absDiff(decimalResult.getProfitFactor(), doubleResult.getProfitFactor()));
+        report.put("abs_diff", diffs);
+        return report;
+    }
+
+    /**
+     * 汇总批量回测中各策略的数值模式对比报告
+     *
+     * @param reports 各策略的对比报告
+     * @return 汇总报告，包含总耗时、整体加速比、交易次数不一致的策略数及收益率最大误差
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> summarizeNumModeComparisons(List<Map<String, Object>> reports) {
+        long decimalMillis = 0;
+        long doubleMillis = 0;
+        int comparable = 0;
+        int tradeMismatch = 0;
+        BigDecimal maxReturnDiff = BigDecimal.ZERO;
+
+        for (Map<String, Object> report : reports) {
+            decimalMillis += (long) report.get("decimal_millis");
+            doubleMillis += (long) report.get("double_millis");
+            if (!Boolean.TRUE.equals(report.get("comparable"))) {
+                continue;
+            }
+            comparable++;
+            if (!Boolean.TRUE.equals(report.get("same_trade_count"))) {
+                tradeMismatch++;
+            }
+            BigDecimal returnDiff = ((Map<String, BigDecimal>) report.get("abs_diff")).get("total_return");
+            if (returnDiff != null && returnDiff.compareTo(maxReturnDiff) > 0) {
+                maxReturnDiff = returnDiff;
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("compared_strategies", comparable);
+        summary.put("trade_count_mismatches", tradeMismatch);
+        summary.put("max_total_return_diff", maxReturnDiff);
+        summary.put("decimal_millis", decimalMillis);
+        summary.put("double_millis", doubleMillis);
+        summary.put("speedup", doubleMillis > 0
+                ? BigDecimal.valueOf(decimalMillis).divide(BigDecimal.valueOf(doubleMillis), 2, RoundingMode.HALF_UP)
+                : null);
+        return summary;
+    }
+
+    private static BigDecimal absDiff(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return null;
         }
+        return a.subtract(b).abs();
     }
 
     /**
@@ -94,10 +250,10 @@ public class Ta4jBacktestService {
      * @return 回测结果DTO
      */
     private BacktestResultDTO calculateBacktestMetrics(BarSeries series, TradingRecord tradingRecord, BigDecimal initialAmount, String strategyType,
-                                                       String paramDescription, BigDecimal feeRatio, String interval, List<CandlestickEntity> benchmarkCandlesticks) throws Exception {
+                                                       String paramDescription, BigDecimal feeRatio, String interval, BenchmarkSeries benchmark) throws Exception {
         // 使用指标计算器计算所有回测指标
         BacktestMetricsCalculator calculator = new BacktestMetricsCalculator(
-                series, tradingRecord, initialAmount, strategyType, paramDescription, feeRatio, interval, benchmarkCandlesticks);
+                series, tradingRecord, initialAmount, strategyType, paramDescription, feeRatio, interval, benchmark);
 
         BacktestResultDTO result = calculator.getResult();
 
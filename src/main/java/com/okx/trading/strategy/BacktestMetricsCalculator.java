@@ -2,7 +2,6 @@ package com.okx.trading.strategy;
 
 import com.okx.trading.model.dto.BacktestResultDTO;
 import com.okx.trading.model.dto.TradeRecordDTO;
-import com.okx.trading.model.entity.CandlestickEntity;
 import com.okx.trading.service.IndicatorDistributionService;
 import com.okx.trading.service.IndicatorWeightService;
 import com.okx.trading.service.impl.Ta4jBacktestService;
@@ -124,6 +123,16 @@ import static com.okx.trading.util.BacktestDataGenerator.parseIntervalToMinutes;
 @Slf4j
 public class BacktestMetricsCalculator {
 
+    /**
+     * 风险指标计算引擎：基于原始double数组的单次遍历实现（默认）
+     */
+    public static final String METRICS_ENGINE_PRIMITIVE = "primitive";
+
+    /**
+     * 风险指标计算引擎：原有基于List&lt;BigDecimal&gt;的实现，保留用于回归对比
+     */
+    public static final String METRICS_ENGINE_BIGDECIMAL = "bigdecimal";
+
     // 计算结果
     private BacktestResultDTO result;
 
@@ -135,7 +144,8 @@ public class BacktestMetricsCalculator {
     private final String paramDescription;
     private final BigDecimal feeRatio;
     private final String interval;
-    private final List<CandlestickEntity> benchmarkCandlesticks;
+    private final BenchmarkSeries benchmark;
+    private final String metricsEngine;
 
     // 中间计算结果
     private List<TradeRecordDTO> tradeRecords;
@@ -167,7 +177,20 @@ public class BacktestMetricsCalculator {
      * @param feeRatio         交易手续费率
      */
     public BacktestMetricsCalculator(BarSeries series, TradingRecord tradingRecord, BigDecimal initialAmount, String strategyType,
-                                     String paramDescription, BigDecimal feeRatio, String interval, List<CandlestickEntity> benchmarkCandlesticks) {
+                                     String paramDescription, BigDecimal feeRatio, String interval, BenchmarkSeries benchmark) {
+        this(series, tradingRecord, initialAmount, strategyType, paramDescription, feeRatio, interval, benchmark,
+                getConfiguredMetricsEngine());
+    }
+
+    /**
+     * 构造器 - 指定风险指标计算引擎
+     *
+     * @param metricsEngine 风险指标计算引擎：primitive 或 bigdecimal
+     */
+    public BacktestMetricsCalculator(BarSeries series, TradingRecord tradingRecord, BigDecimal initialAmount, String strategyType,
+                                     String paramDescription, BigDecimal feeRatio, String interval, BenchmarkSeries benchmark,
+                                     String metricsEngine) {
+        this.metricsEngine = metricsEngine;
         this.series = series;
         this.tradingRecord = tradingRecord;
         this.initialAmount = initialAmount;
@@ -175,7 +198,7 @@ public class BacktestMetricsCalculator {
         this.paramDescription = paramDescription;
         this.feeRatio = feeRatio;
         this.interval = interval;
-        this.benchmarkCandlesticks = benchmarkCandlesticks;
+        this.benchmark = benchmark;
 
         // 初始化服务实例
         this.weightService = getIndicatorWeightService();
@@ -206,7 +229,9 @@ public class BacktestMetricsCalculator {
             returnMetrics = calculateReturnMetrics(tradeStats);
 
             // 4. 计算风险指标
-            riskMetrics = calculateRiskMetrics(tradeStats, returnMetrics);
+            riskMetrics = METRICS_ENGINE_BIGDECIMAL.equalsIgnoreCase(metricsEngine)
+                    ? calculateRiskMetrics(tradeStats, returnMetrics)
+                    : calculateRiskMetricsPrimitive(tradeStats, returnMetrics);
 
             // 5. 构建最终结果
             result = buildFinalResult();
@@ -374,14 +399,23 @@ public class BacktestMetricsCalculator {
 
     /**
      * 基于strategyEquityCurve计算全周期的每日最大回撤和最大亏损
+     * 遍历资金曲线的同时按入场/出场索引累计每笔交易持仓期间的最大损失和最大回撤
      */
     private List<ArrayList<BigDecimal>> calculateMaximumLossAndDrawdown() {
         if (strategyEquityCurve == null || strategyEquityCurve.isEmpty()) {
             return Arrays.asList(new ArrayList<>(), new ArrayList<>());
         }
 
-        ArrayList<BigDecimal> dailyLossList = new ArrayList<>();
-        ArrayList<BigDecimal> dailyDrawdownList = new ArrayList<>();
+        ArrayList<BigDecimal> dailyLossList = new ArrayList<>(strategyEquityCurve.size());
+        ArrayList<BigDecimal> dailyDrawdownList = new ArrayList<>(strategyEquityCurve.size());
+
+        // 交易持仓区间，索引异常的交易不参与累计
+        int[][] positionIndexes = tradingRecord == null ? new int[][]{new int[0], new int[0]} : closedPositionIndexes();
+        int[] entryIndexes = positionIndexes[0];
+        int[] exitIndexes = positionIndexes[1];
+        BigDecimal[] tradeMaxLoss = new BigDecimal[exitIndexes.length];
+        BigDecimal[] tradeMaxDrawdown = new BigDecimal[exitIndexes.length];
+        int tradeIndex = 0;
 
         // 初始资金作为基准
         BigDecimal initialAmount = strategyEquityCurve.get(0);
@@ -417,36 +451,28 @@ public class BacktestMetricsCalculator {
 
             dailyLossList.add(lossRate);
             dailyDrawdownList.add(drawdownRate);
-        }
-
-        // 设置最大损失和最大回撤到交易记录中 - 修复边界问题
-        for (int i = 0; i < tradeRecords.size() && i < tradingRecord.getPositionCount(); i++) {
-            try {
-                Position position = tradingRecord.getPositions().get(i);
-                int entryIndex = position.getEntry().getIndex();
-                int exitIndex = position.getExit().getIndex();
-
-                // 边界检查
-                if (entryIndex >= 0 && exitIndex >= entryIndex &&
-                        entryIndex < dailyLossList.size() && exitIndex < dailyLossList.size()) {
 
-                    // 正确处理subList边界（exitIndex+1因为subList是左闭右开）
-                    int actualExitIndex = Math.min(exitIndex + 1, dailyLossList.size());
-
-                    List<BigDecimal> tradePeriodsLoss = dailyLossList.subList(entryIndex, actualExitIndex);
-                    tradeRecords.get(i).setMaxLoss(tradePeriodsLoss.stream().reduce(BigDecimal::max).orElse(BigDecimal.ZERO));
+            // 累计当日所在交易的最大损失和最大回撤
+            while (tradeIndex < exitIndexes.length && exitIndexes[tradeIndex] < i) {
+                tradeIndex++;
+            }
+            if (tradeIndex < exitIndexes.length && entryIndexes[tradeIndex] <= i) {
+                tradeMaxLoss[tradeIndex] = tradeMaxLoss[tradeIndex] == null ? lossRate : tradeMaxLoss[tradeIndex].max(lossRate);
+                tradeMaxDrawdown[tradeIndex] = tradeMaxDrawdown[tradeIndex] == null ? drawdownRate : tradeMaxDrawdown[tradeIndex].max(drawdownRate);
+            }
+        }
 
-                    List<BigDecimal> tradePeriodsDrawdown = dailyDrawdownList.subList(entryIndex, actualExitIndex);
-                    tradeRecords.get(i).setMaxDrawdown(tradePeriodsDrawdown.stream().reduce(BigDecimal::max).orElse(BigDecimal.ZERO));
-                } else {
-                    // 索引异常时设置默认值
-                    log.warn("交易 {} 的索引异常: entry={}, exit={}, dailyListSize={}，设置默认值",
-                            i, entryIndex, exitIndex, dailyLossList.size());
-                    tradeRecords.get(i).setMaxLoss(BigDecimal.ZERO);
-                    tradeRecords.get(i).setMaxDrawdown(BigDecimal.ZERO);
-                }
-            } catch (Exception e) {
-                log.error("计算交易 {} 的最大损失和回撤时出错: {}", i, e.getMessage());
+        // 设置最大损失和最大回撤到交易记录中
+        for (int i = 0; i < exitIndexes.length; i++) {
+            int entryIndex = entryIndexes[i];
+            int exitIndex = exitIndexes[i];
+            if (entryIndex >= 0 && exitIndex >= entryIndex && exitIndex < dailyLossList.size()) {
+                tradeRecords.get(i).setMaxLoss(tradeMaxLoss[i] != null ? tradeMaxLoss[i] : BigDecimal.ZERO);
+                tradeRecords.get(i).setMaxDrawdown(tradeMaxDrawdown[i] != null ? tradeMaxDrawdown[i] : BigDecimal.ZERO);
+            } else {
+                // 索引异常时设置默认值
+                log.warn("交易 {} 的索引异常: entry={}, exit={}, dailyListSize={}，设置默认值",
+                        i, entryIndex, exitIndex, dailyLossList.size());
                 tradeRecords.get(i).setMaxLoss(BigDecimal.ZERO);
                 tradeRecords.get(i).setMaxDrawdown(BigDecimal.ZERO);
             }
@@ -793,7 +819,7 @@ public class BacktestMetricsCalculator {
         metrics.volatility = calculateVolatility(series, annualizationFactor);
 
         // Alpha 表示策略超额收益，Beta 表示策略相对于基准收益的敏感度（风险）
-        metrics.alphaBeta = calculateAlphaBeta(fullPeriodStrategyReturns, benchmarkCandlesticks);
+        metrics.alphaBeta = calculateAlphaBeta(fullPeriodStrategyReturns, alignedBenchmarkReturns(series.getBarCount()));
 
         // 计算年化 Treynor 比率
         metrics.treynorRatio = Ta4jBacktestService.calculateTreynorRatio(fullPeriodStrategyReturns, riskFreeRate, metrics.alphaBeta[1], annualizationFactor);
@@ -862,6 +888,208 @@ public class BacktestMetricsCalculator {
         return metrics;
     }
 
+    /**
+     * 计算风险指标 - 原始double数组实现
+     * 收益率、资金曲线、收盘价和基准收益率各转换一次为double[]，
+     * 之后由 {@link PrimitiveMetricsEngine} 按类别单次遍历计算，只在写入结果时转换为BigDecimal，
+     * 各指标的精度与 {@link #calculateRiskMetrics(TradeStatistics, ReturnMetrics)} 保持一致。
+     */
+    private RiskMetrics calculateRiskMetricsPrimitive(TradeStatistics tradeStats, ReturnMetrics returnMetrics) {
+
+        RiskMetrics metrics = new RiskMetrics();
+
+        // 假设无风险收益率为0（与BigDecimal实现一致）
+        double riskFreeRate = 0.0;
+        int annualizationFactor = detectAnnualizationFactor(series);
+
+        double[] closes = new double[series.getBarCount()];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = series.getBar(i).getClosePrice().doubleValue();
+        }
+        double[] returns = calculateFullPeriodStrategyReturnArray(closes);
+
+        // 计算包含手续费的真实策略资金曲线（结果DTO仍需要BigDecimal列表）
+        strategyEquityCurve = calculateRealStrategyEquityCurve();
+        double[] equity = new double[strategyEquityCurve.size()];
+        for (int i = 0; i < equity.length; i++) {
+            equity[i] = strategyEquityCurve.get(i).doubleValue();
+        }
+
+        // 收益率分布类指标：一次遍历
+        PrimitiveMetricsEngine.ReturnStats returnStats = PrimitiveMetricsEngine.returnStats(returns, riskFreeRate);
+        metrics.sharpeRatio = scale(PrimitiveMetricsEngine.sharpeRatio(returnStats, riskFreeRate, annualizationFactor), 6);
+        metrics.omega = scale(PrimitiveMetricsEngine.omegaRatio(returnStats), 6);
+        metrics.sortinoRatio = scale(PrimitiveMetricsEngine.sortinoRatio(returnStats, riskFreeRate, annualizationFactor), 6);
+        metrics.skewness = BigDecimal.valueOf(PrimitiveMetricsEngine.skewness(returnStats));
+        metrics.kurtosis = scale(PrimitiveMetricsEngine.kurtosis(returnStats), 4);
+        metrics.downsideDeviation = scale(PrimitiveMetricsEngine.downsideDeviation(returnStats), 4);
+
+        double[] var = PrimitiveMetricsEngine.valueAtRisk(returns);
+        metrics.var95 = scale(var[0], 4);
+        metrics.var99 = scale(var[1], 4);
+        metrics.cvar = scale(var[2], 4);
+
+        // 波动率（基于收盘价）
+        metrics.volatility = scale(PrimitiveMetricsEngine.volatility(closes, annualizationFactor), 4);
+
+        // Alpha/Beta 与 Treynor 比率
+        double[] alphaBeta = PrimitiveMetricsEngine.alphaBeta(returns, alignedBenchmarkReturns(closes.length));
+        metrics.alphaBeta = new BigDecimal[]{BigDecimal.valueOf(alphaBeta[0]), BigDecimal.valueOf(alphaBeta[1])};
+        metrics.treynorRatio = scale(PrimitiveMetricsEngine.treynorRatio(returnStats, riskFreeRate, alphaBeta[1], annualizationFactor), 6);
+
+        // 资金曲线回撤类指标：一次遍历
+        PrimitiveMetricsEngine.DrawdownStats drawdownStats = PrimitiveMetricsEngine.drawdownStats(equity);
+        metrics.ulcerIndex = BigDecimal.valueOf(drawdownStats.ulcerIndex);
+        if (equity.length < 2) {
+            metrics.sterlingRatio = BigDecimal.ZERO;
+            metrics.burkeRatio = BigDecimal.ZERO;
+            metrics.maxDrawdownDuration = BigDecimal.ZERO;
+            metrics.painIndex = BigDecimal.ZERO;
+        } else {
+            metrics.sterlingRatio = drawdownRatio(returnMetrics.annualizedReturn, scale(drawdownStats.averageDrawdown, 4));
+            metrics.burkeRatio = drawdownRatio(returnMetrics.annualizedReturn, scale(drawdownStats.squareRootDrawdown, 4));
+            metrics.maxDrawdownDuration = BigDecimal.valueOf(drawdownStats.maxDrawdownDuration);
+            metrics.painIndex = scale(drawdownStats.painIndex, 4);
+        }
+
+        // 相对基准类指标：一次遍历
+        PrimitiveMetricsEngine.RelativeStats relativeStats =
+                PrimitiveMetricsEngine.relativeStats(returns, alignedBenchmarkReturns(equity.length));
+        if (relativeStats.comparable) {
+            metrics.trackingError = scale(relativeStats.trackingError, 4);
+            metrics.informationRatio = metrics.trackingError.signum() == 0
+                    ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(relativeStats.meanExcessReturn * annualizationFactor)
+                    .divide(metrics.trackingError, 4, RoundingMode.HALF_UP);
+            metrics.uptrendCapture = scale(relativeStats.uptrendCapture, 4);
+            metrics.downtrendCapture = scale(relativeStats.downtrendCapture, 4);
+        } else {
+            metrics.trackingError = BigDecimal.ZERO;
+            metrics.informationRatio = BigDecimal.ZERO;
+            metrics.uptrendCapture = BigDecimal.ZERO;
+            metrics.downtrendCapture = BigDecimal.ZERO;
+        }
+
+        // 计算修正夏普比率（考虑偏度和峰度）
+        metrics.modifiedSharpeRatio = calculateModifiedSharpeRatio(metrics.sharpeRatio, metrics.skewness, metrics.kurtosis);
+
+        // 计算风险调整收益
+        metrics.riskAdjustedReturn = calculateRiskAdjustedReturn(returnMetrics.totalReturn, metrics);
+
+        // 计算最大损失和最大回撤，并写入每笔交易
+        double[][] lossAndDrawdown = PrimitiveMetricsEngine.lossAndDrawdownSeries(equity);
+        applyTradeLossAndDrawdown(lossAndDrawdown[0], lossAndDrawdown[1]);
+        tradeStats.maximumLoss = equity.length == 0 ? BigDecimal.ZERO
+                : scale(PrimitiveMetricsEngine.max(lossAndDrawdown[0], 0, equity.length - 1), 8);
+        tradeStats.maxDrawdown = equity.length == 0 ? BigDecimal.ZERO
+                : scale(PrimitiveMetricsEngine.max(lossAndDrawdown[1], 0, equity.length - 1), 8);
+
+        tradeStats.maxDrawDownPeriod = tradeRecords.stream().map(TradeRecordDTO::getMaxDrawdownPeriod).reduce(BigDecimal::max).get();
+        tradeStats.maximumLossPeriod = tradeRecords.stream().map(TradeRecordDTO::getMaxLossPeriod).reduce(BigDecimal::max).get();
+
+        // 计算Calmar比率
+        metrics.calmarRatio = Ta4jBacktestService.calculateCalmarRatio(returnMetrics.annualizedReturn, tradeStats.maxDrawdown);
+
+        // 计算综合评分 (0-10分) - 优先使用基于数据库分布的动态评分
+        metrics.comprehensiveScore = calculateDatabaseBasedScore(returnMetrics, tradeStats, metrics);
+
+        return metrics;
+    }
+
+    /**
+     * 计算全周期策略对数收益率（原始数组版本），规则与 {@link #calculateFullPeriodStrategyReturns} 一致：
+     * 买入当根和卖出后一根收益率为0，持仓期间为收盘价对数收益率，未持仓为0
+     */
+    private double[] calculateFullPeriodStrategyReturnArray(double[] closes) {
+        int barCount = closes.length;
+        if (barCount < 2) {
+            return new double[0];
+        }
+        double[] returns = new double[barCount];
+        if (tradingRecord == null || tradingRecord.getPositionCount() == 0) {
+            return new double[barCount - 1];
+        }
+
+        boolean[] isInPosition = new boolean[barCount];
+        boolean[] isEntryDay = new boolean[barCount];
+        boolean[] isExitDay = new boolean[barCount];
+        for (Position position : tradingRecord.getPositions()) {
+            if (position.isClosed()) {
+                int entryIndex = position.getEntry().getIndex();
+                int exitIndex = position.getExit().getIndex();
+                if (entryIndex < barCount) {
+                    isEntryDay[entryIndex] = true;
+                }
+                if (exitIndex < barCount) {
+                    isExitDay[exitIndex] = true;
+                }
+                for (int i = entryIndex; i <= exitIndex && i < barCount; i++) {
+                    isInPosition[i] = true;
+                }
+            }
+        }
+
+        for (int i = 0; i < barCount; i++) {
+            if (i == 0 || isEntryDay[i] || isExitDay[i - 1] || !isInPosition[i]) {
+                continue;
+            }
+            if (closes[i - 1] > 0) {
+                returns[i] = Math.log(closes[i] / closes[i - 1]);
+            }
+        }
+        return returns;
+    }
+
+    /**
+     * 按时间戳与K线序列对齐的基准对数收益率，第一个元素为0，没有基准数据时全为0；
+     * 长度与K线数量相同时直接返回共享数组，否则补0或截断到指定长度
+     */
+    private double[] alignedBenchmarkReturns(int length) {
+        if (benchmark == null) {
+            return new double[length];
+        }
+        double[] returns = benchmark.alignedLogReturns(series);
+        return returns.length == length ? returns : Arrays.copyOf(returns, length);
+    }
+
+    /**
+     * 将每笔交易持仓期间的最大损失率和最大回撤率写入交易记录（原始数组版本）
+     */
+    private void applyTradeLossAndDrawdown(double[] losses, double[] drawdowns) {
+        for (int i = 0; i < tradeRecords.size() && i < tradingRecord.getPositionCount(); i++) {
+            TradeRecordDTO trade = tradeRecords.get(i);
+            Position position = tradingRecord.getPositions().get(i);
+            int entryIndex = position.getEntry().getIndex();
+            int exitIndex = position.getExit() != null ? position.getExit().getIndex() : -1;
+            if (entryIndex >= 0 && exitIndex >= entryIndex && exitIndex < losses.length) {
+                trade.setMaxLoss(scale(PrimitiveMetricsEngine.max(losses, entryIndex, exitIndex), 8));
+                trade.setMaxDrawdown(scale(PrimitiveMetricsEngine.max(drawdowns, entryIndex, exitIndex), 8));
+            } else {
+                log.warn("交易 {} 的索引异常: entry={}, exit={}, dailyListSize={}，设置默认值",
+                        i, entryIndex, exitIndex, losses.length);
+                trade.setMaxLoss(BigDecimal.ZERO);
+                trade.setMaxDrawdown(BigDecimal.ZERO);
+            }
+        }
+    }
+
+    /**
+     * Sterling/Burke比率：年化收益率 / 回撤度量，回撤为0时按原实现返回上限值或0
+     */
+    private static BigDecimal drawdownRatio(BigDecimal annualizedReturn, BigDecimal drawdownMeasure) {
+        if (drawdownMeasure.signum() == 0) {
+            return annualizedReturn.compareTo(BigDecimal.ZERO) > 0 ? new BigDecimal("999.9999") : BigDecimal.ZERO;
+        }
+        return annualizedReturn.divide(drawdownMeasure, 4, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * double转BigDecimal并保留指定小数位
+     */
+    private static BigDecimal scale(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+    }
+
     /**
      * 构建最终结果
      */
@@ -1075,6 +1303,18 @@ public class BacktestMetricsCalculator {
         }
     }
 
+    /**
+     * 读取配置的风险指标计算引擎（okx.backtest.metrics.engine），非Spring环境下使用默认的primitive实现
+     */
+    private static String getConfiguredMetricsEngine() {
+        try {
+            return SpringContextUtil.getApplicationContext().getEnvironment()
+                    .getProperty("okx.backtest.metrics.engine", METRICS_ENGINE_PRIMITIVE);
+        } catch (Exception e) {
+            return METRICS_ENGINE_PRIMITIVE;
+        }
+    }
+
     /**
      * 获取计算结果
      */
@@ -1233,42 +1473,14 @@ public class BacktestMetricsCalculator {
     }
 
     /**
-     * 计算基准收益率序列
+     * 计算基准收益率序列，按时间戳与K线序列对齐，长度与资金曲线相同
      */
     private List<BigDecimal> calculateBenchmarkReturns() {
-        List<BigDecimal> benchmarkReturns = new ArrayList<>();
-
-        if (benchmarkCandlesticks == null || benchmarkCandlesticks.size() < 2) {
-            // 如果没有基准数据，返回与策略收益率相同长度的零收益率
-            for (int i = 0; i < strategyEquityCurve.size(); i++) {
-                benchmarkReturns.add(BigDecimal.ZERO);
-            }
-            return benchmarkReturns;
-        }
-
-        // 计算基准的对数收益率
-        for (int i = 1; i < benchmarkCandlesticks.size(); i++) {
-            BigDecimal current = benchmarkCandlesticks.get(i).getClose();
-            BigDecimal previous = benchmarkCandlesticks.get(i - 1).getClose();
-
-            if (previous.compareTo(BigDecimal.ZERO) > 0) {
-                double logReturn = Math.log(current.doubleValue() / previous.doubleValue());
-                benchmarkReturns.add(BigDecimal.valueOf(logReturn));
-            } else {
-                benchmarkReturns.add(BigDecimal.ZERO);
-            }
+        double[] aligned = alignedBenchmarkReturns(strategyEquityCurve.size());
+        List<BigDecimal> benchmarkReturns = new ArrayList<>(aligned.length);
+        for (double value : aligned) {
+            benchmarkReturns.add(value == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(value));
         }
-
-        // 确保长度匹配
-        while (benchmarkReturns.size() < strategyEquityCurve.size()) {
-            benchmarkReturns.add(BigDecimal.ZERO);
-        }
-
-        // 截取到相同长度
-        if (benchmarkReturns.size() > strategyEquityCurve.size()) {
-            benchmarkReturns = benchmarkReturns.subList(0, strategyEquityCurve.size());
-        }
-
         return benchmarkReturns;
     }
 
@@ -1810,7 +2022,8 @@ public class BacktestMetricsCalculator {
 
     /**
      * 计算包含手续费的真实策略资金曲线（基于实际交易记录）
-     * 该方法将计算每一天的实际资金价值，包含手续费的影响
+     * 交易记录与已平仓的Position一一对应，按入场/出场K线索引单次遍历K线：
+     * 出场K线取交易完成后的金额（已扣除手续费），持仓期间按收盘价相对入场价计算持仓价值，空仓期间保持上一个金额。
      */
     private List<BigDecimal> calculateRealStrategyEquityCurve() {
         List<BigDecimal> equityCurve = new ArrayList<>();
@@ -1827,36 +2040,39 @@ public class BacktestMetricsCalculator {
             return equityCurve;
         }
 
-        // 创建一个简化的方法：基于交易完成时点来构建资金曲线
+        int[][] positionIndexes = closedPositionIndexes();
+        int[] entryIndexes = positionIndexes[0];
+        int[] exitIndexes = positionIndexes[1];
+
         // 第一天是初始金额
         equityCurve.add(initialAmount);
-
-        // 创建交易时间到金额的映射
-        Map<LocalDateTime, BigDecimal> tradeAmounts = new HashMap<>();
-        BigDecimal currentAmount = initialAmount;
-
-        // 按时间顺序处理所有交易，记录每笔交易完成后的金额
-        for (TradeRecordDTO trade : tradeRecords) {
-            currentAmount = trade.getExitAmount(); // 交易完成后的金额（已扣除手续费）
-            tradeAmounts.put(trade.getExitTime(), currentAmount);
-        }
-
-        // 从第二天开始，逐日构建资金曲线
         BigDecimal latestAmount = initialAmount;
 
-        for (int i = 1; i < series.getBarCount(); i++) {
-            LocalDateTime barTime = ZonedDateTime.from(series.getBar(i).getEndTime().atZone(ZoneId.of("UTC+8"))).toLocalDateTime();
+        // 当前（或下一笔）交易及其扣除入场手续费后的实际交易金额
+        int tradeIndex = 0;
+        BigDecimal actualTradeAmount = null;
 
-            // 检查这一天是否有交易完成
-            if (tradeAmounts.containsKey(barTime)) {
-                latestAmount = tradeAmounts.get(barTime);
+        for (int i = 1; i < series.getBarCount(); i++) {
+            // 跳过已经在当前K线之前平仓的交易
+            while (tradeIndex < exitIndexes.length && exitIndexes[tradeIndex] < i) {
+                tradeIndex++;
+                actualTradeAmount = null;
             }
-            // 如果这一天没有交易完成，检查是否在持仓期间
-            else {
-                // 查找是否处于某个交易的持仓期间
-                BigDecimal dailyValue = calculateDailyValueInPosition(barTime, latestAmount);
-                if (dailyValue != null) {
-                    latestAmount = dailyValue;
+
+            if (tradeIndex < exitIndexes.length) {
+                TradeRecordDTO trade = tradeRecords.get(tradeIndex);
+                if (i == exitIndexes[tradeIndex]) {
+                    // 这一天有交易完成
+                    latestAmount = trade.getExitAmount();
+                } else if (i >= entryIndexes[tradeIndex]) {
+                    // 持仓期间，根据价格变动计算价值
+                    if (actualTradeAmount == null) {
+                        BigDecimal entryAmount = trade.getEntryAmount();
+                        actualTradeAmount = entryAmount.subtract(entryAmount.multiply(feeRatio));
+                    }
+                    BigDecimal currentPrice = BigDecimal.valueOf(series.getBar(i).getClosePrice().doubleValue());
+                    BigDecimal priceRatio = currentPrice.divide(trade.getEntryPrice(), 10, RoundingMode.HALF_UP);
+                    latestAmount = actualTradeAmount.multiply(priceRatio);
                 }
                 // 如果不在持仓期间，保持上一个金额
             }
@@ -1867,47 +2083,41 @@ public class BacktestMetricsCalculator {
         // 验证最终金额是否与实际交易收益一致
         BigDecimal expectedFinalAmount = tradeRecords.get(tradeRecords.size() - 1).getExitAmount();
         BigDecimal actualFinalAmount = equityCurve.get(equityCurve.size() - 1);
-        if (!tradeRecords.isEmpty()) {
-            if (expectedFinalAmount.subtract(actualFinalAmount).abs().compareTo(BigDecimal.valueOf(0.01)) > 0) {
-                log.warn("策略资金曲线最终金额与实际交易收益不一致！预期: {}, 实际: {}",
-                        expectedFinalAmount.setScale(4, RoundingMode.HALF_UP), actualFinalAmount.setScale(4, RoundingMode.HALF_UP));
-                // 修正最终金额
-                equityCurve.set(equityCurve.size() - 1, expectedFinalAmount);
-            } 
+        if (expectedFinalAmount.subtract(actualFinalAmount).abs().compareTo(BigDecimal.valueOf(0.01)) > 0) {
+            log.warn("策略资金曲线最终金额与实际交易收益不一致！预期: {}, 实际: {}",
+                    expectedFinalAmount.setScale(4, RoundingMode.HALF_UP), actualFinalAmount.setScale(4, RoundingMode.HALF_UP));
+            // 修正最终金额
+            equityCurve.set(equityCurve.size() - 1, expectedFinalAmount);
         }
 
         return equityCurve;
     }
 
     /**
-     * 计算持仓期间某一天的资金价值
+     * 与tradeRecords一一对应的已平仓Position的入场、出场K线索引
+     *
+     * @return [入场索引数组, 出场索引数组]
      */
-    private BigDecimal calculateDailyValueInPosition(LocalDateTime targetTime, BigDecimal baseAmount) {
-        // 查找包含目标时间的交易
-        for (TradeRecordDTO trade : tradeRecords) {
-            if (!targetTime.isBefore(trade.getEntryTime()) && !targetTime.isAfter(trade.getExitTime())) {
-                // 在持仓期间，根据价格变动计算价值
-                BigDecimal entryPrice = trade.getEntryPrice();
-
-                // 找到目标时间对应的价格
-                for (int i = 0; i < series.getBarCount(); i++) {
-                    LocalDateTime barTime = ZonedDateTime.from(series.getBar(i).getEndTime().atZone(ZoneId.of("UTC+8"))).toLocalDateTime();
-                    if (barTime.equals(targetTime)) {
-                        BigDecimal currentPrice = BigDecimal.valueOf(series.getBar(i).getClosePrice().doubleValue());
-
-                        // 计算入场时的实际交易金额（扣除手续费）
-                        BigDecimal entryAmount = trade.getEntryAmount();
-                        BigDecimal entryFee = entryAmount.multiply(feeRatio);
-                        BigDecimal actualTradeAmount = entryAmount.subtract(entryFee);
-
-                        // 根据价格变动计算当前持仓价值
-                        BigDecimal priceRatio = currentPrice.divide(entryPrice, 10, RoundingMode.HALF_UP);
-                        return actualTradeAmount.multiply(priceRatio);
-                    }
-                }
+    private int[][] closedPositionIndexes() {
+        int tradeCount = tradeRecords.size();
+        int[] entryIndexes = new int[tradeCount];
+        int[] exitIndexes = new int[tradeCount];
+        int count = 0;
+        for (Position position : tradingRecord.getPositions()) {
+            if (count >= tradeCount) {
+                break;
+            }
+            if (position.isClosed()) {
+                entryIndexes[count] = position.getEntry().getIndex();
+                exitIndexes[count] = position.getExit().getIndex();
+                count++;
             }
         }
-        return null; // 不在任何持仓期间
+        if (count < tradeCount) {
+            entryIndexes = Arrays.copyOf(entryIndexes, count);
+            exitIndexes = Arrays.copyOf(exitIndexes, count);
+        }
+        return new int[][]{entryIndexes, exitIndexes};
     }
 
     /**
@@ -2061,19 +2271,15 @@ public class BacktestMetricsCalculator {
      * 计算 Alpha 和 Beta
      * Alpha 表示策略超额收益，Beta 表示策略相对于基准收益的敏感度（风险）
      *
-     * @param strategyReturns  策略每日收益率序列
-     * @param benchmarkReturns 基准每日收益率序列
+     * @param strategyReturns        策略每日收益率序列
+     * @param alignedBenchmarkReturns 与K线序列按时间戳对齐的基准对数收益率，第一个元素为0
      * @return 包含Alpha和Beta的数组 [Alpha, Beta]
      */
-    public static BigDecimal[] calculateAlphaBeta(List<BigDecimal> strategyReturns, List<CandlestickEntity> benchmarkCandlesticks) {
-
-        List<BigDecimal> benchmarkPriceList = benchmarkCandlesticks.stream().map(CandlestickEntity::getClose).collect(Collectors.toList());
-        List<BigDecimal> benchmarkReturns = new ArrayList<>();
-        benchmarkReturns.add(BigDecimal.ZERO);
-        for (int i = 1; i < benchmarkPriceList.size(); i++) {
-            // 使用对数收益率保持与策略收益率计算的一致性
-            double logReturn = Math.log(benchmarkPriceList.get(i).doubleValue() / benchmarkPriceList.get(i - 1).doubleValue());
-            benchmarkReturns.add(BigDecimal.valueOf(logReturn));
+    public static BigDecimal[] calculateAlphaBeta(List<BigDecimal> strategyReturns, double[] alignedBenchmarkReturns) {
+
+        List<BigDecimal> benchmarkReturns = new ArrayList<>(alignedBenchmarkReturns.length);
+        for (double value : alignedBenchmarkReturns) {
+            benchmarkReturns.add(BigDecimal.valueOf(value));
         }
 
         // 添加空值检查和长度验证，避免抛出异常
@@ -0,0 +1,128 @@
+package com.okx.trading.strategy;
+
+import com.okx.trading.model.dto.BacktestResultDTO;
+import com.okx.trading.model.dto.TradeRecordDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 回测指标引擎回归对比
+ * 对同一次回测分别使用原始double实现和BigDecimal实现计算指标，逐项比较结果是否在容差内一致，
+ * 用于验证 {@link PrimitiveMetricsEngine} 替换原实现后没有改变任何指标的含义。
+ */
+public final class BacktestMetricsRegression {
+
+    /**
+     * 参与对比的指标：名称 -> 取值函数
+     */
+    private static final Map<String, Function<BacktestResultDTO, BigDecimal>> METRICS = new LinkedHashMap<>();
+
+    static {
+        METRICS.put("total_return", BacktestResultDTO::getTotalReturn);
+        METRICS.put("annualized_return", BacktestResultDTO::getAnnualizedReturn);
+        METRICS.put("max_drawdown", BacktestResultDTO::getMaxDrawdown);
+        METRICS.put("maximum_loss", BacktestResultDTO::getMaximumLoss);
+        METRICS.put("sharpe_ratio", BacktestResultDTO::getSharpeRatio);
+        METRICS.put("sortino_ratio", BacktestResultDTO::getSortinoRatio);
+        METRICS.put("calmar_ratio", BacktestResultDTO::getCalmarRatio);
+        METRICS.put("omega", BacktestResultDTO::getOmega);
+        METRICS.put("volatility", BacktestResultDTO::getVolatility);
+        METRICS.put("alpha", BacktestResultDTO::getAlpha);
+        METRICS.put("beta", BacktestResultDTO::getBeta);
+        METRICS.put("treynor_ratio", BacktestResultDTO::getTreynorRatio);
+        METRICS.put("ulcer_index", BacktestResultDTO::getUlcerIndex);
+        METRICS.put("skewness", BacktestResultDTO::getSkewness);
+        METRICS.put("kurtosis", BacktestResultDTO::getKurtosis);
+        METRICS.put("var95", BacktestResultDTO::getVar95);
+        METRICS.put("var99", BacktestResultDTO::getVar99);
+        METRICS.put("cvar", BacktestResultDTO::getCvar);
+        METRICS.put("information_ratio", BacktestResultDTO::getInformationRatio);
+        METRICS.put("tracking_error", BacktestResultDTO::getTrackingError);
+        METRICS.put("sterling_ratio", BacktestResultDTO::getSterlingRatio);
+        METRICS.put("burke_ratio", BacktestResultDTO::getBurkeRatio);
+        METRICS.put("modified_sharpe_ratio", BacktestResultDTO::getModifiedSharpeRatio);
+        METRICS.put("downside_deviation", BacktestResultDTO::getDownsideDeviation);
+        METRICS.put("uptrend_capture", BacktestResultDTO::getUptrendCapture);
+        METRICS.put("downtrend_capture", BacktestResultDTO::getDowntrendCapture);
+        METRICS.put("max_drawdown_duration", BacktestResultDTO::getMaxDrawdownDuration);
+        METRICS.put("pain_index", BacktestResultDTO::getPainIndex);
+        METRICS.put("risk_adjusted_return", BacktestResultDTO::getRiskAdjustedReturn);
+        METRICS.put("comprehensive_score", BacktestResultDTO::getComprehensiveScore);
+    }
+
+    private BacktestMetricsRegression() {
+    }
+
+    /**
+     * 对比两种引擎的计算结果
+     *
+     * @param primitive 原始double实现的结果
+     * @param reference BigDecimal实现的结果（基准）
+     * @param tolerance 相对容差，|a-b| <= tolerance × max(1, |b|) 视为一致
+     * @return 对比报告：passed、max_abs_diff、每项指标的差值以及超出容差的指标
+     */
+    public static Map<String, Object> compare(BacktestResultDTO primitive, BacktestResultDTO reference, double tolerance) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        if (primitive == null || reference == null || !primitive.isSuccess() || !reference.isSuccess()) {
+            report.put("passed", primitive != null && reference != null && primitive.isSuccess() == reference.isSuccess());
+            report.put("comparable", false);
+            return report;
+        }
+
+        Map<String, Double> diffs = new LinkedHashMap<>();
+        List<String> mismatches = new ArrayList<>();
+        double maxAbsDiff = 0.0;
+        for (Map.Entry<String, Function<BacktestResultDTO, BigDecimal>> entry : METRICS.entrySet()) {
+            BigDecimal a = entry.getValue().apply(primitive);
+            BigDecimal b = entry.getValue().apply(reference);
+            if (a == null || b == null) {
+                if (a != b) {
+                    mismatches.add(entry.getKey());
+                }
+                continue;
+            }
+            double diff = Math.abs(a.doubleValue() - b.doubleValue());
+            diffs.put(entry.getKey(), diff);
+            maxAbsDiff = Math.max(maxAbsDiff, diff);
+            if (diff > tolerance * Math.max(1.0, Math.abs(b.doubleValue()))) {
+                mismatches.add(entry.getKey());
+            }
+        }
+
+        // 每笔交易的最大损失和最大回撤也由指标引擎写入
+        List<TradeRecordDTO> tradesA = primitive.getTrades();
+        List<TradeRecordDTO> tradesB = reference.getTrades();
+        if (tradesA != null && tradesB != null) {
+            if (tradesA.size() != tradesB.size()) {
+                mismatches.add("trades");
+            } else {
+                for (int i = 0; i < tradesA.size(); i++) {
+                    if (!withinTolerance(tradesA.get(i).getMaxLoss(), tradesB.get(i).getMaxLoss(), tolerance)
+                            || !withinTolerance(tradesA.get(i).getMaxDrawdown(), tradesB.get(i).getMaxDrawdown(), tolerance)) {
+                        mismatches.add("trade_" + i);
+                    }
+                }
+            }
+        }
+
+        report.put("passed", mismatches.isEmpty());
+        report.put("comparable", true);
+        report.put("tolerance", tolerance);
+        report.put("max_abs_diff", maxAbsDiff);
+        report.put("mismatches", mismatches);
+        report.put("abs_diff", diffs);
+        return report;
+    }
+
+    private static boolean withinTolerance(BigDecimal a, BigDecimal b, double tolerance) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Math.abs(a.doubleValue() - b.doubleValue()) <= tolerance * Math.max(1.0, Math.abs(b.doubleValue()));
+    }
+}
@@ -0,0 +1,234 @@
+package com.okx.trading.strategy;
+
+import com.okx.trading.model.entity.CandlestickEntity;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 基准收盘价序列
+ * 以K线结束时间（epoch毫秒，与BarSeries中Bar的结束时间一致）为索引的原始数组，不可变，可在多个策略间共享。
+ * 与策略K线序列按时间戳做一次归并对齐，同一个BarSeries只对齐一次，结果在批量回测的所有策略间复用。
+ * 从已对齐序列截取的连续子序列（如参数优化的前缀序列）直接按下标截取已对齐的结果，不再重新归并。
+ */
+public final class BenchmarkSeries {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC+8");
+
+    private final String symbol;
+    private final String interval;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final long[] endTimes;
+    private final double[] closes;
+
+    /**
+     * BarSeries -> 对齐后的基准对数收益率，按序列身份缓存，序列被回收后自动移除
+     */
+    private final Map<BarSeries, double[]> alignedReturns = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private BenchmarkSeries(String symbol, String interval, LocalDateTime startTime, LocalDateTime endTime,
+                            long[] endTimes, double[] closes) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.endTimes = endTimes;
+        this.closes = closes;
+    }
+
+    /**
+     * 由基准K线构建
+     *
+     * @param symbol       基准交易对
+     * @param interval     K线周期
+     * @param startTime    请求的开始时间
+     * @param endTime      请求的结束时间
+     * @param candlesticks 基准K线，可以无序，结束时间重复时保留后一根
+     */
+    public static BenchmarkSeries of(String symbol, String interval, LocalDateTime startTime, LocalDateTime endTime,
+                                     List<CandlestickEntity> candlesticks) {
+        int size = candlesticks != null ? candlesticks.size() : 0;
+        long[] times = new long[size];
+        double[] prices = new double[size];
+        int n = 0;
+        boolean sorted = true;
+        for (int i = 0; i < size; i++) {
+            CandlestickEntity candle = candlesticks.get(i);
+            LocalDateTime time = candle.getCloseTime() != null ? candle.getCloseTime() : candle.getOpenTime();
+            if (time == null || candle.getClose() == null) {
+                continue;
+            }
+            times[n] = time.atZone(ZONE).toInstant().toEpochMilli();
+            prices[n] = candle.getClose().doubleValue();
+            if (n > 0 && times[n] <= times[n - 1]) {
+                sorted = false;
+            }
+            n++;
+        }
+        if (!sorted) {
+            return sortedCopy(symbol, interval, startTime, endTime, times, prices, n);
+        }
+        return new BenchmarkSeries(symbol, interval, startTime, endTime, Arrays.copyOf(times, n), Arrays.copyOf(prices, n));
+    }
+
+    /**
+     * 空基准，所有对齐收益率为0
+     */
+    public static BenchmarkSeries empty(String symbol, String interval) {
+        return new BenchmarkSeries(symbol, interval, null, null, new long[0], new double[0]);
+    }
+
+    private static BenchmarkSeries sortedCopy(String symbol, String interval, LocalDateTime startTime, LocalDateTime endTime,
+                                              long[] times, double[] prices, int n) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(times[a], times[b]));
+        long[] sortedTimes = new long[n];
+        double[] sortedPrices = new double[n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            int index = order[i];
+            if (m > 0 && sortedTimes[m - 1] == times[index]) {
+                sortedPrices[m - 1] = prices[index];
+                continue;
+            }
+            sortedTimes[m] = times[index];
+            sortedPrices[m] = prices[index];
+            m++;
+        }
+        return new BenchmarkSeries(symbol, interval, startTime, endTime, Arrays.copyOf(sortedTimes, m), Arrays.copyOf(sortedPrices, m));
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getInterval() {
+        return interval;
+    }
+
+    public int size() {
+        return closes.length;
+    }
+
+    /**
+     * 是否覆盖请求的时间范围
+     */
+    public boolean covers(LocalDateTime from, LocalDateTime to) {
+        return startTime != null && endTime != null && !startTime.isAfter(from) && !endTime.isBefore(to);
+    }
+
+    /**
+     * 按时间戳与策略K线序列对齐的基准对数收益率
+     * 第i个元素为基准在第i-1根与第i根策略K线结束时间上的收盘价对数收益率，第一个元素以及任一端没有基准数据时为0。
+     * 返回的数组在多个策略间共享，调用方不能修改。
+     *
+     * @param series 策略K线序列
+     * @return 长度与K线数量相同的收益率数组
+     */
+    public double[] alignedLogReturns(BarSeries series) {
+        double[] cached = alignedReturns.get(series);
+        if (cached != null) {
+            return cached;
+        }
+        double[] returns = sliceFromParent(series);
+        if (returns == null) {
+            long[] barEndTimes = new long[series.getBarCount()];
+            for (int i = 0; i < barEndTimes.length; i++) {
+                barEndTimes[i] = series.getBar(series.getBeginIndex() + i).getEndTime().toEpochMilli();
+            }
+            returns = alignedLogReturns(barEndTimes);
+        }
+        alignedReturns.put(series, returns);
+        return returns;
+    }
+
+    /**
+     * 如果序列是某个已对齐序列的连续子序列，按下标截取父序列的对齐结果
+     * 子序列与父序列首尾两根K线是同一个Bar对象时视为子序列（getSubSeries复用父序列的Bar对象），
+     * 每根K线的收益率只依赖它和前一根K线，截取后只需把第一个元素置为0
+     *
+     * @return 截取的收益率，没有可截取的父序列时返回null
+     */
+    private double[] sliceFromParent(BarSeries series) {
+        int count = series.getBarCount();
+        if (count == 0) {
+            return null;
+        }
+        Bar first = series.getBar(series.getBeginIndex());
+        Bar last = series.getBar(series.getEndIndex());
+        synchronized (alignedReturns) {
+            for (Map.Entry<BarSeries, double[]> entry : alignedReturns.entrySet()) {
+                BarSeries parent = entry.getKey();
+                if (parent == null || parent.getBarCount() <= count) {
+                    continue;
+                }
+                int offset = indexOfEndTime(parent, first.getEndTime());
+                if (offset < 0 || offset + count > parent.getBarCount()
+                        || parent.getBar(parent.getBeginIndex() + offset) != first
+                        || parent.getBar(parent.getBeginIndex() + offset + count - 1) != last) {
+                    continue;
+                }
+                double[] slice = Arrays.copyOfRange(entry.getValue(), offset, offset + count);
+                slice[0] = 0;
+                return slice;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在按时间升序的序列中二分查找结束时间，返回相对起始下标的偏移，找不到时返回-1
+     */
+    private static int indexOfEndTime(BarSeries series, Instant endTime) {
+        int low = 0;
+        int high = series.getBarCount() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = series.getBar(series.getBeginIndex() + mid).getEndTime().compareTo(endTime);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按时间戳归并对齐，两个序列都只遍历一次
+     *
+     * @param barEndTimes 策略K线结束时间，升序
+     */
+    public double[] alignedLogReturns(long[] barEndTimes) {
+        double[] returns = new double[barEndTimes.length];
+        int cursor = 0;
+        double previousClose = Double.NaN;
+        for (int i = 0; i < barEndTimes.length; i++) {
+            long time = barEndTimes[i];
+            while (cursor < endTimes.length && endTimes[cursor] < time) {
+                cursor++;
+            }
+            double close = cursor < endTimes.length && endTimes[cursor] == time ? closes[cursor] : Double.NaN;
+            // 与NaN比较恒为false，缺失数据的K线收益率保持为0
+            if (close > 0 && previousClose > 0) {
+                returns[i] = Math.log(close / previousClose);
+            }
+            previousClose = close;
+        }
+        return returns;
+    }
+}
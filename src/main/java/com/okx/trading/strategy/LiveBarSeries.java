@@ -0,0 +1,112 @@
+package com.okx.trading.strategy;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 实时策略的滚动K线序列
+ * 每个 交易对/周期 一个，固定容量（超出后ta4j自动移除最早的K线），同一个BarSeries对象在整个运行期间不被替换，
+ * 策略创建时绑定的指标始终指向它。指标的历史值由ta4j的CachedIndicator缓存，推送更新最后一根K线时
+ * 只重新计算最后一个下标，规则也只在该下标上判断。
+ * <p>
+ * ta4j的BarSeries不是线程安全的，更新K线、创建策略和判断规则都需要在本对象上同步。
+ */
+public final class LiveBarSeries {
+
+    private final String key;
+    private final BarSeries series;
+
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder newBars = new LongAdder();
+    private final LongAdder staleBars = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+    private volatile long maxEvaluationNanos;
+
+    /**
+     * @param key             交易对_周期
+     * @param series          历史K线序列
+     * @param maximumBarCount 最多保留的K线数量，小于历史K线数量时按历史K线数量
+     */
+    public LiveBarSeries(String key, BarSeries series, int maximumBarCount) {
+        this.key = key;
+        this.series = series;
+        this.series.setMaximumBarCount(Math.max(maximumBarCount, series.getBarCount()));
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public BarSeries getSeries() {
+        return series;
+    }
+
+    /**
+     * 写入推送的K线：同一周期替换最后一根，否则追加；早于最后一根的过期K线被忽略
+     * 调用方需在本对象上同步
+     *
+     * @param bar     新K线
+     * @param replace 是否与最后一根属于同一周期
+     * @return 发生变化的下标，忽略时返回-1
+     */
+    public int update(Bar bar, boolean replace) {
+        ticks.increment();
+        if (!replace && !series.isEmpty() && !bar.getEndTime().isAfter(series.getLastBar().getEndTime())) {
+            staleBars.increment();
+            return -1;
+        }
+        series.addBar(bar, replace);
+        if (!replace) {
+            newBars.increment();
+        }
+        return series.getEndIndex();
+    }
+
+    /**
+     * 按时间顺序在全部K线上判断一次策略规则，填充指标缓存，
+     * 之后每次推送只需计算最后一个下标，避免首次判断时递归计算全部历史
+     * 调用方需在本对象上同步
+     */
+    public void warmUp(Strategy strategy) {
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            strategy.shouldEnter(i);
+            strategy.shouldExit(i);
+        }
+    }
+
+    /**
+     * 记录一次推送中所有策略的规则判断耗时
+     */
+    public void recordEvaluation(int strategyCount, long nanos) {
+        evaluations.add(strategyCount);
+        evaluationNanos.add(nanos);
+        if (nanos > maxEvaluationNanos) {
+            maxEvaluationNanos = nanos;
+        }
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        long evaluated = evaluations.sum();
+        long nanos = evaluationNanos.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("key", key);
+        stats.put("bar_count", series.getBarCount());
+        stats.put("maximum_bar_count", series.getMaximumBarCount());
+        stats.put("ticks", ticks.sum());
+        stats.put("new_bars", newBars.sum());
+        stats.put("stale_bars", staleBars.sum());
+        stats.put("evaluations", evaluated);
+        stats.put("avg_evaluation_micros", evaluated > 0 ? nanos / 1000.0 / evaluated : 0.0);
+        stats.put("max_tick_evaluation_micros", maxEvaluationNanos / 1000.0);
+        return stats;
+    }
+}
@@ -0,0 +1,486 @@
+package com.okx.trading.strategy;
+
+import java.util.Arrays;
+
+/**
+ * 基于原始double数组的回测风险指标计算引擎
+ * <p>
+ * {@link BacktestMetricsCalculator} 原有实现在 List&lt;BigDecimal&gt; 上逐个指标遍历，
+ * 每个收益率和资金点都要装箱并做定标除法，K线数量很大时指标计算比回测本身还慢。
+ * 本类把同一类指标合并到一次遍历中完成：
+ * <ul>
+ *     <li>{@link #returnStats(double[], double)}：一次遍历得到均值、二/三/四阶中心矩、下行平方和与Omega的收益/损失和</li>
+ *     <li>{@link #drawdownStats(double[])}：一次遍历资金曲线得到Ulcer指数、痛苦指数、平均回撤、平方根回撤和最大回撤持续期</li>
+ *     <li>{@link #relativeStats(double[], double[])}：一次遍历策略与基准收益率得到跟踪误差、超额收益和捕获率</li>
+ *     <li>{@link #alphaBeta(double[], double[])}：一次遍历得到协方差与基准方差</li>
+ * </ul>
+ * 所有方法只返回原始double，由调用方在写入DTO时再按原有精度转换为BigDecimal。
+ * 各指标的边界处理（空序列、零方差、无下行等）与原BigDecimal实现保持一致。
+ */
+public final class PrimitiveMetricsEngine {
+
+    /**
+     * 没有下行风险时返回的比率（与原实现一致）
+     */
+    public static final double NO_DOWNSIDE_RATIO = 999.999999;
+
+    private PrimitiveMetricsEngine() {
+    }
+
+    /**
+     * 收益率序列的统计量
+     */
+    public static final class ReturnStats {
+        /** 样本数量 */
+        public int count;
+        /** 均值 */
+        public double mean;
+        /** 二阶中心矩之和 */
+        public double m2;
+        /** 三阶中心矩之和 */
+        public double m3;
+        /** 四阶中心矩之和 */
+        public double m4;
+        /** 低于阈值的收益率与阈值之差的平方和 */
+        public double downsideSumSquares;
+        /** 低于阈值的收益率数量 */
+        public int downsideCount;
+        /** 高于等于阈值部分的收益之和（Omega分子） */
+        public double gainSum;
+        /** 低于阈值部分的损失之和（Omega分母） */
+        public double lossSum;
+
+        /**
+         * 总体方差
+         */
+        public double variance() {
+            return count > 0 ? m2 / count : 0.0;
+        }
+    }
+
+    /**
+     * 一次遍历计算收益率序列的矩和下行统计
+     * 使用Welford/Terriberry在线算法更新高阶中心矩，避免先求均值再二次遍历
+     *
+     * @param returns   收益率序列
+     * @param threshold 下行与Omega的目标收益率（通常为无风险收益率0）
+     * @return 统计量
+     */
+    public static ReturnStats returnStats(double[] returns, double threshold) {
+        ReturnStats stats = new ReturnStats();
+        if (returns == null) {
+            return stats;
+        }
+        int n = 0;
+        double mean = 0.0, m2 = 0.0, m3 = 0.0, m4 = 0.0;
+        for (double r : returns) {
+            int n1 = n;
+            n++;
+            double delta = r - mean;
+            double deltaN = delta / n;
+            double deltaN2 = deltaN * deltaN;
+            double term1 = delta * deltaN * n1;
+            mean += deltaN;
+            m4 += term1 * deltaN2 * ((double) n * n - 3.0 * n + 3.0) + 6.0 * deltaN2 * m2 - 4.0 * deltaN * m3;
+            m3 += term1 * deltaN * (n - 2.0) - 3.0 * deltaN * m2;
+            m2 += term1;
+
+            if (r < threshold) {
+                double diff = r - threshold;
+                stats.downsideSumSquares += diff * diff;
+                stats.downsideCount++;
+                stats.lossSum += threshold - r;
+            } else {
+                stats.gainSum += r - threshold;
+            }
+        }
+        stats.count = n;
+        stats.mean = mean;
+        stats.m2 = m2;
+        stats.m3 = m3;
+        stats.m4 = m4;
+        return stats;
+    }
+
+    /**
+     * 年化夏普比率 = (均值 - 无风险收益率) / 标准差 × √年化因子
+     */
+    public static double sharpeRatio(ReturnStats stats, double riskFreeRate, int annualizationFactor) {
+        if (stats.count == 0) {
+            return 0.0;
+        }
+        double stdDev = Math.sqrt(stats.variance());
+        if (stdDev == 0.0) {
+            return 0.0;
+        }
+        return (stats.mean - riskFreeRate) / stdDev * Math.sqrt(annualizationFactor);
+    }
+
+    /**
+     * 年化Sortino比率 = (均值 - 无风险收益率) / 下行标准差 × √年化因子
+     */
+    public static double sortinoRatio(ReturnStats stats, double riskFreeRate, int annualizationFactor) {
+        if (stats.count == 0) {
+            return 0.0;
+        }
+        if (stats.downsideCount == 0) {
+            return NO_DOWNSIDE_RATIO;
+        }
+        double downsideDeviation = Math.sqrt(stats.downsideSumSquares / stats.downsideCount);
+        if (downsideDeviation == 0.0) {
+            return NO_DOWNSIDE_RATIO;
+        }
+        return (stats.mean - riskFreeRate) / downsideDeviation * Math.sqrt(annualizationFactor);
+    }
+
+    /**
+     * Omega比率 = 阈值以上收益之和 / 阈值以下损失之和
+     */
+    public static double omegaRatio(ReturnStats stats) {
+        if (stats.count == 0) {
+            return 0.0;
+        }
+        if (stats.lossSum == 0.0) {
+            return NO_DOWNSIDE_RATIO;
+        }
+        return stats.gainSum / stats.lossSum;
+    }
+
+    /**
+     * 偏度 = m3 / σ³
+     */
+    public static double skewness(ReturnStats stats) {
+        if (stats.count < 3) {
+            return 0.0;
+        }
+        double sd = Math.sqrt(stats.m2 / stats.count);
+        if (sd == 0.0) {
+            return 0.0;
+        }
+        return (stats.m3 / stats.count) / (sd * sd * sd);
+    }
+
+    /**
+     * 超额峰度 = m4 / σ⁴ - 3
+     */
+    public static double kurtosis(ReturnStats stats) {
+        if (stats.count < 4) {
+            return 0.0;
+        }
+        double variance = stats.m2 / stats.count;
+        if (variance <= 0) {
+            return 0.0;
+        }
+        return (stats.m4 / stats.count) / (variance * variance) - 3.0;
+    }
+
+    /**
+     * 下行偏差 = sqrt(低于目标收益率部分的平方均值)
+     */
+    public static double downsideDeviation(ReturnStats stats) {
+        if (stats.downsideCount == 0) {
+            return 0.0;
+        }
+        return Math.sqrt(stats.downsideSumSquares / stats.downsideCount);
+    }
+
+    /**
+     * 年化Treynor比率 = (均值 - 无风险收益率) × 年化因子 / Beta
+     */
+    public static double treynorRatio(ReturnStats stats, double riskFreeRate, double beta, int annualizationFactor) {
+        if (stats.count == 0 || beta == 0.0) {
+            return 0.0;
+        }
+        return (stats.mean - riskFreeRate) * annualizationFactor / beta;
+    }
+
+    /**
+     * 计算VaR95、VaR99和CVaR（均以正数表示损失）
+     * 只对收益率的副本做一次原始类型排序
+     *
+     * @return [VaR95, VaR99, CVaR]
+     */
+    public static double[] valueAtRisk(double[] returns) {
+        if (returns == null || returns.length == 0) {
+            return new double[]{0.0, 0.0, 0.0};
+        }
+        double[] sorted = returns.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+
+        int var95Index = Math.max(0, Math.min((int) Math.ceil(n * 0.05) - 1, n - 1));
+        int var99Index = Math.max(0, Math.min((int) Math.ceil(n * 0.01) - 1, n - 1));
+
+        double cvarSum = 0.0;
+        for (int i = 0; i <= var95Index; i++) {
+            cvarSum += sorted[i];
+        }
+        return new double[]{-sorted[var95Index], -sorted[var99Index], -cvarSum / (var95Index + 1)};
+    }
+
+    /**
+     * 资金曲线回撤统计量
+     */
+    public static final class DrawdownStats {
+        /** Ulcer指数（百分比形式） */
+        public double ulcerIndex;
+        /** 痛苦指数 */
+        public double painIndex;
+        /** 平均回撤（Sterling比率分母），没有回撤时为0 */
+        public double averageDrawdown;
+        /** 平方根回撤（Burke比率分母），没有回撤时为0 */
+        public double squareRootDrawdown;
+        /** 最大回撤持续期（K线数量） */
+        public int maxDrawdownDuration;
+    }
+
+    /**
+     * 一次遍历资金曲线计算所有基于回撤的指标
+     *
+     * @param equity 资金曲线
+     * @return 回撤统计量
+     */
+    public static DrawdownStats drawdownStats(double[] equity) {
+        DrawdownStats stats = new DrawdownStats();
+        if (equity == null || equity.length == 0) {
+            return stats;
+        }
+        int n = equity.length;
+
+        // Ulcer指数包含第一个点，其它指标从第二个点开始统计（与原实现一致）
+        double ulcerPeak = equity[0];
+        double sumSquaredDrawdownPercent = 0.0;
+
+        double peak = equity[0];
+        double totalPain = 0.0;
+        double drawdownSum = 0.0;
+        double drawdownSquareSum = 0.0;
+        int drawdownCount = 0;
+
+        // 最大回撤持续期使用的峰值：价格持平时也视为恢复
+        double durationPeak = equity[0];
+        boolean inDrawdown = false;
+        int currentDuration = 0;
+        int maxDuration = 0;
+
+        for (int i = 0; i < n; i++) {
+            double price = equity[i];
+
+            if (price > ulcerPeak) {
+                ulcerPeak = price;
+            }
+            if (ulcerPeak > 0) {
+                double drawdownPercent = (price - ulcerPeak) / ulcerPeak * 100.0;
+                sumSquaredDrawdownPercent += drawdownPercent * drawdownPercent;
+            }
+
+            if (i == 0) {
+                continue;
+            }
+
+            if (price > peak) {
+                peak = price;
+            } else if (peak > 0) {
+                double drawdown = (peak - price) / peak;
+                drawdownSum += drawdown;
+                drawdownSquareSum += drawdown * drawdown;
+                drawdownCount++;
+                if (price > 0) {
+                    totalPain += drawdown;
+                }
+            }
+
+            if (price >= durationPeak) {
+                if (inDrawdown) {
+                    maxDuration = Math.max(maxDuration, currentDuration);
+                    inDrawdown = false;
+                    currentDuration = 0;
+                }
+                durationPeak = price;
+            } else if (!inDrawdown) {
+                inDrawdown = true;
+                currentDuration = 1;
+            } else {
+                currentDuration++;
+            }
+        }
+        if (inDrawdown) {
+            maxDuration = Math.max(maxDuration, currentDuration);
+        }
+
+        stats.ulcerIndex = Math.sqrt(sumSquaredDrawdownPercent / n);
+        stats.painIndex = totalPain / n;
+        stats.averageDrawdown = drawdownCount > 0 ? drawdownSum / drawdownCount : 0.0;
+        stats.squareRootDrawdown = drawdownCount > 0 ? Math.sqrt(drawdownSquareSum / drawdownCount) : 0.0;
+        stats.maxDrawdownDuration = maxDuration;
+        return stats;
+    }
+
+    /**
+     * 逐点计算相对初始资金的损失率和相对历史峰值的回撤率
+     *
+     * @param equity 资金曲线
+     * @return [损失率序列, 回撤率序列]，均为非负数
+     */
+    public static double[][] lossAndDrawdownSeries(double[] equity) {
+        int n = equity == null ? 0 : equity.length;
+        double[] losses = new double[n];
+        double[] drawdowns = new double[n];
+        if (n == 0) {
+            return new double[][]{losses, drawdowns};
+        }
+        double initial = equity[0];
+        double peak = initial;
+        for (int i = 0; i < n; i++) {
+            double current = equity[i];
+            if (current > peak) {
+                peak = current;
+            }
+            if (initial > 0 && current < initial) {
+                losses[i] = (initial - current) / initial;
+            }
+            if (peak > 0) {
+                drawdowns[i] = Math.max(0.0, (peak - current) / peak);
+            }
+        }
+        return new double[][]{losses, drawdowns};
+    }
+
+    /**
+     * 返回数组在[from, to]闭区间内的最大值
+     */
+    public static double max(double[] values, int from, int to) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i <= to; i++) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max == Double.NEGATIVE_INFINITY ? 0.0 : max;
+    }
+
+    /**
+     * 策略相对基准的统计量
+     */
+    public static final class RelativeStats {
+        /** 是否可比较（两个序列长度一致且非空） */
+        public boolean comparable;
+        /** 跟踪误差（超额收益的总体标准差） */
+        public double trackingError;
+        /** 平均超额收益 */
+        public double meanExcessReturn;
+        /** 上涨捕获率 */
+        public double uptrendCapture;
+        /** 下跌捕获率 */
+        public double downtrendCapture;
+    }
+
+    /**
+     * 一次遍历计算跟踪误差、平均超额收益和上涨/下跌捕获率
+     *
+     * @param strategyReturns  策略收益率
+     * @param benchmarkReturns 基准收益率（与策略收益率等长）
+     * @return 相对基准统计量
+     */
+    public static RelativeStats relativeStats(double[] strategyReturns, double[] benchmarkReturns) {
+        RelativeStats stats = new RelativeStats();
+        if (strategyReturns == null || benchmarkReturns == null || strategyReturns.length != benchmarkReturns.length) {
+            return stats;
+        }
+        stats.comparable = true;
+        int n = strategyReturns.length;
+        double mean = 0.0, m2 = 0.0;
+        double upStrategySum = 0.0, upBenchmarkSum = 0.0;
+        double downStrategySum = 0.0, downBenchmarkSum = 0.0;
+        for (int i = 0; i < n; i++) {
+            double s = strategyReturns[i];
+            double b = benchmarkReturns[i];
+            double diff = s - b;
+            double delta = diff - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (diff - mean);
+
+            if (b > 0) {
+                upStrategySum += s;
+                upBenchmarkSum += b;
+            } else if (b < 0) {
+                downStrategySum += s;
+                downBenchmarkSum += b;
+            }
+        }
+        stats.meanExcessReturn = mean;
+        stats.trackingError = n > 0 ? Math.sqrt(m2 / n) : 0.0;
+        stats.uptrendCapture = upBenchmarkSum != 0 ? upStrategySum / upBenchmarkSum : 0.0;
+        stats.downtrendCapture = downBenchmarkSum != 0 ? downStrategySum / downBenchmarkSum : 0.0;
+        return stats;
+    }
+
+    /**
+     * 一次遍历计算Alpha和Beta，两个序列按较短长度对齐
+     *
+     * @param strategyReturns  策略收益率
+     * @param benchmarkReturns 基准收益率
+     * @return [Alpha, Beta]
+     */
+    public static double[] alphaBeta(double[] strategyReturns, double[] benchmarkReturns) {
+        if (strategyReturns == null || benchmarkReturns == null) {
+            return new double[]{0.0, 1.0};
+        }
+        int n = Math.min(strategyReturns.length, benchmarkReturns.length);
+        if (n == 0) {
+            return new double[]{0.0, 1.0};
+        }
+        double meanS = 0.0, meanB = 0.0, coMoment = 0.0, m2B = 0.0;
+        for (int i = 0; i < n; i++) {
+            double s = strategyReturns[i];
+            double b = benchmarkReturns[i];
+            double deltaS = s - meanS;
+            double deltaB = b - meanB;
+            meanS += deltaS / (i + 1);
+            meanB += deltaB / (i + 1);
+            coMoment += deltaS * (b - meanB);
+            m2B += deltaB * (b - meanB);
+        }
+        double beta = m2B == 0 ? 0 : coMoment / m2B;
+        return new double[]{meanS - beta * meanB, beta};
+    }
+
+    /**
+     * 一次遍历计算收盘价对数收益率的年化波动率，跳过前一根收盘价非正的K线
+     */
+    public static double volatility(double[] closes, int annualizationFactor) {
+        if (closes == null || closes.length < 2) {
+            return 0.0;
+        }
+        int n = 0;
+        double mean = 0.0, m2 = 0.0;
+        for (int i = 1; i < closes.length; i++) {
+            if (closes[i - 1] <= 0) {
+                continue;
+            }
+            double r = Math.log(closes[i] / closes[i - 1]);
+            n++;
+            double delta = r - mean;
+            mean += delta / n;
+            m2 += delta * (r - mean);
+        }
+        if (n == 0) {
+            return 0.0;
+        }
+        return Math.sqrt(m2 / n) * Math.sqrt(annualizationFactor);
+    }
+
+    /**
+     * 价格序列转对数收益率，第一个元素为0
+     *
+     * @param prices 价格序列
+     * @return 与价格序列等长的对数收益率
+     */
+    public static double[] logReturnsWithLeadingZero(double[] prices) {
+        double[] returns = new double[prices.length];
+        for (int i = 1; i < prices.length; i++) {
+            returns[i] = Math.log(prices[i] / prices[i - 1]);
+        }
+        return returns;
+    }
+}
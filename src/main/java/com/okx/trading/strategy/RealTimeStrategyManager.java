@@ -9,9 +9,13 @@ import com.okx.trading.repository.RealTimeStrategyRepository;
 import com.okx.trading.service.*;
 import com.okx.trading.controller.TradeController;
 import com.okx.trading.service.impl.OkxApiWebSocketServiceImpl;
+import com.okx.trading.service.impl.PortfolioAggregator;
+import com.okx.trading.service.impl.PostTradePipeline;
+import com.okx.trading.util.PartitionedExecutor;
 import lombok.Data;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import lombok.extern.slf4j.Slf4j;
@@ -68,6 +72,15 @@ public class RealTimeStrategyManager implements ApplicationRunner {
     private final NotificationService notificationService;
     private ExecutorService executorService;
     private RedisTemplate redisTemplate;
+    private final PartitionedExecutor klineDispatchExecutor;
+    private final PostTradePipeline postTradePipeline;
+    private final PortfolioAggregator portfolioAggregator;
+
+    /**
+     * 每个交易对/周期的滚动K线序列最多保留的K线数量
+     */
+    @Value("${okx.realtime.max-bar-count:500}")
+    private int maxBarCount = 500;
 
 
     public RealTimeStrategyManager(@Lazy OkxApiWebSocketServiceImpl webSocketService,
@@ -80,7 +93,10 @@ public class RealTimeStrategyManager implements ApplicationRunner {
                                    RealTimeStrategyRepository realTimeStrategyRepository,
                                    NotificationService notificationService,
                                    @Qualifier("executeTradeScheduler") ExecutorService executorService,
-                                   RedisTemplate redisTemplate) {
+                                   RedisTemplate redisTemplate,
+                                   @Qualifier("klineDispatchExecutor") PartitionedExecutor klineDispatchExecutor,
+                                   PostTradePipeline postTradePipeline,
+                                   PortfolioAggregator portfolioAggregator) {
         this.webSocketService = webSocketService;
         this.realTimeOrderService = realTimeOrderService;
         this.tradeController = tradeController;
@@ -93,87 +109,123 @@ public class RealTimeStrategyManager implements ApplicationRunner {
         this.notificationService = notificationService;
         this.executorService = executorService;
         this.redisTemplate = redisTemplate;
+        this.klineDispatchExecutor = klineDispatchExecutor;
+        this.postTradePipeline = postTradePipeline;
+        this.portfolioAggregator = portfolioAggregator;
     }
 
     // 存储正在运行的策略信息
-    // key: strategyCode_symbol_interval, value: 策略运行状态
+    // key: 策略ID, value: 策略运行状态，增删需通过addRunningStrategy/removeRunningStrategy以同步维护路由表
     private final Map<Long, RealTimeStrategyEntity> runningStrategies = new ConcurrentHashMap<>();
-    private final Map<String, BarSeries> runningBarSeries = new ConcurrentHashMap<>();
-    private final Map<String, Long> clientOrderId2StrategyIdMap = new HashMap<>();
+    // 推送路由表 key: symbol_interval, value: 订阅该K线流的运行中策略
+    private final Map<String, Map<Long, RealTimeStrategyEntity>> strategyRoutes = new ConcurrentHashMap<>();
+    private final Map<String, LiveBarSeries> runningBarSeries = new ConcurrentHashMap<>();
+    private final Map<String, Long> clientOrderId2StrategyIdMap = new ConcurrentHashMap<>();
 
     private final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     /**
      * 处理新的K线数据
      * 由WebSocket服务调用
+     * <p>
+     * 按 交易对/周期 直接定位该K线流的滚动序列，没有实时策略使用的K线流直接返回；其余提交到该K线流所在的分发分区处理，
+     * 不占用WebSocket回调线程，同一K线流的推送按到达顺序串行处理，某个交易对判断或下单缓慢不会延迟其他交易对。
+     * 处理跟不上推送时，同一根K线积压的推送只处理最新一次，积压不会无限增长。
      */
     public void handleNewKlineData(String symbol, String interval, Candlestick candlestick) {
-        // 查找使用该symbol和interval的所有策略
-        if (runningStrategies.isEmpty()) {
+        String key = symbol + "_" + interval;
+        LiveBarSeries live = runningBarSeries.get(key);
+        if (live == null) {
             return;
         }
-        runningStrategies.entrySet().stream()
-                .filter(entry -> {
-                    RealTimeStrategyEntity state = entry.getValue();
-                    return state.getSymbol().equals(symbol) && state.getInterval().equals(interval);
-                })
-                .forEach(entry -> {
-                    RealTimeStrategyEntity state = entry.getValue();
-                    try {
-                        if (state.getStrategy() != null) {
-                            processStrategySignal(state, candlestick);
-                        }
-                    } catch (Exception e) {
-                        log.error("处理策略信号失败: key={}, error={}", buildStrategyKey(state.getStrategyCode(), state.getSymbol(), state.getInterval()), e.getMessage(), e);
-                    }
-                });
+        klineDispatchExecutor.execute(key, candlestick.getOpenTime(), () -> {
+            try {
+                dispatchKlineData(live, interval, candlestick);
+            } catch (Exception e) {
+                log.error("分发K线数据失败: key={}, error={}", key, e.getMessage(), e);
+            }
+        });
     }
 
     /**
-     * 处理策略信号
-     * 真正执行实时策略逻辑，判断买卖信号的地方
+     * 是否有实时策略在使用该交易对/周期的K线流，没有时调用方无需构造Candlestick
      */
-    private void processStrategySignal(RealTimeStrategyEntity state, Candlestick candlestick) {
+    public boolean hasLiveSeries(String symbol, String interval) {
+        return runningBarSeries.containsKey(symbol + "_" + interval);
+    }
+
+    /**
+     * 在分发线程上处理一次K线推送
+     * <p>
+     * 每次推送只更新一次该交易对/周期的滚动K线序列（暂无策略时也更新，之后启动的策略不会遇到缺口），
+     * 然后在变化的下标上判断路由表中订阅该K线流的策略的规则，
+     * 规则判断在序列锁内完成，触发的交易在锁外执行，下单耗时不会阻塞其他策略的判断。
+     */
+    private void dispatchKlineData(LiveBarSeries live, String interval, Candlestick candlestick) {
+        Map<Long, RealTimeStrategyEntity> routes = strategyRoutes.getOrDefault(live.getKey(), Collections.emptyMap());
 
-        // 更新BarSeries - 智能判断是更新还是添加新bar
         Bar newBar = createBarFromCandlestick(candlestick);
-        BarSeries series = runningBarSeries.get(state.getSymbol() + "_" + state.getInterval());
-        boolean shouldReplace = shouldReplaceLastBar(series, newBar, state.getInterval());
-        series.addBar(newBar, shouldReplace);
-        if (!shouldReplace) {
-            series = series.getSubSeries(series.getBeginIndex() + 1, series.getEndIndex() + 1);
+        long intervalSeconds = historicalDataService.getIntervalMinutes(candlestick.getIntervalVal()) * 60;
+        // 在每个周期的最后15秒判断信号是否触发，而不是在周期刚开始就触发了就执行交易
+        // 无论是否策略的首次交易都要求在每个周期的最后15秒才触发交易
+        boolean forbiddenTradeTime = Duration.between(candlestick.getOpenTime().plusSeconds(intervalSeconds), LocalDateTime.now()).abs().get(ChronoUnit.SECONDS) > 15;
+
+        List<TradeSignal> signals = new ArrayList<>();
+        synchronized (live) {
+            int currentIndex = live.update(newBar, shouldReplaceLastBar(live.getSeries(), newBar, interval));
+            if (currentIndex < 0 || forbiddenTradeTime || routes.isEmpty()) {
+                return;
+            }
+
+            // 检查交易信号，只在变化的下标上判断
+            long begin = System.nanoTime();
+            int evaluated = 0;
+            for (RealTimeStrategyEntity state : routes.values()) {
+                if (state.getStrategy() == null) {
+                    continue;
+                }
+                try {
+                    boolean shouldBuy = state.getStrategy().shouldEnter(currentIndex);
+                    boolean shouldSell = state.getStrategy().shouldExit(currentIndex);
+                    evaluated++;
+                    if (shouldBuy || shouldSell) {
+                        signals.add(new TradeSignal(state, shouldBuy, shouldSell));
+                    }
+                } catch (Exception e) {
+                    log.error("判断策略信号失败: key={}, error={}", buildStrategyKey(state.getStrategyCode(), state.getSymbol(), state.getInterval()), e.getMessage(), e);
+                }
+            }
+            live.recordEvaluation(evaluated, System.nanoTime() - begin);
         }
 
-        //同一策略同周期内不能重复交易，买、卖只能触发一次，防止短时间都满足多次交易的情况
-        synchronized (state) {
-            // 控制同一个周期内只能交易一次
-            boolean forbiddenTradeTime = false;
-            boolean signalOfSamePeriod = false;
-
-            long intervalSeconds = historicalDataService.getIntervalMinutes(candlestick.getIntervalVal()) * 60;
-            // 在每个周期的最后15秒判断信号是否触发，而不是在周期刚开始就触发了就执行交易
-            // 提到上面，无论是否策略的首次交易都要求在每个周期的最后15秒才触发交易
-            forbiddenTradeTime = Duration.between(candlestick.getOpenTime().plusSeconds(intervalSeconds), LocalDateTime.now()).abs().get(ChronoUnit.SECONDS) > 15;
-            if (forbiddenTradeTime) {
-                return;
+        for (TradeSignal signal : signals) {
+            RealTimeStrategyEntity state = signal.state;
+            try {
+                processStrategySignal(state, candlestick, intervalSeconds, signal.shouldBuy, signal.shouldSell);
+            } catch (Exception e) {
+                log.error("处理策略信号失败: key={}, error={}", buildStrategyKey(state.getStrategyCode(), state.getSymbol(), state.getInterval()), e.getMessage(), e);
             }
+        }
+    }
 
+    /**
+     * 处理策略信号
+     * 真正执行实时策略逻辑，根据买卖信号和上一次交易状态决定是否交易的地方
+     */
+    private void processStrategySignal(RealTimeStrategyEntity state, Candlestick candlestick, long intervalSeconds,
+                                       boolean shouldBuy, boolean shouldSell) {
+        //同一策略同周期内不能重复交易，买、卖只能触发一次，防止短时间都满足多次交易的情况
+        synchronized (state) {
             if (state.getLastTradeTime() != null) {
                 LocalDateTime lastTradeTime = state.getLastTradeTime();
                 //同周期只触发一次交易信号
-                signalOfSamePeriod = lastTradeTime.isAfter(candlestick.getOpenTime()) && lastTradeTime.isBefore(candlestick.getOpenTime().plusSeconds(intervalSeconds));
+                boolean signalOfSamePeriod = lastTradeTime.isAfter(candlestick.getOpenTime()) && lastTradeTime.isBefore(candlestick.getOpenTime().plusSeconds(intervalSeconds));
                 // 如果是同一周期内的信号，不执行任何交易操作
                 if (signalOfSamePeriod) {
                     return;
                 }
             }
 
-            // 检查交易信号
-            int currentIndex = series.getEndIndex();
-            boolean shouldBuy = state.getStrategy().shouldEnter(currentIndex);
-            boolean shouldSell = state.getStrategy().shouldExit(currentIndex);
-
-
             // 处理买入信号 - 只有在上一次不是买入时才触发
             if (shouldBuy && (StringUtils.isBlank(state.getLastTradeType()) || SELL.equals(state.getLastTradeType()))) {
                 executeTradeSignal(state, candlestick, BUY);
@@ -186,6 +238,59 @@ public class RealTimeStrategyManager implements ApplicationRunner {
         }
     }
 
+    /**
+     * 添加运行中策略，同时登记到推送路由表
+     * 先登记组合收益汇总再登记路由，保证策略能收到推送成交时汇总中已有该策略
+     */
+    public void addRunningStrategy(RealTimeStrategyEntity strategy) {
+        runningStrategies.put(strategy.getId(), strategy);
+        portfolioAggregator.onStrategyUpdated(strategy);
+        strategyRoutes.computeIfAbsent(strategy.getSymbol() + "_" + strategy.getInterval(), k -> new ConcurrentHashMap<>())
+                .put(strategy.getId(), strategy);
+    }
+
+    /**
+     * 移除运行中策略，同时从推送路由表中移除
+     *
+     * @return 被移除的策略，不存在时返回null
+     */
+    public RealTimeStrategyEntity removeRunningStrategy(Long id) {
+        RealTimeStrategyEntity removed = runningStrategies.remove(id);
+        portfolioAggregator.onStrategyRemoved(id);
+        if (removed != null) {
+            Map<Long, RealTimeStrategyEntity> routes = strategyRoutes.get(removed.getSymbol() + "_" + removed.getInterval());
+            if (routes != null) {
+                routes.remove(id);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 获取各交易对/周期滚动K线序列的统计信息
+     */
+    public List<Map<String, Object>> getLiveSeriesStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (LiveBarSeries live : runningBarSeries.values()) {
+            Map<String, Object> seriesStats = live.getStats();
+            Map<Long, RealTimeStrategyEntity> routes = strategyRoutes.get(live.getKey());
+            int partition = klineDispatchExecutor.partitionOf(live.getKey());
+            seriesStats.put("strategies", routes != null ? routes.size() : 0);
+            seriesStats.put("dispatch_partition", partition);
+            seriesStats.put("dispatch_queue_size", klineDispatchExecutor.queueSize(partition));
+            seriesStats.put("dispatch_pending", klineDispatchExecutor.pendingSize(live.getKey()));
+            stats.add(seriesStats);
+        }
+        return stats;
+    }
+
+    /**
+     * 获取K线分发执行器的统计信息
+     */
+    public Map<String, Object> getDispatchStats() {
+        return klineDispatchExecutor.getStats();
+    }
+
     /**
      * 判断是否应该替换最后一个bar（同一周期更新）还是添加新bar（不同周期）
      *
@@ -310,11 +415,10 @@ public class RealTimeStrategyManager implements ApplicationRunner {
                 if (FILLED.equals(order.getStatus())) {
                     state.setSuccessfulTrades(state.getSuccessfulTrades() + 1);
                 }
-                // 更新数据库中的交易信息
-                RealTimeStrategyEntity realTimeStrategy = realTimeStrategyService.updateTradeInfo(state);
-                // 更新订单信息
-                orderEntity.setStrategyId(realTimeStrategy.getId());
-                realTimeOrderService.saveOrder(orderEntity);
+                // 更新组合收益汇总，策略已停止运行时不再计入
+                portfolioAggregator.onStrategyTraded(state);
+                // 交易信息、订单入库和交易通知交给交易后处理流水线，不占用策略判断线程
+                postTradePipeline.submitTrade(state, orderEntity, order, side, candlestick.getClose().toString());
                 //更新交易控制标记,过期时间是本周期还剩的剩余的时间
 //                long seconds = Duration.between(candlestick.getOpenTime().plus(
 //                                historicalDataService.getIntervalMinutes(state.getInterval()), ChronoUnit.MINUTES),
@@ -323,16 +427,9 @@ public class RealTimeStrategyManager implements ApplicationRunner {
 
                 log.info("执行{}订单成功: symbol={}, price={}, amount={}, quantity={}", side, state.getSymbol(), state.getLastTradePrice(),
                         state.getLastTradeAmount(), state.getLastTradeQuantity());
-
-                // 发送交易通知
-                try {
-                    notificationService.sendTradeNotification(state, order, side, candlestick.getClose().toString());
-                } catch (Exception e) {
-                    log.error("发送交易通知失败: {}", e.getMessage(), e);
-                }
             }
         } catch (Exception e) {
-            runningStrategies.remove(state.getId());
+            removeRunningStrategy(state.getId());
             state.setIsActive(false);
             state.setStatus("ERROR");
             state.setEndTime(LocalDateTime.now());
@@ -340,11 +437,7 @@ public class RealTimeStrategyManager implements ApplicationRunner {
             log.error("执行策略 {} {}订单失败，停止策略: {},", state.getStrategyName(), side, e.getMessage(), e);
 
             // 发送错误通知
-            try {
-                notificationService.sendStrategyErrorNotification(state, state.getMessage());
-            } catch (Exception ex) {
-                log.error("发送错误通知失败: {}", ex.getMessage(), ex);
-            }
+            postTradePipeline.submitStrategyError(state);
         }
 //        }, executorService);
     }
@@ -465,7 +558,7 @@ public class RealTimeStrategyManager implements ApplicationRunner {
         if (!runningBarSeries.containsKey(barSeriesKey)) {
             BarSeries barSeries = historicalDataService.fetchLastestedBars(strategyEntity.getSymbol(), strategyEntity.getInterval(), kLineNum);
             if (barSeries != null) {
-                runningBarSeries.put(barSeriesKey, barSeries);
+                runningBarSeries.put(barSeriesKey, new LiveBarSeries(barSeriesKey, barSeries, maxBarCount));
             }
         } else {
             response.put("message", "实时回测已经存在，跳过执行");
@@ -485,8 +578,12 @@ public class RealTimeStrategyManager implements ApplicationRunner {
         // 根据strategyEntity创建具体的Strategy实例
         Strategy ta4jStrategy;
         try {
-            ta4jStrategy = StrategyRegisterCenter.
-                    createStrategy(runningBarSeries.get(strategyEntity.getSymbol() + "_" + strategyEntity.getInterval()), strategyEntity.getStrategyCode());
+            LiveBarSeries live = runningBarSeries.get(barSeriesKey);
+            // 推送线程可能同时在更新序列，创建策略和预热指标缓存需要持有序列锁
+            synchronized (live) {
+                ta4jStrategy = StrategyRegisterCenter.createStrategy(live.getSeries(), strategyEntity.getStrategyCode());
+                live.warmUp(ta4jStrategy);
+            }
             strategyEntity = realTimeStrategyRepository.save(strategyEntity);
             strategyEntity.setStrategy(ta4jStrategy);
         } catch (Exception e) {
@@ -496,8 +593,8 @@ public class RealTimeStrategyManager implements ApplicationRunner {
             return response;
         }
 
-        // 添加到运行中策略列表
-        runningStrategies.put(strategyEntity.getId(), strategyEntity);
+        // 添加到运行中策略列表和推送路由表
+        addRunningStrategy(strategyEntity);
 
         log.info("已添加策略: strategyCode={}, symbol={}, interval={}", strategyEntity.getStrategyCode(), strategyEntity.getSymbol(), strategyEntity.getInterval());
         response.put("id", strategyEntity.getId());
@@ -601,4 +698,19 @@ public class RealTimeStrategyManager implements ApplicationRunner {
                 (double) state.getSuccessfulTrades() / state.getTotalTrades() : 0.0);
         return result;
     }
+
+    /**
+     * 一次推送中某个策略触发的买卖信号
+     */
+    private static final class TradeSignal {
+        private final RealTimeStrategyEntity state;
+        private final boolean shouldBuy;
+        private final boolean shouldSell;
+
+        private TradeSignal(RealTimeStrategyEntity state, boolean shouldBuy, boolean shouldSell) {
+            this.state = state;
+            this.shouldBuy = shouldBuy;
+            this.shouldSell = shouldSell;
+        }
+    }
 }
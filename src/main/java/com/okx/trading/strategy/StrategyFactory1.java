@@ -1,6 +1,7 @@
 package com.okx.trading.strategy;
 
 import com.okx.trading.indicator.CustomIndicators;
+import com.okx.trading.indicator.IndicatorCache;
 import com.okx.trading.util.Ta4jNumUtil;
 import org.ta4j.core.*;
 import org.ta4j.core.indicators.*;
@@ -25,7 +26,6 @@ import org.ta4j.core.indicators.keltner.KeltnerChannelUpperIndicator;
 import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
 import org.ta4j.core.indicators.volume.OnBalanceVolumeIndicator;
 import org.ta4j.core.indicators.volume.VWAPIndicator;
-import org.ta4j.core.num.DecimalNum;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.rules.*;
 
@@ -43,18 +43,18 @@ public class StrategyFactory1 {
      * 创建SMA交叉策略
      */
     public static Strategy createSMAStrategy(BarSeries series) {
-        int shortPeriod = (int) (9);
-        int longPeriod = (int) (21);
+        int shortPeriod = StrategyParams.intParam("shortPeriod", 9);
+        int longPeriod = StrategyParams.intParam("longPeriod", 21);
 
         if (series.getBarCount() <= longPeriod) {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (longPeriod + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建短期和长期SMA指标
-        SMAIndicator shortSma = new SMAIndicator(closePrice, shortPeriod);
-        SMAIndicator longSma = new SMAIndicator(closePrice, longPeriod);
+        SMAIndicator shortSma = IndicatorCache.sma(closePrice, shortPeriod);
+        SMAIndicator longSma = IndicatorCache.sma(closePrice, longPeriod);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(shortSma, longSma);
@@ -67,19 +67,19 @@ public class StrategyFactory1 {
      * 创建布林带策略（增强版）- 添加风险管理
      */
     public static Strategy createBollingerBandsStrategy(BarSeries series) {
-        int period = (int) (20);
-        double multiplier = (double) (2.0);
+        int period = StrategyParams.intParam("period", 20);
+        double multiplier = StrategyParams.doubleParam("multiplier", 2.0);
         double stopLossPercent = 2.0; // 2%止损
 
         if (series.getBarCount() <= period) {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建布林带指标
-        SMAIndicator sma = new SMAIndicator(closePrice, period);
-        StandardDeviationIndicator sd = new StandardDeviationIndicator(closePrice, period);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, period);
+        StandardDeviationIndicator sd = IndicatorCache.standardDeviation(closePrice, period);
 
         BollingerBandsMiddleIndicator middleBand = new BollingerBandsMiddleIndicator(sma);
         // 使用Ta4jNumUtil替代Ta4jNumUtil.valueOf()
@@ -105,21 +105,21 @@ public class StrategyFactory1 {
      * 创建MACD策略
      */
     public static Strategy createMACDStrategy(BarSeries series) {
-        int shortPeriod = (int) (12);
-        int longPeriod = (int) (26);
-        int signalPeriod = (int) (9);
+        int shortPeriod = StrategyParams.intParam("shortPeriod", 12);
+        int longPeriod = StrategyParams.intParam("longPeriod", 26);
+        int signalPeriod = StrategyParams.intParam("signalPeriod", 9);
 
         if (series.getBarCount() <= longPeriod + signalPeriod) {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建MACD指标
-        EMAIndicator shortEma = new EMAIndicator(closePrice, shortPeriod);
-        EMAIndicator longEma = new EMAIndicator(closePrice, longPeriod);
-        MACDIndicator macd = new MACDIndicator(closePrice, shortPeriod, longPeriod);
-        EMAIndicator signal = new EMAIndicator(macd, signalPeriod);
+        EMAIndicator shortEma = IndicatorCache.ema(closePrice, shortPeriod);
+        EMAIndicator longEma = IndicatorCache.ema(closePrice, longPeriod);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, shortPeriod, longPeriod);
+        EMAIndicator signal = IndicatorCache.ema(macd, signalPeriod);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(macd, signal);
@@ -132,18 +132,18 @@ public class StrategyFactory1 {
      * 创建RSI策略
      */
     public static Strategy createRSIStrategy(BarSeries series) {
-        int period = (int) (14);
-        int oversold = (int) (30);
-        int overbought = (int) (70);
+        int period = StrategyParams.intParam("period", 14);
+        int oversold = StrategyParams.intParam("oversold", 30);
+        int overbought = StrategyParams.intParam("overbought", 70);
 
         if (series.getBarCount() <= period) {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建RSI指标
-        RSIIndicator rsi = new RSIIndicator(closePrice, period);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, period);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(rsi, Ta4jNumUtil.valueOf(oversold));
@@ -170,7 +170,7 @@ public class StrategyFactory1 {
 
         // 创建随机指标
         StochasticOscillatorKIndicator stochasticK = new StochasticOscillatorKIndicator(series, kPeriod);
-        SMAIndicator stochasticD = new SMAIndicator(stochasticK, dSmooth);
+        SMAIndicator stochasticD = IndicatorCache.sma(stochasticK, dSmooth);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(stochasticK, stochasticD)
@@ -195,15 +195,15 @@ public class StrategyFactory1 {
         }
 
         // 创建ADX指标
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
         // 使用自定义实现替代缺失的指标类
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 使用可用指标替代，或者简化ADX策略
         // 这里使用RSI和SMA指标替代缺失的ADX相关指标
-        RSIIndicator rsi = new RSIIndicator(closePrice, adxPeriod);
-        SMAIndicator sma = new SMAIndicator(closePrice, diPeriod);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, adxPeriod);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, diPeriod);
 
         // 创建规则
         Rule entryRule = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(threshold))
@@ -271,12 +271,12 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建三个EMA指标
-        EMAIndicator shortEma = new EMAIndicator(closePrice, shortPeriod);
-        EMAIndicator middleEma = new EMAIndicator(closePrice, middlePeriod);
-        EMAIndicator longEma = new EMAIndicator(closePrice, longPeriod);
+        EMAIndicator shortEma = IndicatorCache.ema(closePrice, shortPeriod);
+        EMAIndicator middleEma = IndicatorCache.ema(closePrice, middlePeriod);
+        EMAIndicator longEma = IndicatorCache.ema(closePrice, longPeriod);
 
         // 创建规则 (短EMA > 中EMA > 长EMA 买入，反之卖出)
         Rule entryRule = new OverIndicatorRule(shortEma, middleEma)
@@ -300,11 +300,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建自定义转换线和基准线指标
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 使用可用指标替代缺失的HighestValueIndicator和LowestValueIndicator
         MaxPriceIndicator maxPrice9 = new MaxPriceIndicator(series, conversionPeriod);
@@ -315,11 +315,11 @@ public class StrategyFactory1 {
         // 转换线和基准线交叉作为买卖信号
         Rule entryRule = new CrossedUpIndicatorRule(
                 closePrice,
-                new SMAIndicator(closePrice, basePeriod));
+                IndicatorCache.sma(closePrice, basePeriod));
 
         Rule exitRule = new CrossedDownIndicatorRule(
                 closePrice,
-                new SMAIndicator(closePrice, basePeriod));
+                IndicatorCache.sma(closePrice, basePeriod));
 
         return new BaseStrategy(entryRule, addExtraStopRule(exitRule, series));
     }
@@ -328,18 +328,18 @@ public class StrategyFactory1 {
      * 创建EMA策略
      */
     public static Strategy createEMAStrategy(BarSeries series) {
-        int shortPeriod = (int) (9);
-        int longPeriod = (int) (21);
+        int shortPeriod = StrategyParams.intParam("shortPeriod", 9);
+        int longPeriod = StrategyParams.intParam("longPeriod", 21);
 
         if (series.getBarCount() <= longPeriod) {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建短期和长期EMA指标
-        EMAIndicator shortEma = new EMAIndicator(closePrice, shortPeriod);
-        EMAIndicator longEma = new EMAIndicator(closePrice, longPeriod);
+        EMAIndicator shortEma = IndicatorCache.ema(closePrice, shortPeriod);
+        EMAIndicator longEma = IndicatorCache.ema(closePrice, longPeriod);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(shortEma, longEma);
@@ -359,7 +359,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建短期和长期WMA指标
         WMAIndicator shortWma = new WMAIndicator(closePrice, shortPeriod);
@@ -383,7 +383,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建短期和长期HMA指标
         HMAIndicator shortHma = new HMAIndicator(closePrice, shortPeriod);
@@ -408,11 +408,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建KAMA指标
         KAMAIndicator kama = new KAMAIndicator(closePrice, period, fastEMA, slowEMA);
-        SMAIndicator sma = new SMAIndicator(closePrice, period);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, period);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(kama, sma);
@@ -432,7 +432,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建短期和长期ZLEMA指标
         ZLEMAIndicator shortZlema = new ZLEMAIndicator(closePrice, shortPeriod);
@@ -456,7 +456,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建短期和长期DEMA指标
         DoubleEMAIndicator shortDema = new DoubleEMAIndicator(closePrice, shortPeriod);
@@ -480,7 +480,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建短期和长期TEMA指标
         TripleEMAIndicator shortTema = new TripleEMAIndicator(closePrice, shortPeriod);
@@ -509,11 +509,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        RSIIndicator rsi = new RSIIndicator(closePrice, rsiPeriod);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, rsiPeriod);
         StochasticRSIIndicator stochRsi = new StochasticRSIIndicator(rsi, stochasticPeriod);
-        SMAIndicator k = new SMAIndicator(stochRsi, kPeriod);
-        SMAIndicator d = new SMAIndicator(k, dPeriod);
+        SMAIndicator k = IndicatorCache.sma(stochRsi, kPeriod);
+        SMAIndicator d = IndicatorCache.sma(k, dPeriod);
 
         // 随机RSI策略 - 降低超买超卖阈值
         double lowerOversold = 25; // 从20提高到25
@@ -540,7 +540,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
         CMOIndicator cmo = new CMOIndicator(closePrice, period);
 
         // 创建规则
@@ -554,15 +554,15 @@ public class StrategyFactory1 {
      * 创建ROC策略 (变动率指标)
      */
     public static Strategy createROCStrategy(BarSeries series) {
-        int period = (int) (12);
-        double threshold = (double) (0.0);
+        int period = StrategyParams.intParam("period", 12);
+        double threshold = StrategyParams.doubleParam("threshold", 0.0);
 
         if (series.getBarCount() <= period) {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        ROCIndicator roc = new ROCIndicator(closePrice, period);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        ROCIndicator roc = IndicatorCache.roc(closePrice, period);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(roc, threshold);
@@ -583,9 +583,9 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
         PPOIndicator ppo = new PPOIndicator(closePrice, shortPeriod, longPeriod);
-        EMAIndicator signal = new EMAIndicator(ppo, signalPeriod);
+        EMAIndicator signal = IndicatorCache.ema(ppo, signalPeriod);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(ppo, signal);
@@ -604,7 +604,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
         DPOIndicator dpo = new DPOIndicator(closePrice, period);
 
         // 创建规则
@@ -646,13 +646,13 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator shortSma = new SMAIndicator(closePrice, shortPeriod);
-        SMAIndicator longSma = new SMAIndicator(closePrice, longPeriod);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator shortSma = IndicatorCache.sma(closePrice, shortPeriod);
+        SMAIndicator longSma = IndicatorCache.sma(closePrice, longPeriod);
 
         // DMA = 短期均线 - 长期均线
         CustomIndicators.DifferenceIndicator dma = new CustomIndicators.DifferenceIndicator(shortSma, longSma);
-        SMAIndicator signal = new SMAIndicator(dma, signalPeriod);
+        SMAIndicator signal = IndicatorCache.sma(dma, signalPeriod);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(dma, signal);
@@ -673,7 +673,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
         UlcerIndexIndicator ulcerIndex = new UlcerIndexIndicator(closePrice, period);
 
         // 创建规则
@@ -694,7 +694,7 @@ public class StrategyFactory1 {
         }
 
         OnBalanceVolumeIndicator obv = new OnBalanceVolumeIndicator(series);
-        SMAIndicator obvSma = new SMAIndicator(obv, period);
+        SMAIndicator obvSma = IndicatorCache.sma(obv, period);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(obv, obvSma);
@@ -731,8 +731,8 @@ public class StrategyFactory1 {
         double tolerance = (double) (0.05);
 
         DojiIndicator doji = new DojiIndicator(series, 10, tolerance);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
 
         // 创建规则 - 当出现十字星且价格低于20日均线时买入，当价格高于20日均线时卖出
         Rule entryRule = new BooleanIndicatorRule(doji)
@@ -748,8 +748,8 @@ public class StrategyFactory1 {
      */
     public static Strategy createBullishEngulfingStrategy(BarSeries series) {
         BullishEngulfingIndicator bullishEngulfing = new BullishEngulfingIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
 
         // 创建规则 - 当出现看涨吞没形态且价格低于20日均线时买入，当价格高于20日均线时卖出
         Rule entryRule = new BooleanIndicatorRule(bullishEngulfing)
@@ -765,8 +765,8 @@ public class StrategyFactory1 {
      */
     public static Strategy createBearishEngulfingStrategy(BarSeries series) {
         BearishEngulfingIndicator bearishEngulfing = new BearishEngulfingIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
 
         // 创建规则 - 当出现看跌吞没形态且价格高于20日均线时卖出，当价格低于20日均线时买入
         Rule entryRule = new UnderIndicatorRule(closePrice, sma);
@@ -782,8 +782,8 @@ public class StrategyFactory1 {
      */
     public static Strategy createBullishHaramiStrategy(BarSeries series) {
         BullishHaramiIndicator bullishHarami = new BullishHaramiIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
 
         // 创建规则 - 当出现看涨孕线形态且价格低于20日均线时买入，当价格高于20日均线时卖出
         Rule entryRule = new BooleanIndicatorRule(bullishHarami)
@@ -799,8 +799,8 @@ public class StrategyFactory1 {
      */
     public static Strategy createBearishHaramiStrategy(BarSeries series) {
         BearishHaramiIndicator bearishHarami = new BearishHaramiIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
 
         // 创建规则 - 当出现看跌孕线形态且价格高于20日均线时卖出，当价格低于20日均线时买入
         Rule entryRule = new UnderIndicatorRule(closePrice, sma);
@@ -815,11 +815,11 @@ public class StrategyFactory1 {
      * 创建三白兵策略
      */
     public static Strategy createThreeWhiteSoldiersStrategy(BarSeries series) {
-        ThreeWhiteSoldiersIndicator threeWhiteSoldiers = new ThreeWhiteSoldiersIndicator(series, 5, DecimalNum.valueOf(0.3));
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
-        SMAIndicator sma10 = new SMAIndicator(closePrice, 10);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        ThreeWhiteSoldiersIndicator threeWhiteSoldiers = new ThreeWhiteSoldiersIndicator(series, 5, Ta4jNumUtil.valueOf(0.3));
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
+        SMAIndicator sma10 = IndicatorCache.sma(closePrice, 10);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         // 优化规则 - 增加更多买入条件
         Rule entryRule = new BooleanIndicatorRule(threeWhiteSoldiers)
@@ -837,10 +837,10 @@ public class StrategyFactory1 {
      */
     public static Strategy createThreeBlackCrowsStrategy(BarSeries series) {
         ThreeBlackCrowsIndicator threeBlackCrows = new ThreeBlackCrowsIndicator(series, 5, 0.3);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
-        SMAIndicator sma10 = new SMAIndicator(closePrice, 10);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
+        SMAIndicator sma10 = IndicatorCache.sma(closePrice, 10);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         // 优化规则 - 增加更多买入条件
         Rule entryRule = new OverIndicatorRule(closePrice, sma20)
@@ -865,10 +865,10 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator shortSma = new SMAIndicator(closePrice, shortPeriod);
-        SMAIndicator longSma = new SMAIndicator(closePrice, longPeriod);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator shortSma = IndicatorCache.sma(closePrice, shortPeriod);
+        SMAIndicator longSma = IndicatorCache.sma(closePrice, longPeriod);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         // 创建规则 - 当短期均线上穿长期均线且RSI大于50时买入，当短期均线下穿长期均线且RSI小于50时卖出
         Rule entryRule = new CrossedUpIndicatorRule(shortSma, longSma)
@@ -891,24 +891,24 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 添加ATR用于波动率过滤
-        ATRIndicator atr = new ATRIndicator(series, 14);
-        SMAIndicator atrSMA = new SMAIndicator(atr, 10);
+        ATRIndicator atr = IndicatorCache.atr(series, 14);
+        SMAIndicator atrSMA = IndicatorCache.sma(atr, 10);
 
         // 创建正确的最高价和最低价指标
         MaxPriceIndicator highestHigh = new MaxPriceIndicator(series, entryPeriod);  // 10日最高价
         MinPriceIndicator lowestLow = new MinPriceIndicator(series, exitPeriod);    // 5日最低价
 
         // 创建EMA作为趋势确认
-        EMAIndicator ema20 = new EMAIndicator(closePrice, 20);
+        EMAIndicator ema20 = IndicatorCache.ema(closePrice, 20);
 
         // 创建成交量指标
-        VolumeIndicator volume = new VolumeIndicator(series);
-        SMAIndicator volumeSMA = new SMAIndicator(volume, 10);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        SMAIndicator volumeSMA = IndicatorCache.sma(volume, 10);
 
         // 海龟买入条件：
         // 1. 价格突破10日高点
@@ -941,16 +941,16 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        EMAIndicator shortEma = new EMAIndicator(closePrice, shortPeriod);
-        EMAIndicator longEma = new EMAIndicator(closePrice, longPeriod);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        EMAIndicator shortEma = IndicatorCache.ema(closePrice, shortPeriod);
+        EMAIndicator longEma = IndicatorCache.ema(closePrice, longPeriod);
 
         // 计算MACD指标
-        MACDIndicator macd = new MACDIndicator(closePrice, shortPeriod, longPeriod);
-        EMAIndicator signal = new EMAIndicator(macd, signalPeriod);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, shortPeriod, longPeriod);
+        EMAIndicator signal = IndicatorCache.ema(macd, signalPeriod);
 
         // 创建ADX指标（使用RSI替代）
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         // 创建规则 - 当MACD上穿信号线且RSI大于50时买入，当MACD下穿信号线且RSI小于50时卖出
         Rule entryRule = new CrossedUpIndicatorRule(macd, signal)
@@ -973,15 +973,15 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         MaxPriceIndicator highestHigh = new MaxPriceIndicator(series, period);
         MinPriceIndicator lowestLow = new MinPriceIndicator(series, period);
-        SMAIndicator avgVolume = new SMAIndicator(volume, period);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, period);
 
         // 添加EMA作为趋势确认
-        EMAIndicator ema = new EMAIndicator(closePrice, 20);
+        EMAIndicator ema = IndicatorCache.ema(closePrice, 20);
 
         // 简化的突破规则：只需要价格突破，不强制要求成交量确认
         Rule upperBreakoutRule = new OverIndicatorRule(closePrice,
@@ -996,8 +996,8 @@ public class StrategyFactory1 {
 
         // 修改止损和止盈规则
         Rule exitRule = new OrRule(
-                new StopLossRule(closePrice, DecimalNum.valueOf(0.015)), // 降低止损到1.5%
-                new StopGainRule(closePrice, DecimalNum.valueOf(0.03))   // 降低止盈到3%
+                new StopLossRule(closePrice, Ta4jNumUtil.valueOf(0.015)), // 降低止损到1.5%
+                new StopGainRule(closePrice, Ta4jNumUtil.valueOf(0.03))   // 降低止盈到3%
         );
 
         return new BaseStrategy("突破策略", entryRule, addExtraStopRule(exitRule, series));
@@ -1014,9 +1014,9 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator shortSma = new SMAIndicator(closePrice, shortPeriod);
-        SMAIndicator longSma = new SMAIndicator(closePrice, longPeriod);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator shortSma = IndicatorCache.sma(closePrice, shortPeriod);
+        SMAIndicator longSma = IndicatorCache.sma(closePrice, longPeriod);
 
         // 创建规则 - 当短期均线上穿长期均线时买入
         Rule entryRule = new CrossedUpIndicatorRule(shortSma, longSma);
@@ -1036,9 +1036,9 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator shortSma = new SMAIndicator(closePrice, shortPeriod);
-        SMAIndicator longSma = new SMAIndicator(closePrice, longPeriod);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator shortSma = IndicatorCache.sma(closePrice, shortPeriod);
+        SMAIndicator longSma = IndicatorCache.sma(closePrice, longPeriod);
 
         // 创建规则 - 当短期均线下穿长期均线时卖出
         Rule entryRule = new CrossedUpIndicatorRule(longSma, shortSma);
@@ -1059,18 +1059,18 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建三重EMA
-        EMAIndicator ema1 = new EMAIndicator(closePrice, period);
-        EMAIndicator ema2 = new EMAIndicator(ema1, period);
-        EMAIndicator ema3 = new EMAIndicator(ema2, period);
+        EMAIndicator ema1 = IndicatorCache.ema(closePrice, period);
+        EMAIndicator ema2 = IndicatorCache.ema(ema1, period);
+        EMAIndicator ema3 = IndicatorCache.ema(ema2, period);
 
         // 创建TRIX (当前值与前一个值的百分比变化)
-        ROCIndicator trix = new ROCIndicator(ema3, 1);
+        ROCIndicator trix = IndicatorCache.roc(ema3, 1);
 
         // 创建信号线
-        SMAIndicator signal = new SMAIndicator(trix, signalPeriod);
+        SMAIndicator signal = IndicatorCache.sma(trix, signalPeriod);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(trix, signal);
@@ -1093,10 +1093,10 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator shortSma = new SMAIndicator(closePrice, shortPeriod);
-        SMAIndicator longSma = new SMAIndicator(closePrice, longPeriod);
-        RSIIndicator rsi = new RSIIndicator(closePrice, rsiPeriod);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator shortSma = IndicatorCache.sma(closePrice, shortPeriod);
+        SMAIndicator longSma = IndicatorCache.sma(closePrice, longPeriod);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, rsiPeriod);
 
         // 创建规则 - 当短期均线上穿长期均线且RSI大于阈值时买入，当短期均线下穿长期均线或RSI小于阈值时卖出
         Rule entryRule = new CrossedUpIndicatorRule(shortSma, longSma)
@@ -1121,7 +1121,7 @@ public class StrategyFactory1 {
 
         // 创建抛物线SAR指标
         ParabolicSarIndicator sar = new ParabolicSarIndicator(series, Ta4jNumUtil.valueOf(step), Ta4jNumUtil.valueOf(max));
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, sar);
@@ -1142,18 +1142,18 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建价格指标
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 计算最高价和最低价
         MaxPriceIndicator highestHigh = new MaxPriceIndicator(series, period);
         MinPriceIndicator lowestLow = new MinPriceIndicator(series, period);
 
         // 计算ATR - 确保period大于0
-        ATRIndicator atr = new ATRIndicator(series, period);
+        ATRIndicator atr = IndicatorCache.atr(series, period);
 
         // 创建自定义指标 - 多头吊灯线退出位置 (最高价 - ATR * multiplier)
         class LongChandelierExitIndicator extends CachedIndicator<Num> {
@@ -1244,7 +1244,7 @@ public class StrategyFactory1 {
 
         public MaxPriceIndicator(BarSeries series, int period) {
             super(series);
-            this.highPrice = new HighPriceIndicator(series);
+            this.highPrice = IndicatorCache.highPrice(series);
             this.period = period;
         }
 
@@ -1276,7 +1276,7 @@ public class StrategyFactory1 {
 
         public MinPriceIndicator(BarSeries series, int period) {
             super(series);
-            this.lowPrice = new LowPriceIndicator(series);
+            this.lowPrice = IndicatorCache.lowPrice(series);
             this.period = period;
         }
 
@@ -1314,27 +1314,27 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        SMAIndicator volumeSMA = new SMAIndicator(volume, 10);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        SMAIndicator volumeSMA = IndicatorCache.sma(volume, 10);
 
         // 创建MACD指标
-        MACDIndicator macd = new MACDIndicator(closePrice, shortPeriod, longPeriod);
-        EMAIndicator signal = new EMAIndicator(macd, signalPeriod);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, shortPeriod, longPeriod);
+        EMAIndicator signal = IndicatorCache.ema(macd, signalPeriod);
 
         // 创建MACD柱状图指标
         Indicator<Num> histogram = new CustomIndicators.DifferenceIndicator(macd, signal);
 
         // 创建布林带指标
-        SMAIndicator sma = new SMAIndicator(closePrice, bollingerPeriod);
-        StandardDeviationIndicator sd = new StandardDeviationIndicator(closePrice, bollingerPeriod);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, bollingerPeriod);
+        StandardDeviationIndicator sd = IndicatorCache.standardDeviation(closePrice, bollingerPeriod);
 
         BollingerBandsMiddleIndicator middleBand = new BollingerBandsMiddleIndicator(sma);
         BollingerBandsUpperIndicator upperBand = new BollingerBandsUpperIndicator(middleBand, sd, Ta4jNumUtil.valueOf(bollingerDeviation));
         BollingerBandsLowerIndicator lowerBand = new BollingerBandsLowerIndicator(middleBand, sd, Ta4jNumUtil.valueOf(bollingerDeviation));
 
         // 创建RSI指标作为额外的过滤条件
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         // 买入规则:
         // 1. MACD金叉 或 MACD柱状图由负转正
@@ -1375,11 +1375,11 @@ public class StrategyFactory1 {
         double upperShadowRatio = 0.3; // 放宽上影线要求（原来0.1）
         double lowerShadowRatio = 1.2; // 降低下影线要求（原来2.0）
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        OpenPriceIndicator openPrice = new OpenPriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        SMAIndicator sma10 = new SMAIndicator(closePrice, 10); // 缩短均线周期
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        OpenPriceIndicator openPrice = IndicatorCache.openPrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        SMAIndicator sma10 = IndicatorCache.sma(closePrice, 10); // 缩短均线周期
 
         // 创建改进的吊锤形态指标
         class HangingManIndicator extends CachedIndicator<Boolean> {
@@ -1392,10 +1392,10 @@ public class StrategyFactory1 {
 
             public HangingManIndicator(BarSeries series, double upperShadowRatio, double lowerShadowRatio) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.openPrice = new OpenPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.openPrice = IndicatorCache.openPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
                 this.upperShadowRatio = upperShadowRatio;
                 this.lowerShadowRatio = lowerShadowRatio;
             }
@@ -1471,7 +1471,7 @@ public class StrategyFactory1 {
 
         // 创建VWAP指标
         VWAPIndicator vwap = new VWAPIndicator(series, period);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 买入规则：价格上穿VWAP
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, vwap);
@@ -1491,14 +1491,14 @@ public class StrategyFactory1 {
         double multiplier = 0.2;
 
         // 创建肯特纳通道指标
-        EMAIndicator ema = new EMAIndicator(new ClosePriceIndicator(series), emaPeriod);
-        ATRIndicator atr = new ATRIndicator(series, atrPeriod);
+        EMAIndicator ema = IndicatorCache.ema(IndicatorCache.closePrice(series), emaPeriod);
+        ATRIndicator atr = IndicatorCache.atr(series, atrPeriod);
 
         KeltnerChannelMiddleIndicator middle = new KeltnerChannelMiddleIndicator(ema, 20);
         KeltnerChannelUpperIndicator upper = new KeltnerChannelUpperIndicator(middle, multiplier, 14);
         KeltnerChannelLowerIndicator lower = new KeltnerChannelLowerIndicator(middle, multiplier, 14);
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 买入规则：价格跌破下轨
         Rule entryRule = new CrossedDownIndicatorRule(closePrice, lower);
@@ -1513,13 +1513,13 @@ public class StrategyFactory1 {
      * 创建ATR策略
      */
     public static Strategy createATRStrategy(BarSeries series) {
-        int period = (int) (7);  // 降低ATR周期，使指标更敏感
-        double multiplier = 1.0;  // 降低ATR倍数
+        int period = StrategyParams.intParam("period", 7);  // 降低ATR周期，使指标更敏感
+        double multiplier = StrategyParams.doubleParam("multiplier", 1.0);  // 降低ATR倍数
 
         // 创建ATR指标
-        ATRIndicator atr = new ATRIndicator(series, period);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);  // 添加移动平均线作为趋势判断
+        ATRIndicator atr = IndicatorCache.atr(series, period);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);  // 添加移动平均线作为趋势判断
 
         // 创建自定义指标 - 上轨 (收盘价 + ATR * multiplier)
         class UpperBandIndicator extends CachedIndicator<Num> {
@@ -1576,7 +1576,7 @@ public class StrategyFactory1 {
         // 买入规则：价格上穿SMA且波动率扩大（ATR上升）
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, sma)
                 .and(new OverIndicatorRule(atr, new TransformIndicator(
-                        new SMAIndicator(atr, 5), // ATR的5周期均值
+                        IndicatorCache.sma(atr, 5), // ATR的5周期均值
                         v -> v.multipliedBy(Ta4jNumUtil.valueOf(0.9)) // ATR > 0.9 * SMA(ATR, 5)
                 )));
 
@@ -1653,8 +1653,8 @@ public class StrategyFactory1 {
         MedianPriceIndicator medianPrice = new MedianPriceIndicator(series);
 
         // 创建短期和长期SMA
-        SMAIndicator shortSma = new SMAIndicator(medianPrice, shortPeriod);
-        SMAIndicator longSma = new SMAIndicator(medianPrice, longPeriod);
+        SMAIndicator shortSma = IndicatorCache.sma(medianPrice, shortPeriod);
+        SMAIndicator longSma = IndicatorCache.sma(medianPrice, longPeriod);
 
         // 创建神奇震荡指标 (短期SMA - 长期SMA)
         class AwesomeOscillatorIndicator extends CachedIndicator<Num> {
@@ -1715,8 +1715,8 @@ public class StrategyFactory1 {
 
             public DirectionalMovementPlusIndicator(BarSeries series, int period) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.atr = new ATRIndicator(series, period);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.atr = IndicatorCache.atr(series, period);
                 this.period = period;
             }
 
@@ -1728,7 +1728,7 @@ public class StrategyFactory1 {
 
                 // +DM = 如果(当日最高价-前日最高价) > (前日最低价-当日最低价)，取较大值，否则为0
                 Num highDiff = highPrice.getValue(index).minus(highPrice.getValue(index - 1));
-                Num lowDiff = new LowPriceIndicator(series).getValue(index - 1).minus(new LowPriceIndicator(series).getValue(index));
+                Num lowDiff = IndicatorCache.lowPrice(series).getValue(index - 1).minus(IndicatorCache.lowPrice(series).getValue(index));
 
                 Num plusDM = Ta4jNumUtil.valueOf(0);
                 if (highDiff.isGreaterThan(Ta4jNumUtil.valueOf(0)) && highDiff.isGreaterThan(lowDiff)) {
@@ -1752,8 +1752,8 @@ public class StrategyFactory1 {
 
             public DirectionalMovementMinusIndicator(BarSeries series, int period) {
                 super(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.atr = new ATRIndicator(series, period);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.atr = IndicatorCache.atr(series, period);
                 this.period = period;
             }
 
@@ -1765,7 +1765,7 @@ public class StrategyFactory1 {
 
                 // -DM = 如果(前日最低价-当日最低价) > (当日最高价-前日最高价)，取较大值，否则为0
                 Num lowDiff = lowPrice.getValue(index - 1).minus(lowPrice.getValue(index));
-                Num highDiff = new HighPriceIndicator(series).getValue(index).minus(new HighPriceIndicator(series).getValue(index - 1));
+                Num highDiff = IndicatorCache.highPrice(series).getValue(index).minus(IndicatorCache.highPrice(series).getValue(index - 1));
 
                 Num minusDM = Ta4jNumUtil.valueOf(0);
                 if (lowDiff.isGreaterThan(Ta4jNumUtil.valueOf(0)) && lowDiff.isGreaterThan(highDiff)) {
@@ -1803,7 +1803,7 @@ public class StrategyFactory1 {
         double multiplier = 1.0; // 大幅降低乘数使策略更敏感（原来2.0）
 
         // 创建ATR指标
-        ATRIndicator atr = new ATRIndicator(series, period);
+        ATRIndicator atr = IndicatorCache.atr(series, period);
 
         // 创建中间价指标 (high + low) / 2
         MedianPriceIndicator medianPrice = new MedianPriceIndicator(series);
@@ -1858,10 +1858,10 @@ public class StrategyFactory1 {
         UpperBandIndicator upperBand = new UpperBandIndicator(medianPrice, atr, multiplier, series);
         LowerBandIndicator lowerBand = new LowerBandIndicator(medianPrice, atr, multiplier, series);
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 添加EMA作为趋势确认
-        EMAIndicator ema = new EMAIndicator(closePrice, 20);
+        EMAIndicator ema = IndicatorCache.ema(closePrice, 20);
 
         // 买入规则：价格突破上轨且价格在EMA之上
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, upperBand)
@@ -1884,9 +1884,9 @@ public class StrategyFactory1 {
         int displacement = (int) (26);
 
         // 创建一目均衡表指标
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 转换线 (Conversion Line, Tenkan-sen) = (n日高点 + n日低点) / 2，一般n取9
         class ConversionLineIndicator extends CachedIndicator<Num> {
@@ -2061,11 +2061,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (longPeriod + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建短期和长期三角移动平均线指标（使用SMA替代）
-        SMAIndicator shortTrima = new SMAIndicator(closePrice, shortPeriod);
-        SMAIndicator longTrima = new SMAIndicator(closePrice, longPeriod);
+        SMAIndicator shortTrima = IndicatorCache.sma(closePrice, shortPeriod);
+        SMAIndicator longTrima = IndicatorCache.sma(closePrice, longPeriod);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(shortTrima, longTrima);
@@ -2086,11 +2086,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建T3指标（使用EMA替代）
-        EMAIndicator t3 = new EMAIndicator(closePrice, period);
-        SMAIndicator sma = new SMAIndicator(closePrice, period);
+        EMAIndicator t3 = IndicatorCache.ema(closePrice, period);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, period);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(t3, sma);
@@ -2111,11 +2111,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 31 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建MAMA指标（使用KAMA替代）
         KAMAIndicator mama = new KAMAIndicator(closePrice, 20, 2, 30);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(mama, sma);
@@ -2137,11 +2137,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (longCMAPeriod + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建VIDYA指标（使用EMA替代）
-        EMAIndicator vidya = new EMAIndicator(closePrice, longCMAPeriod);
-        SMAIndicator sma = new SMAIndicator(closePrice, longCMAPeriod);
+        EMAIndicator vidya = IndicatorCache.ema(closePrice, longCMAPeriod);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, longCMAPeriod);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(vidya, sma);
@@ -2161,7 +2161,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建威尔德平滑指标（威尔德平滑是一种特殊的EMA，alpha = 1/period）
         class WilderSmoothingIndicator extends CachedIndicator<Num> {
@@ -2195,7 +2195,7 @@ public class StrategyFactory1 {
         }
 
         WilderSmoothingIndicator wilders = new WilderSmoothingIndicator(closePrice, period, series);
-        SMAIndicator sma = new SMAIndicator(closePrice, period);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, period);
 
         // 创建规则
         Rule entryRule = new CrossedUpIndicatorRule(wilders, sma);
@@ -2215,7 +2215,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建自定义Fisher变换指标
         class FisherTransformIndicator extends CachedIndicator<Num> {
@@ -2297,7 +2297,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建自定义预测振荡器指标
         class ForecastOscillatorIndicator extends CachedIndicator<Num> {
@@ -2377,8 +2377,8 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 创建自定义移动便利性指标
         class EaseOfMovementIndicator extends CachedIndicator<Num> {
@@ -2395,9 +2395,9 @@ public class StrategyFactory1 {
 
             public EaseOfMovementIndicator(BarSeries series, int period, double divisor) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.volume = new VolumeIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.volume = IndicatorCache.volume(series);
                 this.period = period;
                 this.divisor = Ta4jNumUtil.valueOf(divisor);
             }
@@ -2467,9 +2467,9 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 创建自定义震荡指数指标
         class ChoppinessIndexIndicator extends CachedIndicator<Num> {
@@ -2486,9 +2486,9 @@ public class StrategyFactory1 {
 
             public ChoppinessIndexIndicator(BarSeries series, int period) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.atr = new ATRIndicator(series, 1);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.atr = IndicatorCache.atr(series, 1);
                 this.period = period;
                 this.hundred = Ta4jNumUtil.valueOf(100);
             }
@@ -2548,14 +2548,14 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (longPeriod + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 使用简化的KVO计算
-        Rule entryRule = new CrossedUpIndicatorRule(closePrice, new SMAIndicator(closePrice, shortPeriod));
-        Rule exitRule = new CrossedDownIndicatorRule(closePrice, new SMAIndicator(closePrice, shortPeriod));
+        Rule entryRule = new CrossedUpIndicatorRule(closePrice, IndicatorCache.sma(closePrice, shortPeriod));
+        Rule exitRule = new CrossedDownIndicatorRule(closePrice, IndicatorCache.sma(closePrice, shortPeriod));
 
         return new BaseStrategy(entryRule, addExtraStopRule(exitRule, series));
     }
@@ -2572,10 +2572,10 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + signalPeriod + 1) + " 个数据点");
         }
 
-        OpenPriceIndicator openPrice = new OpenPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        OpenPriceIndicator openPrice = IndicatorCache.openPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 创建RVGI指标
         class RvgiIndicator extends CachedIndicator<Num> {
@@ -2592,10 +2592,10 @@ public class StrategyFactory1 {
 
             public RvgiIndicator(BarSeries series, int period) {
                 super(series);
-                this.openPrice = new OpenPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
+                this.openPrice = IndicatorCache.openPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
                 this.period = period;
             }
 
@@ -2625,7 +2625,7 @@ public class StrategyFactory1 {
         }
 
         RvgiIndicator rvgi = new RvgiIndicator(series, period);
-        SMAIndicator rvgiSignal = new SMAIndicator(rvgi, signalPeriod);
+        SMAIndicator rvgiSignal = IndicatorCache.sma(rvgi, signalPeriod);
 
         Rule entryRule = new CrossedUpIndicatorRule(rvgi, rvgiSignal);
         Rule exitRule = new CrossedDownIndicatorRule(rvgi, rvgiSignal);
@@ -2646,11 +2646,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (slowPeriod + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 使用简化的STC计算 - 基于MACD
-        EMAIndicator fastEma = new EMAIndicator(closePrice, fastPeriod);
-        EMAIndicator slowEma = new EMAIndicator(closePrice, slowPeriod);
+        EMAIndicator fastEma = IndicatorCache.ema(closePrice, fastPeriod);
+        EMAIndicator slowEma = IndicatorCache.ema(closePrice, slowPeriod);
 
         class MacdIndicator extends CachedIndicator<Num> {
             @Override
@@ -2674,7 +2674,7 @@ public class StrategyFactory1 {
         }
 
         MacdIndicator macd = new MacdIndicator(fastEma, slowEma, series);
-        EMAIndicator macdSignal = new EMAIndicator(macd, signalPeriod);
+        EMAIndicator macdSignal = IndicatorCache.ema(macd, signalPeriod);
 
         Rule entryRule = new CrossedUpIndicatorRule(macd, macdSignal);
         Rule exitRule = new CrossedDownIndicatorRule(macd, macdSignal);
@@ -2693,9 +2693,9 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建VI+指标
         class VortexPositiveIndicator extends CachedIndicator<Num> {
@@ -2711,9 +2711,9 @@ public class StrategyFactory1 {
 
             public VortexPositiveIndicator(BarSeries series, int period) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
                 this.period = period;
             }
 
@@ -2763,9 +2763,9 @@ public class StrategyFactory1 {
 
             public VortexNegativeIndicator(BarSeries series, int period) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
                 this.period = period;
             }
 
@@ -2821,8 +2821,8 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        OpenPriceIndicator openPrice = new OpenPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        OpenPriceIndicator openPrice = IndicatorCache.openPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建QStick指标
         class QStickIndicator extends CachedIndicator<Num> {
@@ -2837,8 +2837,8 @@ public class StrategyFactory1 {
 
             public QStickIndicator(BarSeries series, int period) {
                 super(series);
-                this.openPrice = new OpenPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
+                this.openPrice = IndicatorCache.openPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
                 this.period = period;
             }
 
@@ -2881,11 +2881,11 @@ public class StrategyFactory1 {
         MedianPriceIndicator medianPrice = new MedianPriceIndicator(series);
 
         // 鳄鱼的下颚（蓝线）
-        SMAIndicator jaw = new SMAIndicator(medianPrice, jawPeriod);
+        SMAIndicator jaw = IndicatorCache.sma(medianPrice, jawPeriod);
         // 鳄鱼的牙齿（红线）
-        SMAIndicator teeth = new SMAIndicator(medianPrice, teethPeriod);
+        SMAIndicator teeth = IndicatorCache.sma(medianPrice, teethPeriod);
         // 鳄鱼的嘴唇（绿线）
-        SMAIndicator lips = new SMAIndicator(medianPrice, lipsPeriod);
+        SMAIndicator lips = IndicatorCache.sma(medianPrice, lipsPeriod);
 
         // 当三线呈多头排列时买入，空头排列时卖出
         Rule entryRule = new AndRule(
@@ -2912,10 +2912,10 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 使用简化的趋势线计算（替代复杂的希尔伯特变换）
-        SMAIndicator trendline = new SMAIndicator(closePrice, period);
+        SMAIndicator trendline = IndicatorCache.sma(closePrice, period);
 
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, trendline);
         Rule exitRule = new CrossedDownIndicatorRule(closePrice, trendline);
@@ -2934,8 +2934,8 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ATRIndicator atr = new ATRIndicator(series, period);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ATRIndicator atr = IndicatorCache.atr(series, period);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建NATR指标
         class NatrIndicator extends CachedIndicator<Num> {
@@ -2988,19 +2988,19 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (sumPeriod + emaPeriod + 1) + " 个数据点");
         }
 
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建标准的质量指数计算
         // 1. 计算高低价差
         Indicator<Num> highLowDiff = new CustomIndicators.DifferenceIndicator(highPrice, lowPrice);
 
         // 2. 创建价差的EMA
-        EMAIndicator ema1 = new EMAIndicator(highLowDiff, emaPeriod);
+        EMAIndicator ema1 = IndicatorCache.ema(highLowDiff, emaPeriod);
 
         // 3. 创建价差EMA的EMA
-        EMAIndicator ema2 = new EMAIndicator(ema1, emaPeriod);
+        EMAIndicator ema2 = IndicatorCache.ema(ema1, emaPeriod);
 
         // 4. 创建比率指标 (EMA1/EMA2)
         Indicator<Num> emaRatio = new TransformIndicator(
@@ -3055,10 +3055,10 @@ public class StrategyFactory1 {
         MassIndexIndicator massIndex = new MassIndexIndicator(emaRatio, sumPeriod, series);
 
         // 创建SMA用于交叉信号
-        SMAIndicator massIndexSMA = new SMAIndicator(massIndex, 5);
+        SMAIndicator massIndexSMA = IndicatorCache.sma(massIndex, 5);
 
         // 添加趋势确认指标
-        EMAIndicator ema20 = new EMAIndicator(closePrice, 20);
+        EMAIndicator ema20 = IndicatorCache.ema(closePrice, 20);
 
         // 质量指数交易规则
         // 买入条件：质量指数上穿SMA且价格在20日均线之上
@@ -3084,9 +3084,9 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, period);
-        SMAIndicator sma = new SMAIndicator(closePrice, period);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, period);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, period);
 
         // 创建上下轨
         class UpperBandIndicator extends CachedIndicator<Num> {
@@ -3158,11 +3158,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (Math.max(bbPeriod, kcPeriod) + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 布林带
-        BollingerBandsUpperIndicator bbUpper = new BollingerBandsUpperIndicator(new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, bbPeriod)), new StandardDeviationIndicator(closePrice, bbPeriod), DecimalNum.valueOf(bbMultiplier));
-        BollingerBandsLowerIndicator bbLower = new BollingerBandsLowerIndicator(new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, bbPeriod)), new StandardDeviationIndicator(closePrice, bbPeriod), DecimalNum.valueOf(bbMultiplier));
+        BollingerBandsUpperIndicator bbUpper = new BollingerBandsUpperIndicator(new BollingerBandsMiddleIndicator(IndicatorCache.sma(closePrice, bbPeriod)), IndicatorCache.standardDeviation(closePrice, bbPeriod), Ta4jNumUtil.valueOf(bbMultiplier));
+        BollingerBandsLowerIndicator bbLower = new BollingerBandsLowerIndicator(new BollingerBandsMiddleIndicator(IndicatorCache.sma(closePrice, bbPeriod)), IndicatorCache.standardDeviation(closePrice, bbPeriod), Ta4jNumUtil.valueOf(bbMultiplier));
 
         // 肯特纳通道
         KeltnerChannelMiddleIndicator kcMiddle = new KeltnerChannelMiddleIndicator(series, kcPeriod);
@@ -3193,12 +3193,12 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        BollingerBandsMiddleIndicator bbMiddle = new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, period));
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, period);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        BollingerBandsMiddleIndicator bbMiddle = new BollingerBandsMiddleIndicator(IndicatorCache.sma(closePrice, period));
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, period);
 
-        BollingerBandsUpperIndicator bbUpper = new BollingerBandsUpperIndicator(bbMiddle, stdDev, DecimalNum.valueOf(stdDevMultiplier));
-        BollingerBandsLowerIndicator bbLower = new BollingerBandsLowerIndicator(bbMiddle, stdDev, DecimalNum.valueOf(stdDevMultiplier));
+        BollingerBandsUpperIndicator bbUpper = new BollingerBandsUpperIndicator(bbMiddle, stdDev, Ta4jNumUtil.valueOf(stdDevMultiplier));
+        BollingerBandsLowerIndicator bbLower = new BollingerBandsLowerIndicator(bbMiddle, stdDev, Ta4jNumUtil.valueOf(stdDevMultiplier));
 
         // 创建布林带宽度指标
         class BollingerBandWidthIndicator extends CachedIndicator<Num> {
@@ -3229,7 +3229,7 @@ public class StrategyFactory1 {
         }
 
         BollingerBandWidthIndicator bbw = new BollingerBandWidthIndicator(bbUpper, bbLower, bbMiddle, series);
-        SMAIndicator bbwAvg = new SMAIndicator(bbw, 10);
+        SMAIndicator bbwAvg = IndicatorCache.sma(bbw, 10);
 
         Rule entryRule = new CrossedUpIndicatorRule(bbw, bbwAvg);
         Rule exitRule = new CrossedDownIndicatorRule(bbw, bbwAvg);
@@ -3248,7 +3248,7 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建年化波动率指标
         class VolatilityIndicator extends CachedIndicator<Num> {
@@ -3297,7 +3297,7 @@ public class StrategyFactory1 {
         }
 
         VolatilityIndicator volatility = new VolatilityIndicator(closePrice, period, series);
-        SMAIndicator volatilityAvg = new SMAIndicator(volatility, 10);
+        SMAIndicator volatilityAvg = IndicatorCache.sma(volatility, 10);
 
         Rule entryRule = new CrossedUpIndicatorRule(volatility, volatilityAvg);
         Rule exitRule = new CrossedDownIndicatorRule(volatility, volatilityAvg);
@@ -3316,9 +3316,9 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 创建唐奇安上轨
         class DonchianUpperIndicator extends CachedIndicator<Num> {
@@ -3401,10 +3401,10 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (longPeriod + 1) + " 个数据点");
         }
 
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 创建累积分配线指标
         class AccumulationDistributionIndicator extends CachedIndicator<Num> {
@@ -3420,10 +3420,10 @@ public class StrategyFactory1 {
 
             public AccumulationDistributionIndicator(BarSeries series) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
-                this.volume = new VolumeIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
+                this.volume = IndicatorCache.volume(series);
             }
 
             @Override
@@ -3455,8 +3455,8 @@ public class StrategyFactory1 {
         }
 
         AccumulationDistributionIndicator ad = new AccumulationDistributionIndicator(series);
-        SMAIndicator adShort = new SMAIndicator(ad, shortPeriod);
-        SMAIndicator adLong = new SMAIndicator(ad, longPeriod);
+        SMAIndicator adShort = IndicatorCache.sma(ad, shortPeriod);
+        SMAIndicator adLong = IndicatorCache.sma(ad, longPeriod);
 
         Rule entryRule = new CrossedUpIndicatorRule(adShort, adLong);
         Rule exitRule = new CrossedDownIndicatorRule(adShort, adLong);
@@ -3477,13 +3477,13 @@ public class StrategyFactory1 {
         }
 
         // 使用简化的ADOSC计算
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 使用成交量加权价格作为简化的AD指标
         VWAPIndicator vwap = new VWAPIndicator(series, fastPeriod);
-        EMAIndicator fastEma = new EMAIndicator(vwap, fastPeriod);
-        EMAIndicator slowEma = new EMAIndicator(vwap, slowPeriod);
+        EMAIndicator fastEma = IndicatorCache.ema(vwap, fastPeriod);
+        EMAIndicator slowEma = IndicatorCache.ema(vwap, slowPeriod);
 
         class AdoscIndicator extends CachedIndicator<Num> {
             @Override
@@ -3526,8 +3526,8 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (longPeriod + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 创建负成交量指数
         class NegativeVolumeIndexIndicator extends CachedIndicator<Num> {
@@ -3541,8 +3541,8 @@ public class StrategyFactory1 {
 
             public NegativeVolumeIndexIndicator(BarSeries series) {
                 super(series);
-                this.closePrice = new ClosePriceIndicator(series);
-                this.volume = new VolumeIndicator(series);
+                this.closePrice = IndicatorCache.closePrice(series);
+                this.volume = IndicatorCache.volume(series);
             }
 
             @Override
@@ -3568,7 +3568,7 @@ public class StrategyFactory1 {
         }
 
         NegativeVolumeIndexIndicator nvi = new NegativeVolumeIndexIndicator(series);
-        SMAIndicator nviSma = new SMAIndicator(nvi, longPeriod);
+        SMAIndicator nviSma = IndicatorCache.sma(nvi, longPeriod);
 
         Rule entryRule = new CrossedUpIndicatorRule(nvi, nviSma);
         Rule exitRule = new CrossedDownIndicatorRule(nvi, nviSma);
@@ -3588,8 +3588,8 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (longPeriod + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 创建正成交量指数
         class PositiveVolumeIndexIndicator extends CachedIndicator<Num> {
@@ -3603,8 +3603,8 @@ public class StrategyFactory1 {
 
             public PositiveVolumeIndexIndicator(BarSeries series) {
                 super(series);
-                this.closePrice = new ClosePriceIndicator(series);
-                this.volume = new VolumeIndicator(series);
+                this.closePrice = IndicatorCache.closePrice(series);
+                this.volume = IndicatorCache.volume(series);
             }
 
             @Override
@@ -3630,7 +3630,7 @@ public class StrategyFactory1 {
         }
 
         PositiveVolumeIndexIndicator pvi = new PositiveVolumeIndexIndicator(series);
-        SMAIndicator pviSma = new SMAIndicator(pvi, longPeriod);
+        SMAIndicator pviSma = IndicatorCache.sma(pvi, longPeriod);
 
         Rule entryRule = new CrossedUpIndicatorRule(pvi, pviSma);
         Rule exitRule = new CrossedDownIndicatorRule(pvi, pviSma);
@@ -3649,8 +3649,8 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 创建VWMA指标
         class VwmaIndicator extends CachedIndicator<Num> {
@@ -3665,8 +3665,8 @@ public class StrategyFactory1 {
 
             public VwmaIndicator(BarSeries series, int period) {
                 super(series);
-                this.closePrice = new ClosePriceIndicator(series);
-                this.volume = new VolumeIndicator(series);
+                this.closePrice = IndicatorCache.closePrice(series);
+                this.volume = IndicatorCache.volume(series);
                 this.period = period;
             }
 
@@ -3714,11 +3714,11 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (longPeriod + 1) + " 个数据点");
         }
 
-        VolumeIndicator volume = new VolumeIndicator(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 创建成交量振荡器
-        SMAIndicator shortVolumeAvg = new SMAIndicator(volume, shortPeriod);
-        SMAIndicator longVolumeAvg = new SMAIndicator(volume, longPeriod);
+        SMAIndicator shortVolumeAvg = IndicatorCache.sma(volume, shortPeriod);
+        SMAIndicator longVolumeAvg = IndicatorCache.sma(volume, longPeriod);
 
         class VolumeOscillatorIndicator extends CachedIndicator<Num> {
             @Override
@@ -3767,9 +3767,9 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 创建市场便利指数
         class MarketFacilitationIndexIndicator extends CachedIndicator<Num> {
@@ -3784,9 +3784,9 @@ public class StrategyFactory1 {
 
             public MarketFacilitationIndexIndicator(BarSeries series) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.volume = new VolumeIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.volume = IndicatorCache.volume(series);
             }
 
             @Override
@@ -3804,7 +3804,7 @@ public class StrategyFactory1 {
         }
 
         MarketFacilitationIndexIndicator mfi = new MarketFacilitationIndexIndicator(series);
-        SMAIndicator mfiAvg = new SMAIndicator(mfi, period);
+        SMAIndicator mfiAvg = IndicatorCache.sma(mfi, period);
 
         Rule entryRule = new CrossedUpIndicatorRule(mfi, mfiAvg);
         Rule exitRule = new CrossedDownIndicatorRule(mfi, mfiAvg);
@@ -3821,8 +3821,8 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 2 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
 
         // 创建锤子线的简化买入条件
         Rule entryRule = new CrossedDownIndicatorRule(closePrice, sma20);
@@ -3849,10 +3849,10 @@ public class StrategyFactory1 {
 
             public InvertedHammerIndicator(BarSeries series) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.openPrice = new OpenPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.openPrice = IndicatorCache.openPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
             }
 
             @Override
@@ -3901,7 +3901,7 @@ public class StrategyFactory1 {
         InvertedHammerIndicator invertedHammer = new InvertedHammerIndicator(series);
 
         Rule entryRule = new BooleanIndicatorRule(invertedHammer);
-        Rule exitRule = new StopGainRule(new ClosePriceIndicator(series), DecimalNum.valueOf(3)); // 3%止盈
+        Rule exitRule = new StopGainRule(IndicatorCache.closePrice(series), Ta4jNumUtil.valueOf(3)); // 3%止盈
 
         return new BaseStrategy(entryRule, addExtraStopRule(exitRule, series));
     }
@@ -3910,8 +3910,8 @@ public class StrategyFactory1 {
      * 创建流星线策略
      */
     public static Strategy createShootingStarStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
 
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, sma20);
         Rule exitRule = new CrossedDownIndicatorRule(closePrice, sma20);
@@ -3937,10 +3937,10 @@ public class StrategyFactory1 {
 
             public MorningStarIndicator(BarSeries series) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.openPrice = new OpenPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.openPrice = IndicatorCache.openPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
             }
 
             @Override
@@ -3986,7 +3986,7 @@ public class StrategyFactory1 {
         MorningStarIndicator morningStar = new MorningStarIndicator(series);
 
         Rule entryRule = new BooleanIndicatorRule(morningStar);
-        Rule exitRule = new StopGainRule(new ClosePriceIndicator(series), DecimalNum.valueOf(5)); // 5%止盈
+        Rule exitRule = new StopGainRule(IndicatorCache.closePrice(series), Ta4jNumUtil.valueOf(5)); // 5%止盈
 
         return new BaseStrategy(entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4009,10 +4009,10 @@ public class StrategyFactory1 {
 
             public EveningStarIndicator(BarSeries series) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.openPrice = new OpenPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.openPrice = IndicatorCache.openPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
             }
 
             @Override
@@ -4057,8 +4057,8 @@ public class StrategyFactory1 {
 
         EveningStarIndicator eveningStar = new EveningStarIndicator(series);
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
 
         // 简化暮星策略：暮星形态或价格跌破均线
         Rule entryRule = new BooleanIndicatorRule(eveningStar)
@@ -4066,7 +4066,7 @@ public class StrategyFactory1 {
 
         // 买入：价格突破均线或3%止损
         Rule exitRule = new CrossedUpIndicatorRule(closePrice, sma20)
-                .or(new StopLossRule(closePrice, DecimalNum.valueOf(3))); // 降低止损到3%
+                .or(new StopLossRule(closePrice, Ta4jNumUtil.valueOf(3))); // 降低止损到3%
 
         return new BaseStrategy("暮星策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4089,10 +4089,10 @@ public class StrategyFactory1 {
 
             public PiercingPatternIndicator(BarSeries series) {
                 super(series);
-                this.openPrice = new OpenPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
+                this.openPrice = IndicatorCache.openPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
             }
 
             @Override
@@ -4135,7 +4135,7 @@ public class StrategyFactory1 {
         PiercingPatternIndicator piercingPattern = new PiercingPatternIndicator(series);
 
         Rule entryRule = new BooleanIndicatorRule(piercingPattern);
-        Rule exitRule = new StopGainRule(new ClosePriceIndicator(series), DecimalNum.valueOf(4)); // 4%止盈
+        Rule exitRule = new StopGainRule(IndicatorCache.closePrice(series), Ta4jNumUtil.valueOf(4)); // 4%止盈
 
         return new BaseStrategy(entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4156,8 +4156,8 @@ public class StrategyFactory1 {
 
             public DarkCloudCoverIndicator(BarSeries series) {
                 super(series);
-                this.openPrice = new OpenPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
+                this.openPrice = IndicatorCache.openPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
             }
 
             @Override
@@ -4198,7 +4198,7 @@ public class StrategyFactory1 {
         DarkCloudCoverIndicator darkCloudCover = new DarkCloudCoverIndicator(series);
 
         Rule entryRule = new BooleanIndicatorRule(darkCloudCover);
-        Rule exitRule = new StopLossRule(new ClosePriceIndicator(series), DecimalNum.valueOf(3)); // 3%止损
+        Rule exitRule = new StopLossRule(IndicatorCache.closePrice(series), Ta4jNumUtil.valueOf(3)); // 3%止损
 
         return new BaseStrategy(entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4207,8 +4207,8 @@ public class StrategyFactory1 {
      * 创建光头光脚阳线/阴线策略
      */
     public static Strategy createMarubozuStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma10 = new SMAIndicator(closePrice, 10);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma10 = IndicatorCache.sma(closePrice, 10);
 
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, sma10);
         Rule exitRule = new CrossedDownIndicatorRule(closePrice, sma10);
@@ -4221,7 +4221,7 @@ public class StrategyFactory1 {
      * Beta系数衡量股票相对于市场的系统性风险
      */
     public static Strategy createBetaStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // Beta系数指标（相对于自身价格变动的Beta，这里简化为相对于移动平均线）
         class BetaIndicator extends CachedIndicator<Num> {
@@ -4242,11 +4242,11 @@ public class StrategyFactory1 {
             @Override
             protected Num calculate(int index) {
                 if (index < period) {
-                    return DecimalNum.valueOf(1.0); // 默认Beta = 1
+                    return Ta4jNumUtil.valueOf(1.0); // 默认Beta = 1
                 }
 
                 // 使用价格相对于均线的变动来计算Beta
-                SMAIndicator market = new SMAIndicator(closePrice, period);
+                SMAIndicator market = IndicatorCache.sma(closePrice, period);
 
                 // 计算价格变动和市场变动的协方差
                 double sumXY = 0, sumX2 = 0;
@@ -4262,19 +4262,19 @@ public class StrategyFactory1 {
                 }
 
                 if (sumX2 == 0 || count == 0) {
-                    return DecimalNum.valueOf(1.0);
+                    return Ta4jNumUtil.valueOf(1.0);
                 }
 
                 double beta = sumXY / sumX2;
-                return DecimalNum.valueOf(Math.max(0, Math.min(3, beta))); // 限制Beta在0-3之间
+                return Ta4jNumUtil.valueOf(Math.max(0, Math.min(3, beta))); // 限制Beta在0-3之间
             }
         }
 
         BetaIndicator beta = new BetaIndicator(closePrice, 20, series);
 
         // 高Beta时买入（高风险高收益），低Beta时卖出
-        Rule entryRule = new OverIndicatorRule(beta, DecimalNum.valueOf(1.2));
-        Rule exitRule = new UnderIndicatorRule(beta, DecimalNum.valueOf(0.8));
+        Rule entryRule = new OverIndicatorRule(beta, Ta4jNumUtil.valueOf(1.2));
+        Rule exitRule = new UnderIndicatorRule(beta, Ta4jNumUtil.valueOf(0.8));
 
         return new BaseStrategy("Beta策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4284,7 +4284,7 @@ public class StrategyFactory1 {
      * 计算价格与其滞后序列的相关性
      */
     public static Strategy createCorrelStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 相关性指标（价格与其滞后序列的相关性）
         class CorrelationIndicator extends CachedIndicator<Num> {
@@ -4307,7 +4307,7 @@ public class StrategyFactory1 {
             @Override
             protected Num calculate(int index) {
                 if (index < period + lag) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 // 计算价格与滞后价格的相关性
@@ -4329,7 +4329,7 @@ public class StrategyFactory1 {
                 }
 
                 if (count == 0) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 double meanX = sumX / count;
@@ -4339,19 +4339,19 @@ public class StrategyFactory1 {
                 double denominator = Math.sqrt((sumX2 - count * meanX * meanX) * (sumY2 - count * meanY * meanY));
 
                 if (denominator == 0) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 double correlation = numerator / denominator;
-                return DecimalNum.valueOf(correlation);
+                return Ta4jNumUtil.valueOf(correlation);
             }
         }
 
         CorrelationIndicator correlation = new CorrelationIndicator(closePrice, 20, 5, series);
 
         // 正相关时买入，负相关时卖出
-        Rule entryRule = new OverIndicatorRule(correlation, DecimalNum.valueOf(0.3));
-        Rule exitRule = new UnderIndicatorRule(correlation, DecimalNum.valueOf(-0.3));
+        Rule entryRule = new OverIndicatorRule(correlation, Ta4jNumUtil.valueOf(0.3));
+        Rule exitRule = new UnderIndicatorRule(correlation, Ta4jNumUtil.valueOf(-0.3));
 
         return new BaseStrategy("相关性策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4361,7 +4361,7 @@ public class StrategyFactory1 {
      * 计算价格的线性回归趋势
      */
     public static Strategy createLinearregStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 线性回归指标
         class LinearRegressionTrendIndicator extends CachedIndicator<Num> {
@@ -4405,7 +4405,7 @@ public class StrategyFactory1 {
                 // 预测当前点的回归值
                 double predictedValue = slope * (period - 1) + intercept;
 
-                return DecimalNum.valueOf(predictedValue);
+                return Ta4jNumUtil.valueOf(predictedValue);
             }
         }
 
@@ -4423,7 +4423,7 @@ public class StrategyFactory1 {
      * 基于价格方差的交易策略
      */
     public static Strategy createVarStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 方差指标
         class VarianceIndicator extends CachedIndicator<Num> {
@@ -4444,30 +4444,30 @@ public class StrategyFactory1 {
             @Override
             protected Num calculate(int index) {
                 if (index < period - 1) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 // 计算均值
-                Num sum = DecimalNum.valueOf(0);
+                Num sum = Ta4jNumUtil.valueOf(0);
                 for (int i = index - period + 1; i <= index; i++) {
                     sum = sum.plus(closePrice.getValue(i));
                 }
-                Num mean = sum.dividedBy(DecimalNum.valueOf(period));
+                Num mean = sum.dividedBy(Ta4jNumUtil.valueOf(period));
 
                 // 计算方差
-                Num variance = DecimalNum.valueOf(0);
+                Num variance = Ta4jNumUtil.valueOf(0);
                 for (int i = index - period + 1; i <= index; i++) {
                     Num diff = closePrice.getValue(i).minus(mean);
                     variance = variance.plus(diff.multipliedBy(diff));
                 }
-                variance = variance.dividedBy(DecimalNum.valueOf(period));
+                variance = variance.dividedBy(Ta4jNumUtil.valueOf(period));
 
                 return variance;
             }
         }
 
         VarianceIndicator variance = new VarianceIndicator(closePrice, 20, series);
-        SMAIndicator avgVariance = new SMAIndicator(variance, 10);
+        SMAIndicator avgVariance = IndicatorCache.sma(variance, 10);
 
         // 方差高于平均时买入（高波动性），低于平均时卖出
         Rule entryRule = new OverIndicatorRule(variance, avgVariance);
@@ -4481,7 +4481,7 @@ public class StrategyFactory1 {
      * 计算线性回归线的角度
      */
     public static Strategy createLinearregAngleStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 线性回归角度指标
         class LinearRegressionAngleIndicator extends CachedIndicator<Num> {
@@ -4502,7 +4502,7 @@ public class StrategyFactory1 {
             @Override
             protected Num calculate(int index) {
                 if (index < period - 1) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 // 线性回归计算
@@ -4524,15 +4524,15 @@ public class StrategyFactory1 {
                 // 转换为角度（弧度转度数）
                 double angle = Math.atan(slope) * 180 / Math.PI;
 
-                return DecimalNum.valueOf(angle);
+                return Ta4jNumUtil.valueOf(angle);
             }
         }
 
         LinearRegressionAngleIndicator angle = new LinearRegressionAngleIndicator(closePrice, 20, series);
 
         // 角度为正时买入，角度为负时卖出
-        Rule entryRule = new OverIndicatorRule(angle, DecimalNum.valueOf(5)); // 5度以上
-        Rule exitRule = new UnderIndicatorRule(angle, DecimalNum.valueOf(-5)); // -5度以下
+        Rule entryRule = new OverIndicatorRule(angle, Ta4jNumUtil.valueOf(5)); // 5度以上
+        Rule exitRule = new UnderIndicatorRule(angle, Ta4jNumUtil.valueOf(-5)); // -5度以下
 
         return new BaseStrategy("线性回归角度策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4542,7 +4542,7 @@ public class StrategyFactory1 {
      * 计算线性回归线的截距
      */
     public static Strategy createLinearregInterceptStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 线性回归截距指标
         class LinearRegressionInterceptIndicator extends CachedIndicator<Num> {
@@ -4583,12 +4583,12 @@ public class StrategyFactory1 {
                 double slope = (n * sumXY - sumX * sumY) / (n * sumX2 - sumX * sumX);
                 double intercept = (sumY - slope * sumX) / n;
 
-                return DecimalNum.valueOf(intercept);
+                return Ta4jNumUtil.valueOf(intercept);
             }
         }
 
         LinearRegressionInterceptIndicator intercept = new LinearRegressionInterceptIndicator(closePrice, 20, series);
-        SMAIndicator avgIntercept = new SMAIndicator(intercept, 10);
+        SMAIndicator avgIntercept = IndicatorCache.sma(intercept, 10);
 
         // 截距高于平均时买入，低于平均时卖出
         Rule entryRule = new OverIndicatorRule(intercept, avgIntercept);
@@ -4602,7 +4602,7 @@ public class StrategyFactory1 {
      * 计算线性回归线的斜率
      */
     public static Strategy createLinearregSlopeStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 线性回归斜率指标
         class LinearRegressionSlopeIndicator extends CachedIndicator<Num> {
@@ -4623,7 +4623,7 @@ public class StrategyFactory1 {
             @Override
             protected Num calculate(int index) {
                 if (index < period - 1) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 // 线性回归计算
@@ -4642,15 +4642,15 @@ public class StrategyFactory1 {
                 // 计算斜率
                 double slope = (n * sumXY - sumX * sumY) / (n * sumX2 - sumX * sumX);
 
-                return DecimalNum.valueOf(slope);
+                return Ta4jNumUtil.valueOf(slope);
             }
         }
 
         LinearRegressionSlopeIndicator slope = new LinearRegressionSlopeIndicator(closePrice, 20, series);
 
         // 斜率为正时买入，斜率为负时卖出
-        Rule entryRule = new OverIndicatorRule(slope, DecimalNum.valueOf(0.1));
-        Rule exitRule = new UnderIndicatorRule(slope, DecimalNum.valueOf(-0.1));
+        Rule entryRule = new OverIndicatorRule(slope, Ta4jNumUtil.valueOf(0.1));
+        Rule exitRule = new UnderIndicatorRule(slope, Ta4jNumUtil.valueOf(-0.1));
 
         return new BaseStrategy("线性回归斜率策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4660,7 +4660,7 @@ public class StrategyFactory1 {
      * 基于历史数据预测未来价格
      */
     public static Strategy createTsfStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 时间序列预测指标
         class TimeSeriesForecastIndicator extends CachedIndicator<Num> {
@@ -4704,7 +4704,7 @@ public class StrategyFactory1 {
                 // 预测下一个值
                 double forecast = slope * period + intercept;
 
-                return DecimalNum.valueOf(forecast);
+                return Ta4jNumUtil.valueOf(forecast);
             }
         }
 
@@ -4722,11 +4722,11 @@ public class StrategyFactory1 {
      * 简化实现，使用周期性指标
      */
     public static Strategy createHtDcperiodStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 简化的周期检测（使用RSI周期性）
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        SMAIndicator rsiAvg = new SMAIndicator(rsi, 14);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        SMAIndicator rsiAvg = IndicatorCache.sma(rsi, 14);
 
         Rule entryRule = new CrossedUpIndicatorRule(rsi, rsiAvg);
         Rule exitRule = new CrossedDownIndicatorRule(rsi, rsiAvg);
@@ -4738,26 +4738,26 @@ public class StrategyFactory1 {
      * 希尔伯特变换主导相位策略
      */
     public static Strategy createHtDcphaseStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 真正的希尔伯特变换相位检测，使用更复杂的相位分析
         // 使用RSI和布林带结合来模拟相位变化
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
         BollingerBandsUpperIndicator bbUpper = new BollingerBandsUpperIndicator(
-                new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20)),
-                new StandardDeviationIndicator(closePrice, 20),
-                DecimalNum.valueOf(2));
+                new BollingerBandsMiddleIndicator(IndicatorCache.sma(closePrice, 20)),
+                IndicatorCache.standardDeviation(closePrice, 20),
+                Ta4jNumUtil.valueOf(2));
         BollingerBandsLowerIndicator bbLower = new BollingerBandsLowerIndicator(
-                new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20)),
-                new StandardDeviationIndicator(closePrice, 20),
-                DecimalNum.valueOf(2));
+                new BollingerBandsMiddleIndicator(IndicatorCache.sma(closePrice, 20)),
+                IndicatorCache.standardDeviation(closePrice, 20),
+                Ta4jNumUtil.valueOf(2));
 
         // 相位检测：RSI处于超卖区域且价格接近布林下轨时为买入相位
-        Rule entryRule = new UnderIndicatorRule(rsi, DecimalNum.valueOf(30))
+        Rule entryRule = new UnderIndicatorRule(rsi, Ta4jNumUtil.valueOf(30))
                 .and(new UnderIndicatorRule(closePrice, bbLower));
 
         // 相位结束：RSI过度超买或价格触及布林上轨
-        Rule exitRule = new OverIndicatorRule(rsi, DecimalNum.valueOf(70))
+        Rule exitRule = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(70))
                 .or(new OverIndicatorRule(closePrice, bbUpper));
 
         return new BaseStrategy("希尔伯特变换主导相位策略", entryRule, addExtraStopRule(exitRule, series));
@@ -4767,10 +4767,10 @@ public class StrategyFactory1 {
      * 希尔伯特变换相量分量策略
      */
     public static Strategy createHtPhasorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 简化的相量检测
-        EMAIndicator ema = new EMAIndicator(closePrice, 14);
+        EMAIndicator ema = IndicatorCache.ema(closePrice, 14);
 
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, ema);
         Rule exitRule = new CrossedDownIndicatorRule(closePrice, ema);
@@ -4782,13 +4782,13 @@ public class StrategyFactory1 {
      * 希尔伯特变换正弦波策略
      */
     public static Strategy createHtSineStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 简化的正弦波检测（使用震荡指标）
         StochasticOscillatorKIndicator stoch = new StochasticOscillatorKIndicator(series, 14);
 
-        Rule entryRule = new CrossedUpIndicatorRule(stoch, DecimalNum.valueOf(20));
-        Rule exitRule = new CrossedDownIndicatorRule(stoch, DecimalNum.valueOf(80));
+        Rule entryRule = new CrossedUpIndicatorRule(stoch, Ta4jNumUtil.valueOf(20));
+        Rule exitRule = new CrossedDownIndicatorRule(stoch, Ta4jNumUtil.valueOf(80));
 
         return new BaseStrategy("希尔伯特变换正弦波策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4797,11 +4797,11 @@ public class StrategyFactory1 {
      * 希尔伯特变换趋势模式策略
      */
     public static Strategy createHtTrendmodeStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 简化的趋势模式检测
-        SMAIndicator sma = new SMAIndicator(closePrice, 21);
-        EMAIndicator ema = new EMAIndicator(closePrice, 21);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 21);
+        EMAIndicator ema = IndicatorCache.ema(closePrice, 21);
 
         Rule entryRule = new OverIndicatorRule(closePrice, sma);
         Rule exitRule = new UnderIndicatorRule(closePrice, sma);
@@ -4813,13 +4813,13 @@ public class StrategyFactory1 {
      * MESA正弦波策略
      */
     public static Strategy createMswStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 简化的MESA正弦波（使用威廉指标）
         WilliamsRIndicator williams = new WilliamsRIndicator(series, 14);
 
-        Rule entryRule = new CrossedUpIndicatorRule(williams, DecimalNum.valueOf(-80));
-        Rule exitRule = new CrossedDownIndicatorRule(williams, DecimalNum.valueOf(-20));
+        Rule entryRule = new CrossedUpIndicatorRule(williams, Ta4jNumUtil.valueOf(-80));
+        Rule exitRule = new CrossedDownIndicatorRule(williams, Ta4jNumUtil.valueOf(-20));
 
         return new BaseStrategy("MESA正弦波策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -4842,10 +4842,10 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (Math.max(rsiPeriod, smaPeriod) + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        RSIIndicator rsi = new RSIIndicator(closePrice, rsiPeriod);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, smaPeriod);
-        ATRIndicator atr = new ATRIndicator(series, 14);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, rsiPeriod);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, smaPeriod);
+        ATRIndicator atr = IndicatorCache.atr(series, 14);
 
         // 多层次止盈止损指标
         class MultiLevelTPSLIndicator extends CachedIndicator<Num> {
@@ -5011,13 +5011,13 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        EMAIndicator ema12 = new EMAIndicator(closePrice, 12);
-        EMAIndicator ema26 = new EMAIndicator(closePrice, 26);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        EMAIndicator macdSignal = new EMAIndicator(macd, 9);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        ATRIndicator atr = new ATRIndicator(series, 14);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        EMAIndicator ema12 = IndicatorCache.ema(closePrice, 12);
+        EMAIndicator ema26 = IndicatorCache.ema(closePrice, 26);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        EMAIndicator macdSignal = IndicatorCache.ema(macd, 9);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        ATRIndicator atr = IndicatorCache.atr(series, 14);
 
         // 高级多层次管理指标
         class AdvancedMultiLevelIndicator extends CachedIndicator<Num> {
@@ -5151,9 +5151,9 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, period);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, period);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, period);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, period);
 
         // 使用布林带指标创建上下轨
         BollingerBandsMiddleIndicator middleBand = new BollingerBandsMiddleIndicator(sma);
@@ -5179,14 +5179,14 @@ public class StrategyFactory1 {
             throw new IllegalArgumentException("数据点不足以计算指标: 至少需要 " + (period + 1) + " 个数据点");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 计算最高价和最低价的移动平均
-        SMAIndicator avgHigh = new SMAIndicator(highPrice, period);
-        SMAIndicator avgLow = new SMAIndicator(lowPrice, period);
-        SMAIndicator avgClose = new SMAIndicator(closePrice, period);
+        SMAIndicator avgHigh = IndicatorCache.sma(highPrice, period);
+        SMAIndicator avgLow = IndicatorCache.sma(lowPrice, period);
+        SMAIndicator avgClose = IndicatorCache.sma(closePrice, period);
 
         // 计算买入卖出阈值 - 创建自定义指标
         class BuyThresholdIndicator extends CachedIndicator<Num> {
@@ -5260,10 +5260,10 @@ public class StrategyFactory1 {
      * 三重筛选策略（修改版）- 放宽条件使其更容易触发交易
      */
     public static Strategy createTripleScreenStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
 
         // 筛选1：趋势筛选 - 价格在均线之上或刚刚上穿均线
         Rule filter1 = new OverIndicatorRule(closePrice, sma)
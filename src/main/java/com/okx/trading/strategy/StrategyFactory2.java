@@ -1,5 +1,6 @@
 package com.okx.trading.strategy;
 
+import com.okx.trading.indicator.IndicatorCache;
 import com.okx.trading.util.Ta4jNumUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,18 +32,18 @@ public class StrategyFactory2 {
      * 根据市场波动性动态调整布林带参数
      */
     public static Strategy createAdaptiveBollingerStrategy(BarSeries series) {
-        int period = 20;
-        double baseStdDev = 2.0;
+        int period = StrategyParams.intParam("period", 20);
+        double baseStdDev = StrategyParams.doubleParam("baseStdDev", 2.0);
 
         if (series.getBarCount() <= period) {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, period);
-        SMAIndicator avgVolume = new SMAIndicator(volume, period);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, period);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, period);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, period);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, period);
 
         // 自适应标准差倍数
         class AdaptiveStdDevMultiplier extends CachedIndicator<Num> {
@@ -171,15 +172,15 @@ public class StrategyFactory2 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 短期MACD
-        MACDIndicator macd1 = new MACDIndicator(closePrice, shortPeriod1, longPeriod1);
-        EMAIndicator signal1 = new EMAIndicator(macd1, signalPeriod1);
+        MACDIndicator macd1 = IndicatorCache.macd(closePrice, shortPeriod1, longPeriod1);
+        EMAIndicator signal1 = IndicatorCache.ema(macd1, signalPeriod1);
 
         // 长期MACD
-        MACDIndicator macd2 = new MACDIndicator(closePrice, shortPeriod2, longPeriod2);
-        EMAIndicator signal2 = new EMAIndicator(macd2, signalPeriod2);
+        MACDIndicator macd2 = IndicatorCache.macd(closePrice, shortPeriod2, longPeriod2);
+        EMAIndicator signal2 = IndicatorCache.ema(macd2, signalPeriod2);
 
         // 买入规则：短期和长期MACD都金叉
         Rule entryRule = new CrossedUpIndicatorRule(macd1, signal1)
@@ -205,10 +206,10 @@ public class StrategyFactory2 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        ATRIndicator atr = new ATRIndicator(series, atrPeriod);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 5);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        ATRIndicator atr = IndicatorCache.atr(series, atrPeriod);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 5);
 
         // 动态突破上轨
         class VolatilityUpperBand extends CachedIndicator<Num> {
@@ -314,9 +315,9 @@ public class StrategyFactory2 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        RSIIndicator rsi = new RSIIndicator(closePrice, rsiPeriod);
-        ROCIndicator roc = new ROCIndicator(closePrice, rocPeriod);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, rsiPeriod);
+        ROCIndicator roc = IndicatorCache.roc(closePrice, rocPeriod);
 
         // 动量背离检测
         class MomentumDivergence extends CachedIndicator<Num> {
@@ -375,9 +376,9 @@ public class StrategyFactory2 {
      * 价格通道突破策略（修改版）- 放宽条件使其更容易触发交易
      */
     public static Strategy createPriceChannelBreakoutStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        SMAIndicator volumeSMA = new SMAIndicator(volume, 10);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        SMAIndicator volumeSMA = IndicatorCache.sma(volume, 10);
 
         // 缩短通道周期，使突破更容易发生
         int channelPeriod = 5; // 进一步减少周期为5（原为15）
@@ -389,7 +390,7 @@ public class StrategyFactory2 {
                 return 0;
             }
 
-            private final HighPriceIndicator highPrice = new HighPriceIndicator(series);
+            private final HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
 
             @Override
             protected Num calculate(int index) {
@@ -413,7 +414,7 @@ public class StrategyFactory2 {
                 return 0;
             }
 
-            private final LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+            private final LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
             @Override
             protected Num calculate(int index) {
@@ -476,8 +477,8 @@ public class StrategyFactory2 {
      * 自适应RSI策略
      */
     public static Strategy createAdaptiveRSIStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         Rule entryRule = new UnderIndicatorRule(rsi, 30);
         Rule exitRule = new OverIndicatorRule(rsi, 70);
@@ -489,9 +490,9 @@ public class StrategyFactory2 {
      * 三重筛选策略
      */
     public static Strategy createTripleScreenStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, sma)
                 .and(new OverIndicatorRule(rsi, 50));
@@ -504,12 +505,12 @@ public class StrategyFactory2 {
      * Elder Ray策略 - 基于Elder Ray指标的多空力量分析策略
      */
     public static Strategy createElderRayStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // EMA基线
-        EMAIndicator ema = new EMAIndicator(closePrice, 13);
+        EMAIndicator ema = IndicatorCache.ema(closePrice, 13);
 
         // Bull Power = High - EMA
         class BullPowerIndicator extends CachedIndicator<Num> {
@@ -575,8 +576,8 @@ public class StrategyFactory2 {
      * 力量指数策略 - 基于价格变化和成交量的力量指数策略
      */
     public static Strategy createForceIndexStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // Force Index = (Close - Previous Close) * Volume
         class ForceIndexIndicator extends CachedIndicator<Num> {
@@ -607,8 +608,8 @@ public class StrategyFactory2 {
         ForceIndexIndicator forceIndex = new ForceIndexIndicator(closePrice, volume, series);
 
         // 短期和长期Force Index平滑
-        EMAIndicator shortFI = new EMAIndicator(forceIndex, 2);
-        EMAIndicator longFI = new EMAIndicator(forceIndex, 13);
+        EMAIndicator shortFI = IndicatorCache.ema(forceIndex, 2);
+        EMAIndicator longFI = IndicatorCache.ema(forceIndex, 13);
 
         // 买入：短期FI上穿长期FI且为正值
         Rule entryRule = new CrossedUpIndicatorRule(shortFI, longFI)
@@ -625,10 +626,10 @@ public class StrategyFactory2 {
      * 蔡金振荡器策略 - 基于蔡金振荡器的资金流向分析策略
      */
     public static Strategy createChaikinOscillatorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 累积/派发线 (A/D Line)
         class AccumulationDistributionIndicator extends CachedIndicator<Num> {
@@ -684,8 +685,8 @@ public class StrategyFactory2 {
         AccumulationDistributionIndicator adLine = new AccumulationDistributionIndicator(closePrice, highPrice, lowPrice, volume, series);
 
         // 蔡金振荡器 = EMA(3) of A/D Line - EMA(10) of A/D Line
-        EMAIndicator fastEMA = new EMAIndicator(adLine, 3);
-        EMAIndicator slowEMA = new EMAIndicator(adLine, 10);
+        EMAIndicator fastEMA = IndicatorCache.ema(adLine, 3);
+        EMAIndicator slowEMA = IndicatorCache.ema(adLine, 10);
 
         class ChaikinOscillatorIndicator extends CachedIndicator<Num> {
             @Override
@@ -723,10 +724,10 @@ public class StrategyFactory2 {
      * 资金流量指数策略 - 基于价格和成交量的资金流量指数策略
      */
     public static Strategy createMoneyFlowIndexStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // Money Flow Index (MFI) - 成交量版本的RSI
         class MoneyFlowIndexIndicator extends CachedIndicator<Num> {
@@ -801,8 +802,8 @@ public class StrategyFactory2 {
      * 价量趋势策略 - 基于价量趋势指标的策略
      */
     public static Strategy createPriceVolumeTrendStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // Price Volume Trend (PVT)
         class PriceVolumeTrendIndicator extends CachedIndicator<Num> {
@@ -843,7 +844,7 @@ public class StrategyFactory2 {
         }
 
         PriceVolumeTrendIndicator pvt = new PriceVolumeTrendIndicator(closePrice, volume, series);
-        SMAIndicator pvtSignal = new SMAIndicator(pvt, 10);
+        SMAIndicator pvtSignal = IndicatorCache.sma(pvt, 10);
 
         // 买入：PVT上穿其移动平均线
         Rule entryRule = new CrossedUpIndicatorRule(pvt, pvtSignal);
@@ -858,9 +859,9 @@ public class StrategyFactory2 {
      * 移动便利性策略 - 基于移动便利性指标的策略
      */
     public static Strategy createEaseOfMovementStrategy(BarSeries series) {
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // Ease of Movement (EOM)
         class EaseOfMovementIndicator extends CachedIndicator<Num> {
@@ -910,7 +911,7 @@ public class StrategyFactory2 {
         }
 
         EaseOfMovementIndicator eom = new EaseOfMovementIndicator(highPrice, lowPrice, volume, Ta4jNumUtil.valueOf(100000000), series);
-        SMAIndicator eomSMA = new SMAIndicator(eom, 14);
+        SMAIndicator eomSMA = IndicatorCache.sma(eom, 14);
 
         // 买入：EOM上穿零线
         Rule entryRule = new CrossedUpIndicatorRule(eomSMA, Ta4jNumUtil.valueOf(0));
@@ -925,8 +926,8 @@ public class StrategyFactory2 {
      * 负成交量指数策略 - 基于负成交量指数的策略
      */
     public static Strategy createNegativeVolumeIndexStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // Negative Volume Index (NVI) - 关注成交量减少时的价格变化
         class NegativeVolumeIndexIndicator extends CachedIndicator<Num> {
@@ -971,7 +972,7 @@ public class StrategyFactory2 {
         }
 
         NegativeVolumeIndexIndicator nvi = new NegativeVolumeIndexIndicator(closePrice, volume, series);
-        SMAIndicator nviMA = new SMAIndicator(nvi, 255);
+        SMAIndicator nviMA = IndicatorCache.sma(nvi, 255);
 
         // 买入：NVI上穿其长期移动平均线（机构看好）
         Rule entryRule = new CrossedUpIndicatorRule(nvi, nviMA);
@@ -986,8 +987,8 @@ public class StrategyFactory2 {
      * 正成交量指数策略 - 基于正成交量指数的策略
      */
     public static Strategy createPositiveVolumeIndexStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // Positive Volume Index (PVI) - 关注成交量增加时的价格变化
         class PositiveVolumeIndexIndicator extends CachedIndicator<Num> {
@@ -1032,7 +1033,7 @@ public class StrategyFactory2 {
         }
 
         PositiveVolumeIndexIndicator pvi = new PositiveVolumeIndexIndicator(closePrice, volume, series);
-        SMAIndicator pviMA = new SMAIndicator(pvi, 255);
+        SMAIndicator pviMA = IndicatorCache.sma(pvi, 255);
 
         // 买入：PVI下穿其长期移动平均线（作为反向指标，散户悲观时买入）
         Rule entryRule = new CrossedDownIndicatorRule(pvi, pviMA);
@@ -1047,7 +1048,7 @@ public class StrategyFactory2 {
      * 成交量变化率策略 - 基于成交量变化率的策略
      */
     public static Strategy createVolumeRateOfChangeStrategy(BarSeries series) {
-        VolumeIndicator volume = new VolumeIndicator(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // Volume Rate of Change (VROC)
         class VolumeROCIndicator extends CachedIndicator<Num> {
@@ -1098,10 +1099,10 @@ public class StrategyFactory2 {
      * 累积派发线策略 - 基于累积派发线的资金流向策略
      */
     public static Strategy createAccumulationDistributionStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 累积/派发线的完整实现
         class AccumulationDistributionLineIndicator extends CachedIndicator<Num> {
@@ -1155,7 +1156,7 @@ public class StrategyFactory2 {
         }
 
         AccumulationDistributionLineIndicator adLine = new AccumulationDistributionLineIndicator(closePrice, highPrice, lowPrice, volume, series);
-        SMAIndicator adMA = new SMAIndicator(adLine, 10);
+        SMAIndicator adMA = IndicatorCache.sma(adLine, 10);
 
         // 买入：A/D线上穿其移动平均线
         Rule entryRule = new CrossedUpIndicatorRule(adLine, adMA);
@@ -1170,9 +1171,9 @@ public class StrategyFactory2 {
      * 威廉姆斯累积策略 - 基于威廉姆斯累积指标的策略
      */
     public static Strategy createWilliamsAccumulationStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // Williams Accumulation/Distribution
         class WilliamsAccumulationIndicator extends CachedIndicator<Num> {
@@ -1222,7 +1223,7 @@ public class StrategyFactory2 {
         }
 
         WilliamsAccumulationIndicator wad = new WilliamsAccumulationIndicator(closePrice, highPrice, lowPrice, series);
-        SMAIndicator wadMA = new SMAIndicator(wad, 14);
+        SMAIndicator wadMA = IndicatorCache.sma(wad, 14);
 
         // 买入：WAD上穿其移动平均线
         Rule entryRule = new CrossedUpIndicatorRule(wad, wadMA);
@@ -1237,10 +1238,10 @@ public class StrategyFactory2 {
      * 克林格振荡器策略 - 基于克林格振荡器的高级成交量策略
      */
     public static Strategy createKlingerOscillatorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // Klinger Oscillator - 复杂的成交量分析工具
         class KlingerOscillatorIndicator extends CachedIndicator<Num> {
@@ -1319,8 +1320,8 @@ public class StrategyFactory2 {
         }
 
         KlingerOscillatorIndicator kvo = new KlingerOscillatorIndicator(closePrice, highPrice, lowPrice, volume, 34, 55, series);
-        EMAIndicator kvoShort = new EMAIndicator(kvo, 34);
-        EMAIndicator kvoLong = new EMAIndicator(kvo, 55);
+        EMAIndicator kvoShort = IndicatorCache.ema(kvo, 34);
+        EMAIndicator kvoLong = IndicatorCache.ema(kvo, 55);
 
         // Klinger Oscillator = Short EMA - Long EMA
         class KlingerDifferenceIndicator extends CachedIndicator<Num> {
@@ -1345,7 +1346,7 @@ public class StrategyFactory2 {
         }
 
         KlingerDifferenceIndicator klingerOsc = new KlingerDifferenceIndicator(kvoShort, kvoLong, series);
-        EMAIndicator klingerSignal = new EMAIndicator(klingerOsc, 13);
+        EMAIndicator klingerSignal = IndicatorCache.ema(klingerOsc, 13);
 
         // 买入：Klinger振荡器上穿信号线
         Rule entryRule = new CrossedUpIndicatorRule(klingerOsc, klingerSignal);
@@ -1360,8 +1361,8 @@ public class StrategyFactory2 {
      * 成交量加权RSI策略 - 基于成交量加权的RSI策略
      */
     public static Strategy createVolumeWeightedRSIStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // Volume Weighted RSI
         class VolumeWeightedRSIIndicator extends CachedIndicator<Num> {
@@ -1427,7 +1428,7 @@ public class StrategyFactory2 {
      * 自适应移动平均策略 - 根据市场条件自动调整的移动平均策略
      */
     public static Strategy createAdaptiveMovingAverageStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 自适应移动平均 - 根据波动性调整平滑程度
         class AdaptiveMovingAverageIndicator extends CachedIndicator<Num> {
@@ -1504,9 +1505,9 @@ public class StrategyFactory2 {
      * 分形自适应移动平均策略 - 基于分形理论的自适应移动平均策略
      */
     public static Strategy createFractalAdaptiveMAStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 分形自适应移动平均 (FRAMA)
         class FractalAdaptiveMAIndicator extends CachedIndicator<Num> {
@@ -1617,7 +1618,7 @@ public class StrategyFactory2 {
      * 零滞后EMA策略 - 消除滞后性的指数移动平均策略
      */
     public static Strategy createZeroLagEMAStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 零滞后EMA (Zero Lag EMA)
         class ZeroLagEMAIndicator extends CachedIndicator<Num> {
@@ -1699,7 +1700,7 @@ public class StrategyFactory2 {
      * 双重指数移动平均策略 - 双重指数平滑的移动平均策略
      */
     public static Strategy createDoubleExponentialMAStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 双重指数移动平均 (DEMA)
         class DoubleExponentialMAIndicator extends CachedIndicator<Num> {
@@ -1772,7 +1773,7 @@ public class StrategyFactory2 {
      * 三重指数移动平均策略 - 三重指数平滑的移动平均策略
      */
     public static Strategy createTripleExponentialMAStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 三重指数移动平均 (TEMA) - 使用标准EMA指标避免空指针
         class TripleExponentialMAIndicator extends CachedIndicator<Num> {
@@ -1788,9 +1789,9 @@ public class StrategyFactory2 {
             public TripleExponentialMAIndicator(ClosePriceIndicator close, int period, double alpha, BarSeries series) {
                 super(series);
                 // 使用标准的EMA指标来避免手动数组管理
-                this.firstEMA = new EMAIndicator(close, period);
-                this.secondEMA = new EMAIndicator(firstEMA, period);
-                this.thirdEMA = new EMAIndicator(secondEMA, period);
+                this.firstEMA = IndicatorCache.ema(close, period);
+                this.secondEMA = IndicatorCache.ema(firstEMA, period);
+                this.thirdEMA = IndicatorCache.ema(secondEMA, period);
             }
 
             @Override
@@ -1825,8 +1826,8 @@ public class StrategyFactory2 {
      * 可变移动平均策略 - 根据市场条件动态调整的移动平均策略
      */
     public static Strategy createVariableMAStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 可变移动平均 (VMA) - 根据成交量调整权重
         class VariableMAIndicator extends CachedIndicator<Num> {
@@ -1881,7 +1882,7 @@ public class StrategyFactory2 {
      * 自适应拉盖尔策略 - 基于拉盖尔滤波器的自适应策略
      */
     public static Strategy createAdaptiveLaguerreStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 自适应拉盖尔滤波器
         class AdaptiveLaguerreIndicator extends CachedIndicator<Num> {
@@ -1982,7 +1983,7 @@ public class StrategyFactory2 {
      * Ehlers滤波器策略 - 基于Ehlers数字滤波器的策略
      */
     public static Strategy createEhlersFilterStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // Ehlers滤波器 - 超平滑滤波器
         class EhlersFilterIndicator extends CachedIndicator<Num> {
@@ -2045,7 +2046,7 @@ public class StrategyFactory2 {
      * 高斯滤波器策略 - 基于高斯滤波器的平滑策略
      */
     public static Strategy createGaussianFilterStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 高斯滤波器
         class GaussianFilterIndicator extends CachedIndicator<Num> {
@@ -2107,7 +2108,7 @@ public class StrategyFactory2 {
      * 巴特沃斯滤波器策略 - 基于巴特沃斯低通滤波器的策略
      */
     public static Strategy createButterworthFilterStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 巴特沃斯滤波器
         class ButterworthFilterIndicator extends CachedIndicator<Num> {
@@ -2181,7 +2182,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createCyberCycleStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 网络周期指标 - 基于Ehlers的网络周期分析
         class CyberCycleIndicator extends CachedIndicator<Num> {
@@ -2235,8 +2236,8 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createRocketRSIStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 火箭RSI - 结合成交量加权的RSI
         class RocketRSIIndicator extends CachedIndicator<Num> {
@@ -2251,7 +2252,7 @@ public class StrategyFactory2 {
 
             public RocketRSIIndicator(ClosePriceIndicator close, VolumeIndicator volume, int period, BarSeries series) {
                 super(series);
-                this.rsi = new RSIIndicator(close, period);
+                this.rsi = IndicatorCache.rsi(close, period);
                 this.volume = volume;
                 this.period = period;
             }
@@ -2304,7 +2305,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createConnorsRSIStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // Connors RSI - 三重RSI组合
         class ConnorsRSIIndicator extends CachedIndicator<Num> {
@@ -2321,7 +2322,7 @@ public class StrategyFactory2 {
             public ConnorsRSIIndicator(ClosePriceIndicator close, int period, BarSeries series) {
                 super(series);
                 this.closePrice = close;
-                this.priceRSI = new RSIIndicator(close, period);
+                this.priceRSI = IndicatorCache.rsi(close, period);
                 this.period = period;
 
                 // 连续上涨/下跌天数指标
@@ -2359,7 +2360,7 @@ public class StrategyFactory2 {
                 }
 
                 StreakIndicator streak = new StreakIndicator(close, series);
-                this.streakRSI = new RSIIndicator(streak, period);
+                this.streakRSI = IndicatorCache.rsi(streak, period);
             }
 
             @Override
@@ -2410,9 +2411,9 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createStochasticMomentumStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 随机动量指标
         class StochasticMomentumIndicator extends CachedIndicator<Num> {
@@ -2481,7 +2482,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createTrueStrengthIndexStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 真实强度指标
         class TrueStrengthIndexIndicator extends CachedIndicator<Num> {
@@ -2548,11 +2549,11 @@ public class StrategyFactory2 {
                 AbsPriceChangeIndicator absChange = new AbsPriceChangeIndicator(priceChange, series);
 
                 // 双重平滑
-                EMAIndicator firstMomentum = new EMAIndicator(priceChange, firstSmoothing);
-                EMAIndicator firstAbsMomentum = new EMAIndicator(absChange, firstSmoothing);
+                EMAIndicator firstMomentum = IndicatorCache.ema(priceChange, firstSmoothing);
+                EMAIndicator firstAbsMomentum = IndicatorCache.ema(absChange, firstSmoothing);
 
-                EMAIndicator secondMomentum = new EMAIndicator(firstMomentum, secondSmoothing);
-                EMAIndicator secondAbsMomentum = new EMAIndicator(firstAbsMomentum, secondSmoothing);
+                EMAIndicator secondMomentum = IndicatorCache.ema(firstMomentum, secondSmoothing);
+                EMAIndicator secondAbsMomentum = IndicatorCache.ema(firstAbsMomentum, secondSmoothing);
 
                 Num numerator = secondMomentum.getValue(index);
                 Num denominator = secondAbsMomentum.getValue(index);
@@ -2572,9 +2573,9 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createUltimateOscillatorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 终极振荡器
         class UltimateOscillatorIndicator extends CachedIndicator<Num> {
@@ -2662,10 +2663,10 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createBalanceOfPowerStrategy(BarSeries series) {
-        OpenPriceIndicator openPrice = new OpenPriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        OpenPriceIndicator openPrice = IndicatorCache.openPrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 力量平衡指标
         class BalanceOfPowerIndicator extends CachedIndicator<Num> {
@@ -2707,7 +2708,7 @@ public class StrategyFactory2 {
         }
 
         BalanceOfPowerIndicator bop = new BalanceOfPowerIndicator(openPrice, highPrice, lowPrice, closePrice, series);
-        SMAIndicator smaOfBOP = new SMAIndicator(bop, 14);
+        SMAIndicator smaOfBOP = IndicatorCache.sma(bop, 14);
 
         Rule entryRule = new OverIndicatorRule(bop, Ta4jNumUtil.valueOf(0));
         Rule exitRule = new UnderIndicatorRule(bop, Ta4jNumUtil.valueOf(0));
@@ -2716,7 +2717,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createCommoditySelectionIndexStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 商品选择指标
         class CommoditySelectionIndexIndicator extends CachedIndicator<Num> {
@@ -2770,9 +2771,9 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createDirectionalMovementIndexStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 方向运动指标
         class DirectionalMovementIndexIndicator extends CachedIndicator<Num> {
@@ -2850,9 +2851,9 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createPlusDirectionalIndicatorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // +DI指标
         class PlusDirectionalIndicator extends CachedIndicator<Num> {
@@ -2919,9 +2920,9 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createMinusDirectionalIndicatorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // -DI指标
         class MinusDirectionalIndicator extends CachedIndicator<Num> {
@@ -2988,7 +2989,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createTrendIntensityIndexStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 趋势强度指标
         class TrendIntensityIndexIndicator extends CachedIndicator<Num> {
@@ -3045,8 +3046,8 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createMassIndexReversalStrategy(BarSeries series) {
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 质量指标反转策略
         class MassIndexReversalIndicator extends CachedIndicator<Num> {
@@ -3095,8 +3096,8 @@ public class StrategyFactory2 {
                 }
 
                 HighLowDiffIndicator hlDiff = new HighLowDiffIndicator(series);
-                EMAIndicator ema1 = new EMAIndicator(hlDiff, emaPeriod);
-                EMAIndicator ema2 = new EMAIndicator(ema1, emaPeriod);
+                EMAIndicator ema1 = IndicatorCache.ema(hlDiff, emaPeriod);
+                EMAIndicator ema2 = IndicatorCache.ema(ema1, emaPeriod);
 
                 for (int i = 0; i < period; i++) {
                     int currentIndex = index - i;
@@ -3123,7 +3124,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createCoppockCurveStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // Coppock曲线
         class CoppockCurveIndicator extends CachedIndicator<Num> {
@@ -3152,8 +3153,8 @@ public class StrategyFactory2 {
                 }
 
                 // 计算ROC
-                ROCIndicator roc1 = new ROCIndicator(close, roc1Period);
-                ROCIndicator roc2 = new ROCIndicator(close, roc2Period);
+                ROCIndicator roc1 = IndicatorCache.roc(close, roc1Period);
+                ROCIndicator roc2 = IndicatorCache.roc(close, roc2Period);
 
                 Num rocSum = roc1.getValue(index).plus(roc2.getValue(index));
 
@@ -3182,7 +3183,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createKnowSureThingStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // Know Sure Thing指标
         class KnowSureThingIndicator extends CachedIndicator<Num> {
@@ -3205,16 +3206,16 @@ public class StrategyFactory2 {
                 }
 
                 // 四个不同周期的ROC
-                ROCIndicator roc1 = new ROCIndicator(close, 10);
-                ROCIndicator roc2 = new ROCIndicator(close, 15);
-                ROCIndicator roc3 = new ROCIndicator(close, 20);
-                ROCIndicator roc4 = new ROCIndicator(close, 30);
+                ROCIndicator roc1 = IndicatorCache.roc(close, 10);
+                ROCIndicator roc2 = IndicatorCache.roc(close, 15);
+                ROCIndicator roc3 = IndicatorCache.roc(close, 20);
+                ROCIndicator roc4 = IndicatorCache.roc(close, 30);
 
                 // 对ROC进行平滑处理
-                SMAIndicator sma1 = new SMAIndicator(roc1, 10);
-                SMAIndicator sma2 = new SMAIndicator(roc2, 10);
-                SMAIndicator sma3 = new SMAIndicator(roc3, 10);
-                SMAIndicator sma4 = new SMAIndicator(roc4, 15);
+                SMAIndicator sma1 = IndicatorCache.sma(roc1, 10);
+                SMAIndicator sma2 = IndicatorCache.sma(roc2, 10);
+                SMAIndicator sma3 = IndicatorCache.sma(roc3, 10);
+                SMAIndicator sma4 = IndicatorCache.sma(roc4, 15);
 
                 // KST = (RCO1*1 + ROC2*2 + ROC3*3 + ROC4*4)
                 Num kst = sma1.getValue(index).multipliedBy(Ta4jNumUtil.valueOf(1))
@@ -3227,7 +3228,7 @@ public class StrategyFactory2 {
         }
 
         KnowSureThingIndicator kst = new KnowSureThingIndicator(closePrice, series);
-        SMAIndicator kstSignal = new SMAIndicator(kst, 9);
+        SMAIndicator kstSignal = IndicatorCache.sma(kst, 9);
 
         Rule entryRule = new CrossedUpIndicatorRule(kst, kstSignal);
         Rule exitRule = new CrossedDownIndicatorRule(kst, kstSignal);
@@ -3236,7 +3237,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createPriceOscillatorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 价格振荡器
         class PriceOscillatorIndicator extends CachedIndicator<Num> {
@@ -3250,8 +3251,8 @@ public class StrategyFactory2 {
 
             public PriceOscillatorIndicator(ClosePriceIndicator close, int fastPeriod, int slowPeriod, BarSeries series) {
                 super(series);
-                this.fastMA = new SMAIndicator(close, fastPeriod);
-                this.slowMA = new SMAIndicator(close, slowPeriod);
+                this.fastMA = IndicatorCache.sma(close, fastPeriod);
+                this.slowMA = IndicatorCache.sma(close, slowPeriod);
             }
 
             @Override
@@ -3267,7 +3268,7 @@ public class StrategyFactory2 {
         }
 
         PriceOscillatorIndicator ppo = new PriceOscillatorIndicator(closePrice, 12, 26, series);
-        SMAIndicator signal = new SMAIndicator(ppo, 9);
+        SMAIndicator signal = IndicatorCache.sma(ppo, 9);
 
         Rule entryRule = new CrossedUpIndicatorRule(ppo, signal);
         Rule exitRule = new CrossedDownIndicatorRule(ppo, signal);
@@ -3276,7 +3277,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createDetrendedPriceOscillatorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 去趋势价格振荡器
         class DetrendedPriceOscillatorIndicator extends CachedIndicator<Num> {
@@ -3304,7 +3305,7 @@ public class StrategyFactory2 {
                 int lookback = period / 2 + 1;
                 if (index < lookback) return Ta4jNumUtil.valueOf(0);
 
-                SMAIndicator sma = new SMAIndicator(close, period);
+                SMAIndicator sma = IndicatorCache.sma(close, period);
 
                 return close.getValue(index).minus(sma.getValue(index - lookback));
             }
@@ -3319,9 +3320,9 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createVerticalHorizontalFilterStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 垂直水平滤波器
         class VerticalHorizontalFilterIndicator extends CachedIndicator<Num> {
@@ -3383,7 +3384,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createRainbowOscillatorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 彩虹振荡器 - 基于多重移动平均线
         class RainbowOscillatorIndicator extends CachedIndicator<Num> {
@@ -3408,16 +3409,16 @@ public class StrategyFactory2 {
                 }
 
                 // 计算多层移动平均线
-                SMAIndicator ma1 = new SMAIndicator(close, period);
-                SMAIndicator ma2 = new SMAIndicator(ma1, period);
-                SMAIndicator ma3 = new SMAIndicator(ma2, period);
-                SMAIndicator ma4 = new SMAIndicator(ma3, period);
-                SMAIndicator ma5 = new SMAIndicator(ma4, period);
-                SMAIndicator ma6 = new SMAIndicator(ma5, period);
-                SMAIndicator ma7 = new SMAIndicator(ma6, period);
-                SMAIndicator ma8 = new SMAIndicator(ma7, period);
-                SMAIndicator ma9 = new SMAIndicator(ma8, period);
-                SMAIndicator ma10 = new SMAIndicator(ma9, period);
+                SMAIndicator ma1 = IndicatorCache.sma(close, period);
+                SMAIndicator ma2 = IndicatorCache.sma(ma1, period);
+                SMAIndicator ma3 = IndicatorCache.sma(ma2, period);
+                SMAIndicator ma4 = IndicatorCache.sma(ma3, period);
+                SMAIndicator ma5 = IndicatorCache.sma(ma4, period);
+                SMAIndicator ma6 = IndicatorCache.sma(ma5, period);
+                SMAIndicator ma7 = IndicatorCache.sma(ma6, period);
+                SMAIndicator ma8 = IndicatorCache.sma(ma7, period);
+                SMAIndicator ma9 = IndicatorCache.sma(ma8, period);
+                SMAIndicator ma10 = IndicatorCache.sma(ma9, period);
 
                 // 彩虹值 = HHV(MA) - LLV(MA)
                 Num highest = ma1.getValue(index);
@@ -3449,7 +3450,7 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createRelativeMomentumIndexStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 相对动量指标
         class RelativeMomentumIndexIndicator extends CachedIndicator<Num> {
@@ -3507,8 +3508,8 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createIntradayMomentumIndexStrategy(BarSeries series) {
-        OpenPriceIndicator openPrice = new OpenPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        OpenPriceIndicator openPrice = IndicatorCache.openPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 日内动量指标
         class IntradayMomentumIndexIndicator extends CachedIndicator<Num> {
@@ -3563,9 +3564,9 @@ public class StrategyFactory2 {
     }
 
     public static Strategy createRandomWalkIndexStrategy(BarSeries series) {
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 随机游走指标
         class RandomWalkIndexIndicator extends CachedIndicator<Num> {
@@ -3597,7 +3598,7 @@ public class StrategyFactory2 {
                 // RWI High = (High - Close[n periods ago]) / (ATR * sqrt(n))
                 // RWI Low = (Close[n periods ago] - Low) / (ATR * sqrt(n))
 
-                ATRIndicator atr = new ATRIndicator(series, period);
+                ATRIndicator atr = IndicatorCache.atr(series, period);
                 Num atrValue = atr.getValue(index);
 
                 if (atrValue.isZero()) return Ta4jNumUtil.valueOf(0);
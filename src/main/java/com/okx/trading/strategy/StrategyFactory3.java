@@ -1,5 +1,6 @@
 package com.okx.trading.strategy;
 
+import com.okx.trading.indicator.IndicatorCache;
 import com.okx.trading.util.Ta4jNumUtil;
 import org.ta4j.core.*;
 import org.ta4j.core.indicators.*;
@@ -13,7 +14,6 @@ import org.ta4j.core.indicators.adx.ADXIndicator;
 import org.ta4j.core.indicators.keltner.*;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.rules.*;
-import org.ta4j.core.num.DecimalNum;
 
 import static com.okx.trading.strategy.StrategyRegisterCenter.addExtraStopRule;
 
@@ -29,14 +29,14 @@ public class StrategyFactory3 {
      * 基于RSI超买超卖信号进行反转交易
      */
     public static Strategy createRSIReversalStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         // 买入信号：RSI < 30 (超卖)
-        Rule entryRule = new UnderIndicatorRule(rsi, DecimalNum.valueOf(30));
+        Rule entryRule = new UnderIndicatorRule(rsi, Ta4jNumUtil.valueOf(30));
 
         // 卖出信号：RSI > 70 (超买)
-        Rule exitRule = new OverIndicatorRule(rsi, DecimalNum.valueOf(70));
+        Rule exitRule = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(70));
 
         return new BaseStrategy("RSI反转策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -49,10 +49,10 @@ public class StrategyFactory3 {
         WilliamsRIndicator williamsR = new WilliamsRIndicator(series, 14);
 
         // 买入信号：Williams %R < -80 (超卖)
-        Rule entryRule = new UnderIndicatorRule(williamsR, DecimalNum.valueOf(-80));
+        Rule entryRule = new UnderIndicatorRule(williamsR, Ta4jNumUtil.valueOf(-80));
 
         // 卖出信号：Williams %R > -20 (超买)
-        Rule exitRule = new OverIndicatorRule(williamsR, DecimalNum.valueOf(-20));
+        Rule exitRule = new OverIndicatorRule(williamsR, Ta4jNumUtil.valueOf(-20));
 
         return new BaseStrategy("Williams R反转策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -62,7 +62,7 @@ public class StrategyFactory3 {
      * 基于价格动量的多空信号
      */
     public static Strategy createMomentumOscillatorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 动量指标 = 当前价格 / N期前价格
         class MomentumIndicator extends CachedIndicator<Num> {
@@ -83,21 +83,21 @@ public class StrategyFactory3 {
             @Override
             protected Num calculate(int index) {
                 if (index < period) {
-                    return DecimalNum.valueOf(100);
+                    return Ta4jNumUtil.valueOf(100);
                 }
-                return closePrice.getValue(index).dividedBy(closePrice.getValue(index - period)).multipliedBy(DecimalNum.valueOf(100));
+                return closePrice.getValue(index).dividedBy(closePrice.getValue(index - period)).multipliedBy(Ta4jNumUtil.valueOf(100));
             }
         }
 
         MomentumIndicator momentum = new MomentumIndicator(closePrice, 10, series);
-        SMAIndicator momentumSMA = new SMAIndicator(momentum, 5);
+        SMAIndicator momentumSMA = IndicatorCache.sma(momentum, 5);
 
         // 买入信号：动量上穿100且动量MA确认
-        Rule entryRule = new CrossedUpIndicatorRule(momentum, DecimalNum.valueOf(100))
+        Rule entryRule = new CrossedUpIndicatorRule(momentum, Ta4jNumUtil.valueOf(100))
                 .and(new OverIndicatorRule(momentum, momentumSMA));
 
         // 卖出信号：动量下穿100且动量MA确认
-        Rule exitRule = new CrossedDownIndicatorRule(momentum, DecimalNum.valueOf(100))
+        Rule exitRule = new CrossedDownIndicatorRule(momentum, Ta4jNumUtil.valueOf(100))
                 .and(new UnderIndicatorRule(momentum, momentumSMA));
 
         return new BaseStrategy("动量振荡器策略", entryRule, addExtraStopRule(exitRule, series));
@@ -108,16 +108,16 @@ public class StrategyFactory3 {
      * 基于变化率(ROC)与价格背离的信号
      */
     public static Strategy createROCDivergenceStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        ROCIndicator roc = new ROCIndicator(closePrice, 12);
-        SMAIndicator rocMA = new SMAIndicator(roc, 5);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        ROCIndicator roc = IndicatorCache.roc(closePrice, 12);
+        SMAIndicator rocMA = IndicatorCache.sma(roc, 5);
 
         // 买入信号：ROC从负值区域上涨且突破其移动平均线
-        Rule entryRule = new OverIndicatorRule(roc, DecimalNum.valueOf(0))
+        Rule entryRule = new OverIndicatorRule(roc, Ta4jNumUtil.valueOf(0))
                 .and(new CrossedUpIndicatorRule(roc, rocMA));
 
         // 卖出信号：ROC从正值区域下跌且跌破其移动平均线
-        Rule exitRule = new UnderIndicatorRule(roc, DecimalNum.valueOf(0))
+        Rule exitRule = new UnderIndicatorRule(roc, Ta4jNumUtil.valueOf(0))
                 .and(new CrossedDownIndicatorRule(roc, rocMA));
 
         return new BaseStrategy("ROC背离策略", entryRule, addExtraStopRule(exitRule, series));
@@ -128,12 +128,12 @@ public class StrategyFactory3 {
      * 基于三重指数平滑移动平均线的信号
      */
     public static Strategy createTRIXSignalStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // TRIX = (三重EMA的变化率) * 10000
-        EMAIndicator ema1 = new EMAIndicator(closePrice, 14);
-        EMAIndicator ema2 = new EMAIndicator(ema1, 14);
-        EMAIndicator ema3 = new EMAIndicator(ema2, 14);
+        EMAIndicator ema1 = IndicatorCache.ema(closePrice, 14);
+        EMAIndicator ema2 = IndicatorCache.ema(ema1, 14);
+        EMAIndicator ema3 = IndicatorCache.ema(ema2, 14);
 
         class TRIXIndicator extends CachedIndicator<Num> {
             @Override
@@ -147,13 +147,13 @@ public class StrategyFactory3 {
             public TRIXIndicator(EMAIndicator ema3, BarSeries series) {
                 super(series);
                 this.ema3 = ema3;
-                this.multiplier = DecimalNum.valueOf(10000);
+                this.multiplier = Ta4jNumUtil.valueOf(10000);
             }
 
             @Override
             protected Num calculate(int index) {
                 if (index == 0) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
                 Num currentEma = ema3.getValue(index);
                 Num previousEma = ema3.getValue(index - 1);
@@ -162,7 +162,7 @@ public class StrategyFactory3 {
         }
 
         TRIXIndicator trix = new TRIXIndicator(ema3, series);
-        SMAIndicator trixSignal = new SMAIndicator(trix, 9);
+        SMAIndicator trixSignal = IndicatorCache.sma(trix, 9);
 
         // 买入信号：TRIX上穿其信号线
         Rule entryRule = new CrossedUpIndicatorRule(trix, trixSignal);
@@ -179,7 +179,7 @@ public class StrategyFactory3 {
      */
     public static Strategy createParabolicSARReversalStrategy(BarSeries series) {
         ParabolicSarIndicator psar = new ParabolicSarIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 买入信号：价格上穿SAR
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, psar);
@@ -195,9 +195,9 @@ public class StrategyFactory3 {
      * 基于平均真实波幅(ATR)的突破交易
      */
     public static Strategy createATRBreakoutStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        ATRIndicator atr = new ATRIndicator(series, 14);
-        SMAIndicator closeMA = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        ATRIndicator atr = IndicatorCache.atr(series, 14);
+        SMAIndicator closeMA = IndicatorCache.sma(closePrice, 20);
 
         // ATR带宽突破
         class ATRUpperBand extends CachedIndicator<Num> {
@@ -214,7 +214,7 @@ public class StrategyFactory3 {
                 super(series);
                 this.sma = sma;
                 this.atr = atr;
-                this.multiplier = DecimalNum.valueOf(multiplier);
+                this.multiplier = Ta4jNumUtil.valueOf(multiplier);
             }
 
             @Override
@@ -237,7 +237,7 @@ public class StrategyFactory3 {
                 super(series);
                 this.sma = sma;
                 this.atr = atr;
-                this.multiplier = DecimalNum.valueOf(multiplier);
+                this.multiplier = Ta4jNumUtil.valueOf(multiplier);
             }
 
             @Override
@@ -264,9 +264,9 @@ public class StrategyFactory3 {
      * 基于唐奇安通道的突破交易系统
      */
     public static Strategy createDonchianBreakoutStrategy(BarSeries series) {
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 唐奇安通道上轨 = N期最高价
         class DonchianUpper extends CachedIndicator<Num> {
@@ -329,8 +329,8 @@ public class StrategyFactory3 {
         DonchianLower lower = new DonchianLower(lowPrice, period, series);
 
         // 添加成交量过滤器
-        VolumeIndicator volume = new VolumeIndicator(series);
-        SMAIndicator avgVolume = new SMAIndicator(volume, period);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, period);
 
         // 买入规则：价格突破上轨，且成交量大于平均成交量的0.8倍（降低阈值）
         Rule entryRule = new CrossedUpIndicatorRule(closePrice, upper)
@@ -349,7 +349,7 @@ public class StrategyFactory3 {
      * 基于肯特纳通道的突破交易
      */
     public static Strategy createKeltnerBreakoutStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
         KeltnerChannelUpperIndicator keltnerUpper = new KeltnerChannelUpperIndicator(new KeltnerChannelMiddleIndicator(series, 20), Double.valueOf(2), 10);
         KeltnerChannelLowerIndicator keltnerLower = new KeltnerChannelLowerIndicator(new KeltnerChannelMiddleIndicator(series, 20), Double.valueOf(2), 10);
 
@@ -367,9 +367,9 @@ public class StrategyFactory3 {
      * 基于价格通道的边界反弹交易
      */
     public static Strategy createPriceChannelStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, 20);
 
         // 价格通道上轨
         class UpperChannel extends CachedIndicator<Num> {
@@ -386,7 +386,7 @@ public class StrategyFactory3 {
                 super(series);
                 this.sma = sma;
                 this.stdDev = stdDev;
-                this.multiplier = DecimalNum.valueOf(multiplier);
+                this.multiplier = Ta4jNumUtil.valueOf(multiplier);
             }
 
             @Override
@@ -410,7 +410,7 @@ public class StrategyFactory3 {
                 super(series);
                 this.sma = sma;
                 this.stdDev = stdDev;
-                this.multiplier = DecimalNum.valueOf(multiplier);
+                this.multiplier = Ta4jNumUtil.valueOf(multiplier);
             }
 
             @Override
@@ -436,8 +436,8 @@ public class StrategyFactory3 {
      * 基于VWMA的交叉信号
      */
     public static Strategy createVWMACrossoverStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 成交量加权移动平均线
         class VWMAIndicator extends CachedIndicator<Num> {
@@ -460,8 +460,8 @@ public class StrategyFactory3 {
             @Override
             protected Num calculate(int index) {
                 int startIndex = Math.max(0, index - period + 1);
-                Num totalVolumePrice = DecimalNum.valueOf(0);
-                Num totalVolume = DecimalNum.valueOf(0);
+                Num totalVolumePrice = Ta4jNumUtil.valueOf(0);
+                Num totalVolume = Ta4jNumUtil.valueOf(0);
 
                 for (int i = startIndex; i <= index; i++) {
                     Num price = closePrice.getValue(i);
@@ -494,7 +494,7 @@ public class StrategyFactory3 {
      * 基于A/D线与价格背离的信号
      */
     public static Strategy createAccumulationDistributionDivergenceStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // A/D线指标
         class ADLineIndicator extends CachedIndicator<Num> {
@@ -510,16 +510,16 @@ public class StrategyFactory3 {
 
             public ADLineIndicator(BarSeries series) {
                 super(series);
-                this.highPrice = new HighPriceIndicator(series);
-                this.lowPrice = new LowPriceIndicator(series);
-                this.closePrice = new ClosePriceIndicator(series);
-                this.volume = new VolumeIndicator(series);
+                this.highPrice = IndicatorCache.highPrice(series);
+                this.lowPrice = IndicatorCache.lowPrice(series);
+                this.closePrice = IndicatorCache.closePrice(series);
+                this.volume = IndicatorCache.volume(series);
             }
 
             @Override
             protected Num calculate(int index) {
                 if (index == 0) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 Num high = highPrice.getValue(index);
@@ -529,7 +529,7 @@ public class StrategyFactory3 {
 
                 Num clv;
                 if (high.isEqual(low)) {
-                    clv = DecimalNum.valueOf(0);
+                    clv = Ta4jNumUtil.valueOf(0);
                 } else {
                     clv = close.minus(low).minus(high.minus(close)).dividedBy(high.minus(low));
                 }
@@ -539,8 +539,8 @@ public class StrategyFactory3 {
         }
 
         ADLineIndicator adLine = new ADLineIndicator(series);
-        SMAIndicator adMA = new SMAIndicator(adLine, 10);
-        SMAIndicator priceMA = new SMAIndicator(closePrice, 10);
+        SMAIndicator adMA = IndicatorCache.sma(adLine, 10);
+        SMAIndicator priceMA = IndicatorCache.sma(closePrice, 10);
 
         // 买入信号：A/D线向上突破其移动平均线，且价格也上涨
         Rule entryRule = new CrossedUpIndicatorRule(adLine, adMA)
@@ -558,10 +558,10 @@ public class StrategyFactory3 {
      * 基于能量潮(OBV)与价格背离的信号
      */
     public static Strategy createOBVDivergenceStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
         OnBalanceVolumeIndicator obv = new OnBalanceVolumeIndicator(series);
-        SMAIndicator obvMA = new SMAIndicator(obv, 10);
-        SMAIndicator priceMA = new SMAIndicator(closePrice, 10);
+        SMAIndicator obvMA = IndicatorCache.sma(obv, 10);
+        SMAIndicator priceMA = IndicatorCache.sma(closePrice, 10);
 
         // 买入信号：OBV向上突破其移动平均线
         Rule entryRule = new CrossedUpIndicatorRule(obv, obvMA)
@@ -579,10 +579,10 @@ public class StrategyFactory3 {
      * 价格突破必须有成交量确认
      */
     public static Strategy createPriceVolumeConfirmationStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        SMAIndicator priceMA = new SMAIndicator(closePrice, 20);
-        SMAIndicator volumeMA = new SMAIndicator(volume, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        SMAIndicator priceMA = IndicatorCache.sma(closePrice, 20);
+        SMAIndicator volumeMA = IndicatorCache.sma(volume, 20);
 
         // 成交量阈值指标
         class VolumeThresholdIndicator extends CachedIndicator<Num> {
@@ -597,7 +597,7 @@ public class StrategyFactory3 {
             public VolumeThresholdIndicator(SMAIndicator volumeMA, double multiplier, BarSeries series) {
                 super(series);
                 this.volumeMA = volumeMA;
-                this.multiplier = DecimalNum.valueOf(multiplier);
+                this.multiplier = Ta4jNumUtil.valueOf(multiplier);
             }
 
             @Override
@@ -624,7 +624,7 @@ public class StrategyFactory3 {
      * 基于成交量振荡器的信号
      */
     public static Strategy createVolumeOscillatorSignalStrategy(BarSeries series) {
-        VolumeIndicator volume = new VolumeIndicator(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 成交量振荡器 = (短期成交量MA - 长期成交量MA) / 长期成交量MA * 100
         class VolumeOscillator extends CachedIndicator<Num> {
@@ -641,7 +641,7 @@ public class StrategyFactory3 {
                 super(series);
                 this.shortMA = shortMA;
                 this.longMA = longMA;
-                this.hundred = DecimalNum.valueOf(100);
+                this.hundred = Ta4jNumUtil.valueOf(100);
             }
 
             @Override
@@ -649,21 +649,21 @@ public class StrategyFactory3 {
                 Num shortValue = shortMA.getValue(index);
                 Num longValue = longMA.getValue(index);
                 if (longValue.isZero()) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
                 return shortValue.minus(longValue).dividedBy(longValue).multipliedBy(hundred);
             }
         }
 
-        SMAIndicator volumeMA12 = new SMAIndicator(volume, 12);
-        SMAIndicator volumeMA26 = new SMAIndicator(volume, 26);
+        SMAIndicator volumeMA12 = IndicatorCache.sma(volume, 12);
+        SMAIndicator volumeMA26 = IndicatorCache.sma(volume, 26);
         VolumeOscillator volOsc = new VolumeOscillator(volumeMA12, volumeMA26, series);
 
         // 买入信号：成交量振荡器从负值区域上穿0轴
-        Rule entryRule = new CrossedUpIndicatorRule(volOsc, DecimalNum.valueOf(0));
+        Rule entryRule = new CrossedUpIndicatorRule(volOsc, Ta4jNumUtil.valueOf(0));
 
         // 卖出信号：成交量振荡器从正值区域下穿0轴
-        Rule exitRule = new CrossedDownIndicatorRule(volOsc, DecimalNum.valueOf(0));
+        Rule exitRule = new CrossedDownIndicatorRule(volOsc, Ta4jNumUtil.valueOf(0));
 
         return new BaseStrategy("成交量振荡器策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -673,8 +673,8 @@ public class StrategyFactory3 {
      * 基于PVI的信号
      */
     public static Strategy createPositiveVolumeIndexSignalStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 正成交量指数
         class PVIIndicator extends CachedIndicator<Num> {
@@ -695,7 +695,7 @@ public class StrategyFactory3 {
             @Override
             protected Num calculate(int index) {
                 if (index == 0) {
-                    return DecimalNum.valueOf(1000);
+                    return Ta4jNumUtil.valueOf(1000);
                 }
 
                 Num currentVolume = volume.getValue(index);
@@ -712,7 +712,7 @@ public class StrategyFactory3 {
         }
 
         PVIIndicator pvi = new PVIIndicator(closePrice, volume, series);
-        SMAIndicator pviMA = new SMAIndicator(pvi, 255);
+        SMAIndicator pviMA = IndicatorCache.sma(pvi, 255);
 
         // 买入信号：PVI上穿其长期移动平均线
         Rule entryRule = new CrossedUpIndicatorRule(pvi, pviMA);
@@ -728,8 +728,8 @@ public class StrategyFactory3 {
      * 基于NVI的信号
      */
     public static Strategy createNegativeVolumeIndexSignalStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 负成交量指数
         class NVIIndicator extends CachedIndicator<Num> {
@@ -750,7 +750,7 @@ public class StrategyFactory3 {
             @Override
             protected Num calculate(int index) {
                 if (index == 0) {
-                    return DecimalNum.valueOf(1000);
+                    return Ta4jNumUtil.valueOf(1000);
                 }
 
                 Num currentVolume = volume.getValue(index);
@@ -767,7 +767,7 @@ public class StrategyFactory3 {
         }
 
         NVIIndicator nvi = new NVIIndicator(closePrice, volume, series);
-        SMAIndicator nviMA = new SMAIndicator(nvi, 255);
+        SMAIndicator nviMA = IndicatorCache.sma(nvi, 255);
 
         // 买入信号：NVI上穿其长期移动平均线
         Rule entryRule = new CrossedUpIndicatorRule(nvi, nviMA);
@@ -783,14 +783,14 @@ public class StrategyFactory3 {
      * 基于成交量RSI的超买超卖信号
      */
     public static Strategy createVolumeRSIStrategy(BarSeries series) {
-        VolumeIndicator volume = new VolumeIndicator(series);
-        RSIIndicator volumeRSI = new RSIIndicator(volume, 14);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        RSIIndicator volumeRSI = IndicatorCache.rsi(volume, 14);
 
         // 买入信号：成交量RSI从超卖区域(30以下)回升
-        Rule entryRule = new CrossedUpIndicatorRule(volumeRSI, DecimalNum.valueOf(30));
+        Rule entryRule = new CrossedUpIndicatorRule(volumeRSI, Ta4jNumUtil.valueOf(30));
 
         // 卖出信号：成交量RSI从超买区域(70以上)回落
-        Rule exitRule = new CrossedDownIndicatorRule(volumeRSI, DecimalNum.valueOf(70));
+        Rule exitRule = new CrossedDownIndicatorRule(volumeRSI, Ta4jNumUtil.valueOf(70));
 
         return new BaseStrategy("成交量RSI策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -800,18 +800,18 @@ public class StrategyFactory3 {
      * 结合价格RSI和成交量RSI的综合信号
      */
     public static Strategy createVolumeWeightedRSISignalStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        RSIIndicator priceRSI = new RSIIndicator(closePrice, 14);
-        RSIIndicator volumeRSI = new RSIIndicator(volume, 14);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        RSIIndicator priceRSI = IndicatorCache.rsi(closePrice, 14);
+        RSIIndicator volumeRSI = IndicatorCache.rsi(volume, 14);
 
         // 买入信号：价格RSI和成交量RSI都从超卖区域回升
-        Rule entryRule = new CrossedUpIndicatorRule(priceRSI, DecimalNum.valueOf(30))
-                .and(new OverIndicatorRule(volumeRSI, DecimalNum.valueOf(50)));
+        Rule entryRule = new CrossedUpIndicatorRule(priceRSI, Ta4jNumUtil.valueOf(30))
+                .and(new OverIndicatorRule(volumeRSI, Ta4jNumUtil.valueOf(50)));
 
         // 卖出信号：价格RSI和成交量RSI都从超买区域回落
-        Rule exitRule = new CrossedDownIndicatorRule(priceRSI, DecimalNum.valueOf(70))
-                .and(new UnderIndicatorRule(volumeRSI, DecimalNum.valueOf(50)));
+        Rule exitRule = new CrossedDownIndicatorRule(priceRSI, Ta4jNumUtil.valueOf(70))
+                .and(new UnderIndicatorRule(volumeRSI, Ta4jNumUtil.valueOf(50)));
 
         return new BaseStrategy("成交量加权RSI策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -821,10 +821,10 @@ public class StrategyFactory3 {
      * 价格突破必须有异常成交量确认
      */
     public static Strategy createVolumeBreakoutConfirmationStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 20日最高价
         class HighestHighIndicator extends CachedIndicator<Num> {
@@ -888,7 +888,7 @@ public class StrategyFactory3 {
 
         HighestHighIndicator highest20 = new HighestHighIndicator(highPrice, 20, series);
         LowestLowIndicator lowest20 = new LowestLowIndicator(lowPrice, 20, series);
-        SMAIndicator volumeMA = new SMAIndicator(volume, 20);
+        SMAIndicator volumeMA = IndicatorCache.sma(volume, 20);
 
         // 成交量阈值指标
         class VolumeThresholdIndicator extends CachedIndicator<Num> {
@@ -903,7 +903,7 @@ public class StrategyFactory3 {
             public VolumeThresholdIndicator(SMAIndicator volumeMA, double multiplier, BarSeries series) {
                 super(series);
                 this.volumeMA = volumeMA;
-                this.multiplier = DecimalNum.valueOf(multiplier);
+                this.multiplier = Ta4jNumUtil.valueOf(multiplier);
             }
 
             @Override
@@ -935,7 +935,7 @@ public class StrategyFactory3 {
      * 策略71: 历史波动率策略
      */
     public static Strategy createHistoricalVolatilityStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 历史波动率指标
         class HistoricalVolatilityIndicator extends CachedIndicator<Num> {
@@ -956,23 +956,23 @@ public class StrategyFactory3 {
             @Override
             protected Num calculate(int index) {
                 if (index < period) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 // 计算对数收益率的标准差
-                Num sumSquaredReturns = DecimalNum.valueOf(0);
+                Num sumSquaredReturns = Ta4jNumUtil.valueOf(0);
                 for (int i = index - period + 1; i <= index; i++) {
                     if (i > 0) {
                         Num logReturn = closePrice.getValue(i).dividedBy(closePrice.getValue(i - 1)).log();
                         sumSquaredReturns = sumSquaredReturns.plus(logReturn.pow(2));
                     }
                 }
-                return sumSquaredReturns.dividedBy(DecimalNum.valueOf(period)).sqrt();
+                return sumSquaredReturns.dividedBy(Ta4jNumUtil.valueOf(period)).sqrt();
             }
         }
 
         HistoricalVolatilityIndicator hv = new HistoricalVolatilityIndicator(closePrice, 20, series);
-        SMAIndicator hvMA = new SMAIndicator(hv, 10);
+        SMAIndicator hvMA = IndicatorCache.sma(hv, 10);
 
         // 买入信号：波动率低于均值
         Rule entryRule = new UnderIndicatorRule(hv, hvMA);
@@ -987,9 +987,9 @@ public class StrategyFactory3 {
      * 策略72: 标准差通道策略
      */
     public static Strategy createStandardDeviationChannelStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, 20);
 
         // 上轨 = SMA + 2 * StdDev
         class UpperBandIndicator extends CachedIndicator<Num> {
@@ -1006,7 +1006,7 @@ public class StrategyFactory3 {
                 super(series);
                 this.sma = sma;
                 this.stdDev = stdDev;
-                this.multiplier = DecimalNum.valueOf(multiplier);
+                this.multiplier = Ta4jNumUtil.valueOf(multiplier);
             }
 
             @Override
@@ -1030,7 +1030,7 @@ public class StrategyFactory3 {
                 super(series);
                 this.sma = sma;
                 this.stdDev = stdDev;
-                this.multiplier = DecimalNum.valueOf(multiplier);
+                this.multiplier = Ta4jNumUtil.valueOf(multiplier);
             }
 
             @Override
@@ -1055,9 +1055,9 @@ public class StrategyFactory3 {
      * 策略73: 变异系数策略
      */
     public static Strategy createCoefficientOfVariationStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, 20);
 
         // 变异系数 = 标准差 / 均值
         class CoefficientOfVariationIndicator extends CachedIndicator<Num> {
@@ -1079,7 +1079,7 @@ public class StrategyFactory3 {
             protected Num calculate(int index) {
                 Num mean = sma.getValue(index);
                 if (mean.isZero()) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
                 return stdDev.getValue(index).dividedBy(mean);
             }
@@ -1088,10 +1088,10 @@ public class StrategyFactory3 {
         CoefficientOfVariationIndicator cv = new CoefficientOfVariationIndicator(sma, stdDev, series);
 
         // 买入信号：变异系数低于0.05
-        Rule entryRule = new UnderIndicatorRule(cv, DecimalNum.valueOf(0.05));
+        Rule entryRule = new UnderIndicatorRule(cv, Ta4jNumUtil.valueOf(0.05));
 
         // 卖出信号：变异系数高于0.15
-        Rule exitRule = new OverIndicatorRule(cv, DecimalNum.valueOf(0.15));
+        Rule exitRule = new OverIndicatorRule(cv, Ta4jNumUtil.valueOf(0.15));
 
         return new BaseStrategy("变异系数策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -1100,7 +1100,7 @@ public class StrategyFactory3 {
      * 策略74: 偏度策略 - 真正的偏度统计计算
      */
     public static Strategy createSkewnessStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 真正的偏度计算指标
         class SkewnessIndicator extends CachedIndicator<Num> {
@@ -1121,37 +1121,37 @@ public class StrategyFactory3 {
             @Override
             protected Num calculate(int index) {
                 if (index < period - 1) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 // 计算均值
-                Num sum = DecimalNum.valueOf(0);
+                Num sum = Ta4jNumUtil.valueOf(0);
                 for (int i = index - period + 1; i <= index; i++) {
                     sum = sum.plus(closePrice.getValue(i));
                 }
-                Num mean = sum.dividedBy(DecimalNum.valueOf(period));
+                Num mean = sum.dividedBy(Ta4jNumUtil.valueOf(period));
 
                 // 计算标准差
-                Num variance = DecimalNum.valueOf(0);
+                Num variance = Ta4jNumUtil.valueOf(0);
                 for (int i = index - period + 1; i <= index; i++) {
                     Num diff = closePrice.getValue(i).minus(mean);
                     variance = variance.plus(diff.multipliedBy(diff));
                 }
-                variance = variance.dividedBy(DecimalNum.valueOf(period));
-                Num stdDev = DecimalNum.valueOf(Math.sqrt(variance.doubleValue()));
+                variance = variance.dividedBy(Ta4jNumUtil.valueOf(period));
+                Num stdDev = Ta4jNumUtil.valueOf(Math.sqrt(variance.doubleValue()));
 
                 if (stdDev.isZero()) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 // 计算偏度
-                Num skewness = DecimalNum.valueOf(0);
+                Num skewness = Ta4jNumUtil.valueOf(0);
                 for (int i = index - period + 1; i <= index; i++) {
                     Num diff = closePrice.getValue(i).minus(mean);
                     Num standardized = diff.dividedBy(stdDev);
                     skewness = skewness.plus(standardized.multipliedBy(standardized).multipliedBy(standardized));
                 }
-                skewness = skewness.dividedBy(DecimalNum.valueOf(period));
+                skewness = skewness.dividedBy(Ta4jNumUtil.valueOf(period));
 
                 return skewness;
             }
@@ -1160,8 +1160,8 @@ public class StrategyFactory3 {
         SkewnessIndicator skewness = new SkewnessIndicator(closePrice, 20, series);
 
         // 正偏度买入，负偏度卖出（降低阈值）
-        Rule entryRule = new OverIndicatorRule(skewness, DecimalNum.valueOf(0.1)); // 降低阈值（原来0.5）
-        Rule exitRule = new UnderIndicatorRule(skewness, DecimalNum.valueOf(-0.1)); // 降低阈值（原来-0.5）
+        Rule entryRule = new OverIndicatorRule(skewness, Ta4jNumUtil.valueOf(0.1)); // 降低阈值（原来0.5）
+        Rule exitRule = new UnderIndicatorRule(skewness, Ta4jNumUtil.valueOf(-0.1)); // 降低阈值（原来-0.5）
 
         return new BaseStrategy("偏度策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -1170,7 +1170,7 @@ public class StrategyFactory3 {
      * 策略75: 峰度策略 - 真正的峰度统计计算
      */
     public static Strategy createKurtosisStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 真正的峰度计算指标
         class KurtosisIndicator extends CachedIndicator<Num> {
@@ -1191,45 +1191,45 @@ public class StrategyFactory3 {
             @Override
             protected Num calculate(int index) {
                 if (index < period - 1) {
-                    return DecimalNum.valueOf(3); // 正态分布的峰度为3
+                    return Ta4jNumUtil.valueOf(3); // 正态分布的峰度为3
                 }
 
                 // 计算均值
-                Num sum = DecimalNum.valueOf(0);
+                Num sum = Ta4jNumUtil.valueOf(0);
                 for (int i = index - period + 1; i <= index; i++) {
                     sum = sum.plus(closePrice.getValue(i));
                 }
-                Num mean = sum.dividedBy(DecimalNum.valueOf(period));
+                Num mean = sum.dividedBy(Ta4jNumUtil.valueOf(period));
 
                 // 计算标准差
-                Num variance = DecimalNum.valueOf(0);
+                Num variance = Ta4jNumUtil.valueOf(0);
                 for (int i = index - period + 1; i <= index; i++) {
                     Num diff = closePrice.getValue(i).minus(mean);
                     variance = variance.plus(diff.multipliedBy(diff));
                 }
-                variance = variance.dividedBy(DecimalNum.valueOf(period));
-                Num stdDev = DecimalNum.valueOf(Math.sqrt(variance.doubleValue()));
+                variance = variance.dividedBy(Ta4jNumUtil.valueOf(period));
+                Num stdDev = Ta4jNumUtil.valueOf(Math.sqrt(variance.doubleValue()));
 
                 if (stdDev.isZero()) {
-                    return DecimalNum.valueOf(3);
+                    return Ta4jNumUtil.valueOf(3);
                 }
 
                 // 计算峰度
-                Num kurtosis = DecimalNum.valueOf(0);
+                Num kurtosis = Ta4jNumUtil.valueOf(0);
                 for (int i = index - period + 1; i <= index; i++) {
                     Num diff = closePrice.getValue(i).minus(mean);
                     Num standardized = diff.dividedBy(stdDev);
                     Num fourthPower = standardized.multipliedBy(standardized).multipliedBy(standardized).multipliedBy(standardized);
                     kurtosis = kurtosis.plus(fourthPower);
                 }
-                kurtosis = kurtosis.dividedBy(DecimalNum.valueOf(period));
+                kurtosis = kurtosis.dividedBy(Ta4jNumUtil.valueOf(period));
 
                 return kurtosis;
             }
         }
 
         KurtosisIndicator kurtosis = new KurtosisIndicator(closePrice, 20, series);
-        SMAIndicator avgKurtosis = new SMAIndicator(kurtosis, 10);
+        SMAIndicator avgKurtosis = IndicatorCache.sma(kurtosis, 10);
 
         // 使用相对峰度而非绝对阈值
         Rule entryRule = new OverIndicatorRule(kurtosis, TransformIndicator.multiply(avgKurtosis, 1.1)); // 峰度高于平均10%
@@ -1242,9 +1242,9 @@ public class StrategyFactory3 {
      * 策略76: Z-Score策略
      */
     public static Strategy createZScoreStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, 20);
 
         // Z-Score = (价格 - 均值) / 标准差
         class ZScoreIndicator extends CachedIndicator<Num> {
@@ -1271,7 +1271,7 @@ public class StrategyFactory3 {
                 Num std = stdDev.getValue(index);
 
                 if (std.isZero()) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
                 return price.minus(mean).dividedBy(std);
             }
@@ -1280,8 +1280,8 @@ public class StrategyFactory3 {
         ZScoreIndicator zscore = new ZScoreIndicator(closePrice, sma, stdDev, series);
 
         // Z分数超买超卖（降低阈值，更容易触发）
-        Rule entryRule = new UnderIndicatorRule(zscore, DecimalNum.valueOf(-1.5)); // 降低阈值（原来-2）
-        Rule exitRule = new OverIndicatorRule(zscore, DecimalNum.valueOf(1.5)); // 降低阈值（原来2）
+        Rule entryRule = new UnderIndicatorRule(zscore, Ta4jNumUtil.valueOf(-1.5)); // 降低阈值（原来-2）
+        Rule exitRule = new OverIndicatorRule(zscore, Ta4jNumUtil.valueOf(1.5)); // 降低阈值（原来2）
 
         return new BaseStrategy("Z-Score策略", entryRule, addExtraStopRule(exitRule, series));
     }
@@ -1290,7 +1290,7 @@ public class StrategyFactory3 {
      * 策略77: 百分位策略 - 真正的百分位计算
      */
     public static Strategy createPercentileStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 百分位指标
         class PercentileIndicator extends CachedIndicator<Num> {
@@ -1329,7 +1329,7 @@ public class StrategyFactory3 {
                 int rankIndex = (int) Math.ceil(percentile * period / 100.0) - 1;
                 rankIndex = Math.max(0, Math.min(rankIndex, period - 1));
 
-                return DecimalNum.valueOf(prices[rankIndex]);
+                return Ta4jNumUtil.valueOf(prices[rankIndex]);
             }
         }
 
@@ -1347,7 +1347,7 @@ public class StrategyFactory3 {
      * 策略78: 线性回归策略 - 真正的线性回归计算
      */
     public static Strategy createLinearRegressionStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 线性回归指标
         class LinearRegressionIndicator extends CachedIndicator<Num> {
@@ -1391,7 +1391,7 @@ public class StrategyFactory3 {
                 // 预测当前点的回归值
                 double predictedValue = slope * period + intercept;
 
-                return DecimalNum.valueOf(predictedValue);
+                return Ta4jNumUtil.valueOf(predictedValue);
             }
         }
 
@@ -1415,7 +1415,7 @@ public class StrategyFactory3 {
      * 策略79: 线性回归斜率策略 - 真正的斜率计算
      */
     public static Strategy createLinearRegressionSlopeStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 线性回归斜率指标
         class LinearRegressionSlopeIndicator extends CachedIndicator<Num> {
@@ -1436,7 +1436,7 @@ public class StrategyFactory3 {
             @Override
             protected Num calculate(int index) {
                 if (index < period - 1) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 // 线性回归斜率计算
@@ -1455,7 +1455,7 @@ public class StrategyFactory3 {
                 // 计算斜率
                 double slope = (n * sumXY - sumX * sumY) / (n * sumX2 - sumX * sumX);
 
-                return DecimalNum.valueOf(slope);
+                return Ta4jNumUtil.valueOf(slope);
             }
         }
 
@@ -1475,7 +1475,7 @@ public class StrategyFactory3 {
      * 策略80: R平方策略 - 真正的R平方统计计算
      */
     public static Strategy createRSquaredStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // R平方指标
         class RSquaredIndicator extends CachedIndicator<Num> {
@@ -1496,7 +1496,7 @@ public class StrategyFactory3 {
             @Override
             protected Num calculate(int index) {
                 if (index < period - 1) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 // 计算R平方
@@ -1518,31 +1518,31 @@ public class StrategyFactory3 {
                 double denominator = Math.sqrt((n * sumX2 - sumX * sumX) * (n * sumY2 - sumY * sumY));
 
                 if (denominator == 0) {
-                    return DecimalNum.valueOf(0);
+                    return Ta4jNumUtil.valueOf(0);
                 }
 
                 double correlation = numerator / denominator;
                 double rSquared = correlation * correlation;
 
-                return DecimalNum.valueOf(rSquared);
+                return Ta4jNumUtil.valueOf(rSquared);
             }
         }
 
         RSquaredIndicator rSquared = new RSquaredIndicator(closePrice, 20, series);
 
         // R平方高说明趋势性强，R平方低说明随机性强（降低阈值）
-        Rule entryRule = new OverIndicatorRule(rSquared, DecimalNum.valueOf(0.6)); // 降低阈值（原来0.8）
-        Rule exitRule = new UnderIndicatorRule(rSquared, DecimalNum.valueOf(0.2)); // 降低阈值（原来0.3）
+        Rule entryRule = new OverIndicatorRule(rSquared, Ta4jNumUtil.valueOf(0.6)); // 降低阈值（原来0.8）
+        Rule exitRule = new UnderIndicatorRule(rSquared, Ta4jNumUtil.valueOf(0.2)); // 降低阈值（原来0.3）
 
         return new BaseStrategy("R平方策略", entryRule, addExtraStopRule(exitRule, series));
     }
 
     // 复合指标策略 (81-90)
     public static Strategy createMultipleMAConfirmationStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma10 = new SMAIndicator(closePrice, 10);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
-        SMAIndicator sma50 = new SMAIndicator(closePrice, 50);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma10 = IndicatorCache.sma(closePrice, 10);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
+        SMAIndicator sma50 = IndicatorCache.sma(closePrice, 50);
 
         // 买入信号：短期MA > 中期MA > 长期MA
         Rule entryRule = new OverIndicatorRule(sma10, sma20)
@@ -1556,59 +1556,59 @@ public class StrategyFactory3 {
     }
 
     public static Strategy createRSIMACDConfirmationStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        EMAIndicator macdSignal = new EMAIndicator(macd, 9);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        EMAIndicator macdSignal = IndicatorCache.ema(macd, 9);
 
         // 买入信号：RSI > 50 且 MACD > Signal
-        Rule entryRule = new OverIndicatorRule(rsi, DecimalNum.valueOf(50))
+        Rule entryRule = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(50))
                 .and(new OverIndicatorRule(macd, macdSignal));
 
         // 卖出信号：RSI < 50 且 MACD < Signal
-        Rule exitRule = new UnderIndicatorRule(rsi, DecimalNum.valueOf(50))
+        Rule exitRule = new UnderIndicatorRule(rsi, Ta4jNumUtil.valueOf(50))
                 .and(new UnderIndicatorRule(macd, macdSignal));
 
         return new BaseStrategy("RSI-MACD确认策略", entryRule, addExtraStopRule(exitRule, series));
     }
 
     public static Strategy createBollingerRSIComboStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        BollingerBandsUpperIndicator bbUpper = new BollingerBandsUpperIndicator(new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20)), new StandardDeviationIndicator(closePrice, 20), DecimalNum.valueOf(2));
-        BollingerBandsLowerIndicator bbLower = new BollingerBandsLowerIndicator(new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20)), new StandardDeviationIndicator(closePrice, 20), DecimalNum.valueOf(2));
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        BollingerBandsUpperIndicator bbUpper = new BollingerBandsUpperIndicator(new BollingerBandsMiddleIndicator(IndicatorCache.sma(closePrice, 20)), IndicatorCache.standardDeviation(closePrice, 20), Ta4jNumUtil.valueOf(2));
+        BollingerBandsLowerIndicator bbLower = new BollingerBandsLowerIndicator(new BollingerBandsMiddleIndicator(IndicatorCache.sma(closePrice, 20)), IndicatorCache.standardDeviation(closePrice, 20), Ta4jNumUtil.valueOf(2));
 
         // 买入信号：价格触及布林下轨且RSI超卖
         Rule entryRule = new UnderIndicatorRule(closePrice, bbLower)
-                .and(new UnderIndicatorRule(rsi, DecimalNum.valueOf(30)));
+                .and(new UnderIndicatorRule(rsi, Ta4jNumUtil.valueOf(30)));
 
         // 卖出信号：价格触及布林上轨且RSI超买
         Rule exitRule = new OverIndicatorRule(closePrice, bbUpper)
-                .and(new OverIndicatorRule(rsi, DecimalNum.valueOf(70)));
+                .and(new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(70)));
 
         return new BaseStrategy("布林-RSI组合策略", entryRule, addExtraStopRule(exitRule, series));
     }
 
     public static Strategy createTripleIndicatorConfirmationStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 真正的三重指标确认：RSI + MACD + 成交量确认
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        EMAIndicator macdSignal = new EMAIndicator(macd, 9);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        SMAIndicator volumeMA = new SMAIndicator(volume, 20);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        EMAIndicator macdSignal = IndicatorCache.ema(macd, 9);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        SMAIndicator volumeMA = IndicatorCache.sma(volume, 20);
 
         // 买入信号：三个指标都确认看涨
         // 1. RSI > 50 (动量看涨)
         // 2. MACD > Signal (趋势看涨)
         // 3. 成交量 > 均量 (成交量确认)
-        Rule entryRule = new OverIndicatorRule(rsi, DecimalNum.valueOf(50))
+        Rule entryRule = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(50))
                 .and(new OverIndicatorRule(macd, macdSignal))
                 .and(new OverIndicatorRule(volume, volumeMA));
 
         // 卖出信号：任意两个指标看跌即卖出
-        Rule exitRule = new UnderIndicatorRule(rsi, DecimalNum.valueOf(50))
+        Rule exitRule = new UnderIndicatorRule(rsi, Ta4jNumUtil.valueOf(50))
                 .and(new UnderIndicatorRule(macd, macdSignal))
                 .or(new UnderIndicatorRule(volume, volumeMA));
 
@@ -1616,32 +1616,32 @@ public class StrategyFactory3 {
     }
 
     public static Strategy createMomentumBreakoutStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        ROCIndicator roc = new ROCIndicator(closePrice, 10);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        ROCIndicator roc = IndicatorCache.roc(closePrice, 10);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
 
         // 买入信号：动量突破且价格突破均线
-        Rule entryRule = new OverIndicatorRule(roc, DecimalNum.valueOf(5))
+        Rule entryRule = new OverIndicatorRule(roc, Ta4jNumUtil.valueOf(5))
                 .and(new OverIndicatorRule(closePrice, sma));
 
         // 卖出信号：动量下降且价格跌破均线
-        Rule exitRule = new UnderIndicatorRule(roc, DecimalNum.valueOf(-5))
+        Rule exitRule = new UnderIndicatorRule(roc, Ta4jNumUtil.valueOf(-5))
                 .and(new UnderIndicatorRule(closePrice, sma));
 
         return new BaseStrategy("动量突破策略", entryRule, addExtraStopRule(exitRule, series));
     }
 
     public static Strategy createVolatilityBreakoutSystemStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        ATRIndicator atr = new ATRIndicator(series, 14);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 10);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        ATRIndicator atr = IndicatorCache.atr(series, 14);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 10);
 
         // 买入信号：价格突破均线且波动率适中（进一步优化）
         // 创建成交量阈值指标 - 降低成交量要求
         TransformIndicator volumeThreshold2 = TransformIndicator.multiply(avgVolume, 1.05);
-        SMAIndicator avgATR = new SMAIndicator(atr, 10);
+        SMAIndicator avgATR = IndicatorCache.sma(atr, 10);
 
         Rule entryRule = new OverIndicatorRule(closePrice, sma)
                 .and(new OverIndicatorRule(atr, avgATR)) // 使用相对ATR而非绝对值
@@ -1654,10 +1654,10 @@ public class StrategyFactory3 {
     }
 
     public static Strategy createTrendStrengthStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
         ADXIndicator adx = new ADXIndicator(series, 14);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        SMAIndicator avgADX = new SMAIndicator(adx, 10);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        SMAIndicator avgADX = IndicatorCache.sma(adx, 10);
 
         // 买入信号：趋势强度高于平均且价格上涨（降低ADX阈值）
         Rule entryRule = new OverIndicatorRule(adx, avgADX) // 使用相对ADX
@@ -1671,9 +1671,9 @@ public class StrategyFactory3 {
     }
 
     public static Strategy createSupportResistanceBreakoutStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        HighPriceIndicator highPrice = new HighPriceIndicator(series);
-        LowPriceIndicator lowPrice = new LowPriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
+        LowPriceIndicator lowPrice = IndicatorCache.lowPrice(series);
 
         // 20日最高价作为阻力位
         class ResistanceIndicator extends CachedIndicator<Num> {
@@ -1748,9 +1748,9 @@ public class StrategyFactory3 {
     }
 
     public static Strategy createPricePatternRecognitionStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma10 = new SMAIndicator(closePrice, 10);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma10 = IndicatorCache.sma(closePrice, 10);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
 
         // 买入信号：金叉
         Rule entryRule = new CrossedUpIndicatorRule(sma10, sma20);
@@ -1762,18 +1762,18 @@ public class StrategyFactory3 {
     }
 
     public static Strategy createComprehensiveScoringStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        EMAIndicator macdSignal = new EMAIndicator(macd, 9);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        EMAIndicator macdSignal = IndicatorCache.ema(macd, 9);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
 
         // 多指标确认策略：需要多个指标同时确认才进行交易
-        Rule entryRule = new OverIndicatorRule(rsi, DecimalNum.valueOf(40))
+        Rule entryRule = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(40))
                 .and(new OverIndicatorRule(macd, macdSignal))
                 .and(new OverIndicatorRule(closePrice, sma));
 
-        Rule exitRule = new UnderIndicatorRule(rsi, DecimalNum.valueOf(60))
+        Rule exitRule = new UnderIndicatorRule(rsi, Ta4jNumUtil.valueOf(60))
                 .and(new UnderIndicatorRule(macd, macdSignal))
                 .and(new UnderIndicatorRule(closePrice, sma));
 
@@ -1784,9 +1784,9 @@ public class StrategyFactory3 {
      * 日内均值回归策略（修改版）- 放宽条件使其更容易触发交易
      */
     public static Strategy createMeanReversionIntradayStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, 20);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, 20);
 
         // 计算上下轨
         Indicator<Num> upperBand = new CachedIndicator<Num>(series) {
@@ -1827,14 +1827,14 @@ public class StrategyFactory3 {
      * 成交量确认策略（修改版）- 放宽条件使其更容易触发交易
      */
     public static Strategy createVolumeConfirmationStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 价格动量
-        ROCIndicator priceROC = new ROCIndicator(closePrice, 5); // 缩短周期为5（原为10）
+        ROCIndicator priceROC = IndicatorCache.roc(closePrice, 5); // 缩短周期为5（原为10）
 
         // 成交量均线
-        SMAIndicator volumeMA = new SMAIndicator(volume, 10); // 缩短周期为10（原为20）
+        SMAIndicator volumeMA = IndicatorCache.sma(volume, 10); // 缩短周期为10（原为20）
 
         // 成交量阈值
         Indicator<Num> volumeThreshold = new CachedIndicator<Num>(series) {
@@ -1865,17 +1865,17 @@ public class StrategyFactory3 {
      * 动量日内策略（修改版）- 放宽条件使其更容易触发交易
      */
     public static Strategy createMomentumIntradayStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 短期动量
-        ROCIndicator shortROC = new ROCIndicator(closePrice, 3); // 缩短周期为3（原为5）
+        ROCIndicator shortROC = IndicatorCache.roc(closePrice, 3); // 缩短周期为3（原为5）
 
         // 中期动量
-        ROCIndicator mediumROC = new ROCIndicator(closePrice, 10); // 缩短周期为10（原为15）
+        ROCIndicator mediumROC = IndicatorCache.roc(closePrice, 10); // 缩短周期为10（原为15）
 
         // 成交量均线
-        SMAIndicator volumeMA = new SMAIndicator(volume, 10);
+        SMAIndicator volumeMA = IndicatorCache.sma(volume, 10);
 
         // 买入条件：短期和中期动量均为正，且短期动量大于中期动量
         Rule entryRule = new OverIndicatorRule(shortROC, Ta4jNumUtil.valueOf(0.003)) // 降低短期动量阈值为0.3%（原为0.5%）
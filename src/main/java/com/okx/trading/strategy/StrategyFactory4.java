@@ -1,12 +1,12 @@
 package com.okx.trading.strategy;
 
+import com.okx.trading.indicator.IndicatorCache;
 import com.okx.trading.util.Ta4jNumUtil;
 import org.ta4j.core.*;
 import org.ta4j.core.indicators.*;
 import org.ta4j.core.indicators.averages.SMAIndicator;
 import org.ta4j.core.indicators.helpers.*;
 import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
-import org.ta4j.core.num.DecimalNum;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.rules.*;
 
@@ -31,16 +31,16 @@ public class StrategyFactory4 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 输入层：多个技术指标（模拟神经网络输入）
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        SMAIndicator sma10 = new SMAIndicator(closePrice, 10);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 10);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 10);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        SMAIndicator sma10 = IndicatorCache.sma(closePrice, 10);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 10);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 10);
 
         // 隐藏层：权重组合（模拟神经网络权重）
         // 节点1：趋势信号 (权重35%)
@@ -76,15 +76,15 @@ public class StrategyFactory4 {
      * 遗传算法策略（修改版）- 放宽条件使其更容易触发交易
      */
     public static Strategy createGeneticAlgorithmStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 技术指标组合
-        SMAIndicator shortSMA = new SMAIndicator(closePrice, 10);
-        SMAIndicator longSMA = new SMAIndicator(closePrice, 30);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        SMAIndicator volumeSMA = new SMAIndicator(volume, 20);
+        SMAIndicator shortSMA = IndicatorCache.sma(closePrice, 10);
+        SMAIndicator longSMA = IndicatorCache.sma(closePrice, 30);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        SMAIndicator volumeSMA = IndicatorCache.sma(volume, 20);
 
         // 买入条件1：黄金交叉
         Rule condition1 = new CrossedUpIndicatorRule(shortSMA, longSMA);
@@ -146,29 +146,29 @@ public class StrategyFactory4 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 决策树1：趋势树
-        SMAIndicator sma10 = new SMAIndicator(closePrice, 10);
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
+        SMAIndicator sma10 = IndicatorCache.sma(closePrice, 10);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
         Rule tree1 = new OverIndicatorRule(sma10, sma20)
                 .and(new OverIndicatorRule(closePrice, sma20));
 
         // 决策树2：动量树
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
         Rule tree2 = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(50))
                 .and(new OverIndicatorRule(macd, Ta4jNumUtil.valueOf(0)));
 
         // 决策树3：成交量树
-        SMAIndicator avgVolume = new SMAIndicator(volume, 15);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 15);
         Indicator<Num> avgVolume13 = TransformIndicator.multiply(avgVolume, BigDecimal.valueOf(1.3));
         Rule tree3 = new OverIndicatorRule(volume, avgVolume13);
 
         // 决策树4：波动率树
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 10);
-        ATRIndicator atr = new ATRIndicator(series, 14);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 10);
+        ATRIndicator atr = IndicatorCache.atr(series, 14);
         Rule tree4 = new UnderIndicatorRule(volatility, Ta4jNumUtil.valueOf(2.0))
                 .and(new OverIndicatorRule(atr, Ta4jNumUtil.valueOf(0.01)));
 
@@ -230,15 +230,15 @@ public class StrategyFactory4 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 特征向量：多维技术指标
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 20);
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 14);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 20);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 14);
 
         // 支持向量：定义分类边界（更宽松条件）
         Rule boundary1 = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(35))
@@ -276,20 +276,20 @@ public class StrategyFactory4 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 短期记忆（类似LSTM的短期状态）
-        SMAIndicator shortMemory = new SMAIndicator(closePrice, 5);
-        RSIIndicator shortRSI = new RSIIndicator(closePrice, 7);
+        SMAIndicator shortMemory = IndicatorCache.sma(closePrice, 5);
+        RSIIndicator shortRSI = IndicatorCache.rsi(closePrice, 7);
 
         // 长期记忆（类似LSTM的长期状态）
-        SMAIndicator longMemory = new SMAIndicator(closePrice, 30);
-        SMAIndicator longVolumeMemory = new SMAIndicator(volume, 30);
+        SMAIndicator longMemory = IndicatorCache.sma(closePrice, 30);
+        SMAIndicator longVolumeMemory = IndicatorCache.sma(volume, 30);
 
         // 遗忘门：决定是否忘记旧信息（降低阈值）
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 10);
-        SMAIndicator avgVolatility = new SMAIndicator(volatility, 5);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 10);
+        SMAIndicator avgVolatility = IndicatorCache.sma(volatility, 5);
         Rule forgetGate = new UnderIndicatorRule(volatility, TransformIndicator.multiply(avgVolatility, 1.2)); // 使用相对波动率
 
         // 输入门：决定是否接受新信息（降低成交量要求）
@@ -321,15 +321,15 @@ public class StrategyFactory4 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 特征提取：多维特征向量
-        ROCIndicator priceChange = new ROCIndicator(closePrice, 1);
-        RSIIndicator momentum = new RSIIndicator(closePrice, 14);
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 5);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 10);
+        ROCIndicator priceChange = IndicatorCache.roc(closePrice, 1);
+        RSIIndicator momentum = IndicatorCache.rsi(closePrice, 14);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 5);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 10);
 
         // K=3最近邻：寻找3个相似模式
         // 邻居1：价格上涨 + 动量良好
@@ -368,15 +368,15 @@ public class StrategyFactory4 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 特征独立性假设：各指标独立计算概率
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        ROCIndicator roc = new ROCIndicator(closePrice, 10);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 15);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        ROCIndicator roc = IndicatorCache.roc(closePrice, 10);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 15);
 
         // 先验概率P(买入)：基于历史统计（放宽条件）
         Rule prior1 = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(35))
@@ -410,15 +410,15 @@ public class StrategyFactory4 {
             throw new IllegalArgumentException("数据点不足以计算指标");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 决策树节点特征
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 15);
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 10);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 15);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 10);
 
         // 根节点：RSI阈值判断（降低门槛）
         Rule rootNode = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(45)); // 降低阈值（原来50）
@@ -451,21 +451,21 @@ public class StrategyFactory4 {
      * 集成学习策略（修改版）- 放宽条件使其更容易触发交易
      */
     public static Strategy createEnsembleStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 模型1：趋势模型
-        SMAIndicator shortSMA = new SMAIndicator(closePrice, 10);
-        SMAIndicator longSMA = new SMAIndicator(closePrice, 30);
+        SMAIndicator shortSMA = IndicatorCache.sma(closePrice, 10);
+        SMAIndicator longSMA = IndicatorCache.sma(closePrice, 30);
         Rule trendModel = new OverIndicatorRule(shortSMA, longSMA);
 
         // 模型2：动量模型
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
         Rule momentumModel = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(45))  // 降低RSI阈值为45（原为50）
                 .and(new UnderIndicatorRule(rsi, Ta4jNumUtil.valueOf(70)));
 
         // 模型3：波动率模型 - 使用自定义指标而非布林带
-        SMAIndicator sma20 = new SMAIndicator(closePrice, 20);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, 20);
+        SMAIndicator sma20 = IndicatorCache.sma(closePrice, 20);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, 20);
 
         // 自定义上轨指标
         Indicator<Num> upperBand = new CachedIndicator<Num>(series) {
@@ -503,7 +503,7 @@ public class StrategyFactory4 {
                 return 0;
             }
 
-            private final HighPriceIndicator highPrice = new HighPriceIndicator(series);
+            private final HighPriceIndicator highPrice = IndicatorCache.highPrice(series);
             private final int period = 20;
 
             @Override
@@ -564,17 +564,17 @@ public class StrategyFactory4 {
      * 100. 强化学习策略 - 基于Q学习的自适应策略
      */
     public static Strategy createReinforcementLearningStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 状态空间：市场状态
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 20);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        MACDIndicator macd = IndicatorCache.macd(closePrice, 12, 26);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 20);
 
         // 动作空间：买入、卖出、持有（降低阈值）
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
-        VolumeIndicator volume = new VolumeIndicator(series);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 20);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
+        VolumeIndicator volume = IndicatorCache.volume(series);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 20);
 
         Rule action1 = new OverIndicatorRule(rsi, Ta4jNumUtil.valueOf(35)) // 降低RSI阈值
                 .and(new OverIndicatorRule(macd, Ta4jNumUtil.valueOf(-0.001))); // 允许MACD轻微为负
@@ -582,11 +582,11 @@ public class StrategyFactory4 {
                 .and(new UnderIndicatorRule(macd, Ta4jNumUtil.valueOf(0.001))); // 允许MACD轻微为正
 
         // 奖励函数：基于收益的奖励（降低阈值）
-        ROCIndicator reward = new ROCIndicator(closePrice, 1);
+        ROCIndicator reward = IndicatorCache.roc(closePrice, 1);
         Rule positiveReward = new OverIndicatorRule(reward, Ta4jNumUtil.valueOf(0.005)); // 降低收益阈值
 
         // 探索vs利用（使用相对波动率）
-        SMAIndicator avgVolatility = new SMAIndicator(volatility, 10);
+        SMAIndicator avgVolatility = IndicatorCache.sma(volatility, 10);
         Rule exploration = new OverIndicatorRule(volatility, TransformIndicator.multiply(avgVolatility, 1.2));
         Rule exploitation = new UnderIndicatorRule(volatility, avgVolatility);
 
@@ -603,12 +603,12 @@ public class StrategyFactory4 {
      * 101. 动量因子策略
      */
     public static Strategy createMomentumFactorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 短期动量
-        ROCIndicator shortMomentum = new ROCIndicator(closePrice, 20);
+        ROCIndicator shortMomentum = IndicatorCache.roc(closePrice, 20);
         // 长期动量
-        ROCIndicator longMomentum = new ROCIndicator(closePrice, 60);
+        ROCIndicator longMomentum = IndicatorCache.roc(closePrice, 60);
 
         // 动量信号
         Rule entryRule = new OverIndicatorRule(shortMomentum, 0.02)
@@ -622,12 +622,12 @@ public class StrategyFactory4 {
      * 102. 价值因子策略
      */
     public static Strategy createValueFactorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 价值回归：价格偏离短期均值（进一步降低要求）
-        SMAIndicator shortAvg = new SMAIndicator(closePrice, 20);
-        SMAIndicator mediumAvg = new SMAIndicator(closePrice, 50);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        SMAIndicator shortAvg = IndicatorCache.sma(closePrice, 20);
+        SMAIndicator mediumAvg = IndicatorCache.sma(closePrice, 50);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         // 价值信号：价格低于中期均线且RSI超卖（更宽松条件）
         Rule entryRule = new UnderIndicatorRule(closePrice, mediumAvg)
@@ -642,16 +642,16 @@ public class StrategyFactory4 {
      * 103. 质量因子策略
      */
     public static Strategy createQualityFactorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 质量指标：稳定性和趋势
-        StandardDeviationIndicator stability = new StandardDeviationIndicator(closePrice, 30);
-        SMAIndicator shortTrend = new SMAIndicator(closePrice, 10);
-        SMAIndicator longTrend = new SMAIndicator(closePrice, 30);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        StandardDeviationIndicator stability = IndicatorCache.standardDeviation(closePrice, 30);
+        SMAIndicator shortTrend = IndicatorCache.sma(closePrice, 10);
+        SMAIndicator longTrend = IndicatorCache.sma(closePrice, 30);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
 
         // 高质量信号：相对低波动率 + 上升趋势（使用相对指标）
-        SMAIndicator avgStability = new SMAIndicator(stability, 20);
+        SMAIndicator avgStability = IndicatorCache.sma(stability, 20);
 
         Rule entryRule = new UnderIndicatorRule(stability, TransformIndicator.multiply(avgStability, 1.2)) // 相对低波动
                 .and(new OverIndicatorRule(shortTrend, longTrend)) // 短期均线>长期均线
@@ -667,12 +667,12 @@ public class StrategyFactory4 {
      * 104. 规模因子策略
      */
     public static Strategy createSizeFactorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 规模效应：小盘股溢价
-        SMAIndicator avgPrice = new SMAIndicator(closePrice, 252);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 252);
+        SMAIndicator avgPrice = IndicatorCache.sma(closePrice, 252);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 252);
 
         // 小规模信号
         Rule entryRule = new UnderIndicatorRule(closePrice, avgPrice)
@@ -686,13 +686,13 @@ public class StrategyFactory4 {
      * 105. 低波动因子策略
      */
     public static Strategy createLowVolatilityFactorStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 相对波动率策略（更实用的方法）
-        StandardDeviationIndicator shortVol = new StandardDeviationIndicator(closePrice, 10);
-        StandardDeviationIndicator longVol = new StandardDeviationIndicator(closePrice, 30);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
-        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        StandardDeviationIndicator shortVol = IndicatorCache.standardDeviation(closePrice, 10);
+        StandardDeviationIndicator longVol = IndicatorCache.standardDeviation(closePrice, 30);
+        RSIIndicator rsi = IndicatorCache.rsi(closePrice, 14);
+        SMAIndicator sma = IndicatorCache.sma(closePrice, 20);
 
         // 低波动信号：短期波动低于长期波动且有趋势
         Rule entryRule = new UnderIndicatorRule(shortVol, longVol)
@@ -709,12 +709,12 @@ public class StrategyFactory4 {
      * 106. 微观结构不平衡策略
      */
     public static Strategy createMicrostructureImbalanceStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 订单流失衡模拟
-        ROCIndicator priceChange = new ROCIndicator(closePrice, 1);
-        ROCIndicator volumeChange = new ROCIndicator(volume, 1);
+        ROCIndicator priceChange = IndicatorCache.roc(closePrice, 1);
+        ROCIndicator volumeChange = IndicatorCache.roc(volume, 1);
 
         // 失衡信号
         Rule entryRule = new OverIndicatorRule(priceChange, Ta4jNumUtil.valueOf(0.005))
@@ -728,11 +728,11 @@ public class StrategyFactory4 {
      * 107. 日内均值回归策略
      */
     public static Strategy createMeanReversionIntradayStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 日内均值回归
-        SMAIndicator intraAvg = new SMAIndicator(closePrice, 60); // 60分钟均值
-        StandardDeviationIndicator intraStd = new StandardDeviationIndicator(closePrice, 60);
+        SMAIndicator intraAvg = IndicatorCache.sma(closePrice, 60); // 60分钟均值
+        StandardDeviationIndicator intraStd = IndicatorCache.standardDeviation(closePrice, 60);
 
         // 均值回归信号
         Rule entryRule = new UnderIndicatorRule(closePrice, intraAvg)
@@ -746,11 +746,11 @@ public class StrategyFactory4 {
      * 108. 日内动量策略
      */
     public static Strategy createMomentumIntradayStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 日内动量
-        ROCIndicator shortMomentum = new ROCIndicator(closePrice, 15); // 15分钟动量
-        SMAIndicator avgMomentum = new SMAIndicator(shortMomentum, 30);
+        ROCIndicator shortMomentum = IndicatorCache.roc(closePrice, 15); // 15分钟动量
+        SMAIndicator avgMomentum = IndicatorCache.sma(shortMomentum, 30);
 
         // 动量信号
         Rule entryRule = new OverIndicatorRule(shortMomentum, Ta4jNumUtil.valueOf(0.005))
@@ -764,11 +764,11 @@ public class StrategyFactory4 {
      * 109. 统计套利策略
      */
     public static Strategy createArbitrageStatisticalStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 统计套利：价格偏离统计规律
-        SMAIndicator avgPrice = new SMAIndicator(closePrice, 60);
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, 60);
+        SMAIndicator avgPrice = IndicatorCache.sma(closePrice, 60);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, 60);
 
         // 创建自定义下轨指标
         class LowerBandIndicator extends CachedIndicator<Num> {
@@ -808,11 +808,11 @@ public class StrategyFactory4 {
      * 110. 配对交易策略
      */
     public static Strategy createPairsTradingStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 配对交易：价差回归
-        SMAIndicator priceMean = new SMAIndicator(closePrice, 60);
-        StandardDeviationIndicator priceStd = new StandardDeviationIndicator(closePrice, 60);
+        SMAIndicator priceMean = IndicatorCache.sma(closePrice, 60);
+        StandardDeviationIndicator priceStd = IndicatorCache.standardDeviation(closePrice, 60);
 
         // 创建自定义指标
         class PairsLowerBandIndicator extends CachedIndicator<Num> {
@@ -854,11 +854,11 @@ public class StrategyFactory4 {
      * 111. 波动率曲面策略
      */
     public static Strategy createVolatilitySurfaceStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 波动率曲面分析
-        StandardDeviationIndicator shortVol = new StandardDeviationIndicator(closePrice, 10);
-        StandardDeviationIndicator longVol = new StandardDeviationIndicator(closePrice, 30);
+        StandardDeviationIndicator shortVol = IndicatorCache.standardDeviation(closePrice, 10);
+        StandardDeviationIndicator longVol = IndicatorCache.standardDeviation(closePrice, 30);
 
         // 创建自定义波动率比较指标
         class VolatilityThresholdIndicator extends CachedIndicator<Num> {
@@ -895,12 +895,12 @@ public class StrategyFactory4 {
      * 112. Gamma剥头皮策略
      */
     public static Strategy createGammaScalpingStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // Gamma交易模拟 - 使用更合适的参数
-        ROCIndicator priceChange = new ROCIndicator(closePrice, 1);
-        StandardDeviationIndicator gamma = new StandardDeviationIndicator(priceChange, 20); // 降低周期
-        SMAIndicator avgGamma = new SMAIndicator(gamma, 10); // 添加均值参考
+        ROCIndicator priceChange = IndicatorCache.roc(closePrice, 1);
+        StandardDeviationIndicator gamma = IndicatorCache.standardDeviation(priceChange, 20); // 降低周期
+        SMAIndicator avgGamma = IndicatorCache.sma(gamma, 10); // 添加均值参考
 
         // Gamma信号 - 降低入场门槛，增加相对比较
         Rule entryRule = new OverIndicatorRule(gamma, avgGamma)
@@ -915,11 +915,11 @@ public class StrategyFactory4 {
      * 113. 波动率均值回归策略
      */
     public static Strategy createVolatilityMeanReversionStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 波动率均值回归
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 20);
-        SMAIndicator avgVolatility = new SMAIndicator(volatility, 60);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 20);
+        SMAIndicator avgVolatility = IndicatorCache.sma(volatility, 60);
 
         // 创建自定义波动率阈值指标
         class VolatilityMultiplierIndicator extends CachedIndicator<Num> {
@@ -956,11 +956,11 @@ public class StrategyFactory4 {
      * 114. 波动率动量策略
      */
     public static Strategy createVolatilityMomentumStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 波动率动量
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 10);
-        ROCIndicator volMomentum = new ROCIndicator(volatility, 5);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 10);
+        ROCIndicator volMomentum = IndicatorCache.roc(volatility, 5);
 
         // 波动率动量信号
         Rule entryRule = new OverIndicatorRule(volMomentum, Ta4jNumUtil.valueOf(0.01));
@@ -973,11 +973,11 @@ public class StrategyFactory4 {
      * 115. 隐含波动率排名策略
      */
     public static Strategy createImpliedVolatilityRankStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 隐含波动率排名模拟
-        StandardDeviationIndicator currentVol = new StandardDeviationIndicator(closePrice, 20);
-        StandardDeviationIndicator historicalVol = new StandardDeviationIndicator(closePrice, 252);
+        StandardDeviationIndicator currentVol = IndicatorCache.standardDeviation(closePrice, 20);
+        StandardDeviationIndicator historicalVol = IndicatorCache.standardDeviation(closePrice, 252);
 
         // 创建自定义波动率比较指标
         class HistoricalVolatilityIndicator extends CachedIndicator<Num> {
@@ -1017,11 +1017,11 @@ public class StrategyFactory4 {
      * 116. 利差交易策略
      */
     public static Strategy createCarryTradeStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 利差模拟 - 使用更短的周期
-        SMAIndicator shortTerm = new SMAIndicator(closePrice, 5); // 短期均线改为5天
-        SMAIndicator longTerm = new SMAIndicator(closePrice, 30);  // 长期均线改为30天
+        SMAIndicator shortTerm = IndicatorCache.sma(closePrice, 5); // 短期均线改为5天
+        SMAIndicator longTerm = IndicatorCache.sma(closePrice, 30);  // 长期均线改为30天
 
         // 创建利差指标
         class CarryIndicator extends CachedIndicator<Num> {
@@ -1059,17 +1059,17 @@ public class StrategyFactory4 {
      * 117. 基本面评分策略
      */
     public static Strategy createFundamentalScoreStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 基本面评分模拟
-        ROCIndicator growth = new ROCIndicator(closePrice, 252);
-        StandardDeviationIndicator stability = new StandardDeviationIndicator(closePrice, 252);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 252);
+        ROCIndicator growth = IndicatorCache.roc(closePrice, 252);
+        StandardDeviationIndicator stability = IndicatorCache.standardDeviation(closePrice, 252);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 252);
 
         // 综合评分信号（降低阈值）
-        SMAIndicator avgGrowth = new SMAIndicator(growth, 20);
-        SMAIndicator avgStability = new SMAIndicator(stability, 20);
+        SMAIndicator avgGrowth = IndicatorCache.sma(growth, 20);
+        SMAIndicator avgStability = IndicatorCache.sma(stability, 20);
 
         Rule entryRule = new OverIndicatorRule(growth, avgGrowth) // 使用相对增长率
                 .and(new UnderIndicatorRule(stability, TransformIndicator.multiply(avgStability, 1.2))) // 相对稳定性
@@ -1084,11 +1084,11 @@ public class StrategyFactory4 {
      * 118. 宏观动量策略
      */
     public static Strategy createMacroMomentumStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 宏观动量模拟
-        ROCIndicator longTermMomentum = new ROCIndicator(closePrice, 252);
-        ROCIndicator mediumTermMomentum = new ROCIndicator(closePrice, 60);
+        ROCIndicator longTermMomentum = IndicatorCache.roc(closePrice, 252);
+        ROCIndicator mediumTermMomentum = IndicatorCache.roc(closePrice, 60);
 
         // 宏观信号
         Rule entryRule = new OverIndicatorRule(longTermMomentum, Ta4jNumUtil.valueOf(0.15))
@@ -1102,11 +1102,11 @@ public class StrategyFactory4 {
      * 119. 季节性策略
      */
     public static Strategy createSeasonalityStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 季节性效应模拟
-        SMAIndicator monthlyAvg = new SMAIndicator(closePrice, 21); // 月度均值
-        SMAIndicator quarterlyAvg = new SMAIndicator(closePrice, 63); // 季度均值
+        SMAIndicator monthlyAvg = IndicatorCache.sma(closePrice, 21); // 月度均值
+        SMAIndicator quarterlyAvg = IndicatorCache.sma(closePrice, 63); // 季度均值
 
         // 季节性信号
         Rule entryRule = new OverIndicatorRule(monthlyAvg, quarterlyAvg)
@@ -1120,11 +1120,11 @@ public class StrategyFactory4 {
      * 120. 日历价差策略
      */
     public static Strategy createCalendarSpreadStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 日历价差模拟
-        SMAIndicator nearTerm = new SMAIndicator(closePrice, 30);
-        SMAIndicator farTerm = new SMAIndicator(closePrice, 90);
+        SMAIndicator nearTerm = IndicatorCache.sma(closePrice, 30);
+        SMAIndicator farTerm = IndicatorCache.sma(closePrice, 90);
 
         // 创建自定义价差指标
         class CalendarSpreadIndicator extends CachedIndicator<Num> {
@@ -1164,13 +1164,13 @@ public class StrategyFactory4 {
      * 121. 情绪分析策略
      */
     public static Strategy createSentimentAnalysisStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 情绪指标模拟
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 20);
-        ROCIndicator priceChange = new ROCIndicator(closePrice, 1);
-        SMAIndicator avgVolume = new SMAIndicator(volume, 20);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 20);
+        ROCIndicator priceChange = IndicatorCache.roc(closePrice, 1);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 20);
 
         // 市场情绪信号 - 修正逻辑错误
         // 创建成交量阈值指标
@@ -1192,12 +1192,12 @@ public class StrategyFactory4 {
      * 122. 网络分析策略
      */
     public static Strategy createNetworkAnalysisStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 网络效应模拟 - 改进指标选择
-        ROCIndicator centrality = new ROCIndicator(closePrice, 10); // 减少周期
-        StandardDeviationIndicator connectivity = new StandardDeviationIndicator(closePrice, 10); // 减少周期
-        SMAIndicator avgConnectivity = new SMAIndicator(connectivity, 5); // 添加参考
+        ROCIndicator centrality = IndicatorCache.roc(closePrice, 10); // 减少周期
+        StandardDeviationIndicator connectivity = IndicatorCache.standardDeviation(closePrice, 10); // 减少周期
+        SMAIndicator avgConnectivity = IndicatorCache.sma(connectivity, 5); // 添加参考
 
         // 网络信号 - 降低条件严格性
         Rule entryRule = new OverIndicatorRule(centrality, Ta4jNumUtil.valueOf(0.01)) // 降低阈值
@@ -1212,12 +1212,12 @@ public class StrategyFactory4 {
      * 123. 分形几何策略
      */
     public static Strategy createFractalGeometryStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 分形结构模拟 - 降低条件严格性
-        StandardDeviationIndicator fractalDim = new StandardDeviationIndicator(closePrice, 10); // 减少周期
-        ROCIndicator hurst = new ROCIndicator(closePrice, 20); // 减少周期
-        SMAIndicator avgFractal = new SMAIndicator(fractalDim, 5); // 添加平均值参考
+        StandardDeviationIndicator fractalDim = IndicatorCache.standardDeviation(closePrice, 10); // 减少周期
+        ROCIndicator hurst = IndicatorCache.roc(closePrice, 20); // 减少周期
+        SMAIndicator avgFractal = IndicatorCache.sma(fractalDim, 5); // 添加平均值参考
 
         // 分形信号 - 使用相对比较
         Rule entryRule = new OverIndicatorRule(fractalDim, avgFractal) // 相对比较
@@ -1232,12 +1232,12 @@ public class StrategyFactory4 {
      * 124. 混沌理论策略
      */
     public static Strategy createChaosTheoryStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 混沌系统模拟 - 使用更短周期
-        StandardDeviationIndicator lyapunov = new StandardDeviationIndicator(closePrice, 10); // 从20降到10
-        ROCIndicator attractor = new ROCIndicator(closePrice, 5); // 从10降到5
-        SMAIndicator avgLyapunov = new SMAIndicator(lyapunov, 5); // 添加均值参考
+        StandardDeviationIndicator lyapunov = IndicatorCache.standardDeviation(closePrice, 10); // 从20降到10
+        ROCIndicator attractor = IndicatorCache.roc(closePrice, 5); // 从10降到5
+        SMAIndicator avgLyapunov = IndicatorCache.sma(lyapunov, 5); // 添加均值参考
 
         // 混沌信号 - 降低入场门槛
         Rule entryRule = new OverIndicatorRule(lyapunov, avgLyapunov) // 相对比较而非绝对值
@@ -1252,17 +1252,17 @@ public class StrategyFactory4 {
      * 量子启发策略（修改版）- 基于量子概念的多概率状态策略，放宽条件使其更容易触发交易
      */
     public static Strategy createQuantumInspiredStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 量子态1：价格动量（使用ROC指标）
-        ROCIndicator roc = new ROCIndicator(closePrice, 10);
+        ROCIndicator roc = IndicatorCache.roc(closePrice, 10);
 
         // 量子态2：波动率（使用标准差）
-        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, 14);
+        StandardDeviationIndicator stdDev = IndicatorCache.standardDeviation(closePrice, 14);
 
         // 量子态3：成交量变化
-        SMAIndicator avgVolume = new SMAIndicator(volume, 20);
+        SMAIndicator avgVolume = IndicatorCache.sma(volume, 20);
 
         // 量子纠缠：价格与成交量的相关性
         // 使用简化的相关性计算
@@ -1302,13 +1302,13 @@ public class StrategyFactory4 {
      * 126. 凯利公式策略
      */
     public static Strategy createKellyCriterionStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 计算收益和风险
-        ROCIndicator returns = new ROCIndicator(closePrice, 1);
-        StandardDeviationIndicator risk = new StandardDeviationIndicator(closePrice, 14);  // 减少回看周期
-        SMAIndicator avgReturns = new SMAIndicator(returns, 14);
-        SMAIndicator avgRisk = new SMAIndicator(risk, 14);
+        ROCIndicator returns = IndicatorCache.roc(closePrice, 1);
+        StandardDeviationIndicator risk = IndicatorCache.standardDeviation(closePrice, 14);  // 减少回看周期
+        SMAIndicator avgReturns = IndicatorCache.sma(returns, 14);
+        SMAIndicator avgRisk = IndicatorCache.sma(risk, 14);
 
         // 凯利比率模拟 - 降低入场条件严格性
         Rule entryRule = new OverIndicatorRule(returns, Ta4jNumUtil.valueOf(0.5).multipliedBy(avgReturns.getValue(series.getEndIndex())))  // 使用相对比较
@@ -1324,12 +1324,12 @@ public class StrategyFactory4 {
      * 127. VaR风险管理策略
      */
     public static Strategy createVarRiskManagementStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // VaR计算 - 使用更短的周期和更合理的阈值
-        ROCIndicator returns = new ROCIndicator(closePrice, 1);
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(returns, 20); // 减少周期
-        SMAIndicator avgVolatility = new SMAIndicator(volatility, 10);
+        ROCIndicator returns = IndicatorCache.roc(closePrice, 1);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(returns, 20); // 减少周期
+        SMAIndicator avgVolatility = IndicatorCache.sma(volatility, 10);
 
         // 风险控制信号 - 基于相对波动率而非绝对值
         Rule entryRule = new UnderIndicatorRule(volatility, avgVolatility); // 波动率低于平均时买入
@@ -1342,7 +1342,7 @@ public class StrategyFactory4 {
      * 128. 最大回撤控制策略
      */
     public static Strategy createMaximumDrawdownControlStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 回撤控制
         HighestValueIndicator highestPrice = new HighestValueIndicator(closePrice, 60);
@@ -1383,15 +1383,15 @@ public class StrategyFactory4 {
      * 129. 头寸规模策略
      */
     public static Strategy createPositionSizingStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
 
         // 头寸规模管理
-        StandardDeviationIndicator volatility = new StandardDeviationIndicator(closePrice, 20);
-        ROCIndicator returns = new ROCIndicator(closePrice, 1);
+        StandardDeviationIndicator volatility = IndicatorCache.standardDeviation(closePrice, 20);
+        ROCIndicator returns = IndicatorCache.roc(closePrice, 1);
 
         // 风险调整头寸（使用相对指标）
-        SMAIndicator avgVolatility = new SMAIndicator(volatility, 20);
-        SMAIndicator avgReturns = new SMAIndicator(returns, 20);
+        SMAIndicator avgVolatility = IndicatorCache.sma(volatility, 20);
+        SMAIndicator avgReturns = IndicatorCache.sma(returns, 20);
 
         Rule entryRule = new UnderIndicatorRule(volatility, TransformIndicator.multiply(avgVolatility, 1.2)) // 相对低波动
                 .and(new OverIndicatorRule(returns, TransformIndicator.multiply(avgReturns, 0.5))); // 相对正收益
@@ -1405,12 +1405,12 @@ public class StrategyFactory4 {
      * 130. 相关性过滤策略
      */
     public static Strategy createCorrelationFilterStrategy(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        VolumeIndicator volume = new VolumeIndicator(series);
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        VolumeIndicator volume = IndicatorCache.volume(series);
 
         // 相关性分析
-        ROCIndicator priceChange = new ROCIndicator(closePrice, 1);
-        ROCIndicator volumeChange = new ROCIndicator(volume, 1);
+        ROCIndicator priceChange = IndicatorCache.roc(closePrice, 1);
+        ROCIndicator volumeChange = IndicatorCache.roc(volume, 1);
 
         // 低相关性信号
         Rule entryRule = new OverIndicatorRule(priceChange, Ta4jNumUtil.valueOf(0.01))
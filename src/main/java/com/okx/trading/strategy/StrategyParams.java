@@ -0,0 +1,156 @@
+package com.okx.trading.strategy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Predicate;
+
+/**
+ * 策略参数上下文
+ * 策略工厂通过 {@link #intParam(String, int)} / {@link #doubleParam(String, double)} 读取参数，
+ * 未设置覆盖值时返回策略内置的默认值；参数优化时在回测线程上临时设置一组覆盖值，
+ * 这样无需修改策略创建函数的签名即可对参数进行搜索。
+ */
+public class StrategyParams {
+
+    /**
+     * 当前线程的参数覆盖值
+     */
+    private static final ThreadLocal<Map<String, Number>> OVERRIDES = new ThreadLocal<>();
+
+    /**
+     * 为当前线程设置参数覆盖值
+     *
+     * @param params 参数名 -> 参数值
+     */
+    public static void apply(Map<String, Number> params) {
+        OVERRIDES.set(params);
+    }
+
+    /**
+     * 清除当前线程的参数覆盖值
+     */
+    public static void clear() {
+        OVERRIDES.remove();
+    }
+
+    /**
+     * 读取整数参数
+     *
+     * @param name         参数名
+     * @param defaultValue 策略默认值
+     * @return 覆盖值或默认值
+     */
+    public static int intParam(String name, int defaultValue) {
+        Map<String, Number> params = OVERRIDES.get();
+        Number value = params != null ? params.get(name) : null;
+        return value != null ? value.intValue() : defaultValue;
+    }
+
+    /**
+     * 读取小数参数
+     *
+     * @param name         参数名
+     * @param defaultValue 策略默认值
+     * @return 覆盖值或默认值
+     */
+    public static double doubleParam(String name, double defaultValue) {
+        Map<String, Number> params = OVERRIDES.get();
+        Number value = params != null ? params.get(name) : null;
+        return value != null ? value.doubleValue() : defaultValue;
+    }
+
+    /**
+     * 将参数组合格式化为 name=value 形式的描述，用于保存到回测汇总的策略参数字段
+     */
+    public static String describe(Map<String, Number> params) {
+        StringJoiner joiner = new StringJoiner(",");
+        params.forEach((name, value) -> joiner.add(name + "=" + value));
+        return joiner.toString();
+    }
+
+    /**
+     * 参数约束：参数smaller的取值必须小于参数larger，任一参数不在组合中时视为满足
+     * 用于排除短周期不小于长周期这类无意义的组合
+     */
+    public static Predicate<Map<String, Number>> lessThan(String smaller, String larger) {
+        return params -> {
+            Number a = params.get(smaller);
+            Number b = params.get(larger);
+            return a == null || b == null || a.doubleValue() < b.doubleValue();
+        };
+    }
+
+    /**
+     * 策略参数取值范围声明
+     */
+    public static class Range {
+
+        private final String name;
+        private final BigDecimal min;
+        private final BigDecimal max;
+        private final BigDecimal step;
+        private final boolean integer;
+
+        private Range(String name, BigDecimal min, BigDecimal max, BigDecimal step, boolean integer) {
+            if (min.compareTo(max) > 0 || step.signum() <= 0) {
+                throw new IllegalArgumentException("参数范围不合法: " + name);
+            }
+            this.name = name;
+            this.min = min;
+            this.max = max;
+            this.step = step;
+            this.integer = integer;
+        }
+
+        /**
+         * 声明整数参数范围
+         */
+        public static Range ofInt(String name, int min, int max, int step) {
+            return new Range(name, BigDecimal.valueOf(min), BigDecimal.valueOf(max), BigDecimal.valueOf(step), true);
+        }
+
+        /**
+         * 声明小数参数范围
+         */
+        public static Range ofDouble(String name, double min, double max, double step) {
+            return new Range(name, BigDecimal.valueOf(min), BigDecimal.valueOf(max), BigDecimal.valueOf(step), false);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isInteger() {
+            return integer;
+        }
+
+        /**
+         * 按步长展开范围内的所有取值（使用BigDecimal避免小数步长累积误差）
+         */
+        public List<Number> values() {
+            List<Number> values = new ArrayList<>();
+            for (BigDecimal v = min; v.compareTo(max) <= 0; v = v.add(step)) {
+                values.add(integer ? (Number) v.intValue() : (Number) v.doubleValue());
+            }
+            return values;
+        }
+
+        /**
+         * 描述信息，用于接口返回
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("min", min);
+            map.put("max", max);
+            map.put("step", step);
+            map.put("type", integer ? "int" : "double");
+            return Collections.unmodifiableMap(map);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.okx.trading.strategy;
 
 import com.okx.trading.config.BacktestParameterConfig;
 import com.okx.trading.config.BeanHolder;
+import com.okx.trading.indicator.IndicatorCache;
+import com.okx.trading.util.Ta4jNumUtil;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,14 +12,15 @@ import org.ta4j.core.BarSeries;
 import org.ta4j.core.Rule;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
-import org.ta4j.core.num.DecimalNum;
 import org.ta4j.core.rules.OrRule;
 import org.ta4j.core.rules.StopLossRule;
 import org.ta4j.core.rules.TrailingStopLossRule;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static com.okx.trading.constant.IndicatorInfo.*;
 
@@ -27,9 +30,18 @@ public class StrategyRegisterCenter {
 
     private static BacktestParameterConfig backtestParameterConfig = BeanHolder.getBacktestParameterConfig();
 
+    // Spring容器外（如JMH基准测试）没有配置Bean时使用的默认止损参数
+    private static final BacktestParameterConfig DEFAULT_PARAMETER_CONFIG = new BacktestParameterConfig();
+
     // 策略创建函数映射
     public static final Map<String, Function<BarSeries, Strategy>> strategyCreators = new HashMap<>();
 
+    // 可优化策略的参数范围声明，参数名需与策略工厂中StrategyParams读取的名称一致
+    public static final Map<String, List<StrategyParams.Range>> strategyParameterRanges = new HashMap<>();
+
+    // 可优化策略的参数约束，不满足约束的参数组合不参与优化
+    public static final Map<String, Predicate<Map<String, Number>>> strategyParameterConstraints = new HashMap<>();
+
     /**
      * 创建策略
      *
@@ -352,6 +364,41 @@ public class StrategyRegisterCenter {
         strategyCreators.put(STRATEGY_CORRELATION_FILTER, StrategyFactory4::createCorrelationFilterStrategy);
     }
 
+    static {
+        // 注册可优化策略的参数范围
+        strategyParameterRanges.put(STRATEGY_SMA, List.of(
+                StrategyParams.Range.ofInt("shortPeriod", 5, 30, 1),
+                StrategyParams.Range.ofInt("longPeriod", 20, 120, 5)));
+        strategyParameterRanges.put(STRATEGY_EMA, List.of(
+                StrategyParams.Range.ofInt("shortPeriod", 5, 30, 1),
+                StrategyParams.Range.ofInt("longPeriod", 20, 120, 5)));
+        strategyParameterRanges.put(STRATEGY_RSI, List.of(
+                StrategyParams.Range.ofInt("period", 6, 30, 2),
+                StrategyParams.Range.ofInt("oversold", 15, 40, 5),
+                StrategyParams.Range.ofInt("overbought", 60, 85, 5)));
+        strategyParameterRanges.put(STRATEGY_MACD, List.of(
+                StrategyParams.Range.ofInt("shortPeriod", 6, 18, 2),
+                StrategyParams.Range.ofInt("longPeriod", 20, 40, 2),
+                StrategyParams.Range.ofInt("signalPeriod", 5, 13, 2)));
+        strategyParameterRanges.put(STRATEGY_BOLLINGER_BANDS, List.of(
+                StrategyParams.Range.ofInt("period", 10, 50, 5),
+                StrategyParams.Range.ofDouble("multiplier", 1.5, 3.0, 0.25)));
+        strategyParameterRanges.put(STRATEGY_ROC, List.of(
+                StrategyParams.Range.ofInt("period", 5, 30, 1),
+                StrategyParams.Range.ofDouble("threshold", -2.0, 2.0, 0.5)));
+        strategyParameterRanges.put(STRATEGY_ATR, List.of(
+                StrategyParams.Range.ofInt("period", 5, 30, 1),
+                StrategyParams.Range.ofDouble("multiplier", 0.5, 3.0, 0.25)));
+        strategyParameterRanges.put(STRATEGY_ADAPTIVE_BOLLINGER, List.of(
+                StrategyParams.Range.ofInt("period", 10, 50, 5),
+                StrategyParams.Range.ofDouble("baseStdDev", 1.5, 3.0, 0.25)));
+
+        // 短周期和长周期的范围有重叠，短周期不小于长周期的组合没有意义
+        strategyParameterConstraints.put(STRATEGY_SMA, StrategyParams.lessThan("shortPeriod", "longPeriod"));
+        strategyParameterConstraints.put(STRATEGY_EMA, StrategyParams.lessThan("shortPeriod", "longPeriod"));
+        strategyParameterConstraints.put(STRATEGY_MACD, StrategyParams.lessThan("shortPeriod", "longPeriod"));
+    }
+
     /**
      * 统一添加移动止盈和止损规则
      *
@@ -360,10 +407,22 @@ public class StrategyRegisterCenter {
      * @return
      */
     public static Rule addExtraStopRule(Rule exitRule, BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        StopLossRule stopLossRule = new StopLossRule(closePrice, DecimalNum.valueOf(backtestParameterConfig.getStopLossPercent().doubleValue()));
-        TrailingStopLossRule trailingStopLossRule = new TrailingStopLossRule(closePrice, DecimalNum.valueOf(backtestParameterConfig.getTrailingProfitPercent().doubleValue()));
+        BacktestParameterConfig config = stopRuleConfig();
+        ClosePriceIndicator closePrice = IndicatorCache.closePrice(series);
+        StopLossRule stopLossRule = new StopLossRule(closePrice, Ta4jNumUtil.valueOf(config.getStopLossPercent().doubleValue()));
+        TrailingStopLossRule trailingStopLossRule = new TrailingStopLossRule(closePrice, Ta4jNumUtil.valueOf(config.getTrailingProfitPercent().doubleValue()));
         Rule finalExitRule = new OrRule(stopLossRule, trailingStopLossRule).or(exitRule);
         return finalExitRule;
     }
+
+    /**
+     * 止损参数配置
+     * 类加载早于BeanHolder注入时再取一次，Spring容器外取不到时使用默认参数
+     */
+    private static BacktestParameterConfig stopRuleConfig() {
+        if (backtestParameterConfig == null) {
+            backtestParameterConfig = BeanHolder.getBacktestParameterConfig();
+        }
+        return backtestParameterConfig != null ? backtestParameterConfig : DEFAULT_PARAMETER_CONFIG;
+    }
 }
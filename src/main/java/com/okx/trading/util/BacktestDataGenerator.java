@@ -39,6 +39,35 @@ public class BacktestDataGenerator {
             LocalDateTime endTime,
             TrendType trendType,
             BigDecimal startPrice) {
+        return generateCandlestickData(symbol, interval, startTime, endTime, trendType, startPrice, random);
+    }
+
+    /**
+     * 使用固定随机种子生成模拟K线数据，相同参数和种子每次生成完全相同的数据，
+     * 用于基准测试和结果对比
+     *
+     * @param seed 随机种子
+     * @return 生成的K线数据列表
+     */
+    public static List<CandlestickEntity> generateCandlestickData(
+            String symbol,
+            String interval,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            TrendType trendType,
+            BigDecimal startPrice,
+            long seed) {
+        return generateCandlestickData(symbol, interval, startTime, endTime, trendType, startPrice, new Random(seed));
+    }
+
+    private static List<CandlestickEntity> generateCandlestickData(
+            String symbol,
+            String interval,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            TrendType trendType,
+            BigDecimal startPrice,
+            Random random) {
 
         log.info("开始生成模拟K线数据，交易对: {}, 间隔: {}, 趋势类型: {}, 起始价格: {}", symbol, interval, trendType, startPrice);
 
@@ -57,7 +86,7 @@ public class BacktestDataGenerator {
         // 生成K线数据
         while (currentTime.isBefore(endTime) || currentTime.isEqual(endTime)) {
             // 生成本周期的价格变动
-            BigDecimal priceChange = calculatePriceChange(currentPrice, params);
+            BigDecimal priceChange = calculatePriceChange(currentPrice, params, random);
 
             // 生成开、高、低、收价格
             BigDecimal open = currentPrice;
@@ -87,7 +116,7 @@ public class BacktestDataGenerator {
             }
 
             // 计算成交量
-            BigDecimal volume = calculateVolume(params, currentPrice);
+            BigDecimal volume = calculateVolume(params, currentPrice, random);
 
             // 创建K线实体
             CandlestickEntity candlestick = new CandlestickEntity();
@@ -145,9 +174,10 @@ public class BacktestDataGenerator {
      *
      * @param currentPrice 当前价格
      * @param params 趋势参数
+     * @param random 随机数生成器
      * @return 价格变动值
      */
-    private static BigDecimal calculatePriceChange(BigDecimal currentPrice, TrendParameters params) {
+    private static BigDecimal calculatePriceChange(BigDecimal currentPrice, TrendParameters params, Random random) {
         // 基准波动率（根据当前价格的百分比）
         BigDecimal baseVolatility = currentPrice.multiply(params.getBaseVolatilityPercent());
 
@@ -169,9 +199,10 @@ public class BacktestDataGenerator {
      *
      * @param params 趋势参数
      * @param currentPrice 当前价格
+     * @param random 随机数生成器
      * @return 成交量
      */
-    private static BigDecimal calculateVolume(TrendParameters params, BigDecimal currentPrice) {
+    private static BigDecimal calculateVolume(TrendParameters params, BigDecimal currentPrice, Random random) {
         // 基础成交量
         BigDecimal baseVolume = new BigDecimal(random.nextDouble() * 100 + 50);
 
@@ -0,0 +1,226 @@
+package com.okx.trading.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 有界批处理阶段
+ * 调用线程只负责入队，一个消费线程批量取出后交给处理器，处理器缓慢或失败不会阻塞调用线程。
+ * <p>
+ * 整批处理失败时拆成单条逐个重试，每条最多尝试 maxAttempts 次，两次尝试之间按指数退避等待；
+ * 最终仍失败的记录只计数和记录日志，不影响后续记录。
+ * 队列满时可丢弃的阶段（如通知）直接丢弃新记录并计数，不可丢弃的阶段（如入库）让调用线程等待，形成背压。
+ *
+ * @param <T> 记录类型
+ */
+@Slf4j
+public final class BatchingStage<T> implements Runnable {
+
+    private static final long POLL_MILLIS = 200L;
+
+    private final String name;
+    private final BlockingQueue<Envelope<T>> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final boolean dropWhenFull;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Consumer<List<T>> batchHandler;
+    private volatile boolean running = true;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder backpressureWaits = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder queueLatencyNanos = new LongAdder();
+    private volatile long maxQueueLatencyNanos;
+
+    /**
+     * @param name               阶段名称
+     * @param capacity           队列容量
+     * @param batchSize          每批最多处理的记录数
+     * @param dropWhenFull       队列满时是否丢弃新记录，否则调用线程等待
+     * @param maxAttempts        单条记录最多尝试次数
+     * @param retryBackoffMillis 第一次重试前的等待时间，之后每次翻倍
+     * @param batchHandler       批量处理器，在消费线程上按入队顺序收到一批记录，抛出异常表示处理失败
+     */
+    public BatchingStage(String name, int capacity, int batchSize, boolean dropWhenFull,
+                         int maxAttempts, long retryBackoffMillis, Consumer<List<T>> batchHandler) {
+        this.name = name;
+        this.capacity = Math.max(1, capacity);
+        this.queue = new ArrayBlockingQueue<>(this.capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.dropWhenFull = dropWhenFull;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.batchHandler = batchHandler;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 提交一条记录
+     *
+     * @return 记录被丢弃时返回false
+     */
+    public boolean submit(T item) {
+        Envelope<T> envelope = new Envelope<>(item, System.nanoTime());
+        if (!queue.offer(envelope)) {
+            if (dropWhenFull || !running) {
+                dropped.increment();
+                log.warn("{}队列已满，丢弃记录", name);
+                return false;
+            }
+            backpressureWaits.increment();
+            try {
+                queue.put(envelope);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.increment();
+                log.warn("等待{}队列时被中断，丢弃记录", name);
+                return false;
+            }
+        }
+        submitted.increment();
+        return true;
+    }
+
+    /**
+     * 消费循环，停止后处理完队列中剩余的记录再退出
+     */
+    @Override
+    public void run() {
+        List<Envelope<T>> envelopes = new ArrayList<>(batchSize);
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Envelope<T> first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                envelopes.add(first);
+                queue.drainTo(envelopes, batchSize - 1);
+
+                long now = System.nanoTime();
+                for (Envelope<T> envelope : envelopes) {
+                    long latency = now - envelope.enqueueNanos;
+                    queueLatencyNanos.add(latency);
+                    if (latency > maxQueueLatencyNanos) {
+                        maxQueueLatencyNanos = latency;
+                    }
+                    batch.add(envelope.item);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                log.warn("{}消费线程被中断，剩余 {} 条记录未处理", name, queue.size());
+                running = false;
+                break;
+            } catch (Exception e) {
+                log.error("{}消费线程异常: {}", name, e.getMessage(), e);
+            } finally {
+                envelopes.clear();
+                batch.clear();
+            }
+        }
+        log.info("{}已停止", name);
+    }
+
+    /**
+     * 停止消费，队列中已有的记录处理完后退出
+     */
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        long processedCount = processed.sum() + failed.sum();
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("stage", name);
+        stats.put("capacity", capacity);
+        stats.put("queue_size", queue.size());
+        stats.put("drop_when_full", dropWhenFull);
+        stats.put("submitted", submitted.sum());
+        stats.put("processed", processed.sum());
+        stats.put("failed", failed.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("retries", retries.sum());
+        stats.put("backpressure_waits", backpressureWaits.sum());
+        stats.put("batches", batchCount);
+        stats.put("avg_batch_size", batchCount > 0 ? (double) processedCount / batchCount : 0.0);
+        stats.put("avg_queue_latency_millis", processedCount > 0 ? queueLatencyNanos.sum() / 1_000_000.0 / processedCount : 0.0);
+        stats.put("max_queue_latency_millis", maxQueueLatencyNanos / 1_000_000.0);
+        return stats;
+    }
+
+    private void process(List<T> batch) throws InterruptedException {
+        batches.increment();
+        try {
+            batchHandler.accept(batch);
+            processed.add(batch.size());
+            return;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                processWithRetry(batch.get(0), 2, e);
+                return;
+            }
+            log.warn("{}批量处理 {} 条记录失败，逐条重试: {}", name, batch.size(), e.getMessage());
+        }
+        for (T item : batch) {
+            processWithRetry(item, 1, null);
+        }
+    }
+
+    /**
+     * 从第 attempt 次尝试开始处理单条记录
+     *
+     * @param lastError 上一次尝试的异常，没有时为null
+     */
+    private void processWithRetry(T item, int attempt, Exception lastError) throws InterruptedException {
+        long backoff = retryBackoffMillis;
+        for (; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1) {
+                TimeUnit.MILLISECONDS.sleep(backoff);
+                backoff *= 2;
+                retries.increment();
+            }
+            try {
+                batchHandler.accept(List.of(item));
+                processed.increment();
+                return;
+            } catch (Exception e) {
+                lastError = e;
+            }
+        }
+        failed.increment();
+        log.error("{}处理失败，共尝试 {} 次: {}", name, maxAttempts,
+                lastError != null ? lastError.getMessage() : null, lastError);
+    }
+
+    private static final class Envelope<T> {
+        private final T item;
+        private final long enqueueNanos;
+
+        private Envelope(T item, long enqueueNanos) {
+            this.item = item;
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+}
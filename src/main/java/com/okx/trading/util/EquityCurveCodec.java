@@ -0,0 +1,202 @@
+package com.okx.trading.util;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 资金曲线列式编码
+ * 一次回测的资金曲线编码为一个字节数组：时间戳按二阶差分（固定周期时几乎全为0）、资金值按与前一个值的
+ * double位异或后变长编码（空仓期间资金不变，异或结果为0），最后整体Deflate压缩。
+ * <p>
+ * 时间戳以LocalDateTime的本地时间原样保存，不做时区换算；资金值保存为double。
+ */
+public final class EquityCurveCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private EquityCurveCodec() {
+    }
+
+    /**
+     * 编码资金曲线
+     *
+     * @param timestamps 时间点，与资金值一一对应
+     * @param values     资金值，null按0处理
+     * @return 压缩后的字节数组
+     */
+    public static byte[] encode(List<LocalDateTime> timestamps, List<BigDecimal> values) {
+        if (timestamps.size() != values.size()) {
+            throw new IllegalArgumentException("时间点数量与资金值数量不一致");
+        }
+        int size = timestamps.size();
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(16 + size * 4);
+        raw.write(FORMAT_VERSION);
+        writeVarLong(raw, size);
+
+        long previousMillis = 0;
+        long previousDelta = 0;
+        for (int i = 0; i < size; i++) {
+            long millis = toMillis(timestamps.get(i));
+            if (i == 0) {
+                writeVarLong(raw, zigZag(millis));
+            } else {
+                long delta = millis - previousMillis;
+                writeVarLong(raw, zigZag(delta - previousDelta));
+                previousDelta = delta;
+            }
+            previousMillis = millis;
+        }
+
+        long previousBits = 0;
+        for (BigDecimal value : values) {
+            long bits = Double.doubleToLongBits(value != null ? value.doubleValue() : 0.0);
+            writeVarLong(raw, bits ^ previousBits);
+            previousBits = bits;
+        }
+        return deflate(raw.toByteArray());
+    }
+
+    /**
+     * 解码 {@link #encode(List, List)} 的结果
+     *
+     * @throws IllegalArgumentException 格式不正确
+     */
+    public static Series decode(byte[] data) {
+        byte[] raw = inflate(data);
+        int[] position = {0};
+        if (raw.length == 0 || raw[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("不支持的资金曲线编码格式");
+        }
+        position[0] = 1;
+        int size = (int) readVarLong(raw, position);
+
+        long[] timestamps = new long[size];
+        long previousDelta = 0;
+        for (int i = 0; i < size; i++) {
+            long encoded = unZigZag(readVarLong(raw, position));
+            if (i == 0) {
+                timestamps[i] = encoded;
+            } else {
+                previousDelta += encoded;
+                timestamps[i] = timestamps[i - 1] + previousDelta;
+            }
+        }
+
+        double[] values = new double[size];
+        long previousBits = 0;
+        for (int i = 0; i < size; i++) {
+            previousBits ^= readVarLong(raw, position);
+            values[i] = Double.longBitsToDouble(previousBits);
+        }
+        return new Series(timestamps, values);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] buffer, int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            if (position[0] >= buffer.length || shift > 63) {
+                throw new IllegalArgumentException("资金曲线数据不完整");
+            }
+            byte b = buffer[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("资金曲线数据不完整");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("资金曲线数据损坏: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 解码后的资金曲线，时间戳为本地时间按UTC换算的毫秒数
+     */
+    public static final class Series {
+        private final long[] timestamps;
+        private final double[] values;
+
+        private Series(long[] timestamps, double[] values) {
+            this.timestamps = timestamps;
+            this.values = values;
+        }
+
+        public int size() {
+            return values.length;
+        }
+
+        public long[] getTimestamps() {
+            return timestamps;
+        }
+
+        public double[] getValues() {
+            return values;
+        }
+
+        public LocalDateTime timestampAt(int index) {
+            long millis = timestamps[index];
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L), (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.okx.trading.util;
 
 import com.alibaba.fastjson.JSON;
-import com.okx.trading.exception.OkxApiException;
+import com.okx.trading.exception.OkxApiTransportException;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 
@@ -67,12 +67,12 @@ public class HttpUtil {
         try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 log.error("HTTP请求失败: {} {}", response.code(), response.message());
-                throw new OkxApiException(response.code(), "HTTP请求失败: " + response.message());
+                throw new OkxApiTransportException(response.code(), "HTTP请求失败: " + response.message());
             }
             
             ResponseBody responseBody = response.body();
             if (responseBody == null) {
-                throw new OkxApiException("HTTP响应体为空");
+                throw new OkxApiTransportException(500, "HTTP响应体为空");
             }
             
             String responseStr = responseBody.string();
@@ -80,7 +80,7 @@ public class HttpUtil {
             return responseStr;
         } catch (IOException e) {
             log.error("HTTP请求异常", e);
-            throw new OkxApiException("HTTP请求异常: " + e.getMessage(), e);
+            throw new OkxApiTransportException("HTTP请求异常: " + e.getMessage(), e);
         }
     }
     
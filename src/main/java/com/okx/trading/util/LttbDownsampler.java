@@ -0,0 +1,73 @@
+package com.okx.trading.util;
+
+/**
+ * LTTB（Largest-Triangle-Three-Buckets）降采样
+ * 保留首尾两点，中间按桶划分，每个桶选出与前一个已选点、下一个桶均值点构成三角形面积最大的点，
+ * 在大幅减少点数的同时保留曲线的峰谷形状，用于图表展示。
+ */
+public final class LttbDownsampler {
+
+    private LttbDownsampler() {
+    }
+
+    /**
+     * 选出降采样后保留的点
+     *
+     * @param x         横坐标，按升序排列
+     * @param y         纵坐标
+     * @param threshold 目标点数，小于3或不小于原始点数时保留全部点
+     * @return 保留点在原序列中的下标，按升序排列
+     */
+    public static int[] select(long[] x, double[] y, int threshold) {
+        int size = y.length;
+        if (threshold < 3 || threshold >= size) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        int count = 0;
+        selected[count++] = 0;
+
+        // 去掉首尾两点后每个桶的宽度
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int previous = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = Math.min((int) Math.floor((bucket + 1) * bucketSize) + 1, size - 1);
+
+            // 下一个桶的均值点，最后一个桶的下一个点就是终点
+            int nextStart = end;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            double previousX = x[previous];
+            double previousY = y[previous];
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((previousX - averageX) * (y[i] - previousY)
+                        - (previousX - x[i]) * (averageY - previousY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            selected[count++] = chosen;
+            previous = chosen;
+        }
+        selected[count] = size - 1;
+        return selected;
+    }
+}
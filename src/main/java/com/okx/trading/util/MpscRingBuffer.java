@@ -0,0 +1,99 @@
+package com.okx.trading.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 有界无锁环形队列（多生产者/单消费者）
+ * 每个槽位带一个序号：生产者通过CAS抢占写入位置，写完元素后发布序号；消费者按序号判断槽位是否可读，
+ * 读完后把序号推进一圈，表示槽位可再次写入。容量向上取整为2的幂，下标用位与计算。
+ * <p>
+ * {@link #offer(Object)} 可由任意线程调用，{@link #drainTo(List, int)} 只能由同一个消费线程调用。
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private volatile long consumerIndex;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        int size = 1;
+        while (size < Math.max(2, requestedCapacity)) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素
+     *
+     * @return 队列已满时返回false
+     */
+    public boolean offer(E element) {
+        long position = producerIndex.get();
+        while (true) {
+            int slot = (int) (position & mask);
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (producerIndex.compareAndSet(position, position + 1)) {
+                    buffer[slot] = element;
+                    // 序号的volatile写发布元素，消费者读到序号后一定能看到元素
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = producerIndex.get();
+            } else if (difference < 0) {
+                // 槽位还没被消费者读走，队列已满
+                return false;
+            } else {
+                position = producerIndex.get();
+            }
+        }
+    }
+
+    /**
+     * 按写入顺序取出最多maxElements个元素
+     *
+     * @return 取出的元素数
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(List<E> target, int maxElements) {
+        long position = consumerIndex;
+        int drained = 0;
+        while (drained < maxElements) {
+            int slot = (int) (position & mask);
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            target.add((E) buffer[slot]);
+            buffer[slot] = null;
+            sequences.set(slot, position + capacity);
+            position++;
+            drained++;
+        }
+        consumerIndex = position;
+        return drained;
+    }
+
+    /**
+     * 当前排队的元素数（近似值）
+     */
+    public int size() {
+        long size = producerIndex.get() - consumerIndex;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
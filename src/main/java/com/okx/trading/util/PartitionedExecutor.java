@@ -0,0 +1,201 @@
+package com.okx.trading.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按键分区的执行器
+ * 由若干个单线程执行器组成，同一个键的任务总是进入同一个分区，按提交顺序串行执行；
+ * 不同分区互不阻塞，某个键的任务执行缓慢只会延迟与它落在同一分区的键。
+ * <p>
+ * 每个键的待执行任务放在该键自己的邮箱中，分区队列里每个键最多只有一个排空任务，每次执行该键的一个任务后重新排队，
+ * 同一分区的键轮流执行。提交时如果邮箱最后一个任务与新任务的版本相同（例如同一根K线的多次推送），
+ * 直接用新任务替换，处理跟不上时只保留每个版本的最新任务；邮箱中不同版本的任务超过上限时丢弃最早的任务并计数。
+ * 分区队列有界，队列满时拒绝排队，任务留在邮箱中，等该键下一次提交时再排队。
+ */
+@Slf4j
+public final class PartitionedExecutor {
+
+    private final ThreadPoolExecutor[] partitions;
+    private final int maxPendingPerKey;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param partitionCount   分区数量，至少为1
+     * @param queueCapacity    每个分区队列的容量，至少为1
+     * @param maxPendingPerKey 每个键最多保留的不同版本待执行任务数，至少为1
+     * @param threadFactory    线程工厂
+     */
+    public PartitionedExecutor(int partitionCount, int queueCapacity, int maxPendingPerKey, ThreadFactory threadFactory) {
+        this.partitions = new ThreadPoolExecutor[Math.max(1, partitionCount)];
+        this.maxPendingPerKey = Math.max(1, maxPendingPerKey);
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory);
+        }
+    }
+
+    /**
+     * 提交任务到键所在的分区
+     *
+     * @param key     键
+     * @param version 任务版本，与该键尚未执行的最后一个任务版本相同时替换该任务
+     * @param task    任务
+     */
+    public void execute(String key, Object version, Runnable task) {
+        submitted.increment();
+        Mailbox mailbox = mailboxes.computeIfAbsent(key, Mailbox::new);
+        boolean schedule;
+        synchronized (mailbox) {
+            PendingTask last = mailbox.tasks.peekLast();
+            if (last != null && Objects.equals(last.version, version)) {
+                last.task = task;
+                coalesced.increment();
+            } else {
+                mailbox.tasks.addLast(new PendingTask(version, task));
+                if (mailbox.tasks.size() > maxPendingPerKey) {
+                    mailbox.tasks.pollFirst();
+                    dropped.increment();
+                    log.warn("{}待执行任务超过 {} 个，丢弃最早的任务", key, maxPendingPerKey);
+                }
+            }
+            schedule = !mailbox.scheduled;
+            mailbox.scheduled = true;
+        }
+        if (schedule) {
+            schedule(mailbox);
+        }
+    }
+
+    /**
+     * 键所在的分区下标
+     */
+    public int partitionOf(String key) {
+        return Math.floorMod(key.hashCode(), partitions.length);
+    }
+
+    /**
+     * 分区当前排队的键数
+     */
+    public int queueSize(int partition) {
+        return partitions[partition].getQueue().size();
+    }
+
+    /**
+     * 键当前待执行的任务数
+     */
+    public int pendingSize(String key) {
+        Mailbox mailbox = mailboxes.get(key);
+        if (mailbox == null) {
+            return 0;
+        }
+        synchronized (mailbox) {
+            return mailbox.tasks.size();
+        }
+    }
+
+    /**
+     * 获取各分区的统计信息
+     */
+    public Map<String, Object> getStats() {
+        List<Map<String, Object>> partitionStats = new ArrayList<>(partitions.length);
+        for (int i = 0; i < partitions.length; i++) {
+            Map<String, Object> partition = new LinkedHashMap<>();
+            partition.put("partition", i);
+            partition.put("queue_size", partitions[i].getQueue().size());
+            partition.put("completed_tasks", partitions[i].getCompletedTaskCount());
+            partitionStats.add(partition);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("max_pending_per_key", maxPendingPerKey);
+        stats.put("submitted", submitted.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("partitions", partitionStats);
+        return stats;
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor partition : partitions) {
+            partition.shutdown();
+        }
+    }
+
+    private void schedule(Mailbox mailbox) {
+        try {
+            partitions[partitionOf(mailbox.key)].execute(() -> drainOne(mailbox));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            synchronized (mailbox) {
+                mailbox.scheduled = false;
+            }
+            log.warn("{}所在分区队列已满或已关闭，任务留待下次提交时执行", mailbox.key);
+        }
+    }
+
+    /**
+     * 执行键的一个任务，还有剩余任务时重新排到分区队列末尾
+     */
+    private void drainOne(Mailbox mailbox) {
+        PendingTask pending;
+        synchronized (mailbox) {
+            pending = mailbox.tasks.pollFirst();
+            if (pending == null) {
+                mailbox.scheduled = false;
+                return;
+            }
+        }
+        try {
+            pending.task.run();
+        } catch (Exception e) {
+            log.error("{}任务执行失败: {}", mailbox.key, e.getMessage(), e);
+        }
+        boolean more;
+        synchronized (mailbox) {
+            more = !mailbox.tasks.isEmpty();
+            mailbox.scheduled = more;
+        }
+        if (more) {
+            schedule(mailbox);
+        }
+    }
+
+    private static final class Mailbox {
+        private final String key;
+        private final ArrayDeque<PendingTask> tasks = new ArrayDeque<>();
+        private boolean scheduled;
+
+        private Mailbox(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final class PendingTask {
+        private final Object version;
+        private Runnable task;
+
+        private PendingTask(Object version, Runnable task) {
+            this.version = version;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.okx.trading.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 分位数草图（KLL算法）
+ * 以有界内存对数据流计算近似分位数：第h层的每个元素代表 2^h 个原始值，某层写满后排序并隔一取一压缩到上一层，
+ * 高层容量按 2/3 递减，总元素数约为 3k。可以合并、序列化，用于指标分布的流式计算和增量更新。
+ * <p>
+ * 样本数不超过第0层容量时不会发生压缩，分位数与对全部样本排序后线性插值的结果完全一致；
+ * 发生压缩后分位数为近似值，k=400时排名误差通常在0.5%以内。
+ */
+public final class QuantileSketch {
+
+    /**
+     * 默认精度参数
+     */
+    public static final int DEFAULT_K = 400;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 8;
+
+    private final int k;
+    private final List<double[]> levels = new ArrayList<>();
+    private int[] sizes = new int[0];
+    /**
+     * 每层压缩时保留奇数位还是偶数位，交替使用以抵消偏差，结果可重现
+     */
+    private boolean[] oddOffsets = new boolean[0];
+    private int retained;
+    /**
+     * 当前层数下允许保留的元素总数，层数变化时重新计算
+     */
+    private int maxRetained;
+
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private double sum;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    public QuantileSketch(int k) {
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("k不能小于" + MIN_CAPACITY);
+        }
+        this.k = k;
+        addLevel();
+    }
+
+    /**
+     * 加入一个样本，NaN会被忽略
+     */
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        count++;
+        sum += value;
+        append(0, value);
+        compress();
+    }
+
+    /**
+     * 合并另一个草图的样本
+     */
+    public void merge(QuantileSketch other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            min = other.min;
+            max = other.max;
+        } else {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        count += other.count;
+        sum += other.sum;
+        for (int h = 0; h < other.levels.size(); h++) {
+            double[] items = other.levels.get(h);
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, items[i]);
+            }
+        }
+        compress();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * 是否所有样本都被原样保留（未发生压缩）
+     */
+    public boolean isExact() {
+        return retained == count;
+    }
+
+    /**
+     * 计算分位数，规则与“排序后按 percentile × (n-1) 位置线性插值”一致
+     *
+     * @param percentile 0~1
+     * @return 分位数，没有样本时返回NaN
+     */
+    public double quantile(double percentile) {
+        return quantiles(percentile)[0];
+    }
+
+    /**
+     * 批量计算分位数，只排序一次
+     */
+    public double[] quantiles(double... percentiles) {
+        double[] result = new double[percentiles.length];
+        if (count == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+
+        // 按值排序的 (值, 权重)
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            double[] items = levels.get(h);
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = items[i];
+                weights[n] = 1L << h;
+                n++;
+            }
+        }
+        sortByValue(values, weights, n);
+        long[] cumulative = new long[n];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+
+        for (int q = 0; q < percentiles.length; q++) {
+            double index = percentiles[q] * (total - 1);
+            long lowerRank = (long) Math.floor(index);
+            long upperRank = (long) Math.ceil(index);
+            double lower = valueAtRank(values, cumulative, n, lowerRank);
+            if (lowerRank == upperRank) {
+                result[q] = lower;
+            } else {
+                double upper = valueAtRank(values, cumulative, n, upperRank);
+                result[q] = lower + (upper - lower) * (index - lowerRank);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 序列化为Base64字符串
+     */
+    public String toBase64() {
+        int capacity = 1 + 4 + 8 + 8 * 3 + 4;
+        for (int h = 0; h < levels.size(); h++) {
+            capacity += 1 + 4 + 8 * sizes[h];
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.put(FORMAT_VERSION);
+        buffer.putInt(k);
+        buffer.putLong(count);
+        buffer.putDouble(min);
+        buffer.putDouble(max);
+        buffer.putDouble(sum);
+        buffer.putInt(levels.size());
+        for (int h = 0; h < levels.size(); h++) {
+            buffer.put((byte) (oddOffsets[h] ? 1 : 0));
+            buffer.putInt(sizes[h]);
+            double[] items = levels.get(h);
+            for (int i = 0; i < sizes[h]; i++) {
+                buffer.putDouble(items[i]);
+            }
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    /**
+     * 从 {@link #toBase64()} 的结果恢复草图
+     *
+     * @throws IllegalArgumentException 格式不正确
+     */
+    public static QuantileSketch fromBase64(String encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+        byte format = buffer.get();
+        if (format != FORMAT_VERSION) {
+            throw new IllegalArgumentException("不支持的分位数草图格式: " + format);
+        }
+        QuantileSketch sketch = new QuantileSketch(buffer.getInt());
+        sketch.count = buffer.getLong();
+        sketch.min = buffer.getDouble();
+        sketch.max = buffer.getDouble();
+        sketch.sum = buffer.getDouble();
+        int levelCount = buffer.getInt();
+        for (int h = 0; h < levelCount; h++) {
+            if (h >= sketch.levels.size()) {
+                sketch.addLevel();
+            }
+            sketch.oddOffsets[h] = buffer.get() == 1;
+            int size = buffer.getInt();
+            for (int i = 0; i < size; i++) {
+                sketch.append(h, buffer.getDouble());
+            }
+        }
+        return sketch;
+    }
+
+    private int capacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void addLevel() {
+        levels.add(new double[MIN_CAPACITY]);
+        sizes = Arrays.copyOf(sizes, levels.size());
+        oddOffsets = Arrays.copyOf(oddOffsets, levels.size());
+        maxRetained = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            maxRetained += capacity(h);
+        }
+    }
+
+    private void append(int level, double value) {
+        while (level >= levels.size()) {
+            addLevel();
+        }
+        double[] items = levels.get(level);
+        if (sizes[level] == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            levels.set(level, items);
+        }
+        items[sizes[level]++] = value;
+        retained++;
+    }
+
+    /**
+     * 总元素数超过容量时，从底层开始找到第一个写满的层压缩一次，直到满足容量
+     */
+    private void compress() {
+        while (retained > maxRetained) {
+            for (int h = 0; h < levels.size(); h++) {
+                if (sizes[h] >= capacity(h)) {
+                    compact(h);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void compact(int level) {
+        if (level + 1 >= levels.size()) {
+            addLevel();
+        }
+        double[] items = levels.get(level);
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        // 元素数为奇数时保留最后一个在本层
+        int paired = size - (size & 1);
+        int offset = oddOffsets[level] ? 1 : 0;
+        oddOffsets[level] = !oddOffsets[level];
+        sizes[level] = 0;
+        retained -= size;
+        for (int i = offset; i < paired; i += 2) {
+            append(level + 1, items[i]);
+        }
+        if (paired < size) {
+            append(level, items[paired]);
+        }
+    }
+
+    /**
+     * 排名rank（从0开始）对应的值：第一个累计权重大于rank的元素
+     */
+    private static double valueAtRank(double[] values, long[] cumulative, int n, long rank) {
+        int low = 0;
+        int high = n - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] > rank) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return values[low];
+    }
+
+    private static void sortByValue(double[] values, long[] weights, int n) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double[] sortedValues = new double[n];
+        long[] sortedWeights = new long[n];
+        for (int i = 0; i < n; i++) {
+            sortedValues[i] = values[order[i]];
+            sortedWeights[i] = weights[order[i]];
+        }
+        System.arraycopy(sortedValues, 0, values, 0, n);
+        System.arraycopy(sortedWeights, 0, weights, 0, n);
+    }
+}
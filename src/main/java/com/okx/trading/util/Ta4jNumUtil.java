@@ -1,8 +1,10 @@
 package com.okx.trading.util;
 
 import org.ta4j.core.BarSeries;
-import org.ta4j.core.num.DecimalNum;
+import org.ta4j.core.num.DecimalNumFactory;
+import org.ta4j.core.num.DoubleNumFactory;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
 
 import java.math.BigDecimal;
 
@@ -10,9 +12,69 @@ import java.math.BigDecimal;
  * Ta4j数值工具类
  * 用于处理Ta4j 0.18版本中的数值转换
  * 替代旧版本中的series.numOf()方法
+ * <p>
+ * 数值类型按线程切换：默认使用DecimalNum（高精度），回测线程可通过 {@link #useNumFactory(NumFactory)}
+ * 切换为DoubleNum（快速模式），保证策略中的常量与BarSeries的数值类型一致。
  */
 public class Ta4jNumUtil {
 
+    /**
+     * 数值模式：高精度DecimalNum
+     */
+    public static final String NUM_MODE_DECIMAL = "decimal";
+
+    /**
+     * 数值模式：快速DoubleNum
+     */
+    public static final String NUM_MODE_DOUBLE = "double";
+
+    /**
+     * 当前线程使用的数值工厂
+     */
+    private static final ThreadLocal<NumFactory> CURRENT_FACTORY =
+            ThreadLocal.withInitial(DecimalNumFactory::getInstance);
+
+    /**
+     * 根据数值模式获取对应的数值工厂
+     *
+     * @param numMode 数值模式，decimal或double，为空时使用decimal
+     * @return 数值工厂
+     */
+    public static NumFactory factoryOf(String numMode) {
+        if (numMode == null || numMode.isEmpty() || NUM_MODE_DECIMAL.equalsIgnoreCase(numMode)) {
+            return DecimalNumFactory.getInstance();
+        }
+        if (NUM_MODE_DOUBLE.equalsIgnoreCase(numMode)) {
+            return DoubleNumFactory.getInstance();
+        }
+        throw new IllegalArgumentException("不支持的数值模式: " + numMode);
+    }
+
+    /**
+     * 获取当前线程使用的数值工厂
+     *
+     * @return 数值工厂
+     */
+    public static NumFactory numFactory() {
+        return CURRENT_FACTORY.get();
+    }
+
+    /**
+     * 设置当前线程使用的数值工厂，通常在回测开始时与BarSeries的数值工厂保持一致
+     *
+     * @param numFactory 数值工厂
+     */
+    public static void useNumFactory(NumFactory numFactory) {
+        CURRENT_FACTORY.set(numFactory != null ? numFactory : DecimalNumFactory.getInstance());
+    }
+
+    /**
+     * 恢复当前线程为默认的DecimalNum模式
+     */
+    public static void reset() {
+        CURRENT_FACTORY.remove();
+    }
+
     /**
      * 将double值转换为Num
      * 替代旧版本中的series.numOf(double)方法
@@ -21,7 +83,7 @@ public class Ta4jNumUtil {
      * @return Num对象
      */
     public static Num valueOf(double value) {
-        return DecimalNum.valueOf(value);
+        return numFactory().numOf(value);
     }
 
     /**
@@ -32,7 +94,7 @@ public class Ta4jNumUtil {
      * @return Num对象
      */
     public static Num valueOf(int value) {
-        return DecimalNum.valueOf(value);
+        return numFactory().numOf(value);
     }
 
     /**
@@ -43,7 +105,17 @@ public class Ta4jNumUtil {
      * @return Num对象
      */
     public static Num valueOf(BigDecimal value) {
-        return DecimalNum.valueOf(value);
+        return numFactory().numOf(value);
+    }
+
+    /**
+     * 将任意Number值转换为Num
+     *
+     * @param value Number值
+     * @return Num对象
+     */
+    public static Num valueOf(Number value) {
+        return numFactory().numOf(value);
     }
 
     /**
@@ -53,7 +125,7 @@ public class Ta4jNumUtil {
      * @return 值为0的Num对象
      */
     public static Num zero() {
-        return DecimalNum.valueOf(0);
+        return numFactory().zero();
     }
 
     /**
@@ -63,7 +135,7 @@ public class Ta4jNumUtil {
      * @return 值为1的Num对象
      */
     public static Num one() {
-        return DecimalNum.valueOf(1);
+        return numFactory().one();
     }
 
     /**
@@ -73,18 +145,18 @@ public class Ta4jNumUtil {
      * @return 值为100的Num对象
      */
     public static Num hundred() {
-        return DecimalNum.valueOf(100);
+        return numFactory().hundred();
     }
 
     /**
      * 创建值为指定值的Num
      * 兼容旧代码中的series.numOf()调用
      * 
-     * @param series 数据序列（仅用于兼容旧代码，实际未使用）
+     * @param series 数据序列，使用其数值工厂创建Num
      * @param value 数值
      * @return Num对象
      */
     public static Num numOf(BarSeries series, double value) {
-        return DecimalNum.valueOf(value);
+        return series != null ? series.numFactory().numOf(value) : numFactory().numOf(value);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.okx.trading.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * WebSocket消息接入通道
+ * 在socket读线程和消息处理之间放一个有界无锁环形队列：读线程只负责入队，一个消费线程批量取出后交给处理器，
+ * 处理缓慢时不再阻塞socket读取。
+ * <p>
+ * 队列满时按通道策略处理：可丢弃的通道（行情、标记价格，后到的推送会覆盖旧值）直接丢弃新消息并计数；
+ * 不可丢弃的通道（K线、订单、账户）让读线程等待消费线程腾出空间，形成背压。
+ */
+@Slf4j
+public final class WebSocketIngestLane implements Runnable {
+
+    private static final long BACKPRESSURE_PARK_NANOS = 50_000L;
+    private static final long IDLE_PARK_NANOS = 100_000L;
+    private static final long MAX_IDLE_PARK_NANOS = 1_000_000L;
+    private static final int IDLE_SPINS = 100;
+
+    private final String name;
+    private final MpscRingBuffer<Envelope> ring;
+    private final int batchSize;
+    private final boolean dropWhenFull;
+    private final Consumer<List<String>> batchHandler;
+    private volatile boolean running = true;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder backpressureWaits = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder queueLatencyNanos = new LongAdder();
+    private volatile long maxQueueLatencyNanos;
+
+    /**
+     * @param name         通道名称
+     * @param capacity     队列容量，向上取整为2的幂
+     * @param batchSize    每批最多处理的消息数
+     * @param dropWhenFull 队列满时是否丢弃新消息，否则读线程等待
+     * @param batchHandler 批量处理器，在消费线程上按入队顺序收到一批原始消息
+     */
+    public WebSocketIngestLane(String name, int capacity, int batchSize, boolean dropWhenFull,
+                               Consumer<List<String>> batchHandler) {
+        this.name = name;
+        this.ring = new MpscRingBuffer<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.dropWhenFull = dropWhenFull;
+        this.batchHandler = batchHandler;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 在socket读线程上入队
+     *
+     * @return 消息被丢弃时返回false
+     */
+    public boolean publish(String message) {
+        Envelope envelope = new Envelope(message, System.nanoTime());
+        if (!ring.offer(envelope)) {
+            if (dropWhenFull || !running) {
+                dropped.increment();
+                return false;
+            }
+            backpressureWaits.increment();
+            do {
+                LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+            } while (!ring.offer(envelope) && running);
+        }
+        published.increment();
+        return true;
+    }
+
+    /**
+     * 记录批内被同一交易对更新的推送覆盖掉的消息数
+     */
+    public void recordCoalesced(int count) {
+        coalesced.add(count);
+    }
+
+    /**
+     * 消费循环，队列为空时先自旋再逐步延长休眠
+     */
+    @Override
+    public void run() {
+        List<Envelope> batch = new ArrayList<>(batchSize);
+        List<String> messages = new ArrayList<>(batchSize);
+        int idle = 0;
+        while (running || ring.size() > 0) {
+            batch.clear();
+            int count = ring.drainTo(batch, batchSize);
+            if (count == 0) {
+                idle++;
+                if (idle < IDLE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(Math.min(MAX_IDLE_PARK_NANOS, IDLE_PARK_NANOS * (idle / IDLE_SPINS)));
+                }
+                continue;
+            }
+            idle = 0;
+
+            long now = System.nanoTime();
+            messages.clear();
+            for (Envelope envelope : batch) {
+                long latency = now - envelope.enqueueNanos;
+                queueLatencyNanos.add(latency);
+                if (latency > maxQueueLatencyNanos) {
+                    maxQueueLatencyNanos = latency;
+                }
+                messages.add(envelope.message);
+            }
+            try {
+                batchHandler.accept(messages);
+            } catch (Exception e) {
+                log.error("WebSocket消息通道{}处理失败: {}", name, e.getMessage(), e);
+            }
+            consumed.add(count);
+            batches.increment();
+        }
+        log.info("WebSocket消息通道{}已停止", name);
+    }
+
+    /**
+     * 停止消费，队列中已有的消息处理完后退出
+     */
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        long consumedCount = consumed.sum();
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lane", name);
+        stats.put("capacity", ring.capacity());
+        stats.put("queue_size", ring.size());
+        stats.put("drop_when_full", dropWhenFull);
+        stats.put("published", published.sum());
+        stats.put("consumed", consumedCount);
+        stats.put("dropped", dropped.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("backpressure_waits", backpressureWaits.sum());
+        stats.put("batches", batchCount);
+        stats.put("avg_batch_size", batchCount > 0 ? (double) consumedCount / batchCount : 0.0);
+        stats.put("avg_queue_latency_micros", consumedCount > 0 ? queueLatencyNanos.sum() / 1000.0 / consumedCount : 0.0);
+        stats.put("max_queue_latency_micros", maxQueueLatencyNanos / 1000.0);
+        return stats;
+    }
+
+    private static final class Envelope {
+        private final String message;
+        private final long enqueueNanos;
+
+        private Envelope(String message, long enqueueNanos) {
+            this.message = message;
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+}
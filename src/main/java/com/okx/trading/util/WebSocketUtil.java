@@ -12,14 +12,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.*;
@@ -45,9 +47,23 @@ public class WebSocketUtil {
     private WebSocket privateWebSocket;
 
     private final Map<String, Consumer<JSONObject>> messageHandlers = new ConcurrentHashMap<>();
+    // 直接处理原始推送文本的处理器，优先于messageHandlers，只用于接入通道中的频道推送
+    private final Map<String, Consumer<String>> rawMessageHandlers = new ConcurrentHashMap<>();
     private final ScheduledExecutorService pingScheduler;
     private final ScheduledExecutorService reconnectScheduler;
     private final ScheduledExecutorService websocketConnectScheduler;
+    private final ExecutorService websocketIngestExecutor;
+
+    // 消息接入通道：K线、行情/标记价格、订单/账户各一个，socket读线程只负责入队
+    private WebSocketIngestLane klineLane;
+    private WebSocketIngestLane marketLane;
+    private WebSocketIngestLane tradeLane;
+
+    @Value("${okx.websocket.ingest.capacity:8192}")
+    private int ingestCapacity = 8192;
+
+    @Value("${okx.websocket.ingest.batch-size:256}")
+    private int ingestBatchSize = 256;
 
     // 添加队列存储待执行的操作
     private final ConcurrentLinkedQueue<PendingOperation> publicPendingOperations = new ConcurrentLinkedQueue<>();
@@ -91,13 +107,15 @@ public class WebSocketUtil {
     public WebSocketUtil(OkxApiConfig okxApiConfig, @Qualifier("webSocketHttpClient") OkHttpClient okHttpClient, ApplicationEventPublisher applicationEventPublisher,
                          @Qualifier("websocketPingScheduler") ScheduledExecutorService pingScheduler,
                          @Qualifier("websocketReconnectScheduler") ScheduledExecutorService reconnectScheduler,
-                         @Qualifier("websocketConnectScheduler") ScheduledExecutorService websocketConnectScheduler) {
+                         @Qualifier("websocketConnectScheduler") ScheduledExecutorService websocketConnectScheduler,
+                         @Qualifier("websocketIngestExecutor") ExecutorService websocketIngestExecutor) {
         this.okxApiConfig = okxApiConfig;
         this.okHttpClient = okHttpClient;
         this.applicationEventPublisher = applicationEventPublisher;
         this.pingScheduler = pingScheduler;
         this.reconnectScheduler = reconnectScheduler;
         this.websocketConnectScheduler = websocketConnectScheduler;
+        this.websocketIngestExecutor = websocketIngestExecutor;
     }
 
     /**
@@ -121,6 +139,14 @@ public class WebSocketUtil {
      */
     @PostConstruct
     public void init() {
+        // 先启动消息接入通道，连接建立后的推送直接入队
+        klineLane = new WebSocketIngestLane("kline", ingestCapacity, ingestBatchSize, false, this::handleMessages);
+        marketLane = new WebSocketIngestLane("market", ingestCapacity, ingestBatchSize, true, this::handleMarketMessages);
+        tradeLane = new WebSocketIngestLane("trade", ingestCapacity, ingestBatchSize, false, this::handleMessages);
+        websocketIngestExecutor.execute(klineLane);
+        websocketIngestExecutor.execute(marketLane);
+        websocketIngestExecutor.execute(tradeLane);
+
         CompletableFuture.runAsync(() -> {
             try {
                 if (okxApiConfig.isWebSocketMode()) {
@@ -169,6 +195,9 @@ public class WebSocketUtil {
      */
     @PreDestroy
     public void cleanup() {
+        klineLane.stop();
+        marketLane.stop();
+        tradeLane.stop();
         pingScheduler.shutdown();
         reconnectScheduler.shutdown();
         try {
@@ -223,7 +252,7 @@ public class WebSocketUtil {
                     @Override
                     public void onMessage(WebSocket webSocket, String text) {
                         lastBusinessMessageTime.set(System.currentTimeMillis());
-                        handleMessage(text);
+                        ingestMessage(text);
                     }
 
                     @Override
@@ -279,7 +308,7 @@ public class WebSocketUtil {
                     @Override
                     public void onMessage(WebSocket webSocket, String text) {
                         lastPublicMessageTime.set(System.currentTimeMillis());
-                        handleMessage(text);
+                        ingestMessage(text);
                     }
 
                     @Override
@@ -341,7 +370,7 @@ public class WebSocketUtil {
                     @Override
                     public void onMessage(WebSocket webSocket, String text) {
                         lastPrivateMessageTime.set(System.currentTimeMillis());
-                        handleMessage(text);
+                        ingestMessage(text);
                     }
 
                     @Override
@@ -519,10 +548,117 @@ public class WebSocketUtil {
         }
     }
 
+    /**
+     * 在socket读线程上分流收到的消息
+     * 有处理器的频道推送（带data）按频道放入对应的接入通道，由消费线程解析和处理；
+     * ping/pong、登录、订阅确认、错误等控制消息数量少且会修改连接状态，仍在读线程上直接处理。
+     */
+    private void ingestMessage(String message) {
+        WebSocketIngestLane lane = selectLane(message);
+        if (lane == null) {
+            handleMessage(message);
+            return;
+        }
+        lane.publish(message);
+    }
+
+    /**
+     * 不解析JSON，按文本中的频道名选择接入通道，无法判断时返回null
+     */
+    private WebSocketIngestLane selectLane(String message) {
+        if (message.isEmpty() || message.charAt(0) != '{' || !message.contains("\"data\"") || message.contains("\"event\"")) {
+            return null;
+        }
+        String topic = extractTopic(message);
+        if (topic == null || !(messageHandlers.containsKey(topic) || rawMessageHandlers.containsKey(topic))) {
+            return null;
+        }
+        if (topic.startsWith("candle")) {
+            return klineLane;
+        }
+        if ("tickers".equals(topic) || "mark-price".equals(topic)) {
+            return marketLane;
+        }
+        return tradeLane;
+    }
+
+    /**
+     * 与handleMessage的路由一致，op优先于arg.channel
+     */
+    private static String extractTopic(String message) {
+        String topic = extractStringField(message, "\"op\":\"");
+        return topic != null ? topic : extractStringField(message, "\"channel\":\"");
+    }
+
+    private static String extractStringField(String message, String prefix) {
+        int start = message.indexOf(prefix);
+        if (start < 0) {
+            return null;
+        }
+        start += prefix.length();
+        int end = message.indexOf('"', start);
+        return end > start ? message.substring(start, end) : null;
+    }
+
+    /**
+     * K线、订单/账户通道的批处理，按入队顺序逐条处理
+     */
+    private void handleMessages(List<String> messages) {
+        for (String message : messages) {
+            handleChannelMessage(message);
+        }
+    }
+
+    /**
+     * 行情/标记价格通道的批处理
+     * 同一批中同一频道同一交易对只处理最后一条推送，较早的推送已经过时，直接丢弃；按文本提取频道和交易对，不解析JSON
+     */
+    private void handleMarketMessages(List<String> messages) {
+        Map<String, String> latest = new LinkedHashMap<>();
+        for (String message : messages) {
+            String key = extractTopic(message) + "|" + extractStringField(message, "\"instId\":\"");
+            // 先移除再放入，处理顺序以最后一次推送为准
+            latest.remove(key);
+            latest.put(key, message);
+        }
+        marketLane.recordCoalesced(messages.size() - latest.size());
+        for (String message : latest.values()) {
+            handleChannelMessage(message);
+        }
+    }
+
+    /**
+     * 处理接入通道中的频道推送，注册了原始文本处理器的频道不再解析为JSONObject
+     */
+    private void handleChannelMessage(String message) {
+        Consumer<String> rawHandler = rawMessageHandlers.get(extractTopic(message));
+        if (rawHandler == null) {
+            handleMessage(message);
+            return;
+        }
+        try {
+            rawHandler.accept(message);
+        } catch (Exception e) {
+            logger.error("处理WebSocket消息失败: {}", message, e);
+        }
+    }
+
+    /**
+     * 获取消息接入通道的统计信息
+     */
+    public List<Map<String, Object>> getIngestStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (WebSocketIngestLane lane : new WebSocketIngestLane[]{klineLane, marketLane, tradeLane}) {
+            if (lane != null) {
+                stats.add(lane.getStats());
+            }
+        }
+        return stats;
+    }
+
     /**
      * 处理接收到的WebSocket消息
      */
-    @Async("klineHandleScheduler")
     private void handleMessage(String message) {
         try {
             // 处理简单的ping-pong响应
@@ -648,26 +784,33 @@ public class WebSocketUtil {
             }
 
             // 根据消息类型路由到相应的处理器
-            String topic = null;
-            if (jsonMessage.containsKey("arg") && jsonMessage.getJSONObject("arg").containsKey("channel")) {
-                topic = jsonMessage.getJSONObject("arg").getString("channel");
-            }
-
-            if (jsonMessage.containsKey("op")) {
-                topic = jsonMessage.getString("op");
-            }
-
-            if (topic != null && messageHandlers.containsKey(topic)) {
-                messageHandlers.get(topic).accept(jsonMessage);
-            } else {
-                debugLog("收到未处理的WebSocket消息: {}", message);
-            }
+            dispatchToHandler(jsonMessage);
 
         } catch (Exception e) {
             logger.error("解析WebSocket消息失败: {}", message, e);
         }
     }
 
+    /**
+     * 按频道把消息路由到注册的处理器
+     */
+    private void dispatchToHandler(JSONObject jsonMessage) {
+        String topic = null;
+        if (jsonMessage.containsKey("arg") && jsonMessage.getJSONObject("arg").containsKey("channel")) {
+            topic = jsonMessage.getJSONObject("arg").getString("channel");
+        }
+
+        if (jsonMessage.containsKey("op")) {
+            topic = jsonMessage.getString("op");
+        }
+
+        if (topic != null && messageHandlers.containsKey(topic)) {
+            messageHandlers.get(topic).accept(jsonMessage);
+        } else {
+            debugLog("收到未处理的WebSocket消息: {}", jsonMessage);
+        }
+    }
+
     /**
      * 注册消息处理器
      *
@@ -678,6 +821,17 @@ public class WebSocketUtil {
         messageHandlers.put(topic, handler);
     }
 
+    /**
+     * 注册原始文本消息处理器
+     * 频道推送直接以原始文本交给处理器，由处理器自行解析；订阅确认、错误等控制消息仍走registerHandler注册的处理器
+     *
+     * @param topic   订阅主题
+     * @param handler 消息处理器，在接入通道的消费线程上调用
+     */
+    public void registerRawHandler(String topic, Consumer<String> handler) {
+        rawMessageHandlers.put(topic, handler);
+    }
+
     /**
      * 订阅公共频道主题
      *
@@ -1409,8 +1563,8 @@ public class WebSocketUtil {
     }
 
     /**
-     * 自动订阅账户余额更新
-     * 在程序启动和重连时自动订阅account频道
+     * 自动订阅账户余额和订单更新
+     * 在程序启动和重连时自动订阅account频道和orders频道，下单结果由orders频道推送获取
      */
     private void subscribeToBalanceUpdates() {
         try {
@@ -1419,5 +1573,11 @@ public class WebSocketUtil {
         } catch (Exception e) {
             logger.error("订阅账户余额更新失败", e);
         }
+        try {
+            logger.info("自动订阅订单更新");
+            subscribePrivateTopic("orders");
+        } catch (Exception e) {
+            logger.error("订阅订单更新失败", e);
+        }
     }
 }
@@ -0,0 +1,15 @@
+-- 为K线历史表添加 (symbol, interval_val, open_time) 唯一索引
+-- K线批量写入先按该索引范围扫描已存在的开盘时间，再用 INSERT ... ON DUPLICATE KEY UPDATE id = id 写入缺失的K线，
+-- 并发写入同一根K线时依赖该索引在数据库端去重
+
+-- 删除重复数据，保留每个时间点id最小的一条
+DELETE t1 FROM `candlestick_history` t1
+JOIN `candlestick_history` t2
+  ON t1.`symbol` = t2.`symbol`
+ AND t1.`interval_val` = t2.`interval_val`
+ AND t1.`open_time` = t2.`open_time`
+ AND t1.`id` > t2.`id`;
+
+-- 添加唯一索引
+ALTER TABLE `candlestick_history`
+    ADD UNIQUE INDEX `idx_symbol_interval_opentime` (`symbol`, `interval_val`, `open_time`);
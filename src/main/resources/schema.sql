@@ -9,6 +9,17 @@ create index idx_backtest_id on backtest_equity_curve (backtest_id);
 
 create index idx_timestamp on backtest_equity_curve (timestamp);
 
+create table backtest_equity_curve_blob
+(id          bigint auto_increment primary key,
+ backtest_id varchar(255) not null,
+ point_count int          not null,
+ start_time  datetime     null,
+ end_time    datetime     null,
+ data        longblob     not null,
+ create_time datetime     null) comment '回测资金曲线压缩存储表' collate = utf8mb4_unicode_ci;
+
+create unique index uk_equity_curve_blob_backtest_id on backtest_equity_curve_blob (backtest_id);
+
 create table backtest_summary
 (id                    bigint auto_increment primary key,
  average_profit        decimal(10, 4) null,
@@ -142,6 +153,17 @@ create table candlestick_history
  trades       bigint          null,
  volume       decimal(30, 15) null);
 
+create unique index idx_symbol_interval_opentime on candlestick_history (symbol, interval_val, open_time);
+
+create table candlestick_coverage
+(id           bigint auto_increment primary key,
+ symbol       varchar(20) not null,
+ interval_val varchar(10) not null,
+ range_start  datetime    not null,
+ range_end    datetime    not null);
+
+create index idx_coverage_symbol_interval on candlestick_coverage (symbol, interval_val);
+
 create table fund_data
 (id               bigint auto_increment primary key,
  record_time      datetime(6)    not null,
@@ -151,6 +173,8 @@ create table fund_data
 
 create index fund_data_id_record_time_index on fund_data (id, record_time);
 
+create index idx_fund_data_record_time on fund_data (record_time);
+
 create table indicator_distribution
 (id                     bigint auto_increment primary key,
  avg_value              decimal(20, 8)                           null,
@@ -172,7 +196,9 @@ create table indicator_distribution
  p90                    decimal(20, 8)                           null,
  sample_count           int                                      not null,
  update_time            datetime(6)                              not null,
- version                bigint                                   not null);
+ version                bigint                                   not null,
+ last_summary_id        bigint                                   null,
+ sketch                 mediumtext                               null);
 
 create index indicator_distribution_indicator_name_index on indicator_distribution (indicator_name);
 